@@ -0,0 +1,50 @@
+#!/usr/bin/env bash
+# 기동 시간 / RSS 비교: 일반 JVM vs JVM+AOT vs JVM+AOT+AppCDS (vs native, 빌드된 경우)
+# - 기동 시간: 프로세스 시작 ~ /actuator/health/readiness 가 UP 이 될 때까지 (Milvus 예열 포함)
+# - RSS: readiness 직후의 프로세스 RSS
+# 결과는 build/fast-startup/report.md 에 markdown 표로 저장
+#
+# 사용: scripts/fast-startup/build-cds.sh 실행 후  scripts/fast-startup/benchmark.sh [반복 횟수]
+set -euo pipefail
+
+cd "$(dirname "$0")/../.."
+RUNS=${1:-5}
+PORT=${PORT:-8080}
+OUT=build/fast-startup
+JAR="$OUT/plant-care-chatbot-0.0.1-SNAPSHOT.jar"
+NATIVE=build/native/nativeCompile/plant-care-chatbot
+REPORT="$OUT/report.md"
+
+measure() {
+  local name=$1; shift
+  local total_ms=0 total_rss=0
+  for _ in $(seq "$RUNS"); do
+    local start end pid rss
+    start=$(date +%s%3N)
+    "$@" --server.port="$PORT" >/dev/null 2>&1 &
+    pid=$!
+    until curl -sf "http://localhost:$PORT/actuator/health/readiness" >/dev/null; do
+      if ! kill -0 "$pid" 2>/dev/null; then echo "$name: 프로세스가 종료됨" >&2; return 1; fi
+      sleep 0.05
+    done
+    end=$(date +%s%3N)
+    rss=$(ps -o rss= -p "$pid" | tr -d ' ')
+    kill "$pid"; wait "$pid" 2>/dev/null || true
+    total_ms=$((total_ms + end - start))
+    total_rss=$((total_rss + rss))
+  done
+  echo "| $name | $((total_ms / RUNS)) | $((total_rss / RUNS / 1024)) |" >> "$REPORT"
+}
+
+echo "| 실행 방식 | readiness 까지 (ms) | RSS (MB) |" > "$REPORT"
+echo "| --- | --- | --- |" >> "$REPORT"
+
+measure "JVM"               java -jar "$JAR"
+measure "JVM + AOT"         java -Dspring.aot.enabled=true -jar "$JAR"
+measure "JVM + AOT + AppCDS" java -XX:SharedArchiveFile="$OUT/app.jsa" -Dspring.aot.enabled=true -jar "$JAR"
+if [ -x "$NATIVE" ]; then
+  measure "native image"    "$NATIVE"
+fi
+
+echo "반복 $RUNS 회 평균 ($(date -u +%Y-%m-%dT%H:%MZ), $(java -version 2>&1 | head -1))" >> "$REPORT"
+cat "$REPORT"
@@ -0,0 +1,20 @@
+#!/usr/bin/env bash
+# AppCDS 아카이브 생성 (Spring Boot 3.3+ extract 레이아웃)
+# 1. AOT 포함 jar 빌드  2. jar 를 풀어서 클래스패스 고정  3. 컨텍스트 refresh 직후 종료하는 학습 실행으로 app.jsa 생성
+#
+# 학습 실행도 빈을 실제로 생성하므로 MySQL / Milvus 에 연결 가능한 application.yml 이 필요하다.
+set -euo pipefail
+
+cd "$(dirname "$0")/../.."
+OUT=build/fast-startup
+
+./gradlew -q bootJar -PfastStartup
+rm -rf "$OUT"
+java -Djarmode=tools -jar build/libs/plant-care-chatbot-0.0.1-SNAPSHOT.jar extract --destination "$OUT"
+
+java -XX:ArchiveClassesAtExit="$OUT/app.jsa" \
+     -Dspring.aot.enabled=true \
+     -Dspring.context.exit=onRefresh \
+     -jar "$OUT/plant-care-chatbot-0.0.1-SNAPSHOT.jar"
+
+echo "실행: java -XX:SharedArchiveFile=$OUT/app.jsa -Dspring.aot.enabled=true -jar $OUT/plant-care-chatbot-0.0.1-SNAPSHOT.jar"
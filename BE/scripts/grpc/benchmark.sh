@@ -0,0 +1,90 @@
+#!/usr/bin/env bash
+# gRPC vs REST(JSON) 처리량 비교: 같은 인스턴스, 같은 서비스 계층에 대해 동시 요청 수별로 측정
+# - 분석   : POST /v1/plants/analyze (multipart)     vs  PlantCare/Analyze (청크 스트리밍)
+# - 기록 상세: GET /v1/plants/history/{id}            vs  PlantCare/GetReport
+# - gemini-fake 프로필 (지연 고정) → 차이는 직렬화/전송 비용
+# - 필요 도구: hey (REST), ghz (gRPC), jq
+#
+# 사용: scripts/grpc/benchmark.sh <이미지 파일> [요청 수] [동시 요청 수 목록]
+set -euo pipefail
+
+cd "$(dirname "$0")/../.."
+IMAGE=${1:?이미지 파일 경로}
+REQUESTS=${2:-2000}
+CONCURRENCIES=${3:-"16 64"}
+PORT=${PORT:-8090}
+GRPC_PORT=${GRPC_PORT:-9090}
+JAR=${JAR:-build/libs/plant-care-chatbot-0.0.1-SNAPSHOT.jar}
+PROTO=src/main/proto/plantcare/v1/plant_care.proto
+OUT=build/grpc-benchmark
+REPORT="$OUT/report.md"
+FAKE="http://localhost:$PORT/fake-gemini/v1beta/models"
+
+[ -f "$JAR" ] || ./gradlew -q bootJar
+mkdir -p "$OUT"
+
+java -jar "$JAR" --server.port="$PORT" \
+  --spring.profiles.active=gemini-fake \
+  --grpc.enabled=true --grpc.port="$GRPC_PORT" \
+  --gemini.api.url="$FAKE/gemini-2.5-flash:generateContent" \
+  --gemini.api.embedding-url="$FAKE/gemini-embedding-001:embedContent" \
+  --gemini.api.batch-embedding-url="$FAKE/gemini-embedding-001:batchEmbedContents" \
+  --gemini.api.keys=fake-bench \
+  --gemini.fake.rpm=1000000 --gemini.quota.rpm=1000000 \
+  >"$OUT/app.log" 2>&1 &
+APP=$!
+trap 'kill $APP; wait $APP 2>/dev/null || true' EXIT
+until curl -sf "http://localhost:$PORT/actuator/health/readiness" >/dev/null; do sleep 0.5; done
+
+# REST multipart 본문 (hey 는 본문 파일을 그대로 보냄)
+BOUNDARY=plant-bench-boundary
+{
+  printf -- "--%s\r\nContent-Disposition: form-data; name=\"description\"\r\n\r\nbenchmark\r\n" "$BOUNDARY"
+  printf -- "--%s\r\nContent-Disposition: form-data; name=\"image\"; filename=\"bench.jpg\"\r\nContent-Type: image/jpeg\r\n\r\n" "$BOUNDARY"
+  cat "$IMAGE"
+  printf -- "\r\n--%s--\r\n" "$BOUNDARY"
+} >"$OUT/analyze.body"
+
+# gRPC 스트림 메시지: header + 64KB 청크들
+split -b 65536 -d "$IMAGE" "$OUT/chunk."
+{
+  printf '[{"header":{"mimeType":"image/jpeg","description":"benchmark"}}'
+  for chunk in "$OUT"/chunk.*; do printf ',{"imageChunk":"%s"}' "$(base64 -w0 "$chunk")"; done
+  printf ']'
+} >"$OUT/analyze.json"
+rm -f "$OUT"/chunk.*
+
+LOG_ID=$(curl -sf -H "Content-Type: multipart/form-data; boundary=$BOUNDARY" --data-binary @"$OUT/analyze.body" \
+  "http://localhost:$PORT/v1/plants/analyze" | jq -r '.data.logId')
+REST_BYTES=$(curl -sf -o /dev/null -w '%{size_download}' "http://localhost:$PORT/v1/plants/history/$LOG_ID")
+
+# hey 출력 → "rps | p50 | p99" (ms)
+rest() {
+  hey -n "$REQUESTS" -c "$1" "${@:2}" | awk '
+    /Requests\/sec/ { rps = $2 }
+    /50% in/ { p50 = $3 * 1000 }
+    /99% in/ { p99 = $3 * 1000 }
+    END { printf "%.0f | %.1f | %.1f", rps, p50, p99 }'
+}
+
+# ghz JSON 출력 → "rps | p50 | p99" (ms)
+grpc() {
+  ghz --insecure --proto "$PROTO" -n "$REQUESTS" -c "$1" --format json "${@:2}" "localhost:$GRPC_PORT" | jq -r '
+    [.rps, (.latencyDistribution[] | select(.percentage == 50) | .latency / 1e6),
+           (.latencyDistribution[] | select(.percentage == 99) | .latency / 1e6)]
+    | "\(.[0] | floor) | \(.[1] * 10 | round / 10) | \(.[2] * 10 | round / 10)"'
+}
+
+{
+  echo "| 작업 | API | 동시 요청 | 처리량 (req/s) | p50 (ms) | p99 (ms) |"
+  echo "| --- | --- | --- | --- | --- | --- |"
+  for c in $CONCURRENCIES; do
+    echo "| 기록 상세 | REST | $c | $(rest "$c" "http://localhost:$PORT/v1/plants/history/$LOG_ID") |"
+    echo "| 기록 상세 | gRPC | $c | $(grpc "$c" --call plantcare.v1.PlantCare.GetReport -d "{\"logId\":$LOG_ID}") |"
+    echo "| 분석 | REST | $c | $(rest "$c" -m POST -T "multipart/form-data; boundary=$BOUNDARY" \
+      -D "$OUT/analyze.body" "http://localhost:$PORT/v1/plants/analyze") |"
+    echo "| 분석 | gRPC | $c | $(grpc "$c" --call plantcare.v1.PlantCare.Analyze -D "$OUT/analyze.json") |"
+  done
+  echo
+  echo "요청 $REQUESTS 회, 이미지 $(stat -c %s "$IMAGE") bytes, REST 기록 상세 응답 $REST_BYTES bytes ($(date -u +%Y-%m-%dT%H:%MZ))"
+} | tee "$REPORT"
@@ -0,0 +1,65 @@
+#!/usr/bin/env bash
+# 작업 큐 처리량 확장성 테스트: 워커 인스턴스 1, 2, 4 대에서 같은 양의 작업을 처리하는 시간 비교
+# - 로컬 MySQL / Milvus + gemini-fake 프로필 (각 인스턴스가 자기 fake 엔드포인트 사용, 지연 800ms 고정)
+# - 인스턴스별 동시 처리 수는 analysis.jobs.worker.concurrency 로 고정 → Gemini 대기 시간이 병목이면 처리량은 인스턴스 수에 비례
+#
+# 사용: scripts/job-queue/scale-test.sh <이미지 파일> [작업 수] [인스턴스 수 목록]
+set -euo pipefail
+
+cd "$(dirname "$0")/../.."
+IMAGE=${1:?이미지 파일 경로}
+JOBS=${2:-200}
+SCALES=${3:-"1 2 4"}
+CONCURRENCY=${CONCURRENCY:-4}
+JAR=${JAR:-build/libs/plant-care-chatbot-0.0.1-SNAPSHOT.jar}
+BASE_PORT=8090
+
+[ -f "$JAR" ] || ./gradlew -q bootJar
+
+start_instance() {
+  local port=$1
+  local fake="http://localhost:$port/fake-gemini/v1beta/models"
+  java -jar "$JAR" --server.port="$port" \
+    --spring.profiles.active=gemini-fake \
+    --analysis.jobs.worker.enabled=true \
+    --analysis.jobs.worker.concurrency="$CONCURRENCY" \
+    --gemini.api.url="$fake/gemini-2.5-flash:generateContent" \
+    --gemini.api.embedding-url="$fake/gemini-embedding-001:embedContent" \
+    --gemini.api.batch-embedding-url="$fake/gemini-embedding-001:batchEmbedContents" \
+    --gemini.api.keys=fake-"$port" \
+    --gemini.fake.rpm=100000 --gemini.quota.rpm=100000 \
+    >"build/scale-test-$port.log" 2>&1 &
+  echo $!
+}
+
+wait_ready() {
+  until curl -sf "http://localhost:$1/actuator/health/readiness" >/dev/null; do sleep 0.5; done
+}
+
+echo "| 인스턴스 | 작업 수 | 소요 (s) | 처리량 (jobs/s) |"
+echo "| --- | --- | --- | --- |"
+
+for n in $SCALES; do
+  pids=()
+  for i in $(seq 0 $((n - 1))); do pids+=("$(start_instance $((BASE_PORT + i)))"); done
+  for i in $(seq 0 $((n - 1))); do wait_ready $((BASE_PORT + i)); done
+
+  ids=()
+  for _ in $(seq "$JOBS"); do
+    ids+=("$(curl -sf -F "image=@$IMAGE;type=image/jpeg" "http://localhost:$BASE_PORT/v1/plants/analyze/async" \
+      | sed -E 's/.*"jobId":([0-9]+).*/\1/')")
+  done
+  start=$(date +%s%3N)
+
+  for id in "${ids[@]}"; do
+    until curl -sf "http://localhost:$BASE_PORT/v1/plants/analyze/jobs/$id" | grep -qE '"status":"(DONE|FAILED)"'; do
+      sleep 0.2
+    done
+  done
+  end=$(date +%s%3N)
+
+  elapsed=$(echo "scale=1; ($end - $start) / 1000" | bc)
+  echo "| $n | $JOBS | $elapsed | $(echo "scale=2; $JOBS * 1000 / ($end - $start)" | bc) |"
+
+  kill "${pids[@]}"; wait "${pids[@]}" 2>/dev/null || true
+done
@@ -0,0 +1,118 @@
+package cse.plant_care_chatbot.global.common;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import cse.plant_care_chatbot.global.common.code.BaseCode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 이미 직렬화된 JSON 을 다시 파싱하지 않고 CommonResponse 형태로 감싼 바이트를 만듦
+ * {"isSuccess":true,"code":200,"message":"...","result": <저장된 JSON>}
+ */
+@Component
+@RequiredArgsConstructor
+public class RawJsonResponse {
+
+    private final ObjectMapper objectMapper;
+
+    // 코드별 {"isSuccess":..,"code":..,"message":"..", 까지의 바이트
+    private final Map<BaseCode, byte[]> prefixes = new ConcurrentHashMap<>();
+
+    private static final byte[] RESULT_FIELD = "\"result\":".getBytes(StandardCharsets.UTF_8);
+
+    public byte[] success(BaseCode code, String resultJson) {
+        byte[] prefix = prefixes.computeIfAbsent(code, this::prefix);
+        byte[] result = resultJson.getBytes(StandardCharsets.UTF_8);
+
+        byte[] body = new byte[prefix.length + RESULT_FIELD.length + result.length + 1];
+        int n = 0;
+        System.arraycopy(prefix, 0, body, n, prefix.length);
+        n += prefix.length;
+        System.arraycopy(RESULT_FIELD, 0, body, n, RESULT_FIELD.length);
+        n += RESULT_FIELD.length;
+        System.arraycopy(result, 0, body, n, result.length);
+        body[body.length - 1] = '}';
+        return body;
+    }
+
+    /**
+     * 저장된 JSON 의 최상위 boolean 필드만 스트리밍으로 읽음 (트리를 만들지 않음, 없거나 깨졌으면 false)
+     */
+    public boolean topLevelBoolean(String json, String field) {
+        try (JsonParser p = objectMapper.getFactory().createParser(json)) {
+            if (p.nextToken() != JsonToken.START_OBJECT) return false;
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String name = p.currentName();
+                JsonToken value = p.nextToken();
+                if (field.equals(name)) return value == JsonToken.VALUE_TRUE;
+                p.skipChildren();
+            }
+            return false;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Accept-Encoding 으로 gzip 응답을 받을 수 있는지 (q-value 반영)
+     * - gzip / x-gzip 항목이 있으면 그 q 로 판단 (gzip;q=0 은 거부)
+     * - 둘 다 없으면 "*" 항목의 q 로 판단, 그것도 없으면 거부
+     * - q 를 읽을 수 없는 항목은 q=0 으로 취급
+     */
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) return false;
+
+        double gzipQ = -1;
+        double wildcardQ = -1;
+        for (String entry : acceptEncoding.split(",")) {
+            String[] parts = entry.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            double q = 1.0;
+            for (int i = 1; i < parts.length; i++) {
+                String[] param = parts[i].split("=", 2);
+                if (param.length == 2 && param[0].trim().equalsIgnoreCase("q")) {
+                    try {
+                        q = Double.parseDouble(param[1].trim());
+                    } catch (NumberFormatException e) {
+                        q = 0;
+                    }
+                }
+            }
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzipQ = Math.max(gzipQ, q);
+            } else if (coding.equals("*")) {
+                wildcardQ = Math.max(wildcardQ, q);
+            }
+        }
+        return (gzipQ >= 0 ? gzipQ : wildcardQ) > 0;
+    }
+
+    public static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        }
+        return out.toByteArray();
+    }
+
+    private byte[] prefix(BaseCode code) {
+        try {
+            // result 가 null 이면 생략되므로 마지막 '}' 만 ',' 로 바꿈
+            String envelope = objectMapper.writeValueAsString(CommonResponse.success(code));
+            return (envelope.substring(0, envelope.length() - 1) + ",").getBytes(StandardCharsets.UTF_8);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
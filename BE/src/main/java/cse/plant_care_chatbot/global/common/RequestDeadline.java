@@ -0,0 +1,43 @@
+package cse.plant_care_chatbot.global.common;
+
+import java.time.Duration;
+
+/**
+ * 요청 단위 종료 시각. 컨트롤러에서 만들어 서비스 계층으로 전달하고,
+ * 각 외부 호출은 남은 시간만큼만 기다린다.
+ */
+public record RequestDeadline(long deadlineNanos) {
+
+    private static final long NO_DEADLINE = Long.MAX_VALUE;
+
+    public static RequestDeadline after(Duration budget) {
+        return new RequestDeadline(System.nanoTime() + budget.toNanos());
+    }
+
+    /**
+     * 클라이언트가 요청한 제한 시간(ms)을 [1, maxMs] 로 제한해서 사용
+     * (음수/0 은 이미 지난 deadline, 너무 큰 값은 나노초 변환 overflow 가 되므로 그대로 쓰지 않음)
+     */
+    public static RequestDeadline clamped(long requestedMs, long maxMs) {
+        return after(Duration.ofMillis(Math.min(Math.max(requestedMs, 1), maxMs)));
+    }
+
+    public static RequestDeadline none() {
+        return new RequestDeadline(NO_DEADLINE);
+    }
+
+    public long remainingMillis() {
+        if (deadlineNanos == NO_DEADLINE) return Long.MAX_VALUE;
+        return Math.max(0, (deadlineNanos - System.nanoTime()) / 1_000_000);
+    }
+
+    public boolean isExpired() {
+        return remainingMillis() <= 0;
+    }
+
+    // 외부 호출 타임아웃: max 와 남은 시간 중 작은 값 (최소 1ms)
+    public Duration capTimeout(Duration max) {
+        long remaining = remainingMillis();
+        return remaining >= max.toMillis() ? max : Duration.ofMillis(Math.max(1, remaining));
+    }
+}
@@ -11,7 +11,15 @@ public enum SuccessCode implements BaseCode {
     // health_check
     HEALTH_CHECK_SUCCESS(HttpStatus.OK, "🌱 서버가 정상적으로 작동 중입니다."),
     PLANT_ANALYSIS_SUCCESS(HttpStatus.OK, "식물 분석을 성공적으로 완료하였습니다."),
-    PLANT_FEEDBACK_SUCCESS(HttpStatus.OK,"피드백 적용이 성공적으로 완료되었습니다.")
+    PLANT_FEEDBACK_SUCCESS(HttpStatus.OK,"피드백 적용이 성공적으로 완료되었습니다."),
+    PLANT_ANALYSIS_ACCEPTED(HttpStatus.ACCEPTED, "식물 분석 요청이 접수되었습니다."),
+    ANALYSIS_JOB_STATUS_SUCCESS(HttpStatus.OK, "분석 작업 상태를 성공적으로 조회하였습니다."),
+    TELEMETRY_INGEST_SUCCESS(HttpStatus.OK, "센서 데이터를 성공적으로 수집하였습니다."),
+    TELEMETRY_STATS_SUCCESS(HttpStatus.OK, "센서 통계를 성공적으로 조회하였습니다."),
+    REANALYSIS_ACCEPTED(HttpStatus.ACCEPTED, "재분석 요청이 접수되었습니다."),
+    REANALYSIS_STATUS_SUCCESS(HttpStatus.OK, "재분석 상태를 성공적으로 조회하였습니다."),
+    HISTORY_SEARCH_SUCCESS(HttpStatus.OK, "분석 기록 검색을 성공적으로 완료하였습니다."),
+    PLANT_STATS_SUCCESS(HttpStatus.OK, "분석 통계를 성공적으로 조회하였습니다.")
     ;
 
     private final HttpStatus httpStatus;
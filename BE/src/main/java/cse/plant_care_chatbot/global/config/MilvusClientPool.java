@@ -0,0 +1,74 @@
+package cse.plant_care_chatbot.global.config;
+
+import cse.plant_care_chatbot.global.common.RequestDeadline;
+import io.milvus.client.MilvusClient;
+import io.milvus.client.MilvusServiceClient;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Milvus 클라이언트 풀
+ * - 클라이언트(= gRPC 채널)마다 HTTP/2 연결 하나를 사용하므로, 여러 개를 라운드로빈으로 나눠 써서
+ *   동시 검색이 한 연결의 스트림 한도/흐름 제어에 몰리지 않게 함
+ * - next() 는 호출 단위 deadline(call-timeout)이 걸린 클라이언트를 반환
+ */
+@Slf4j
+public class MilvusClientPool implements AutoCloseable {
+
+    private final List<MilvusServiceClient> clients;
+    private final List<MilvusClient> timedClients;
+    private final long callTimeoutMs;
+    private final AtomicInteger cursor = new AtomicInteger();
+
+    public MilvusClientPool(List<MilvusServiceClient> clients, long callTimeoutMs) {
+        this.clients = List.copyOf(clients);
+        this.callTimeoutMs = callTimeoutMs;
+        this.timedClients = clients.stream()
+                .map(c -> c.withTimeout(callTimeoutMs, TimeUnit.MILLISECONDS))
+                .toList();
+    }
+
+    /**
+     * 검색/조회용 클라이언트 (라운드로빈, 호출 deadline 적용)
+     */
+    public MilvusClient next() {
+        return timedClients.get(Math.floorMod(cursor.getAndIncrement(), timedClients.size()));
+    }
+
+    /**
+     * 요청 제한 시간이 call-timeout 보다 짧게 남았으면 남은 시간을 호출 deadline 으로 쓰는 클라이언트
+     */
+    public MilvusClient next(RequestDeadline deadline) {
+        int index = Math.floorMod(cursor.getAndIncrement(), clients.size());
+        long remaining = deadline.remainingMillis();
+        if (remaining >= callTimeoutMs) {
+            return timedClients.get(index);
+        }
+        return clients.get(index).withTimeout(Math.max(1, remaining), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 적재/인덱스 생성 등 오래 걸리는 관리 작업용 (deadline 없음)
+     */
+    public MilvusServiceClient primary() {
+        return clients.get(0);
+    }
+
+    public int size() {
+        return clients.size();
+    }
+
+    @Override
+    public void close() {
+        for (MilvusServiceClient client : clients) {
+            try {
+                client.close();
+            } catch (Exception e) {
+                log.warn("Milvus client close failed: {}", e.getMessage());
+            }
+        }
+    }
+}
@@ -6,18 +6,58 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
 @Configuration
 public class MilvusConfig {
 
     @Value("${milvus.uri}")
     private String uri;
 
-    @Bean
-    public MilvusServiceClient milvusServiceClient() {
-        ConnectParam connectParam = ConnectParam.newBuilder()
-                .withUri(uri)
-                .build();
+    // 검색용 클라이언트(gRPC 채널) 수
+    @Value("${milvus.pool.size:4}")
+    private int poolSize;
+
+    // 검색/조회 한 번의 deadline
+    @Value("${milvus.call-timeout-ms:3000}")
+    private long callTimeoutMs;
+
+    @Value("${milvus.connect-timeout-ms:5000}")
+    private long connectTimeoutMs;
+
+    // 유휴 연결이 LB/NAT 에서 끊기지 않도록 keep-alive ping
+    @Value("${milvus.keep-alive-time-ms:30000}")
+    private long keepAliveTimeMs;
+
+    @Value("${milvus.keep-alive-timeout-ms:10000}")
+    private long keepAliveTimeoutMs;
+
+    @Value("${milvus.idle-timeout-ms:86400000}")
+    private long idleTimeoutMs;
+
+    @Bean(destroyMethod = "close")
+    public MilvusClientPool milvusClientPool() {
+        List<MilvusServiceClient> clients = new ArrayList<>();
+        for (int i = 0; i < Math.max(1, poolSize); i++) {
+            ConnectParam connectParam = ConnectParam.newBuilder()
+                    .withUri(uri)
+                    .withConnectTimeout(connectTimeoutMs, TimeUnit.MILLISECONDS)
+                    .withKeepAliveTime(keepAliveTimeMs, TimeUnit.MILLISECONDS)
+                    .withKeepAliveTimeout(keepAliveTimeoutMs, TimeUnit.MILLISECONDS)
+                    .keepAliveWithoutCalls(true)
+                    .withIdleTimeout(idleTimeoutMs, TimeUnit.MILLISECONDS)
+                    .build();
+
+            clients.add(new MilvusServiceClient(connectParam));
+        }
+        return new MilvusClientPool(clients, callTimeoutMs);
+    }
 
-        return new MilvusServiceClient(connectParam);
+    // 적재/스키마 관리용 (풀의 첫 번째 클라이언트, 종료는 풀이 담당)
+    @Bean(destroyMethod = "")
+    public MilvusServiceClient milvusServiceClient(MilvusClientPool pool) {
+        return pool.primary();
     }
-}
\ No newline at end of file
+}
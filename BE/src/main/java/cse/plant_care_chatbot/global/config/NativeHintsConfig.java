@@ -0,0 +1,72 @@
+package cse.plant_care_chatbot.global.config;
+
+import cse.plant_care_chatbot.global.common.CommonResponse;
+import cse.plant_care_chatbot.plant.dto.*;
+import cse.plant_care_chatbot.plant.gemini.GeminiUsage;
+import cse.plant_care_chatbot.plant.ingest.CaptionItem;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+import java.util.List;
+
+/**
+ * AOT / GraalVM native-image 용 런타임 힌트
+ * - Jackson 으로 직렬화/역직렬화하는 record DTO (요청 바인딩 외에 ObjectMapper 를 직접 쓰는 타입 포함)
+ * - Milvus SDK(gRPC/protobuf), ONNX Runtime / DJL tokenizers 의 네이티브 라이브러리 리소스
+ */
+@Configuration(proxyBeanMethods = false)
+@ImportRuntimeHints(NativeHintsConfig.PlantRuntimeHints.class)
+public class NativeHintsConfig {
+
+    static class PlantRuntimeHints implements RuntimeHintsRegistrar {
+
+        private final BindingReflectionHintsRegistrar bindingRegistrar = new BindingReflectionHintsRegistrar();
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            // ObjectMapper.readValue / writeValueAsString 으로 직접 다루는 타입
+            bindingRegistrar.registerReflectionHints(hints.reflection(),
+                    GeminiAnalysisResult.class,
+                    PlantReportRes.class,
+                    ImageLinksRes.class,
+                    BatchAnalysisItemRes.class,
+                    SensorComparisonRes.class,
+                    CaptionItem.class,
+                    GeminiUsage.class,
+                    CommonResponse.class);
+
+            // PlantAnalysisService 내부 조언 응답 레코드 (package-private)
+            hints.reflection().registerType(
+                    TypeReference.of("cse.plant_care_chatbot.plant.service.PlantAnalysisService$GeminiResponse"),
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_DECLARED_METHODS,
+                    MemberCategory.DECLARED_FIELDS);
+
+            // Milvus SDK: gRPC 스텁과 protobuf 메시지는 리플렉션으로 descriptor/빌더를 찾음
+            for (String type : List.of(
+                    "io.milvus.grpc.MilvusServiceGrpc",
+                    "io.milvus.grpc.SearchResults",
+                    "io.milvus.grpc.QueryResults",
+                    "io.milvus.grpc.MutationResult",
+                    "io.milvus.grpc.SearchRequest",
+                    "io.milvus.grpc.QueryRequest",
+                    "io.milvus.grpc.InsertRequest",
+                    "io.milvus.grpc.SearchResultData",
+                    "io.milvus.grpc.FieldData",
+                    "io.milvus.grpc.Status",
+                    "io.milvus.grpc.BoolResponse",
+                    "io.milvus.grpc.DescribeCollectionResponse")) {
+                hints.reflection().registerTypeIfPresent(classLoader, type,
+                        MemberCategory.INVOKE_PUBLIC_METHODS, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+            }
+
+            // 선택 기능(embedding.engine=onnx, classifier.enabled)의 네이티브 라이브러리
+            hints.resources().registerPattern("ai/onnxruntime/native/**");
+            hints.resources().registerPattern("native/lib/**");
+        }
+    }
+}
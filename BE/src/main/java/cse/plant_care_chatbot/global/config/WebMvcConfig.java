@@ -1,18 +1,27 @@
 package cse.plant_care_chatbot.global.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import java.time.Duration;
+
 @Configuration
 public class WebMvcConfig implements WebMvcConfigurer {
 
+    // Mac/Linux 예시: "/Users/사용자명/plant-data/"
+    @Value("${image.root-dir:/Users/dhwoo/Downloads/plant_image/}")
+    private String imageRootDir;
+
+    // 기존 /images/{이름} URL 호환용 (새 리포트는 /media/images 의 해시 URL 사용)
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
         registry.addResourceHandler("/images/**")
-                // Mac/Linux 예시: "file:///Users/사용자명/plant-data/"
-                .addResourceLocations("file:///Users/dhwoo/Downloads/plant_image/");
+                .addResourceLocations("file:" + (imageRootDir.endsWith("/") ? imageRootDir : imageRootDir + "/"))
+                .setCacheControl(CacheControl.maxAge(Duration.ofDays(1)).cachePublic());
     }
 
     @Override
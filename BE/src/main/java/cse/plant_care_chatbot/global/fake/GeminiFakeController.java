@@ -0,0 +1,112 @@
+package cse.plant_care_chatbot.global.fake;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 로컬 부하 테스트용 Gemini API 가짜 서버 (profile: gemini-fake)
+ * - generateContent / embedContent / batchEmbedContents 를 고정 응답으로 흉내냄
+ * - 키별 RPM 을 넘기면 실제 API 처럼 429 + Retry-After 응답
+ *
+ * 예) gemini.api.url=http://localhost:8080/fake-gemini/v1beta/models/gemini-2.5-flash:generateContent
+ */
+@Profile("gemini-fake")
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/fake-gemini/v1beta/models")
+public class GeminiFakeController {
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${gemini.fake.latency-ms:800}")
+    private long latencyMs;
+
+    @Value("${gemini.fake.rpm:60}")
+    private int rpm;
+
+    @Value("${gemini.fake.dimension:1024}")
+    private int dimension;
+
+    // 키별 최근 1분 요청 시각
+    private final Map<String, Deque<Long>> requestLog = new ConcurrentHashMap<>();
+
+    @PostMapping("/{action}")
+    public ResponseEntity<Map<String, Object>> call(@PathVariable String action,
+                                                    @RequestParam("key") String key,
+                                                    @RequestBody JsonNode body) throws InterruptedException, JsonProcessingException {
+        if (!allow(key)) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, "5")
+                    .body(Map.of("error", Map.of("code", 429, "status", "RESOURCE_EXHAUSTED")));
+        }
+        Thread.sleep(latencyMs);
+
+        if (action.endsWith(":batchEmbedContents")) {
+            List<Map<String, Object>> embeddings = new ArrayList<>();
+            for (JsonNode request : body.path("requests")) {
+                embeddings.add(Map.of("values", vector(request.toString(),
+                        request.path("outputDimensionality").asInt(dimension))));
+            }
+            return ResponseEntity.ok(Map.of("embeddings", embeddings));
+        }
+        if (action.endsWith(":embedContent")) {
+            return ResponseEntity.ok(Map.of("embedding", Map.of("values", vector(body.toString(),
+                    body.path("outputDimensionality").asInt(dimension)))));
+        }
+
+        // 비전/조언 프롬프트 모두 파싱할 수 있도록 두 응답의 필드를 함께 담음
+        Map<String, Object> answer = new LinkedHashMap<>();
+        answer.put("plantName", "보스턴고사리");
+        answer.put("growthLevel", "Medium");
+        answer.put("caption", "잎 끝이 약간 갈변되어 있으나 전반적으로 녹색을 유지하고 있습니다.");
+        answer.put("analysis", "습도가 다소 낮아 잎 끝이 마르고 있습니다.");
+        answer.put("keywords", List.of("습도 부족", "통풍 필요"));
+        answer.put("careGuide", List.of(Map.of("issue", "습도 관리", "content", "분무기로 주변 습도를 높여주세요.")));
+
+        String text = objectMapper.writeValueAsString(answer);
+        return ResponseEntity.ok(Map.of(
+                "candidates", List.of(Map.of("content", Map.of("parts", List.of(Map.of("text", text))))),
+                "usageMetadata", Map.of(
+                        "promptTokenCount", body.toString().length() / 4,
+                        "candidatesTokenCount", text.length())
+        ));
+    }
+
+    private boolean allow(String key) {
+        long now = System.currentTimeMillis();
+        Deque<Long> times = requestLog.computeIfAbsent(key, k -> new ArrayDeque<>());
+        synchronized (times) {
+            while (!times.isEmpty() && times.peekFirst() < now - 60_000) {
+                times.pollFirst();
+            }
+            if (times.size() >= rpm) return false;
+            times.addLast(now);
+            return true;
+        }
+    }
+
+    // 입력마다 결정적인 단위 벡터 (outputDimensionality 를 지정하면 그 차원)
+    private List<Float> vector(String seed, int dimension) {
+        Random random = new Random(seed.hashCode());
+        float[] v = new float[dimension];
+        double norm = 0;
+        for (int i = 0; i < dimension; i++) {
+            v[i] = (float) random.nextGaussian();
+            norm += v[i] * v[i];
+        }
+        List<Float> list = new ArrayList<>(dimension);
+        for (float f : v) list.add((float) (f / Math.sqrt(norm)));
+        return list;
+    }
+}
@@ -0,0 +1,199 @@
+package cse.plant_care_chatbot.plant.archive;
+
+import cse.plant_care_chatbot.plant.entity.PlantAnalysisLog;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 오래된 리포트 JSON 보관소 (append-only 세그먼트 파일)
+ * - 레코드: [i64 logId][i32 압축 길이][i32 원본 길이][deflate 바이트]
+ * - 위치(세그먼트 번호, 오프셋)는 PlantAnalysisLog.archiveSegment / archiveOffset 에 저장 (행당 12바이트 인덱스)
+ * - 읽기는 세그먼트를 메모리 매핑해서 해당 위치만 풀어냄, 쓰기 중인 세그먼트가 매핑보다 커지면 다시 매핑
+ * - segment-max-bytes 를 넘으면 다음 세그먼트로 넘어감 (int 오프셋 매핑이 가능하도록 2GB 미만)
+ */
+@Slf4j
+@Component
+public class ResultArchive {
+
+    private static final int HEADER_BYTES = Long.BYTES + Integer.BYTES * 2;
+
+    @Value("${archive.dir:${user.home}/plant-archive}")
+    private Path dir;
+
+    @Value("${archive.segment-max-bytes:268435456}")
+    private long segmentMaxBytes;
+
+    @Value("${archive.compression-level:6}")
+    private int compressionLevel;
+
+    private final Map<Integer, MappedByteBuffer> mapped = new ConcurrentHashMap<>();
+
+    // 쓰기 상태 (append 는 ResultArchiver 한 스레드에서만, 그래도 synchronized 로 보호)
+    private FileChannel writeChannel;
+    private int writeSegment;
+
+    public record Location(int segment, long offset) {}
+
+    /**
+     * 행의 리포트 JSON (DB 에 있으면 DB, 보관됐으면 세그먼트에서)
+     */
+    public Optional<String> resultOf(PlantAnalysisLog log) {
+        if (log.getAnalysisResult() != null) return Optional.of(log.getAnalysisResult());
+        if (log.getArchiveSegment() == null || log.getArchiveOffset() == null) return Optional.empty();
+        return Optional.of(read(log.getId(), log.getArchiveSegment(), log.getArchiveOffset()));
+    }
+
+    public String read(long logId, int segment, long offset) {
+        MappedByteBuffer buffer = mapping(segment, offset + HEADER_BYTES);
+        int position = Math.toIntExact(offset);
+
+        long storedId = buffer.getLong(position);
+        int compressedLength = buffer.getInt(position + Long.BYTES);
+        int rawLength = buffer.getInt(position + Long.BYTES + Integer.BYTES);
+        if (storedId != logId) {
+            throw new IllegalStateException("보관 레코드 불일치: segment " + segment + " @" + offset
+                    + " 에는 log " + storedId + " 가 있습니다 (요청 log " + logId + ")");
+        }
+        if (position + HEADER_BYTES + compressedLength > buffer.limit()) {
+            buffer = mapping(segment, offset + HEADER_BYTES + compressedLength);
+        }
+
+        byte[] compressed = new byte[compressedLength];
+        buffer.get(position + HEADER_BYTES, compressed);
+
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            byte[] raw = new byte[rawLength];
+            int n = 0;
+            while (n < rawLength && !inflater.finished()) {
+                n += inflater.inflate(raw, n, rawLength - n);
+            }
+            return new String(raw, 0, n, StandardCharsets.UTF_8);
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("보관 레코드 압축 해제 실패: log " + logId, e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * 레코드 추가. 반환한 위치는 force() 이후에만 DB 에 기록해야 함
+     */
+    public synchronized Location append(long logId, String json) throws IOException {
+        byte[] raw = json.getBytes(StandardCharsets.UTF_8);
+        Deflater deflater = new Deflater(compressionLevel);
+        byte[] compressed;
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            byte[] out = new byte[Math.max(64, raw.length / 2)];
+            int n = 0;
+            while (!deflater.finished()) {
+                if (n == out.length) out = Arrays.copyOf(out, out.length * 2);
+                n += deflater.deflate(out, n, out.length - n);
+            }
+            compressed = Arrays.copyOf(out, n);
+        } finally {
+            deflater.end();
+        }
+
+        FileChannel channel = writeChannel(HEADER_BYTES + compressed.length);
+        long offset = channel.size();
+        ByteBuffer record = ByteBuffer.allocate(HEADER_BYTES + compressed.length)
+                .putLong(logId)
+                .putInt(compressed.length)
+                .putInt(raw.length)
+                .put(compressed)
+                .flip();
+        while (record.hasRemaining()) {
+            channel.write(record, offset + record.position());
+        }
+        return new Location(writeSegment, offset);
+    }
+
+    // 지금까지 추가한 레코드를 디스크에 반영
+    public synchronized void force() throws IOException {
+        if (writeChannel != null) writeChannel.force(false);
+    }
+
+    private FileChannel writeChannel(int recordBytes) throws IOException {
+        if (writeChannel == null) {
+            Files.createDirectories(dir);
+            writeSegment = lastSegment();
+            writeChannel = open(writeSegment);
+        }
+        if (writeChannel.size() > 0 && writeChannel.size() + recordBytes > segmentMaxBytes) {
+            writeChannel.force(false);
+            writeChannel.close();
+            writeSegment++;
+            writeChannel = open(writeSegment);
+            log.info("📦 보관 세그먼트 전환: {}", segmentPath(writeSegment).getFileName());
+        }
+        return writeChannel;
+    }
+
+    private FileChannel open(int segment) throws IOException {
+        return FileChannel.open(segmentPath(segment), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+    }
+
+    private int lastSegment() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.map(p -> p.getFileName().toString())
+                    .filter(name -> name.matches("segment-\\d{6}\\.seg"))
+                    .mapToInt(name -> Integer.parseInt(name.substring(8, 14)))
+                    .max()
+                    .orElse(1);
+        }
+    }
+
+    // 요청 위치(end)까지 포함하는 매핑 (쓰기 중인 세그먼트는 커질 수 있으므로 부족하면 다시 매핑)
+    private MappedByteBuffer mapping(int segment, long end) {
+        MappedByteBuffer buffer = mapped.get(segment);
+        if (buffer != null && buffer.limit() >= end) return buffer;
+
+        try (FileChannel channel = FileChannel.open(segmentPath(segment), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < end) {
+                throw new IllegalStateException("보관 세그먼트가 예상보다 짧습니다: " + segmentPath(segment).getFileName());
+            }
+            MappedByteBuffer fresh = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            mapped.put(segment, fresh);
+            return fresh;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Path segmentPath(int segment) {
+        return dir.resolve(String.format("segment-%06d.seg", segment));
+    }
+
+    @PreDestroy
+    synchronized void close() throws IOException {
+        if (writeChannel != null) {
+            writeChannel.force(false);
+            writeChannel.close();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package cse.plant_care_chatbot.plant.archive;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * after-days 보다 오래된 리포트 JSON 을 세그먼트 파일로 옮기고 DB 의 LONGTEXT 를 비움 (archive.enabled=true)
+ * - batch-size 건씩: 세그먼트에 추가 → force → 같은 내용일 때만 DB 갱신 (그 사이 재분석으로 바뀐 행은 건너뜀)
+ * - DB 갱신 전에 중단되면 세그먼트에 참조되지 않는 레코드가 남을 뿐 기록은 DB 에 그대로 있음
+ * - overallScore 가 비어 있는 이전 기록은 보관하면서 JSON 에서 채움 (집계가 JSON 을 읽지 않도록)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "archive.enabled", havingValue = "true")
+public class ResultArchiver {
+
+    private static final String SELECT_SQL = """
+            SELECT id, analysis_result, overall_score FROM plant_analysis_log
+            WHERE id > ? AND created_at < ? AND analysis_result IS NOT NULL
+            ORDER BY id
+            LIMIT ?
+            """;
+
+    private static final String ARCHIVE_SQL = """
+            UPDATE plant_analysis_log
+            SET analysis_result = NULL, archive_segment = ?, archive_offset = ?,
+                overall_score = COALESCE(overall_score, ?)
+            WHERE id = ? AND analysis_result = ?
+            """;
+
+    private final ResultArchive archive;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${archive.after-days:30}")
+    private int afterDays;
+
+    @Value("${archive.batch-size:500}")
+    private int batchSize;
+
+    @Scheduled(cron = "${archive.cron:0 0 4 * * *}")
+    public void run() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(afterDays);
+        long started = System.currentTimeMillis();
+        long archived = 0, rawBytes = 0, afterId = 0;
+
+        try {
+            List<Map<String, Object>> rows;
+            while (!(rows = jdbcTemplate.queryForList(SELECT_SQL, afterId, cutoff, batchSize)).isEmpty()) {
+                List<Object[]> updates = new ArrayList<>(rows.size());
+                for (Map<String, Object> row : rows) {
+                    long id = ((Number) row.get("id")).longValue();
+                    String json = (String) row.get("analysis_result");
+                    Object score = row.get("overall_score");
+
+                    ResultArchive.Location location = archive.append(id, json);
+                    updates.add(new Object[]{location.segment(), location.offset(),
+                            score != null ? score : scoreOf(json), id, json});
+                    rawBytes += json.length();
+                    afterId = id;
+                }
+                archive.force();
+                for (int updated : jdbcTemplate.batchUpdate(ARCHIVE_SQL, updates)) {
+                    if (updated > 0) archived++;
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Result archive stopped at log {}: {}", afterId, e.getMessage());
+        }
+
+        if (archived > 0) {
+            log.info("📦 리포트 보관: {}건 (~{} KB), {}ms", archived, rawBytes / 1024, System.currentTimeMillis() - started);
+        }
+    }
+
+    private Integer scoreOf(String json) {
+        try {
+            JsonNode score = objectMapper.readTree(json).get("overallScore");
+            return (score != null && score.isNumber()) ? score.asInt() : null;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
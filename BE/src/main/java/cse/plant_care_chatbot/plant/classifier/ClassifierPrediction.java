@@ -0,0 +1,8 @@
+package cse.plant_care_chatbot.plant.classifier;
+
+public record ClassifierPrediction(
+        String plantName,   // 예측 식물 이름 (PlantSpecies 한글명)
+        String growthLevel, // 예측 성장 단계 (High, Medium, Low, DIE)
+        float confidence,   // 최상위 라벨 softmax 확률
+        long elapsedMillis  // 전처리 + 추론 시간
+) {}
@@ -0,0 +1,121 @@
+package cse.plant_care_chatbot.plant.classifier;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import cse.plant_care_chatbot.plant.dto.PlantSpecies;
+import cse.plant_care_chatbot.plant.ingest.CaptionItem;
+import cse.plant_care_chatbot.plant.ingest.CaptionJsonReader;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * 라벨링된 데이터셋 이미지로 분류기 정확도/지연시간 리포트 생성
+ *
+ * 실행 예)
+ *   java -jar app.jar --spring.main.web-application-type=none \
+ *     --classifier.enabled=true --classifier.evaluate=true \
+ *     --classifier.eval.caption=전체보스턴고사리_캡션.json --classifier.eval.image-dir=보스턴고사리 \
+ *     --classifier.eval.caption=전체스파티필럼_캡션2.json --classifier.eval.image-dir=스파티필럼
+ *
+ * 정답 종은 캡션 파일명, 정답 성장 단계는 original_growth_level 을 사용한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = {"classifier.enabled", "classifier.evaluate"}, havingValue = "true")
+public class PlantClassifierEvaluator implements ApplicationRunner {
+
+    private final PlantImageClassifier classifier;
+    private final ObjectMapper objectMapper;
+
+    @Value("${classifier.eval.report-file:classifier-eval-report.json}")
+    private String reportFile;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        List<String> captions = Optional.ofNullable(args.getOptionValues("classifier.eval.caption")).orElse(List.of());
+        List<String> imageDirs = Optional.ofNullable(args.getOptionValues("classifier.eval.image-dir")).orElse(List.of());
+
+        if (captions.isEmpty() || captions.size() != imageDirs.size()) {
+            throw new IllegalArgumentException("--classifier.eval.caption 과 --classifier.eval.image-dir 는 같은 개수로 지정해야 합니다.");
+        }
+
+        int total = 0, speciesHit = 0, levelHit = 0, bothHit = 0;
+        int confident = 0, confidentHit = 0;
+        List<Long> latencies = new ArrayList<>();
+        Map<String, Integer> confusion = new TreeMap<>(); // "정답 -> 예측" 카운트
+
+        for (int i = 0; i < captions.size(); i++) {
+            Path captionPath = Path.of(captions.get(i));
+            Path imageDir = Path.of(imageDirs.get(i));
+            String expectedName = Arrays.stream(PlantSpecies.values())
+                    .map(PlantSpecies::getKoreanName)
+                    .filter(name -> captionPath.getFileName().toString().contains(name))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("캡션 파일명에서 식물 종을 찾을 수 없습니다: " + captionPath));
+
+            try (CaptionJsonReader reader = new CaptionJsonReader(objectMapper, captionPath)) {
+                CaptionItem item;
+                while ((item = reader.next()) != null) {
+                    if (item.imageName() == null || item.originalGrowthLevel() == null) continue;
+                    Path imagePath = imageDir.resolve(item.imageName());
+                    if (!Files.exists(imagePath)) continue;
+
+                    Optional<ClassifierPrediction> prediction = classifier.classify(Files.readAllBytes(imagePath));
+                    if (prediction.isEmpty()) continue;
+
+                    ClassifierPrediction p = prediction.get();
+                    boolean speciesOk = expectedName.equals(p.plantName());
+                    boolean levelOk = item.originalGrowthLevel().equalsIgnoreCase(p.growthLevel());
+
+                    total++;
+                    latencies.add(p.elapsedMillis());
+                    if (speciesOk) speciesHit++;
+                    if (levelOk) levelHit++;
+                    if (speciesOk && levelOk) bothHit++;
+                    if (p.confidence() >= classifier.getConfidenceThreshold()) {
+                        confident++;
+                        if (speciesOk && levelOk) confidentHit++;
+                    }
+                    confusion.merge(expectedName + "|" + item.originalGrowthLevel() + " -> "
+                            + p.plantName() + "|" + p.growthLevel(), 1, Integer::sum);
+                }
+            }
+        }
+
+        Collections.sort(latencies);
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("total", total);
+        report.put("speciesAccuracy", ratio(speciesHit, total));
+        report.put("growthLevelAccuracy", ratio(levelHit, total));
+        report.put("jointAccuracy", ratio(bothHit, total));
+        report.put("confidenceThreshold", classifier.getConfidenceThreshold());
+        report.put("coverage", ratio(confident, total));                 // Gemini 비전 호출을 건너뛰는 비율
+        report.put("confidentAccuracy", ratio(confidentHit, confident)); // 건너뛴 요청의 정확도
+        report.put("latencyP50Ms", percentile(latencies, 0.50));
+        report.put("latencyP95Ms", percentile(latencies, 0.95));
+        report.put("latencyP99Ms", percentile(latencies, 0.99));
+        report.put("confusion", confusion);
+
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(Path.of(reportFile).toFile(), report);
+        log.info("📊 분류기 평가 결과: {}", report);
+    }
+
+    private double ratio(int hit, int total) {
+        return total == 0 ? 0 : Math.round(hit * 10000.0 / total) / 10000.0;
+    }
+
+    private long percentile(List<Long> sorted, double p) {
+        if (sorted.isEmpty()) return 0;
+        int idx = (int) Math.ceil(p * sorted.size()) - 1;
+        return sorted.get(Math.max(0, Math.min(idx, sorted.size() - 1)));
+    }
+}
@@ -0,0 +1,181 @@
+package cse.plant_care_chatbot.plant.classifier;
+
+import ai.onnxruntime.OnnxTensor;
+import ai.onnxruntime.OrtEnvironment;
+import ai.onnxruntime.OrtException;
+import ai.onnxruntime.OrtSession;
+import cse.plant_care_chatbot.plant.dto.PlantSpecies;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.FloatBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Gemini 비전 호출 전에 실행하는 로컬 CPU 이미지 분류기 (ONNX).
+ * 라벨은 "식물이름|성장단계" 조합 (예: 보스턴고사리|High) 이며, 모델 출력 순서와 같아야 한다.
+ * 최상위 확률이 confidence-threshold 이상일 때만 PlantService 가 결과를 그대로 사용한다.
+ * 라벨 형식 / 종 이름 / 모델 출력 크기가 맞지 않으면 기동 시 실패한다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "classifier.enabled", havingValue = "true")
+public class PlantImageClassifier {
+
+    // ImageNet 정규화 값
+    private static final float[] MEAN = {0.485f, 0.456f, 0.406f};
+    private static final float[] STD = {0.229f, 0.224f, 0.225f};
+
+    @Value("${classifier.model-path}")
+    private String modelPath;
+
+    @Value("${classifier.labels:보스턴고사리|High,보스턴고사리|Medium,보스턴고사리|Low,보스턴고사리|DIE,스파티필럼|High,스파티필럼|Medium,스파티필럼|Low,스파티필럼|DIE}")
+    private List<String> labels;
+
+    @Value("${classifier.input-size:224}")
+    private int inputSize;
+
+    @Value("${classifier.confidence-threshold:0.85}")
+    private float confidenceThreshold;
+
+    @Value("${classifier.intra-op-threads:2}")
+    private int intraOpThreads;
+
+    private OrtEnvironment env;
+    private OrtSession session;
+    private String inputName;
+    private List<Label> parsedLabels;
+
+    private record Label(String plantName, String growthLevel) {}
+
+    @PostConstruct
+    void init() throws OrtException {
+        parsedLabels = parseLabels(labels);
+
+        env = OrtEnvironment.getEnvironment();
+        OrtSession.SessionOptions options = new OrtSession.SessionOptions();
+        options.setIntraOpNumThreads(intraOpThreads);
+        options.setOptimizationLevel(OrtSession.SessionOptions.OptLevel.ALL_OPT);
+        session = env.createSession(modelPath, options);
+        inputName = session.getInputNames().iterator().next();
+
+        // 빈 입력으로 한 번 추론해 출력 크기가 라벨 수와 같은지 확인 (입력 크기가 틀려도 여기서 실패)
+        int outputSize = infer(new float[3 * inputSize * inputSize]).length;
+        if (outputSize != parsedLabels.size()) {
+            session.close();
+            throw new IllegalStateException("분류 모델 출력 크기(" + outputSize
+                    + ")가 classifier.labels 개수(" + parsedLabels.size() + ")와 다릅니다.");
+        }
+        log.info("식물 분류 모델 로드: {} (labels={}, threshold={})", modelPath, labels.size(), confidenceThreshold);
+    }
+
+    @PreDestroy
+    void close() throws OrtException {
+        session.close();
+    }
+
+    public float getConfidenceThreshold() {
+        return confidenceThreshold;
+    }
+
+    /**
+     * 분류 결과 (이미지 디코딩/추론 실패 시 empty → Gemini 로 폴백)
+     */
+    public Optional<ClassifierPrediction> classify(byte[] imageBytes) {
+        long start = System.nanoTime();
+        try {
+            BufferedImage image = ImageIO.read(new ByteArrayInputStream(imageBytes));
+            if (image == null) return Optional.empty();
+
+            float[] probs = softmax(infer(toTensorData(image)));
+            int best = 0;
+            for (int i = 1; i < probs.length; i++) {
+                if (probs[i] > probs[best]) best = i;
+            }
+
+            Label label = parsedLabels.get(best);
+            return Optional.of(new ClassifierPrediction(label.plantName(), label.growthLevel(), probs[best],
+                    (System.nanoTime() - start) / 1_000_000));
+        } catch (IOException | OrtException | RuntimeException e) {
+            log.warn("Plant classifier failed: {}", e.toString());
+            return Optional.empty();
+        }
+    }
+
+    // 모델이 확신할 때만 결과 반환
+    public Optional<ClassifierPrediction> classifyConfident(byte[] imageBytes) {
+        return classify(imageBytes).filter(p -> p.confidence() >= confidenceThreshold);
+    }
+
+    // "식물이름|성장단계" 라벨 파싱, 형식이 틀리거나 지원하지 않는 종이면 예외
+    private static List<Label> parseLabels(List<String> labels) {
+        List<Label> parsed = new ArrayList<>(labels.size());
+        for (String raw : labels) {
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 2 || parts[1].isBlank()) {
+                throw new IllegalStateException("classifier.labels 항목은 \"식물이름|성장단계\" 형식이어야 합니다: " + raw);
+            }
+            PlantSpecies species = PlantSpecies.fromKoreanName(parts[0])
+                    .orElseThrow(() -> new IllegalStateException("classifier.labels 에 지원하지 않는 식물이 있습니다: " + raw));
+            parsed.add(new Label(species.getKoreanName(), parts[1].trim()));
+        }
+        return List.copyOf(parsed);
+    }
+
+    private float[] infer(float[] data) throws OrtException {
+        long[] shape = {1, 3, inputSize, inputSize};
+        try (OnnxTensor tensor = OnnxTensor.createTensor(env, FloatBuffer.wrap(data), shape);
+             OrtSession.Result output = session.run(Map.of(inputName, tensor))) {
+            return ((float[][]) output.get(0).getValue())[0];
+        }
+    }
+
+    // 리사이즈 후 NCHW float 배열로 변환 (ImageNet 정규화)
+    private float[] toTensorData(BufferedImage source) {
+        BufferedImage resized = new BufferedImage(inputSize, inputSize, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = resized.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g.drawImage(source, 0, 0, inputSize, inputSize, null);
+        g.dispose();
+
+        int plane = inputSize * inputSize;
+        float[] data = new float[3 * plane];
+        int[] pixels = resized.getRGB(0, 0, inputSize, inputSize, null, 0, inputSize);
+        for (int i = 0; i < plane; i++) {
+            int rgb = pixels[i];
+            data[i] = (((rgb >> 16) & 0xFF) / 255f - MEAN[0]) / STD[0];
+            data[plane + i] = (((rgb >> 8) & 0xFF) / 255f - MEAN[1]) / STD[1];
+            data[2 * plane + i] = ((rgb & 0xFF) / 255f - MEAN[2]) / STD[2];
+        }
+        return data;
+    }
+
+    private float[] softmax(float[] logits) {
+        float max = Float.NEGATIVE_INFINITY;
+        for (float v : logits) max = Math.max(max, v);
+
+        double sum = 0;
+        float[] probs = new float[logits.length];
+        for (int i = 0; i < logits.length; i++) {
+            probs[i] = (float) Math.exp(logits[i] - max);
+            sum += probs[i];
+        }
+        for (int i = 0; i < probs.length; i++) {
+            probs[i] /= (float) sum;
+        }
+        return probs;
+    }
+}
@@ -0,0 +1,77 @@
+package cse.plant_care_chatbot.plant.controller;
+
+import cse.plant_care_chatbot.global.common.CommonResponse;
+import cse.plant_care_chatbot.global.common.code.SuccessCode;
+import cse.plant_care_chatbot.plant.dto.HistorySearchRes;
+import cse.plant_care_chatbot.plant.embedding.EmbeddingEngine;
+import cse.plant_care_chatbot.plant.entity.PlantAnalysisLog;
+import cse.plant_care_chatbot.plant.milvus.HistoryVectorIndex;
+import cse.plant_care_chatbot.plant.milvus.MilvusExpr;
+import cse.plant_care_chatbot.plant.repository.PlantAnalysisLogRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 과거 분석 기록 의미 검색 ("노랗게 변한 고사리" 와 비슷한 사례 찾기)
+ * 검색어 임베딩 → 기록 검색 컬렉션 HNSW 검색 → 상위 기록만 MySQL 에서 조회
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/v1/plants/history")
+@ConditionalOnProperty(name = "history-search.enabled", havingValue = "true")
+public class HistorySearchController {
+
+    private static final int MAX_TOP_K = 100;
+
+    private final EmbeddingEngine embeddingEngine;
+    private final HistoryVectorIndex historyIndex;
+    private final PlantAnalysisLogRepository logRepo;
+
+    @GetMapping("/search")
+    public CommonResponse<List<HistorySearchRes>> search(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int topK,
+            @RequestParam(required = false) String plantName,
+            @RequestParam(required = false) String growthLevel,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        if (q.isBlank()) {
+            throw new RuntimeException("검색어를 입력해 주세요.");
+        }
+        int k = Math.max(1, Math.min(topK, MAX_TOP_K));
+
+        String expr = MilvusExpr.and(
+                plantName != null ? MilvusExpr.eq("plant_name", plantName) : null,
+                growthLevel != null ? MilvusExpr.eq("growth_level", growthLevel) : null,
+                MilvusExpr.range("created_at",
+                        from != null ? from.atStartOfDay(ZoneId.systemDefault()).toEpochSecond() : null,
+                        to != null ? to.plusDays(1).atStartOfDay(ZoneId.systemDefault()).toEpochSecond() : null));
+
+        List<HistoryVectorIndex.Hit> hits = historyIndex.search(embeddingEngine.embed(q), k, expr);
+
+        Map<Long, PlantAnalysisLog> logs = logRepo.findAllById(hits.stream().map(HistoryVectorIndex.Hit::logId).toList())
+                .stream()
+                .collect(Collectors.toMap(PlantAnalysisLog::getId, Function.identity()));
+
+        List<HistorySearchRes> results = hits.stream()
+                .filter(hit -> logs.containsKey(hit.logId()))
+                .map(hit -> {
+                    PlantAnalysisLog log = logs.get(hit.logId());
+                    return new HistorySearchRes(log.getId(), hit.score(), log.getPlantName(), log.getGrowthLevel(),
+                            log.getCaption(), log.getUserDescription(), log.getFeedbackType(), log.getCreatedAt());
+                })
+                .toList();
+
+        return CommonResponse.success(SuccessCode.HISTORY_SEARCH_SUCCESS, results);
+    }
+}
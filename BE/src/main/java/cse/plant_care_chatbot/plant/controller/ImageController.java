@@ -0,0 +1,90 @@
+package cse.plant_care_chatbot.plant.controller;
+
+import cse.plant_care_chatbot.plant.image.ImageStore;
+import cse.plant_care_chatbot.plant.image.ImageVariant;
+import cse.plant_care_chatbot.plant.image.StoredImage;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 유사 식물 이미지 전송
+ * - URL 의 해시가 현재 원본과 같으면 1년 immutable 캐시, 다르면(원본 교체) no-cache
+ * - If-None-Match → 304
+ * - Range 요청은 ResponseEntity<Resource> 의 부분 응답(206)으로 처리
+ * - Tomcat sendfile 을 지원하면 전체 응답은 커널 sendfile 로 전송 (zero-copy)
+ */
+@RestController
+@RequiredArgsConstructor
+public class ImageController {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final ImageStore imageStore;
+
+    @GetMapping(ImageStore.URL_PREFIX + "/{hash}/{variant}/{name:.+}")
+    public ResponseEntity<Resource> getImage(@PathVariable String hash,
+                                             @PathVariable String variant,
+                                             @PathVariable String name,
+                                             @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                                             @RequestHeader(value = HttpHeaders.RANGE, required = false) String range,
+                                             ServletWebRequest webRequest,
+                                             HttpServletRequest request) throws IOException {
+        Optional<ImageVariant> imageVariant = ImageVariant.fromPath(variant);
+        if (imageVariant.isEmpty()) return ResponseEntity.notFound().build();
+
+        boolean acceptsWebp = accept != null && accept.contains("image/webp");
+        Optional<StoredImage> resolved = imageStore.resolve(name, imageVariant.get(), acceptsWebp);
+        if (resolved.isEmpty()) return ResponseEntity.notFound().build();
+        StoredImage image = resolved.get();
+
+        CacheControl cacheControl = hash.equals(image.contentHash())
+                ? CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable()
+                : CacheControl.noCache();
+        String etag = "\"" + image.etag() + "\"";
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setCacheControl(cacheControl);
+        headers.setETag(etag);
+        headers.setContentType(MediaType.parseMediaType(image.contentType()));
+        // 변형은 Accept 에 따라 WebP/JPEG 이 달라짐
+        if (imageVariant.get() != ImageVariant.ORIGINAL) headers.setVary(List.of(HttpHeaders.ACCEPT));
+
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(304).headers(headers).build();
+        }
+
+        // 전체 응답 + sendfile 지원 → 본문 없이 헤더만 쓰고 파일 전송은 컨테이너에 맡김
+        if (range == null && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, image.path().toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, image.size());
+            headers.setContentLength(image.size());
+            headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+            return ResponseEntity.ok().headers(headers).build();
+        }
+
+        // Content-Length / Content-Range 는 Range 여부에 따라 컨버터가 채움
+        return ResponseEntity.ok()
+                .headers(headers)
+                .body(new FileSystemResource(image.path()));
+    }
+}
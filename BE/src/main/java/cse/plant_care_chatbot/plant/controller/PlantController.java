@@ -1,87 +1,166 @@
 package cse.plant_care_chatbot.plant.controller;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import cse.plant_care_chatbot.global.common.ContentHash;
+import cse.plant_care_chatbot.global.common.RawJsonResponse;
+import cse.plant_care_chatbot.global.common.RequestDeadline;
+import cse.plant_care_chatbot.global.common.code.ErrorCode;
+import cse.plant_care_chatbot.plant.archive.ResultArchive;
 import cse.plant_care_chatbot.plant.dto.*;
 import cse.plant_care_chatbot.plant.entity.PlantAnalysisLog;
 import cse.plant_care_chatbot.plant.repository.PlantAnalysisLogRepository;
-import cse.plant_care_chatbot.plant.service.GeminiEmbeddingService;
-import cse.plant_care_chatbot.plant.service.MilvusService;
-import cse.plant_care_chatbot.plant.service.PlantAnalysisService; // 새로 만든 서비스
+import cse.plant_care_chatbot.plant.service.AnalysisJobQueue;
+import cse.plant_care_chatbot.plant.service.AnalysisStatsService;
+import cse.plant_care_chatbot.plant.service.HistoryExportService;
+import cse.plant_care_chatbot.plant.service.PlantAnalysisPipeline;
+import cse.plant_care_chatbot.plant.service.PlantBatchAnalysisService;
 import cse.plant_care_chatbot.plant.service.PlantService;
 import cse.plant_care_chatbot.global.common.CommonResponse;
 import cse.plant_care_chatbot.global.common.code.SuccessCode;
 import lombok.RequiredArgsConstructor;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
 
+@Slf4j
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/v1/plants")
 public class PlantController {
 
-    private final PlantService plantService;           // Step 1: 이미지 분석
-    private final PlantAnalysisLogRepository logRepo;  // 로그 저장
-    private final GeminiEmbeddingService embedService; // 임베딩
-    private final MilvusService milvusService;         // Step 2: 검색 & 센서 비교
-    private final PlantAnalysisService reportService;  // Step 3: 최종 리포트 생성 (추가됨)
+    private final PlantService plantService;                 // 피드백
+    private final PlantAnalysisLogRepository logRepo;        // 기록 조회
+    private final PlantAnalysisPipeline analysisPipeline;    // Step 1 ~ 3 (이미지 분석 → 검색 → 리포트)
+    private final PlantBatchAnalysisService batchService;    // 배치 분석
+    private final AnalysisJobQueue jobQueue;                 // 비동기 분석 (작업 큐)
+    private final HistoryExportService exportService;        // 기록 내보내기
+    private final AnalysisStatsService statsService;         // 일별 집계
+    private final ResultArchive resultArchive;               // 보관된 리포트 읽기
 
-    private final ObjectMapper objectMapper;
+    private final RawJsonResponse rawJsonResponse;           // 저장된 JSON 을 그대로 감싸서 전송
+
+    // 단건 분석 기본 / 최대 제한 시간 (X-Request-Timeout-Ms 헤더로 이보다 짧게 지정 가능)
+    @Value("${analysis.deadline-ms:30000}")
+    private long analysisDeadlineMs;
+
+    // 기록 상세 캐시 기간 (리포트는 재분석 때만 바뀜)
+    @Value("${report.cache-max-age-seconds:86400}")
+    private long reportCacheMaxAgeSeconds;
+
+    // 부분 리포트(partial=true) 캐시 기간, 0 이면 no-cache (매번 ETag 로 재검증)
+    @Value("${report.partial-cache-max-age-seconds:0}")
+    private long partialCacheMaxAgeSeconds;
+
+    @Value("${batch.max-images:50}")
+    private int batchMaxImages;
+
+    @Value("${batch.timeout-ms:600000}")
+    private long batchTimeoutMs;
 
     @PostMapping(value = "/analyze", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public CommonResponse<PlantReportRes> analyzePlant(
             @RequestPart("image") MultipartFile image,
-            @RequestPart(value = "description", required = false) String description
+            @RequestPart(value = "description", required = false) String description,
+            @RequestPart(value = "plantId", required = false) String plantId,  // 텔레메트리를 보내는 식물이면 실측값 사용
+            @RequestHeader(value = "X-Request-Timeout-Ms", required = false) Long timeoutMs
     ) throws IOException {
 
-        // 1️⃣ Step 1: Gemini 이미지 분석
         String safeDesc = (description != null) ? description : "";
-        GeminiAnalysisResult geminiRes = plantService.analyzePlant(image, safeDesc);
-
-        // 💾 DB 저장
-        PlantAnalysisLog log = logRepo.save(PlantAnalysisLog.builder()
-                .plantName(geminiRes.plantName())
-                .growthLevel(geminiRes.growthLevel())
-                .caption(geminiRes.caption())
-                .userDescription(safeDesc)
-                .build());
-
-        // 2️⃣ Step 2: Milvus 검색 및 센서 데이터 비교
-        List<Float> captionVector = embedService.getEmbedding(geminiRes.caption());
-
-        Map<String, Object> milvusResult = milvusService.searchAndAnalyze(
-                geminiRes.plantName(),
-                geminiRes.growthLevel(),
-                captionVector
-        );
-
-        List<String> similarImages = (List<String>) milvusResult.get("images");
-        List<SensorComparisonRes> sensorAnalysis = (List<SensorComparisonRes>) milvusResult.get("analysis");
-
-        // 3️⃣ Step 3: 최종 리포트 생성 (점수 계산 + 상세 가이드)
-        PlantReportRes finalReport = reportService.generateReport(
-                log.getId(),
-                geminiRes.plantName(),
-                geminiRes.growthLevel(),
-                geminiRes.caption(),
-                safeDesc,
-                similarImages,
-                sensorAnalysis
-        );
-
-        String resultJson = objectMapper.writeValueAsString(finalReport);
-        log.updateResult(resultJson);
-        logRepo.save(log);
+        RequestDeadline deadline = RequestDeadline.clamped(timeoutMs != null ? timeoutMs : analysisDeadlineMs, analysisDeadlineMs);
+        PlantReportRes finalReport = analysisPipeline.analyze(image.getBytes(), image.getContentType(), safeDesc, plantId, deadline);
 
         return CommonResponse.success(SuccessCode.PLANT_ANALYSIS_SUCCESS, finalReport);
     }
 
+    /**
+     * 비동기 분석: 작업 큐에 넣고 jobId 만 반환. 워커 노드(analysis.jobs.worker.enabled)가 처리하며
+     * 완료되면 GET /analyze/jobs/{jobId} 의 logId 로 결과(GET /history/{logId})를 조회한다.
+     */
+    @PostMapping(value = "/analyze/async", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public CommonResponse<AnalysisJobRes> analyzePlantAsync(
+            @RequestPart("image") MultipartFile image,
+            @RequestPart(value = "description", required = false) String description
+    ) throws IOException {
+
+        String safeDesc = (description != null) ? description : "";
+        Long jobId = jobQueue.enqueue(image.getBytes(), image.getContentType(), safeDesc);
+
+        return CommonResponse.success(SuccessCode.PLANT_ANALYSIS_ACCEPTED, jobQueue.getStatus(jobId));
+    }
+
+    @GetMapping("/analyze/jobs/{jobId}")
+    public CommonResponse<AnalysisJobRes> getAnalysisJob(@PathVariable Long jobId) {
+        return CommonResponse.success(SuccessCode.ANALYSIS_JOB_STATUS_SUCCESS, jobQueue.getStatus(jobId));
+    }
+
+    /**
+     * 여러 이미지 일괄 분석. 이미지별 결과를 완료되는 대로 SSE "result" 이벤트로 보내고, 마지막에 "complete" 이벤트를 보낸다.
+     */
+    @PostMapping(value = "/analyze/batch", consumes = MediaType.MULTIPART_FORM_DATA_VALUE,
+            produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter analyzePlantBatch(
+            @RequestPart("images") List<MultipartFile> images,
+            @RequestPart(value = "description", required = false) String description
+    ) throws IOException {
+
+        if (images.isEmpty() || images.size() > batchMaxImages) {
+            throw new RuntimeException("한 번에 1 ~ " + batchMaxImages + "장의 이미지만 분석할 수 있습니다.");
+        }
+
+        // 응답이 비동기로 이어지므로 업로드 임시 파일이 정리되기 전에 바이트를 읽어둔다
+        String safeDesc = (description != null) ? description : "";
+        List<PlantBatchAnalysisService.BatchImage> batch = new ArrayList<>();
+        for (MultipartFile image : images) {
+            batch.add(new PlantBatchAnalysisService.BatchImage(
+                    image.getOriginalFilename(), image.getBytes(), image.getContentType()));
+        }
+
+        SseEmitter emitter = new SseEmitter(batchTimeoutMs);
+        RequestDeadline deadline = RequestDeadline.after(Duration.ofMillis(batchTimeoutMs));
+        batchService.analyzeBatchAsync(batch, safeDesc, deadline, item -> {
+            CommonResponse<BatchAnalysisItemRes> event = (item.report() != null)
+                    ? CommonResponse.success(SuccessCode.PLANT_ANALYSIS_SUCCESS, item)
+                    : CommonResponse.failure(ErrorCode.INTERNAL_SERVER_ERROR, item);
+            try {
+                emitter.send(SseEmitter.event().name("result").data(event, MediaType.APPLICATION_JSON));
+            } catch (IOException e) {
+                log.debug("Batch SSE client disconnected: {}", e.getMessage());
+            }
+        }).whenComplete((ignored, error) -> {
+            if (error != null) {
+                emitter.completeWithError(error);
+                return;
+            }
+            try {
+                emitter.send(SseEmitter.event().name("complete")
+                        .data(CommonResponse.success(SuccessCode.PLANT_ANALYSIS_SUCCESS), MediaType.APPLICATION_JSON));
+                emitter.complete();
+            } catch (IOException e) {
+                emitter.completeWithError(e);
+            }
+        });
+
+        return emitter;
+    }
+
     @GetMapping("/history")
     public CommonResponse<List<HistoryListRes>> getHistory() {
         List<HistoryListRes> history = logRepo.findAll(Sort.by(Sort.Direction.DESC, "createdAt"))
@@ -98,19 +177,95 @@ public class PlantController {
         return CommonResponse.success(SuccessCode.PLANT_ANALYSIS_SUCCESS, history);
     }
 
+    /**
+     * 분석 기록 내보내기 (NDJSON / CSV). 응답 스트림에 바로 쓰므로 CommonResponse 로 감싸지 않는다.
+     * from ~ to 는 생성일 기준 (to 포함), Accept-Encoding 이 gzip 을 허용하면(q > 0) 압축해서 보낸다.
+     */
+    @GetMapping("/history/export")
+    public void exportHistory(
+            @RequestParam(defaultValue = "NDJSON") HistoryExportService.Format format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            HttpServletResponse response
+    ) throws IOException {
+
+        boolean gzip = RawJsonResponse.acceptsGzip(acceptEncoding);
+        String extension = (format == HistoryExportService.Format.CSV) ? "csv" : "ndjson";
+
+        response.setContentType(format == HistoryExportService.Format.CSV
+                ? "text/csv;charset=UTF-8" : MediaType.APPLICATION_NDJSON_VALUE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"plant-history." + extension + "\"");
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        try (OutputStream out = gzip
+                ? new GZIPOutputStream(response.getOutputStream(), 64 * 1024)
+                : response.getOutputStream()) {
+            exportService.export(format,
+                    (from != null ? from : LocalDate.of(2000, 1, 1)).atStartOfDay(),
+                    (to != null ? to.plusDays(1) : LocalDate.now().plusDays(1)).atStartOfDay(),
+                    out);
+        }
+    }
+
+    /**
+     * 기록 상세. 저장된 리포트 JSON 을 다시 파싱하지 않고 CommonResponse 로 감싸 그대로 보낸다.
+     * - ETag = 리포트 내용 해시, gzip 표현은 "<hash>-gz" (강한 ETag 는 바이트 단위로 같은 표현에만 같아야 함)
+     * - If-None-Match 를 요청이 받을 표현의 ETag 와 비교해서 같으면 본문을 읽지 않고 304
+     * - 재분석으로 리포트가 바뀌면 ETag 도 바뀜 (max-age 이후 재검증), 부분 리포트는 짧게 캐시
+     */
     @GetMapping("/history/{id}")
-    public CommonResponse<PlantReportRes> getHistoryDetail(@PathVariable Long id) throws IOException {
+    public ResponseEntity<byte[]> getHistoryDetail(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            ServletWebRequest webRequest
+    ) throws IOException {
+        String hash = logRepo.findResultHash(id)
+                .orElseThrow(() -> new RuntimeException("해당 기록을 찾을 수 없습니다."));
+        boolean gzip = RawJsonResponse.acceptsGzip(acceptEncoding);
+        if (!hash.isEmpty() && webRequest.checkNotModified(etag(hash, gzip))) {
+            return null; // 304 (ETag 헤더는 checkNotModified 가 설정)
+        }
+
         PlantAnalysisLog log = logRepo.findById(id)
                 .orElseThrow(() -> new RuntimeException("해당 기록을 찾을 수 없습니다."));
 
-        if (log.getAnalysisResult() == null) {
-            throw new RuntimeException("분석 결과가 저장되지 않은 기록입니다.");
+        // 오래된 기록은 보관 세그먼트에서 읽음
+        String resultJson = resultArchive.resultOf(log)
+                .orElseThrow(() -> new RuntimeException("분석 결과가 저장되지 않은 기록입니다."));
+
+        if (hash.isEmpty()) {
+            // 해시 컬럼 도입 전 기록: 한 번 계산해서 저장
+            hash = ContentHash.of(resultJson);
+            logRepo.updateResultHash(id, hash);
         }
 
-        // JSON 문자열을 다시 객체(PlantReportRes)로 변환
-        PlantReportRes result = objectMapper.readValue(log.getAnalysisResult(), PlantReportRes.class);
+        byte[] body = rawJsonResponse.success(SuccessCode.PLANT_ANALYSIS_SUCCESS, resultJson);
+        // 부분 리포트는 재분석으로 곧 채워질 수 있으므로 오래 캐시하지 않음
+        long maxAge = rawJsonResponse.topLevelBoolean(resultJson, "partial")
+                ? partialCacheMaxAgeSeconds : reportCacheMaxAgeSeconds;
+        CacheControl cacheControl = (maxAge > 0)
+                ? CacheControl.maxAge(Duration.ofSeconds(maxAge)).cachePrivate()
+                : CacheControl.noCache().cachePrivate();
 
-        return CommonResponse.success(SuccessCode.PLANT_ANALYSIS_SUCCESS, result);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(etag(hash, gzip))
+                .cacheControl(cacheControl)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+            body = RawJsonResponse.gzip(body);
+        }
+        return response.body(body);
+    }
+
+    // 표현별 강한 ETag (304 판단 전에 표현이 정해지도록 gzip 여부는 Accept-Encoding 으로만 결정)
+    private static String etag(String hash, boolean gzip) {
+        return "\"" + hash + (gzip ? "-gz" : "") + "\"";
     }
 
     @PatchMapping("/history/{logId}/feedback")
@@ -121,4 +276,16 @@ public class PlantController {
         plantService.addFeedback(logId, feedbackReq);
         return CommonResponse.success(SuccessCode.PLANT_FEEDBACK_SUCCESS);
     }
-}
\ No newline at end of file
+
+    /**
+     * 일별 집계 (날짜 x 종 x 성장 단계 x 피드백 건수, 평균 점수). 기본 최근 30일
+     */
+    @GetMapping("/stats")
+    public CommonResponse<PlantStatsRes> getStats(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String plantName
+    ) {
+        return CommonResponse.success(SuccessCode.PLANT_STATS_SUCCESS, statsService.getStats(from, to, plantName));
+    }
+}
@@ -0,0 +1,70 @@
+package cse.plant_care_chatbot.plant.controller;
+
+import cse.plant_care_chatbot.global.common.CommonResponse;
+import cse.plant_care_chatbot.global.common.code.SuccessCode;
+import cse.plant_care_chatbot.plant.dto.ReanalysisReq;
+import cse.plant_care_chatbot.plant.dto.ReanalysisRunRes;
+import cse.plant_care_chatbot.plant.service.ReanalysisService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * 관리자용 리포트 일괄 재분석 (X-Admin-Token 헤더 필요, admin.token 미설정 시 사용 불가)
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/v1/admin/reanalysis")
+public class ReanalysisController {
+
+    private final ReanalysisService reanalysisService;
+
+    @Value("${admin.token:}")
+    private String adminToken;
+
+    @PostMapping
+    public CommonResponse<ReanalysisRunRes> start(
+            @RequestHeader(value = "X-Admin-Token", required = false) String token,
+            @RequestBody ReanalysisReq req
+    ) {
+        checkAdmin(token);
+        return CommonResponse.success(SuccessCode.REANALYSIS_ACCEPTED, reanalysisService.start(req));
+    }
+
+    @GetMapping("/{runId}")
+    public CommonResponse<ReanalysisRunRes> getStatus(
+            @RequestHeader(value = "X-Admin-Token", required = false) String token,
+            @PathVariable Long runId
+    ) {
+        checkAdmin(token);
+        return CommonResponse.success(SuccessCode.REANALYSIS_STATUS_SUCCESS, reanalysisService.getStatus(runId));
+    }
+
+    @PostMapping("/{runId}/pause")
+    public CommonResponse<ReanalysisRunRes> pause(
+            @RequestHeader(value = "X-Admin-Token", required = false) String token,
+            @PathVariable Long runId
+    ) {
+        checkAdmin(token);
+        return CommonResponse.success(SuccessCode.REANALYSIS_STATUS_SUCCESS, reanalysisService.pause(runId));
+    }
+
+    @PostMapping("/{runId}/resume")
+    public CommonResponse<ReanalysisRunRes> resume(
+            @RequestHeader(value = "X-Admin-Token", required = false) String token,
+            @PathVariable Long runId
+    ) {
+        checkAdmin(token);
+        return CommonResponse.success(SuccessCode.REANALYSIS_ACCEPTED, reanalysisService.resume(runId));
+    }
+
+    private void checkAdmin(String token) {
+        if (adminToken.isBlank() || token == null
+                || !MessageDigest.isEqual(adminToken.getBytes(StandardCharsets.UTF_8), token.getBytes(StandardCharsets.UTF_8))) {
+            throw new RuntimeException("관리자 권한이 필요합니다.");
+        }
+    }
+}
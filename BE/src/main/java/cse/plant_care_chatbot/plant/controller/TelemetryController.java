@@ -0,0 +1,47 @@
+package cse.plant_care_chatbot.plant.controller;
+
+import cse.plant_care_chatbot.global.common.CommonResponse;
+import cse.plant_care_chatbot.global.common.code.SuccessCode;
+import cse.plant_care_chatbot.plant.dto.TelemetryIngestRes;
+import cse.plant_care_chatbot.plant.dto.TelemetryStatsRes;
+import cse.plant_care_chatbot.plant.telemetry.TelemetryStore;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+/**
+ * 센서 기기의 실측 텔레메트리 수집 / 조회
+ * - 본문을 @RequestBody 로 바인딩하지 않고 요청 스트림에서 바로 읽는다 (요청 전체를 메모리에 올리지 않음)
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/v1/telemetry")
+public class TelemetryController {
+
+    private final TelemetryStore telemetryStore;
+
+    @PostMapping(consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public CommonResponse<TelemetryIngestRes> ingestNdjson(HttpServletRequest request) throws IOException {
+        return CommonResponse.success(SuccessCode.TELEMETRY_INGEST_SUCCESS,
+                telemetryStore.ingestNdjson(request.getInputStream()));
+    }
+
+    @PostMapping(consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public CommonResponse<TelemetryIngestRes> ingestBinary(HttpServletRequest request) throws IOException {
+        return CommonResponse.success(SuccessCode.TELEMETRY_INGEST_SUCCESS,
+                telemetryStore.ingestBinary(request.getInputStream()));
+    }
+
+    @GetMapping("/{plantId}/stats")
+    public CommonResponse<TelemetryStatsRes> getStats(
+            @PathVariable String plantId,
+            @RequestParam(defaultValue = "60") int windowMinutes
+    ) {
+        TelemetryStatsRes stats = telemetryStore.stats(plantId, windowMinutes)
+                .orElseThrow(() -> new RuntimeException("수집된 센서 데이터가 없는 식물입니다."));
+        return CommonResponse.success(SuccessCode.TELEMETRY_STATS_SUCCESS, stats);
+    }
+}
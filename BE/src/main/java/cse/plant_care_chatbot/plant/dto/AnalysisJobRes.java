@@ -0,0 +1,12 @@
+package cse.plant_care_chatbot.plant.dto;
+
+import java.time.LocalDateTime;
+
+public record AnalysisJobRes(
+        Long jobId,
+        AnalysisJobStatus status,
+        Long logId,          // 완료 시 결과가 저장된 분석 기록 (GET /history/{logId})
+        int attempts,
+        String errorMessage,
+        LocalDateTime createdAt
+) {}
@@ -0,0 +1,14 @@
+package cse.plant_care_chatbot.plant.dto;
+
+public enum AnalysisJobStatus {
+    PENDING("대기"),
+    RUNNING("분석 중"),
+    DONE("완료"),
+    FAILED("실패");
+
+    private final String description;
+
+    AnalysisJobStatus(String description) {
+        this.description = description;
+    }
+}
@@ -0,0 +1,9 @@
+package cse.plant_care_chatbot.plant.dto;
+
+public record BatchAnalysisItemRes(
+        int index,            // 업로드 순서 (0부터)
+        String fileName,
+        PlantReportRes report, // 실패 시 null
+        String errorMessage    // 성공 시 null
+) {
+}
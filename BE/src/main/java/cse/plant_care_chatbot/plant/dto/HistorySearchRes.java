@@ -0,0 +1,14 @@
+package cse.plant_care_chatbot.plant.dto;
+
+import java.time.LocalDateTime;
+
+public record HistorySearchRes(
+        Long id,
+        float score,            // 검색어와의 코사인 유사도
+        String plantName,
+        String growthLevel,
+        String caption,
+        String userDescription,
+        FeedbackType feedbackType,
+        LocalDateTime createdAt
+) {}
@@ -0,0 +1,11 @@
+package cse.plant_care_chatbot.plant.dto;
+
+/**
+ * 유사 식물 이미지의 크기별 URL (내용 해시가 포함된 immutable URL)
+ */
+public record ImageLinksRes(
+        String name,
+        String thumb,
+        String medium,
+        String original
+) {}
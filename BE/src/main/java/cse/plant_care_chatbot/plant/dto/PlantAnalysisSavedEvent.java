@@ -0,0 +1,8 @@
+package cse.plant_care_chatbot.plant.dto;
+
+/**
+ * 분석 기록이 저장됨 (기록 검색 색인용)
+ */
+public record PlantAnalysisSavedEvent(
+        Long logId
+) {}
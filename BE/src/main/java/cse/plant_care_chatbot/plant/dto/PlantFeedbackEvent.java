@@ -0,0 +1,9 @@
+package cse.plant_care_chatbot.plant.dto;
+
+/**
+ * 분석 기록에 피드백이 저장됨 (트랜잭션 커밋 후 처리)
+ */
+public record PlantFeedbackEvent(
+        Long logId,
+        FeedbackType feedbackType
+) {}
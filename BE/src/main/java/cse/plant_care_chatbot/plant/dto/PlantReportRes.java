@@ -24,7 +24,13 @@ public record PlantReportRes(
         List<CareGuide> careGuide,
 
         // 6. 유사한 식물 3가지 (Step 2 결과)
-        List<String> similarImages
+        List<String> similarImages,
+
+        // 6-1. 유사 식물 이미지의 크기별 URL (썸네일/중간/원본)
+        List<ImageLinksRes> similarImageLinks,
+
+        // 7. 시간 제한으로 LLM 조언 없이 로컬 계산 결과만 담은 리포트 여부
+        boolean partial
 ) {
     public record MetricScore(
             String sensorName,
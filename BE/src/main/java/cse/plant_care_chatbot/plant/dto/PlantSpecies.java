@@ -0,0 +1,33 @@
+package cse.plant_care_chatbot.plant.dto;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+public enum PlantSpecies {
+    BOSTON_FERN("보스턴고사리", "boston_fern"),
+    SPATHIPHYLLUM("스파티필럼", "spathiphyllum");
+
+    private final String koreanName;     // Milvus plant_name 필드 값
+    private final String partitionName;  // 종별 파티션 이름 (Milvus 파티션명은 영문/숫자/_ 만 허용)
+
+    PlantSpecies(String koreanName, String partitionName) {
+        this.koreanName = koreanName;
+        this.partitionName = partitionName;
+    }
+
+    public String getKoreanName() {
+        return koreanName;
+    }
+
+    public String getPartitionName() {
+        return partitionName;
+    }
+
+    public static Optional<PlantSpecies> fromKoreanName(String name) {
+        if (name == null) return Optional.empty();
+        String trimmed = name.trim();
+        return Arrays.stream(values())
+                .filter(s -> s.koreanName.equals(trimmed))
+                .findFirst();
+    }
+}
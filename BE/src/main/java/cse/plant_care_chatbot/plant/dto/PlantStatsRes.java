@@ -0,0 +1,21 @@
+package cse.plant_care_chatbot.plant.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record PlantStatsRes(
+        LocalDate from,
+        LocalDate to,
+        long totalAnalyses,
+        Double averageScore,    // 점수가 있는 기록이 없으면 null
+        List<Row> rows
+) {
+    public record Row(
+            LocalDate date,
+            String plantName,
+            String growthLevel,
+            String feedbackType,    // 피드백이 없으면 NONE
+            long count,
+            Double averageScore
+    ) {}
+}
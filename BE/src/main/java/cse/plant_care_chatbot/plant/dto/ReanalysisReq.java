@@ -0,0 +1,9 @@
+package cse.plant_care_chatbot.plant.dto;
+
+import java.time.LocalDate;
+
+public record ReanalysisReq(
+        LocalDate from,     // 생성일 기준 (포함), 생략 시 전체
+        LocalDate to,       // 생성일 기준 (포함), 생략 시 오늘
+        String plantName    // 한글 종 이름, 생략 시 전체 종
+) {}
@@ -0,0 +1,21 @@
+package cse.plant_care_chatbot.plant.dto;
+
+import java.time.LocalDateTime;
+
+public record ReanalysisRunRes(
+        Long runId,
+        ReanalysisRunStatus status,
+        LocalDateTime from,
+        LocalDateTime to,
+        String plantName,
+        long lastLogId,          // 체크포인트: 이 id 까지 결과가 반영됨
+        long processed,          // 새 리포트로 덮어쓴 기록 수
+        long skipped,            // 조언 생성 실패 등으로 기존 결과를 유지한 기록 수
+        double rowsPerSecond,
+        long promptTokens,
+        long outputTokens,
+        double costUsd,          // 토큰 단가 설정 기준 추정 비용
+        double costPerRowUsd,
+        String errorMessage,
+        LocalDateTime updatedAt
+) {}
@@ -0,0 +1,14 @@
+package cse.plant_care_chatbot.plant.dto;
+
+public enum ReanalysisRunStatus {
+    RUNNING("재분석 중"),
+    PAUSED("일시 중지"),
+    DONE("완료"),
+    FAILED("실패");
+
+    private final String description;
+
+    ReanalysisRunStatus(String description) {
+        this.description = description;
+    }
+}
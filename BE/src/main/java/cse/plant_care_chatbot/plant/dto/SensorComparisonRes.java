@@ -4,6 +4,15 @@ public record SensorComparisonRes(
         String sensorName,
         Double similarAvg,  // 유사 상태 평균
         Double betterAvg,   // 더 잘 자란 상태 평균
-        Double worseAvg    // 더 못 자란 상태 평균
+        Double worseAvg,    // 더 못 자란 상태 평균
+        Double liveAvg      // 사용자 식물의 실측 평균 (텔레메트리, 없으면 null)
 ) {
+    // 점수/조언에 쓰는 현재 값: 실측이 있으면 실측, 없으면 유사 상태 평균
+    public Double current() {
+        return liveAvg != null ? liveAvg : similarAvg;
+    }
+
+    public SensorComparisonRes withLiveAvg(Double liveAvg) {
+        return new SensorComparisonRes(sensorName, similarAvg, betterAvg, worseAvg, liveAvg);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,6 @@
+package cse.plant_care_chatbot.plant.dto;
+
+public record TelemetryIngestRes(
+        long accepted,  // 기록된 센서 값 수
+        long rejected   // plantId 누락 / 측정 시각이 구간 밖 / 식물 수 한도 초과 등으로 버린 값 수
+) {}
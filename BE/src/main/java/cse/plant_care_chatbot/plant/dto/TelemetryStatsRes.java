@@ -0,0 +1,19 @@
+package cse.plant_care_chatbot.plant.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record TelemetryStatsRes(
+        String plantId,
+        int windowMinutes,
+        LocalDateTime lastSeenAt,
+        List<SensorStat> sensors
+) {
+    public record SensorStat(
+            String sensorName,
+            double mean,
+            double min,
+            double max,
+            long count
+    ) {}
+}
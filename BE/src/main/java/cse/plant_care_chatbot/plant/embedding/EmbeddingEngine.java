@@ -0,0 +1,38 @@
+package cse.plant_care_chatbot.plant.embedding;
+
+import cse.plant_care_chatbot.global.common.RequestDeadline;
+import cse.plant_care_chatbot.plant.gemini.GeminiPriority;
+
+import java.util.List;
+
+/**
+ * 텍스트 임베딩 엔진
+ * - embedding.engine=gemini (기본) : GeminiEmbeddingService (gemini-embedding-001 원격 호출)
+ * - embedding.engine=onnx          : OnnxEmbeddingEngine (BGE-m3-ko 로컬 추론, 적재 벡터와 같은 모델 공간)
+ */
+public interface EmbeddingEngine {
+
+    /**
+     * 단일 텍스트 임베딩 (제한 시간 없음)
+     */
+    default List<Float> embed(String text) {
+        return embed(text, RequestDeadline.none());
+    }
+
+    /**
+     * 단일 텍스트 임베딩 (요청 제한 시간 안에서만 기다림)
+     */
+    List<Float> embed(String text, RequestDeadline deadline);
+
+    /**
+     * 여러 텍스트 임베딩 (입력 순서 유지, 적재 / 재분석 등 백그라운드 작업용)
+     */
+    default List<List<Float>> embedBatch(List<String> texts) {
+        return embedBatch(texts, GeminiPriority.BACKGROUND, RequestDeadline.none());
+    }
+
+    /**
+     * 여러 텍스트 임베딩 (사용자 요청이면 INTERACTIVE, 원격 호출이 아닌 엔진은 우선순위 무시)
+     */
+    List<List<Float>> embedBatch(List<String> texts, GeminiPriority priority, RequestDeadline deadline);
+}
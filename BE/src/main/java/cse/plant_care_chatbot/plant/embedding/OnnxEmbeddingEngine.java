@@ -0,0 +1,179 @@
+package cse.plant_care_chatbot.plant.embedding;
+
+import ai.djl.huggingface.tokenizers.Encoding;
+import ai.djl.huggingface.tokenizers.HuggingFaceTokenizer;
+import ai.onnxruntime.OnnxTensor;
+import ai.onnxruntime.OnnxValue;
+import ai.onnxruntime.OrtEnvironment;
+import ai.onnxruntime.OrtException;
+import ai.onnxruntime.OrtSession;
+import cse.plant_care_chatbot.global.common.RequestDeadline;
+import cse.plant_care_chatbot.plant.gemini.GeminiPriority;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * dragonkue/BGE-m3-ko 를 ONNX Runtime(CPU)으로 직접 추론하는 임베딩 엔진.
+ * 노트북에서 text_vector 를 만든 모델과 같으므로 질의/색인 벡터가 같은 공간에 놓인다.
+ *
+ * model-dir 구성
+ *   - tokenizer.json
+ *   - model.onnx       (fp32)
+ *   - model_int8.onnx  (embedding.onnx.quantized=true 일 때 사용, 동적 int8 양자화 모델)
+ *
+ * 세션은 pool-size 개를 미리 만들어 두고 요청마다 하나씩 빌려 쓴다 (세션당 intra-op 스레드 고정).
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "embedding.engine", havingValue = "onnx")
+public class OnnxEmbeddingEngine implements EmbeddingEngine {
+
+    @Value("${embedding.onnx.model-dir}")
+    private String modelDir;
+
+    @Value("${embedding.onnx.quantized:false}")
+    private boolean quantized;
+
+    @Value("${embedding.onnx.pool-size:2}")
+    private int poolSize;
+
+    @Value("${embedding.onnx.intra-op-threads:2}")
+    private int intraOpThreads;
+
+    @Value("${embedding.onnx.batch-size:16}")
+    private int batchSize;
+
+    @Value("${embedding.onnx.max-length:512}")
+    private int maxLength;
+
+    // 출력 차원 (모델 차원보다 작으면 앞부분만 남기고 재정규화), 기본은 컬렉션 차원
+    @Value("${embedding.output-dimensionality:${milvus.text-dim:1024}}")
+    private int outputDimensionality;
+
+    private OrtEnvironment env;
+    private HuggingFaceTokenizer tokenizer;
+    private BlockingQueue<OrtSession> sessions;
+
+    @PostConstruct
+    void init() throws OrtException, IOException {
+        Path dir = Path.of(modelDir);
+        Path modelPath = dir.resolve(quantized ? "model_int8.onnx" : "model.onnx");
+
+        env = OrtEnvironment.getEnvironment();
+        tokenizer = HuggingFaceTokenizer.builder()
+                .optTokenizerPath(dir.resolve("tokenizer.json"))
+                .optMaxLength(maxLength)
+                .optTruncation(true)
+                .optPadding(true)
+                .build();
+
+        sessions = new ArrayBlockingQueue<>(poolSize);
+        for (int i = 0; i < poolSize; i++) {
+            OrtSession.SessionOptions options = new OrtSession.SessionOptions();
+            options.setIntraOpNumThreads(intraOpThreads);
+            options.setOptimizationLevel(OrtSession.SessionOptions.OptLevel.ALL_OPT);
+            sessions.add(env.createSession(modelPath.toString(), options));
+        }
+        log.info("ONNX 임베딩 엔진 로드: {} (sessions={}, threads={})", modelPath, poolSize, intraOpThreads);
+    }
+
+    @PreDestroy
+    void close() throws OrtException {
+        for (OrtSession session : sessions) {
+            session.close();
+        }
+        tokenizer.close();
+    }
+
+    // 로컬 추론은 중간에 끊을 수 없으므로 deadline 은 사용하지 않음
+    @Override
+    public List<Float> embed(String text, RequestDeadline deadline) {
+        return embedBatch(List.of(text), GeminiPriority.INTERACTIVE, deadline).get(0);
+    }
+
+    @Override
+    public List<List<Float>> embedBatch(List<String> texts, GeminiPriority priority, RequestDeadline deadline) {
+        List<List<Float>> result = new ArrayList<>(texts.size());
+        for (int from = 0; from < texts.size(); from += batchSize) {
+            List<String> chunk = texts.subList(from, Math.min(from + batchSize, texts.size()));
+            for (float[] vector : runBatch(chunk)) {
+                List<Float> list = new ArrayList<>(vector.length);
+                for (float v : vector) list.add(v);
+                result.add(list);
+            }
+        }
+        return result;
+    }
+
+    // 한 배치 추론: 토크나이즈(가장 긴 문장 기준 패딩) → 세션 실행 → CLS 풀링 → 차원 축소 + L2 정규화
+    private float[][] runBatch(List<String> texts) {
+        Encoding[] encodings = tokenizer.batchEncode(texts);
+        int seqLen = encodings[0].getIds().length;
+
+        long[][] inputIds = new long[encodings.length][];
+        long[][] attentionMask = new long[encodings.length][];
+        for (int i = 0; i < encodings.length; i++) {
+            inputIds[i] = encodings[i].getIds();
+            attentionMask[i] = encodings[i].getAttentionMask();
+        }
+
+        OrtSession session = borrow();
+        try (OnnxTensor ids = OnnxTensor.createTensor(env, inputIds);
+             OnnxTensor mask = OnnxTensor.createTensor(env, attentionMask);
+             OnnxTensor typeIds = OnnxTensor.createTensor(env, new long[encodings.length][seqLen])) {
+
+            Map<String, OnnxTensor> inputs = new HashMap<>();
+            inputs.put("input_ids", ids);
+            inputs.put("attention_mask", mask);
+            if (session.getInputNames().contains("token_type_ids")) {
+                inputs.put("token_type_ids", typeIds);
+            }
+
+            try (OrtSession.Result output = session.run(inputs)) {
+                OnnxValue first = output.get(0);
+                Object value = first.getValue();
+
+                float[][] pooled;
+                if (value instanceof float[][][] hidden) {
+                    // last_hidden_state [batch, seq, dim] → CLS 토큰 (BGE 계열 dense 임베딩 방식)
+                    pooled = new float[hidden.length][];
+                    for (int i = 0; i < hidden.length; i++) {
+                        pooled[i] = hidden[i][0];
+                    }
+                } else {
+                    // sentence_embedding [batch, dim] 으로 export 된 모델
+                    pooled = (float[][]) value;
+                }
+
+                for (int i = 0; i < pooled.length; i++) {
+                    pooled[i] = VectorMath.truncate(pooled[i], outputDimensionality);
+                }
+                return pooled;
+            }
+        } catch (OrtException e) {
+            log.error("ONNX Embedding Error", e);
+            throw new RuntimeException("임베딩 생성 실패");
+        } finally {
+            sessions.offer(session);
+        }
+    }
+
+    private OrtSession borrow() {
+        try {
+            return sessions.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("임베딩 세션 대기 중 인터럽트", e);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package cse.plant_care_chatbot.plant.embedding;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 임베딩 벡터 공통 연산 (차원 축소 / 정규화 / 코사인)
+ */
+public final class VectorMath {
+
+    private VectorMath() {
+    }
+
+    /**
+     * 앞 dim 개 성분만 남기고 L2 정규화 (Matryoshka 축소). dim 이 0 이하거나 벡터보다 크면 정규화만 한다.
+     */
+    public static float[] truncate(float[] vector, int dim) {
+        float[] result = (dim > 0 && dim < vector.length) ? Arrays.copyOf(vector, dim) : vector;
+        normalize(result);
+        return result;
+    }
+
+    public static List<Float> truncate(List<Float> vector, int dim) {
+        float[] array = new float[vector.size()];
+        for (int i = 0; i < array.length; i++) array[i] = vector.get(i);
+        return toList(truncate(array, dim));
+    }
+
+    public static void normalize(float[] vector) {
+        double norm = 0;
+        for (float v : vector) norm += v * v;
+        norm = Math.sqrt(norm);
+        if (norm == 0) return;
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] = (float) (vector[i] / norm);
+        }
+    }
+
+    public static double cosine(List<Float> a, List<Float> b) {
+        int dim = Math.min(a.size(), b.size());
+        double dot = 0, normA = 0, normB = 0;
+        for (int i = 0; i < dim; i++) {
+            float x = a.get(i), y = b.get(i);
+            dot += x * y;
+            normA += x * x;
+            normB += y * y;
+        }
+        return (normA == 0 || normB == 0) ? 0 : dot / Math.sqrt(normA * normB);
+    }
+
+    public static List<Float> toList(float[] vector) {
+        List<Float> list = new ArrayList<>(vector.length);
+        for (float v : vector) list.add(v);
+        return list;
+    }
+}
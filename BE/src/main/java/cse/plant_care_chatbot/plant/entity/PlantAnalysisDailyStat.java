@@ -0,0 +1,26 @@
+package cse.plant_care_chatbot.plant.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * 분석 기록 일별 집계 (날짜 x 종 x 성장 단계 x 피드백)
+ * - 분석 완료 / 피드백 저장 시 INSERT ... ON DUPLICATE KEY UPDATE 로 증분 갱신 (AnalysisStatsService)
+ * - 행 수는 기록 수가 아니라 날짜 수에 비례 → 대시보드 조회 비용이 기록 수와 무관
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "plant_analysis_daily_stat")
+public class PlantAnalysisDailyStat {
+
+    @EmbeddedId
+    private PlantAnalysisDailyStatId id;
+
+    private long analysisCount;
+
+    // 평균 = scoreSum / scoreCount (점수가 없는 기록은 scoreCount 에서 제외)
+    private long scoreSum;
+
+    private long scoreCount;
+}
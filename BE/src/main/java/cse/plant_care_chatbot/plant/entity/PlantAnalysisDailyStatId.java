@@ -0,0 +1,28 @@
+package cse.plant_care_chatbot.plant.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Embeddable
+@Getter
+@EqualsAndHashCode
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+public class PlantAnalysisDailyStatId implements Serializable {
+
+    private LocalDate statDate;
+
+    @Column(length = 50)
+    private String plantName;
+
+    @Column(length = 10)
+    private String growthLevel;
+
+    // FeedbackType 이름, 피드백이 없으면 NONE
+    @Column(length = 16)
+    private String feedbackType;
+}
@@ -0,0 +1,65 @@
+package cse.plant_care_chatbot.plant.entity;
+
+import cse.plant_care_chatbot.plant.dto.AnalysisJobStatus;
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+/**
+ * 분산 분석 작업 큐 (MySQL)
+ * - 워커가 SELECT ... FOR UPDATE SKIP LOCKED 로 PENDING(또는 lease 만료된 RUNNING) 작업을 가져감
+ * - 결과는 PlantAnalysisLog 에 저장하고 logId 로 연결
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@EntityListeners(AuditingEntityListener.class)
+@Table(name = "plant_analysis_job", indexes = {
+        @Index(name = "idx_job_status_lease", columnList = "status, leaseExpiresAt")
+})
+public class PlantAnalysisJob {
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16, nullable = false)
+    private AnalysisJobStatus status;
+
+    // 처리 후에는 비움 (큐 테이블 크기 유지)
+    @Lob @Basic(fetch = FetchType.LAZY)
+    @Column(columnDefinition = "LONGBLOB")
+    private byte[] imageData;
+
+    private String mimeType;
+
+    @Column(columnDefinition = "TEXT")
+    private String userDescription;
+
+    private Long logId;
+
+    private int attempts;
+
+    private String leaseOwner;
+
+    private LocalDateTime leaseExpiresAt;
+
+    @Column(columnDefinition = "TEXT")
+    private String errorMessage;
+
+    @CreatedDate
+    private LocalDateTime createdAt;
+
+    private LocalDateTime completedAt;
+
+    @Builder
+    public PlantAnalysisJob(byte[] imageData, String mimeType, String userDescription) {
+        this.status = AnalysisJobStatus.PENDING;
+        this.imageData = imageData;
+        this.mimeType = mimeType;
+        this.userDescription = userDescription;
+    }
+}
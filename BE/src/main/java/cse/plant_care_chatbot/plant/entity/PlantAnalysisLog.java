@@ -1,5 +1,6 @@
 package cse.plant_care_chatbot.plant.entity;
 
+import cse.plant_care_chatbot.global.common.ContentHash;
 import cse.plant_care_chatbot.plant.dto.FeedbackType;
 import jakarta.persistence.*;
 import lombok.*;
@@ -12,6 +13,9 @@ import java.time.LocalDateTime;
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @EntityListeners(AuditingEntityListener.class)
+@Table(indexes = {
+        @Index(name = "idx_analysis_log_created_at", columnList = "createdAt")
+})
 public class PlantAnalysisLog {
 
     @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -30,8 +34,27 @@ public class PlantAnalysisLog {
     @Column(columnDefinition = "LONGTEXT")
     private String analysisResult;
 
+    // analysisResult 의 내용 해시 (기록 상세 조회의 ETag)
+    @Column(length = 32)
+    private String resultHash;
+
+    // analysisResult 의 overallScore (집계 쿼리가 JSON 을 읽지 않도록 따로 저장)
+    private Integer overallScore;
+
+    // 오래된 리포트를 세그먼트 파일로 옮긴 위치 (ResultArchive). 옮긴 뒤 analysisResult 는 null
+    private Integer archiveSegment;
+
+    private Long archiveOffset;
+
     private String originalImageUrl;
 
+    // 업로드 이미지의 64비트 dHash (근접 중복 검색용, 디코딩 실패 시 null)
+    private Long perceptualHash;
+
+    // 분석 요청의 plantId (텔레메트리 식물 id). 근접 중복 재사용은 같은 plantId 의 기록끼리만
+    @Column(length = 64)
+    private String plantId;
+
     @Enumerated(EnumType.STRING)
     private FeedbackType feedbackType;
 
@@ -43,18 +66,37 @@ public class PlantAnalysisLog {
     @CreatedDate
     private LocalDateTime createdAt;
 
+    // 피드백으로 Milvus 에 증분 색인된 시각 (중복 색인 방지)
+    private LocalDateTime vectorIndexedAt;
+
+    // 기록 검색용 벡터 컬렉션에 색인된 시각
+    private LocalDateTime historyIndexedAt;
+
     @Builder
-    public PlantAnalysisLog(String plantName, String growthLevel, String caption, String userDescription, String analysisResult, String originalImageUrl) {
+    public PlantAnalysisLog(String plantName, String growthLevel, String caption, String userDescription, String analysisResult, String originalImageUrl, Long perceptualHash, String plantId) {
         this.plantName = plantName;
         this.growthLevel = growthLevel;
         this.caption = caption;
         this.userDescription = userDescription;
         this.analysisResult = analysisResult;
         this.originalImageUrl = originalImageUrl;
+        this.perceptualHash = perceptualHash;
+        this.plantId = plantId;
+    }
+
+    // 리포트가 DB 또는 보관 세그먼트에 있음
+    public boolean hasResult() {
+        return analysisResult != null || archiveSegment != null;
     }
 
     public void updateResult(String analysisResult) {
         this.analysisResult = analysisResult;
+        this.resultHash = ContentHash.of(analysisResult);
+    }
+
+    public void updateResult(String analysisResult, int overallScore) {
+        updateResult(analysisResult);
+        this.overallScore = overallScore;
     }
 
     public void updateFeedback(FeedbackType feedbackType, String feedbackComment) {
@@ -0,0 +1,68 @@
+package cse.plant_care_chatbot.plant.entity;
+
+import cse.plant_care_chatbot.plant.dto.ReanalysisRunStatus;
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+/**
+ * 리포트 일괄 재분석 실행 (체크포인트)
+ * - lastLogId 까지의 결과와 카운터는 같은 트랜잭션에서 갱신 → 재개 시 lastLogId 다음부터 처리
+ * - 처리 중인 노드는 lease 를 페이지마다 연장, 노드가 죽으면 lease 만료 후 다른 노드가 재개할 수 있음
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@EntityListeners(AuditingEntityListener.class)
+@Table(name = "plant_reanalysis_run")
+public class ReanalysisRun {
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16, nullable = false)
+    private ReanalysisRunStatus status;
+
+    private LocalDateTime fromDate;
+
+    private LocalDateTime toDate;
+
+    private String plantName;
+
+    private long lastLogId;
+
+    private long processed;
+
+    private long skipped;
+
+    private long promptTokens;
+
+    private long outputTokens;
+
+    // 실제 처리에 쓴 시간 누적 (재개 전후 처리량 계산용)
+    private long elapsedMs;
+
+    private String leaseOwner;
+
+    private LocalDateTime leaseExpiresAt;
+
+    @Column(columnDefinition = "TEXT")
+    private String errorMessage;
+
+    @CreatedDate
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+
+    @Builder
+    public ReanalysisRun(LocalDateTime fromDate, LocalDateTime toDate, String plantName) {
+        this.status = ReanalysisRunStatus.PAUSED;
+        this.fromDate = fromDate;
+        this.toDate = toDate;
+        this.plantName = plantName;
+    }
+}
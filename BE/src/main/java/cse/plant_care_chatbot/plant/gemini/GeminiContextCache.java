@@ -0,0 +1,110 @@
+package cse.plant_care_chatbot.plant.gemini;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Gemini 명시적 컨텍스트 캐시 (cachedContents)
+ * - 고정 systemInstruction 을 캐시로 만들어 두고 요청에는 캐시 이름만 보냄
+ * - 캐시는 API 키(프로젝트)마다 따로 만들어짐 → (키, 지시문) 별로 이름을 보관
+ * - 생성 실패(미지원 모델 등) 시 TTL 동안 재시도하지 않고 null 반환 → 호출 측은 systemInstruction 으로 대체
+ * - 지시문이 min-tokens 보다 짧으면 생성 요청을 보내지 않음 (cachedContents 최소 토큰 미달로 매번 실패하는 왕복 방지)
+ * - 생성 HTTP 호출은 맵 잠금 밖에서 한 스레드만 수행, 만드는 동안 다른 요청은 기다리지 않고 systemInstruction 사용
+ *
+ * 기본 비활성화: 2.5 모델은 같은 prefix 에 대해 암묵적 캐시가 자동 적용되고,
+ * 현재 조언 지시문(AdvicePromptAssembler)은 최소 토큰보다 훨씬 짧음
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GeminiContextCache {
+
+    @Value("${gemini.context-cache.enabled:false}")
+    private boolean enabled;
+
+    @Value("${gemini.context-cache.ttl-seconds:3600}")
+    private long ttlSeconds;
+
+    // cachedContents 최소 입력 토큰 (모델별로 다름, estimateTokens 기준)
+    @Value("${gemini.context-cache.min-tokens:1024}")
+    private int minTokens;
+
+    // 예: https://generativelanguage.googleapis.com/v1beta/models/gemini-2.5-flash:generateContent
+    @Value("${gemini.api.url}")
+    private String geminiApiUrl;
+
+    private final ObjectMapper objectMapper;
+
+    private final Map<String, CompletableFuture<Entry>> entries = new ConcurrentHashMap<>();
+
+    /**
+     * 지시문에 해당하는 캐시 이름 (cachedContents/...) 또는 null
+     */
+    public String cachedContentName(String apiKey, String systemInstruction) {
+        if (!enabled || GeminiRequestScheduler.estimateTokens(systemInstruction) < minTokens) return null;
+
+        String key = apiKey + "|" + systemInstruction.hashCode();
+        long now = System.currentTimeMillis();
+        CompletableFuture<Entry> current = entries.get(key);
+        // 없거나 만료 1분 전이면 새로 만듦 (자리를 차지한 스레드만 생성)
+        if (current == null || expiring(current, now)) {
+            CompletableFuture<Entry> mine = new CompletableFuture<>();
+            boolean won = (current == null)
+                    ? entries.putIfAbsent(key, mine) == null
+                    : entries.replace(key, current, mine);
+            if (won) {
+                mine.complete(create(apiKey, systemInstruction, now));
+            }
+            current = entries.get(key);
+        }
+
+        Entry entry = (current != null) ? current.getNow(null) : null;
+        return entry != null ? entry.name() : null;
+    }
+
+    private boolean expiring(CompletableFuture<Entry> future, long now) {
+        Entry entry = future.getNow(null);
+        return entry != null && entry.expiresAt() - 60_000 < now;
+    }
+
+    private Entry create(String apiKey, String systemInstruction, long now) {
+        int modelsAt = geminiApiUrl.indexOf("/models/");
+        String baseUrl = geminiApiUrl.substring(0, modelsAt);
+        String model = geminiApiUrl.substring(modelsAt + 1, geminiApiUrl.lastIndexOf(':'));
+
+        Map<String, Object> requestBody = Map.of(
+                "model", model,
+                "systemInstruction", Map.of("parts", List.of(Map.of("text", systemInstruction))),
+                "ttl", ttlSeconds + "s"
+        );
+
+        try {
+            String response = RestClient.create().post()
+                    .uri(baseUrl + "/cachedContents?key=" + apiKey)
+                    .header("Content-Type", "application/json")
+                    .body(requestBody)
+                    .retrieve()
+                    .body(String.class);
+
+            JsonNode root = objectMapper.readTree(response);
+            String name = root.path("name").asText(null);
+            log.info("Gemini context cache created: {} ({} tokens)", name, root.path("usageMetadata").path("totalTokenCount").asInt());
+            return new Entry(name, now + ttlSeconds * 1000);
+        } catch (Exception e) {
+            log.warn("Gemini context cache unavailable, falling back to systemInstruction: {}", e.getMessage());
+            return new Entry(null, now + ttlSeconds * 1000);
+        }
+    }
+
+    private record Entry(String name, long expiresAt) {}
+}
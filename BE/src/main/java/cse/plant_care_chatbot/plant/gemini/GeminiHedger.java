@@ -0,0 +1,176 @@
+package cse.plant_care_chatbot.plant.gemini;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Gemini 호출 지연시간 추적 + hedged request
+ * - 작업(operation)별 최근 지연시간으로 p95 를 계산
+ * - hedge 대상 작업은 p95 만큼 기다려도 응답이 없으면 같은 요청을 한 번 더 보내고 먼저 성공한 응답을 사용
+ *   (멱등 호출에만 사용: 임베딩, 선택적으로 비전)
+ */
+@Slf4j
+@Component
+public class GeminiHedger {
+
+    public static final String EMBEDDING = "embedding";
+    public static final String EMBEDDING_BATCH = "embedding-batch";
+    public static final String VISION = "vision";
+    public static final String ADVICE = "advice";
+    public static final String ADVICE_BACKGROUND = "advice-background";
+
+    private static final int WINDOW_SIZE = 256;
+    private static final int MIN_SAMPLES = 20;
+
+    @Value("${gemini.hedge.enabled:true}")
+    private boolean enabled;
+
+    @Value("${gemini.hedge.operations:embedding,embedding-batch}")
+    private Set<String> hedgedOperations;
+
+    @Value("${gemini.hedge.min-delay-ms:200}")
+    private long minDelayMs;
+
+    // 표본이 MIN_SAMPLES 개 미만일 때 사용할 hedge 대기 시간
+    @Value("${gemini.hedge.initial-delay-ms:2000}")
+    private long initialDelayMs;
+
+    private final Map<String, LatencyWindow> windows = new ConcurrentHashMap<>();
+    private final LongAdder hedgedCount = new LongAdder();
+    private final LongAdder skippedCount = new LongAdder();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * 작업 실행 (hedge 대상이면 hedged request, 아니면 지연시간만 기록)
+     * - 스케줄러 안에서 HTTP 호출만 감싸므로 쿼터 대기 시간은 지연시간/p95 에 들어가지 않음
+     * - canHedge 는 hedge 직전에 한 번 확인 (두 번째 요청의 쿼터 확보, false 면 첫 요청을 계속 기다림)
+     */
+    public <T> T call(String operation, Supplier<T> call, BooleanSupplier canHedge) {
+        if (!enabled || !hedgedOperations.contains(operation)) {
+            return timed(operation, call);
+        }
+
+        CompletableFuture<T> primary = CompletableFuture.supplyAsync(() -> timed(operation, call), executor);
+        try {
+            return primary.get(hedgeDelayMillis(operation), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            if (!canHedge.getAsBoolean()) {
+                skippedCount.increment();
+                log.debug("Hedge skipped for Gemini {}: no spare quota", operation);
+                try {
+                    return primary.get();
+                } catch (Exception ex) {
+                    throw propagate(ex);
+                }
+            }
+            hedgedCount.increment();
+            log.debug("Hedging Gemini {} (total hedged={})", operation, hedgedCount.sum());
+            CompletableFuture<T> backup = CompletableFuture.supplyAsync(() -> timed(operation, call), executor);
+            try {
+                return firstSuccess(primary, backup).get();
+            } catch (Exception ex) {
+                throw propagate(ex);
+            }
+        } catch (Exception e) {
+            throw propagate(e);
+        }
+    }
+
+    /**
+     * 지연시간만 기록하며 실행
+     */
+    public <T> T timed(String operation, Supplier<T> call) {
+        long start = System.nanoTime();
+        T result = call.get();
+        windows.computeIfAbsent(operation, k -> new LatencyWindow())
+                .add((System.nanoTime() - start) / 1_000_000);
+        return result;
+    }
+
+    /**
+     * 최근 성공 호출 기준 p95 (ms), 표본 부족 시 -1
+     */
+    public long p95Millis(String operation) {
+        LatencyWindow window = windows.get(operation);
+        return window == null ? -1 : window.percentile(0.95);
+    }
+
+    public long getHedgedCount() {
+        return hedgedCount.sum();
+    }
+
+    // 쿼터 여유가 없어 hedge 하지 않은 횟수
+    public long getSkippedCount() {
+        return skippedCount.sum();
+    }
+
+    private long hedgeDelayMillis(String operation) {
+        long p95 = p95Millis(operation);
+        return p95 < 0 ? initialDelayMs : Math.max(minDelayMs, p95);
+    }
+
+    // 둘 중 먼저 성공한 결과, 둘 다 실패하면 나중 예외
+    private <T> CompletableFuture<T> firstSuccess(CompletableFuture<T> a, CompletableFuture<T> b) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        for (CompletableFuture<T> f : List.of(a, b)) {
+            f.whenComplete((value, error) -> {
+                if (error == null) {
+                    result.complete(value);
+                } else if (failures.incrementAndGet() == 2) {
+                    result.completeExceptionally(error);
+                }
+            });
+        }
+        return result;
+    }
+
+    // Future 래핑 예외를 벗겨 원래 런타임 예외로 전달
+    private RuntimeException propagate(Exception e) {
+        if (e instanceof InterruptedException) {
+            Thread.currentThread().interrupt();
+        }
+        Throwable cause = e;
+        while ((cause instanceof ExecutionException || cause instanceof CompletionException) && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause instanceof RuntimeException re ? re : new RuntimeException(cause);
+    }
+
+    // 최근 WINDOW_SIZE 개 지연시간 링 버퍼
+    private static class LatencyWindow {
+        private final long[] samples = new long[WINDOW_SIZE];
+        private int count;
+        private int next;
+
+        synchronized void add(long millis) {
+            samples[next] = millis;
+            next = (next + 1) % WINDOW_SIZE;
+            count = Math.min(count + 1, WINDOW_SIZE);
+        }
+
+        synchronized long percentile(double p) {
+            if (count < MIN_SAMPLES) return -1;
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            return sorted[Math.min(count - 1, (int) Math.ceil(p * count) - 1)];
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package cse.plant_care_chatbot.plant.gemini;
+
+/**
+ * Gemini 호출 우선순위 (숫자가 작을수록 먼저 처리)
+ */
+public enum GeminiPriority {
+    // 사용자가 기다리는 단건 분석 요청
+    INTERACTIVE,
+    // 배치 임베딩, 적재, 재분석 등 백그라운드 작업
+    BACKGROUND
+}
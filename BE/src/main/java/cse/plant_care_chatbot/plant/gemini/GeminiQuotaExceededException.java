@@ -0,0 +1,10 @@
+package cse.plant_care_chatbot.plant.gemini;
+
+/**
+ * 제한 시간 안에 Gemini 쿼터(RPM/TPM)를 확보하지 못한 경우
+ */
+public class GeminiQuotaExceededException extends RuntimeException {
+    public GeminiQuotaExceededException(String message) {
+        super(message);
+    }
+}
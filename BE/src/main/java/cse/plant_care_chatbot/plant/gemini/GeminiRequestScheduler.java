@@ -0,0 +1,284 @@
+package cse.plant_care_chatbot.plant.gemini;
+
+import cse.plant_care_chatbot.global.common.RequestDeadline;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientResponseException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * 모든 Gemini 호출이 거쳐가는 쿼터 스케줄러
+ * - API 키별 토큰 버킷 2개 (RPM, TPM) 로 호출 속도 제한
+ * - 여러 키를 풀로 사용 (남은 요청 수가 가장 많은 키 선택)
+ * - 대기열은 우선순위(INTERACTIVE > BACKGROUND) → 도착 순서, BACKGROUND 는 interactive-reserve 만큼 여유를 남겨둠
+ * - 쿼터가 없으면 에러 대신 요청 제한 시간(최대 max-wait-ms)까지 대기
+ * - 429 응답 시 해당 키를 Retry-After 동안 쉬게 하고 다른 키로 재시도
+ * - hedge 요청은 대기 없이 같은 키의 여유분(interactive-reserve 초과분)이 있을 때만 허용
+ */
+@Slf4j
+@Component
+public class GeminiRequestScheduler {
+
+    @Value("${gemini.api.keys:${gemini.api.key}}")
+    private List<String> apiKeys;
+
+    @Value("${gemini.quota.rpm:60}")
+    private int rpm;
+
+    @Value("${gemini.quota.tpm:1000000}")
+    private int tpm;
+
+    // BACKGROUND 요청이 남겨둬야 하는 RPM 버킷 비율
+    @Value("${gemini.quota.interactive-reserve:0.2}")
+    private double interactiveReserve;
+
+    @Value("${gemini.quota.max-wait-ms:60000}")
+    private long maxWaitMs;
+
+    @Value("${gemini.quota.max-retries:3}")
+    private int maxRetries;
+
+    @Value("${gemini.quota.default-cooldown-ms:30000}")
+    private long defaultCooldownMs;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private final PriorityQueue<Waiter> queue = new PriorityQueue<>(
+            Comparator.comparing(Waiter::priority).thenComparingLong(Waiter::seq));
+    private List<KeyState> keys;
+    private long seq;
+
+    private final Map<GeminiPriority, LongAdder> granted = new EnumMap<>(GeminiPriority.class);
+    private final Map<GeminiPriority, LongAdder> waitedMillis = new EnumMap<>(GeminiPriority.class);
+    private final LongAdder rateLimited = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+    private final LongAdder hedges = new LongAdder();
+
+    @PostConstruct
+    void init() {
+        keys = apiKeys.stream()
+                .map(String::trim)
+                .filter(k -> !k.isEmpty())
+                .distinct()
+                .map(KeyState::new)
+                .toList();
+        if (keys.isEmpty()) {
+            throw new IllegalStateException("gemini.api.key(s) 가 설정되지 않았습니다.");
+        }
+        for (GeminiPriority p : GeminiPriority.values()) {
+            granted.put(p, new LongAdder());
+            waitedMillis.put(p, new LongAdder());
+        }
+        log.info("Gemini scheduler: keys={}, rpm={}/key, tpm={}/key", keys.size(), rpm, tpm);
+    }
+
+    /**
+     * 쿼터를 확보한 뒤 call(apiKey) 실행. 429 면 키를 바꿔 재시도한다.
+     *
+     * @param estimatedTokens 입력 + 예상 출력 토큰 수 (TPM 버킷 차감용)
+     */
+    public <T> T execute(GeminiPriority priority, int estimatedTokens, RequestDeadline deadline, Function<String, T> call) {
+        long waitLimitNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(Math.min(maxWaitMs, deadline.remainingMillis()));
+
+        for (int attempt = 0; ; attempt++) {
+            KeyState key = acquire(priority, estimatedTokens, waitLimitNanos);
+            try {
+                return call.apply(key.apiKey);
+            } catch (RuntimeException e) {
+                Long retryAfterMs = rateLimitRetryAfter(e);
+                if (retryAfterMs == null || attempt >= maxRetries) {
+                    throw e;
+                }
+                rateLimited.increment();
+                cooldown(key, retryAfterMs);
+                log.warn("Gemini 429 on key #{} → cooldown {} ms, retry {}/{}", keys.indexOf(key), retryAfterMs, attempt + 1, maxRetries);
+            }
+        }
+    }
+
+    /**
+     * execute 의 call 안에서 같은 키로 hedge 요청을 한 건 더 보내도 되는지 확인하고, 되면 쿼터를 차감한다.
+     * 대기 중인 요청이 있거나, 차감 후 interactive-reserve 아래로 내려가거나, 쿨다운 중이면 false
+     * (쿼터가 부족할 때 hedge 가 다른 요청의 자리를 가져가지 않도록)
+     */
+    public boolean tryAcquireHedge(String apiKey, int estimatedTokens) {
+        lock.lock();
+        try {
+            if (!queue.isEmpty()) return false;
+
+            long now = System.nanoTime();
+            for (KeyState key : keys) {
+                if (!key.apiKey.equals(apiKey)) continue;
+                key.refill(now);
+                int tokens = Math.min(estimatedTokens, tpm);
+                if (key.cooldownUntil > now || key.requests - 1 < rpm * interactiveReserve || key.tokens < tokens) {
+                    return false;
+                }
+                key.requests -= 1;
+                key.tokens -= tokens;
+                hedges.increment();
+                return true;
+            }
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 대략적인 토큰 수 추정 (영문 4자당 1토큰, 한글 등 비 ASCII 문자는 1자당 1토큰)
+     */
+    public static int estimateTokens(String text) {
+        if (text == null) return 0;
+        int ascii = 0;
+        int other = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) < 128) ascii++;
+            else other++;
+        }
+        return ascii / 4 + other;
+    }
+
+    private KeyState acquire(GeminiPriority priority, int tokens, long waitLimitNanos) {
+        long start = System.nanoTime();
+        lock.lock();
+        try {
+            Waiter me = new Waiter(priority, seq++);
+            queue.add(me);
+            try {
+                while (true) {
+                    long now = System.nanoTime();
+                    if (queue.peek() == me) {
+                        KeyState key = tryTake(priority, tokens, now);
+                        if (key != null) {
+                            granted.get(priority).increment();
+                            waitedMillis.get(priority).add((now - start) / 1_000_000);
+                            return key;
+                        }
+                    }
+
+                    long remaining = waitLimitNanos - now;
+                    if (remaining <= 0) {
+                        timedOut.increment();
+                        throw new GeminiQuotaExceededException("Gemini 요청 한도를 제한 시간 안에 확보하지 못했습니다.");
+                    }
+                    changed.awaitNanos(Math.min(remaining, nanosUntilNextToken(now)));
+                }
+            } finally {
+                queue.remove(me);
+                changed.signalAll();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GeminiQuotaExceededException("Gemini 요청 대기 중 인터럽트되었습니다.");
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 쿼터가 남은 키 중 RPM 여유가 가장 많은 키를 차감 후 반환 (lock 보유 상태)
+    private KeyState tryTake(GeminiPriority priority, int tokens, long now) {
+        double reserve = priority == GeminiPriority.BACKGROUND ? rpm * interactiveReserve : 0;
+        KeyState best = null;
+        for (KeyState key : keys) {
+            key.refill(now);
+            if (key.cooldownUntil > now) continue;
+            if (key.requests - 1 < reserve || key.tokens < Math.min(tokens, tpm)) continue;
+            if (best == null || key.requests > best.requests) best = key;
+        }
+        if (best != null) {
+            best.requests -= 1;
+            best.tokens -= Math.min(tokens, tpm);
+        }
+        return best;
+    }
+
+    // 다음 요청 토큰이 채워질 때까지 남은 시간 (대기 상한 1초)
+    private long nanosUntilNextToken(long now) {
+        long perRequest = TimeUnit.SECONDS.toNanos(60) / Math.max(1, rpm);
+        long min = TimeUnit.SECONDS.toNanos(1);
+        for (KeyState key : keys) {
+            long wait = key.cooldownUntil > now ? key.cooldownUntil - now : perRequest;
+            min = Math.min(min, wait);
+        }
+        return Math.max(TimeUnit.MILLISECONDS.toNanos(5), min);
+    }
+
+    private void cooldown(KeyState key, long millis) {
+        lock.lock();
+        try {
+            key.cooldownUntil = Math.max(key.cooldownUntil, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis));
+            key.requests = Math.min(key.requests, 0);
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 429 응답이면 재시도 대기 시간(ms), 아니면 null
+    private Long rateLimitRetryAfter(RuntimeException e) {
+        HttpHeaders headers;
+        if (e instanceof RestClientResponseException re && re.getStatusCode().value() == 429) {
+            headers = re.getResponseHeaders();
+        } else if (e instanceof WebClientResponseException we && we.getStatusCode().value() == 429) {
+            headers = we.getHeaders();
+        } else {
+            return null;
+        }
+
+        String retryAfter = headers != null ? headers.getFirst(HttpHeaders.RETRY_AFTER) : null;
+        try {
+            return retryAfter != null ? Long.parseLong(retryAfter.trim()) * 1000 : defaultCooldownMs;
+        } catch (NumberFormatException ignored) {
+            return defaultCooldownMs;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${gemini.quota.stats-interval-ms:60000}")
+    void logStats() {
+        long total = granted.values().stream().mapToLong(LongAdder::sum).sum();
+        if (total == 0 && rateLimited.sum() == 0 && timedOut.sum() == 0 && hedges.sum() == 0) return;
+
+        StringBuilder sb = new StringBuilder();
+        for (GeminiPriority p : GeminiPriority.values()) {
+            long count = granted.get(p).sumThenReset();
+            long waited = waitedMillis.get(p).sumThenReset();
+            sb.append(String.format("%s=%d (avg wait %d ms) ", p, count, count == 0 ? 0 : waited / count));
+        }
+        log.info("📈 Gemini scheduler: {}hedge={}, 429={}, timeout={}, queued={}",
+                sb, hedges.sumThenReset(), rateLimited.sumThenReset(), timedOut.sumThenReset(), queue.size());
+    }
+
+    private record Waiter(GeminiPriority priority, long seq) {}
+
+    // 키별 토큰 버킷 상태 (lock 안에서만 접근)
+    private class KeyState {
+        private final String apiKey;
+        private double requests = rpm;
+        private double tokens = tpm;
+        private long lastRefill = System.nanoTime();
+        private long cooldownUntil;
+
+        KeyState(String apiKey) {
+            this.apiKey = apiKey;
+        }
+
+        void refill(long now) {
+            double minutes = (now - lastRefill) / 60_000_000_000.0;
+            requests = Math.min(rpm, requests + minutes * rpm);
+            tokens = Math.min(tpm, tokens + minutes * tpm);
+            lastRefill = now;
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package cse.plant_care_chatbot.plant.gemini;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Gemini generateContent 응답 파서
+ * - 응답 전체를 JsonNode 트리로 만들지 않고 스트리밍 파서로 candidates[0].content.parts[0].text 와 usageMetadata 만 읽음
+ * - text(structured output JSON)는 트리 없이 바로 대상 레코드로 역직렬화
+ * - structured output 을 무시한 응답(```json 코드 블록)만 fallback 으로 벗겨서 처리하고 건수를 기록
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GeminiResponseReader {
+
+    private final ObjectMapper objectMapper;
+    private final GeminiUsageTracker usageTracker;
+
+    private final LongAdder parsedCount = new LongAdder();
+    private final LongAdder fencedCount = new LongAdder();
+    private final LongAdder failedCount = new LongAdder();
+
+    /**
+     * 응답 본문 → 대상 타입 (토큰 사용량은 operation 으로 집계)
+     * @throws IllegalStateException text 가 없거나 JSON 이 스키마와 맞지 않는 경우
+     */
+    public <T> T read(byte[] body, Class<T> type, String operation) {
+        Envelope envelope = readEnvelope(body);
+        usageTracker.record(operation, envelope.usage());
+
+        String text = envelope.text();
+        if (text == null) {
+            failedCount.increment();
+            throw new IllegalStateException("Gemini 응답에 text 가 없습니다.");
+        }
+
+        String json = text;
+        if (text.startsWith("```")) {
+            fencedCount.increment();
+            json = stripFence(text);
+        }
+
+        try {
+            T result = objectMapper.readerFor(type)
+                    .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                    .readValue(json);
+            parsedCount.increment();
+            return result;
+        } catch (IOException e) {
+            failedCount.increment();
+            throw new IllegalStateException("Gemini 응답 JSON 파싱 실패: " + e.getOriginalMessage(), e);
+        }
+    }
+
+    /**
+     * candidates[0].content.parts[0].text 만 꺼냄 (없으면 null)
+     */
+    public String readText(byte[] body) {
+        return readEnvelope(body).text();
+    }
+
+    private Envelope readEnvelope(byte[] body) {
+        String text = null;
+        GeminiUsage usage = GeminiUsage.EMPTY;
+
+        try (JsonParser p = objectMapper.getFactory().createParser(body)) {
+            if (p.nextToken() != JsonToken.START_OBJECT) return new Envelope(null, usage);
+            JsonStreamContext root = p.getParsingContext();
+
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String name = p.currentName();
+                p.nextToken();
+                if ("candidates".equals(name)) {
+                    if (enterFirstElement(p)
+                            && enterField(p, "content")
+                            && enterField(p, "parts")
+                            && enterFirstElement(p)
+                            && enterField(p, "text")
+                            && p.currentToken() == JsonToken.VALUE_STRING) {
+                        text = p.getText().trim();
+                    }
+                    // 나머지 candidates 는 건너뛰고 최상위 객체로 복귀
+                    while (p.getParsingContext() != root && p.nextToken() != null) {
+                    }
+                } else if ("usageMetadata".equals(name)) {
+                    usage = readUsage(p);
+                } else {
+                    p.skipChildren();
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Gemini envelope parse error: {}", e.getMessage());
+        }
+        return new Envelope(text, usage);
+    }
+
+    private GeminiUsage readUsage(JsonParser p) throws IOException {
+        int prompt = 0, candidates = 0, cached = 0;
+        if (p.currentToken() != JsonToken.START_OBJECT) {
+            p.skipChildren();
+            return GeminiUsage.EMPTY;
+        }
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String name = p.currentName();
+            p.nextToken();
+            switch (name) {
+                case "promptTokenCount" -> prompt = p.getValueAsInt();
+                case "candidatesTokenCount" -> candidates = p.getValueAsInt();
+                case "cachedContentTokenCount" -> cached = p.getValueAsInt();
+                default -> p.skipChildren();
+            }
+        }
+        return new GeminiUsage(prompt, candidates, cached);
+    }
+
+    // 현재 토큰이 START_ARRAY 일 때 첫 원소의 START_OBJECT 로 이동
+    private boolean enterFirstElement(JsonParser p) throws IOException {
+        return p.currentToken() == JsonToken.START_ARRAY && p.nextToken() == JsonToken.START_OBJECT;
+    }
+
+    // 현재 토큰이 START_OBJECT 일 때 field 의 값 토큰으로 이동 (다른 필드는 건너뜀)
+    private boolean enterField(JsonParser p, String field) throws IOException {
+        if (p.currentToken() != JsonToken.START_OBJECT) return false;
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String name = p.currentName();
+            p.nextToken();
+            if (field.equals(name)) return true;
+            p.skipChildren();
+        }
+        return false;
+    }
+
+    // ```json\n{...}\n``` → {...}
+    private String stripFence(String text) {
+        int start = text.indexOf('\n');
+        int end = text.lastIndexOf("```");
+        if (start < 0 || end <= start) return text.replace("```", "");
+        return text.substring(start + 1, end).trim();
+    }
+
+    public long getParsedCount() {
+        return parsedCount.sum();
+    }
+
+    public long getFencedCount() {
+        return fencedCount.sum();
+    }
+
+    public long getFailedCount() {
+        return failedCount.sum();
+    }
+
+    private record Envelope(String text, GeminiUsage usage) {}
+}
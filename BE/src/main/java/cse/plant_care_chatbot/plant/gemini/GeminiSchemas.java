@@ -0,0 +1,59 @@
+package cse.plant_care_chatbot.plant.gemini;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Gemini structured output 용 generationConfig
+ * - responseMimeType=application/json 으로 코드 블록 없는 순수 JSON 을 받음
+ * - responseSchema 로 필드/enum 을 고정해 파싱 실패와 재시도를 줄임
+ */
+public final class GeminiSchemas {
+
+    private GeminiSchemas() {
+    }
+
+    private static final Map<String, Object> STRING = Map.of("type", "STRING");
+
+    /** 비전 분석: 종 + 성장 단계 + 캡션 → GeminiAnalysisResult */
+    public static final Map<String, Object> VISION = generationConfig(Map.of(
+            "type", "OBJECT",
+            "properties", Map.of(
+                    "plantName", Map.of("type", "STRING", "enum", List.of("보스턴고사리", "스파티필럼")),
+                    "growthLevel", Map.of("type", "STRING", "enum", List.of("High", "Medium", "Low", "DIE")),
+                    "caption", STRING
+            ),
+            "required", List.of("plantName", "growthLevel", "caption"),
+            "propertyOrdering", List.of("plantName", "growthLevel", "caption")
+    ));
+
+    /** 분류기가 종/성장 단계를 확정한 경우: 캡션만 */
+    public static final Map<String, Object> CAPTION = generationConfig(Map.of(
+            "type", "OBJECT",
+            "properties", Map.of("caption", STRING),
+            "required", List.of("caption")
+    ));
+
+    /** 관리 조언: analysis + keywords + careGuide */
+    public static final Map<String, Object> ADVICE = generationConfig(Map.of(
+            "type", "OBJECT",
+            "properties", Map.of(
+                    "analysis", STRING,
+                    "keywords", Map.of("type", "ARRAY", "items", STRING),
+                    "careGuide", Map.of("type", "ARRAY", "items", Map.of(
+                            "type", "OBJECT",
+                            "properties", Map.of("issue", STRING, "content", STRING),
+                            "required", List.of("issue", "content")
+                    ))
+            ),
+            "required", List.of("analysis", "keywords", "careGuide"),
+            "propertyOrdering", List.of("analysis", "keywords", "careGuide")
+    ));
+
+    private static Map<String, Object> generationConfig(Map<String, Object> schema) {
+        return Map.of(
+                "responseMimeType", "application/json",
+                "responseSchema", schema
+        );
+    }
+}
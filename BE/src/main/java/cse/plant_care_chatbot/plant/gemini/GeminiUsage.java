@@ -0,0 +1,19 @@
+package cse.plant_care_chatbot.plant.gemini;
+
+/**
+ * Gemini 응답의 usageMetadata
+ * @param promptTokens     입력 토큰 (캐시된 토큰 포함)
+ * @param candidatesTokens 출력 토큰
+ * @param cachedTokens     컨텍스트 캐시에서 읽은 입력 토큰
+ */
+public record GeminiUsage(
+        int promptTokens,
+        int candidatesTokens,
+        int cachedTokens
+) {
+    public static final GeminiUsage EMPTY = new GeminiUsage(0, 0, 0);
+
+    public int totalTokens() {
+        return promptTokens + candidatesTokens;
+    }
+}
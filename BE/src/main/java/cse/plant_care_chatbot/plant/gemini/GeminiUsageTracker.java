@@ -0,0 +1,62 @@
+package cse.plant_care_chatbot.plant.gemini;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 작업(operation)별 Gemini 토큰 사용량 집계
+ * - 입력/출력/캐시 토큰을 호출마다 누적하고 주기적으로 평균을 로그로 남김
+ * - 프롬프트 압축 전후 비교용 (지연시간은 GeminiHedger 의 p95 참고)
+ * - 기동 후 누적 합계는 초기화하지 않고 유지 (재분석 실행별 비용 계산용)
+ */
+@Slf4j
+@Component
+public class GeminiUsageTracker {
+
+    private final Map<String, Counters> counters = new ConcurrentHashMap<>();
+
+    public void record(String operation, GeminiUsage usage) {
+        Counters c = counters.computeIfAbsent(operation, op -> new Counters());
+        c.calls.increment();
+        c.prompt.add(usage.promptTokens());
+        c.candidates.add(usage.candidatesTokens());
+        c.cached.add(usage.cachedTokens());
+        c.totalPrompt.add(usage.promptTokens());
+        c.totalCandidates.add(usage.candidatesTokens());
+    }
+
+    public Totals totals(String operation) {
+        Counters c = counters.get(operation);
+        if (c == null) return new Totals(0, 0);
+        return new Totals(c.totalPrompt.sum(), c.totalCandidates.sum());
+    }
+
+    public record Totals(long promptTokens, long candidatesTokens) {}
+
+    @Scheduled(fixedDelayString = "${gemini.usage.stats-interval-ms:60000}")
+    void logStats() {
+        counters.forEach((operation, c) -> {
+            long calls = c.calls.sumThenReset();
+            long prompt = c.prompt.sumThenReset();
+            long candidates = c.candidates.sumThenReset();
+            long cached = c.cached.sumThenReset();
+            if (calls == 0) return;
+            log.info("🧮 Gemini tokens [{}]: calls={}, avg input={}, avg output={}, avg cached={}",
+                    operation, calls, prompt / calls, candidates / calls, cached / calls);
+        });
+    }
+
+    private static class Counters {
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder prompt = new LongAdder();
+        private final LongAdder candidates = new LongAdder();
+        private final LongAdder cached = new LongAdder();
+        private final LongAdder totalPrompt = new LongAdder();
+        private final LongAdder totalCandidates = new LongAdder();
+    }
+}
@@ -0,0 +1,227 @@
+package cse.plant_care_chatbot.plant.grpc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import cse.plant_care_chatbot.global.common.RequestDeadline;
+import cse.plant_care_chatbot.plant.archive.ResultArchive;
+import cse.plant_care_chatbot.plant.dto.GeminiAnalysisResult;
+import cse.plant_care_chatbot.plant.dto.HistoryListRes;
+import cse.plant_care_chatbot.plant.dto.PlantFeedbackReq;
+import cse.plant_care_chatbot.plant.dto.PlantReportRes;
+import cse.plant_care_chatbot.plant.dto.SensorComparisonRes;
+import cse.plant_care_chatbot.plant.entity.PlantAnalysisLog;
+import cse.plant_care_chatbot.plant.gemini.GeminiQuotaExceededException;
+import cse.plant_care_chatbot.plant.grpc.proto.*;
+import cse.plant_care_chatbot.plant.repository.PlantAnalysisLogRepository;
+import cse.plant_care_chatbot.plant.service.PlantAnalysisPipeline;
+import cse.plant_care_chatbot.plant.service.PlantService;
+import io.grpc.Context;
+import io.grpc.Deadline;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.StreamObserver;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * gRPC PlantCare 서비스. REST PlantController 와 같은 서비스 계층을 사용한다.
+ * 서버 executor 가 가상 스레드라 분석 파이프라인을 호출 스레드에서 그대로 실행한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "grpc.enabled", havingValue = "true")
+public class PlantCareGrpcService extends PlantCareGrpc.PlantCareImplBase {
+
+    private final PlantAnalysisPipeline analysisPipeline;    // Step 1 ~ 3
+    private final PlantService plantService;                 // 피드백
+    private final PlantAnalysisLogRepository logRepo;        // 기록 조회
+    private final ResultArchive resultArchive;               // 보관된 리포트 읽기
+    private final ObjectMapper objectMapper;
+
+    @Value("${analysis.deadline-ms:30000}")
+    private long analysisDeadlineMs;
+
+    // 청크를 모은 이미지 최대 크기
+    @Value("${grpc.max-image-bytes:10485760}")
+    private int maxImageBytes;
+
+    @Value("${grpc.history.default-page-size:20}")
+    private int defaultPageSize;
+
+    @Value("${grpc.history.max-page-size:100}")
+    private int maxPageSize;
+
+    @Override
+    public StreamObserver<AnalyzeRequest> analyze(StreamObserver<AnalyzeEvent> responseObserver) {
+        return new StreamObserver<>() {
+            private AnalyzeHeader header;
+            private final ByteArrayOutputStream image = new ByteArrayOutputStream();
+            private boolean failed;
+
+            @Override
+            public void onNext(AnalyzeRequest request) {
+                if (failed) return;
+                switch (request.getPayloadCase()) {
+                    case HEADER -> header = request.getHeader();
+                    case IMAGE_CHUNK -> {
+                        if (image.size() + request.getImageChunk().size() > maxImageBytes) {
+                            fail(Status.RESOURCE_EXHAUSTED.withDescription(
+                                    "이미지는 " + maxImageBytes + " 바이트를 넘을 수 없습니다."));
+                            return;
+                        }
+                        image.writeBytes(request.getImageChunk().toByteArray());
+                    }
+                    default -> fail(Status.INVALID_ARGUMENT.withDescription("header 또는 image_chunk 가 필요합니다."));
+                }
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                log.debug("gRPC analyze client stream error: {}", t.getMessage());
+            }
+
+            @Override
+            public void onCompleted() {
+                if (failed) return;
+                if (header == null || image.size() == 0) {
+                    fail(Status.INVALID_ARGUMENT.withDescription("header 와 이미지 청크를 보내야 합니다."));
+                    return;
+                }
+
+                String plantId = header.getPlantId().isEmpty() ? null : header.getPlantId();
+                try {
+                    PlantReportRes report = analysisPipeline.analyze(image.toByteArray(), header.getMimeType(),
+                            header.getDescription(), plantId, deadlineOf(header),
+                            new PlantAnalysisPipeline.StageListener() {
+                                @Override
+                                public void onVision(Long logId, GeminiAnalysisResult geminiRes) {
+                                    responseObserver.onNext(AnalyzeEvent.newBuilder()
+                                            .setVision(PlantProtoMapper.toProto(logId, geminiRes)).build());
+                                }
+
+                                @Override
+                                public void onSimilar(List<String> similarImages,
+                                                      List<SensorComparisonRes> sensorAnalysis) {
+                                    responseObserver.onNext(AnalyzeEvent.newBuilder()
+                                            .setSimilar(PlantProtoMapper.toProto(similarImages, sensorAnalysis)).build());
+                                }
+                            });
+                    responseObserver.onNext(AnalyzeEvent.newBuilder()
+                            .setReport(PlantProtoMapper.toProto(report)).build());
+                    responseObserver.onCompleted();
+                } catch (Exception e) {
+                    if (Context.current().isCancelled()) {
+                        log.debug("gRPC analyze cancelled by client");
+                        return;
+                    }
+                    log.error("gRPC analyze failed", e);
+                    responseObserver.onError(toStatus(e));
+                }
+            }
+
+            private void fail(Status status) {
+                failed = true;
+                responseObserver.onError(status.asRuntimeException());
+            }
+        };
+    }
+
+    @Override
+    public void listHistory(ListHistoryRequest request, StreamObserver<ListHistoryResponse> responseObserver) {
+        int pageSize = request.getPageSize() > 0 ? Math.min(request.getPageSize(), maxPageSize) : defaultPageSize;
+        long beforeId = request.getBeforeId() > 0 ? request.getBeforeId() : Long.MAX_VALUE;
+
+        List<HistoryListRes> page = logRepo.findHistoryPage(beforeId, PageRequest.of(0, pageSize));
+
+        ZoneId zone = ZoneId.systemDefault();
+        ListHistoryResponse.Builder response = ListHistoryResponse.newBuilder();
+        for (HistoryListRes history : page) {
+            response.addItems(PlantProtoMapper.toProto(history, zone));
+        }
+        if (page.size() == pageSize) {
+            response.setNextBeforeId(page.get(page.size() - 1).id());
+        }
+
+        responseObserver.onNext(response.build());
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public void getReport(GetReportRequest request, StreamObserver<Report> responseObserver) {
+        PlantAnalysisLog analysisLog = logRepo.findById(request.getLogId()).orElse(null);
+        if (analysisLog == null) {
+            responseObserver.onError(Status.NOT_FOUND.withDescription("해당 기록을 찾을 수 없습니다.").asRuntimeException());
+            return;
+        }
+
+        // 오래된 기록은 보관 세그먼트에서 읽음
+        String resultJson = resultArchive.resultOf(analysisLog).orElse(null);
+        if (resultJson == null) {
+            responseObserver.onError(Status.FAILED_PRECONDITION
+                    .withDescription("분석 결과가 저장되지 않은 기록입니다.").asRuntimeException());
+            return;
+        }
+
+        try {
+            PlantReportRes report = objectMapper.readValue(resultJson, PlantReportRes.class);
+            responseObserver.onNext(PlantProtoMapper.toProto(report));
+            responseObserver.onCompleted();
+        } catch (IOException e) {
+            responseObserver.onError(toStatus(e));
+        }
+    }
+
+    @Override
+    public void addFeedback(AddFeedbackRequest request, StreamObserver<AddFeedbackResponse> responseObserver) {
+        if (!logRepo.existsById(request.getLogId())) {
+            responseObserver.onError(Status.NOT_FOUND.withDescription("해당 분석 기록을 찾을 수 없습니다.").asRuntimeException());
+            return;
+        }
+
+        try {
+            plantService.addFeedback(request.getLogId(), new PlantFeedbackReq(
+                    PlantProtoMapper.fromProto(request.getFeedbackType()),
+                    request.getComment().isEmpty() ? null : request.getComment()));
+            responseObserver.onNext(AddFeedbackResponse.getDefaultInstance());
+            responseObserver.onCompleted();
+        } catch (RuntimeException e) {
+            responseObserver.onError(toStatus(e));
+        }
+    }
+
+    // header.timeout_ms → gRPC deadline → analysis.deadline-ms 순서로 제한 시간 결정
+    // header.timeout_ms 와 gRPC deadline 중 짧은 쪽, REST 와 같이 [1, analysis.deadline-ms] 로 제한
+    private RequestDeadline deadlineOf(AnalyzeHeader header) {
+        long requestedMs = (header.getTimeoutMs() > 0) ? header.getTimeoutMs() : analysisDeadlineMs;
+        Deadline grpcDeadline = Context.current().getDeadline();
+        if (grpcDeadline != null) {
+            requestedMs = Math.min(requestedMs, grpcDeadline.timeRemaining(TimeUnit.MILLISECONDS));
+        }
+        return RequestDeadline.clamped(requestedMs, analysisDeadlineMs);
+    }
+
+    private static StatusRuntimeException toStatus(Exception e) {
+        if (e instanceof StatusRuntimeException statusException) {
+            return statusException;
+        }
+        Status status;
+        if (e instanceof IllegalArgumentException) {
+            status = Status.INVALID_ARGUMENT;
+        } else if (e instanceof GeminiQuotaExceededException) {
+            status = Status.RESOURCE_EXHAUSTED;
+        } else {
+            status = Status.INTERNAL;
+        }
+        return status.withDescription(e.getMessage()).withCause(e).asRuntimeException();
+    }
+}
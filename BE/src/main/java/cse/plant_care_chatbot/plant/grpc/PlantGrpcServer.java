@@ -0,0 +1,72 @@
+package cse.plant_care_chatbot.plant.grpc;
+
+import io.grpc.Grpc;
+import io.grpc.InsecureServerCredentials;
+import io.grpc.Server;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * REST 서버와 별도 포트로 gRPC 서버 실행 (grpc.enabled=true)
+ * - 기동 완료(ApplicationReadyEvent) 후 요청을 받기 시작
+ * - 호출마다 가상 스레드에서 실행 (분석처럼 오래 블로킹하는 호출도 그대로 처리)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "grpc.enabled", havingValue = "true")
+public class PlantGrpcServer {
+
+    private final PlantCareGrpcService plantCareService;
+
+    @Value("${grpc.port:9090}")
+    private int port;
+
+    // 메시지 1개 최대 크기 (이미지는 청크로 나눠 보내므로 청크 크기 기준)
+    @Value("${grpc.max-inbound-message-bytes:4194304}")
+    private int maxInboundMessageBytes;
+
+    @Value("${grpc.shutdown-grace-ms:10000}")
+    private long shutdownGraceMs;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private Server server;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        try {
+            server = Grpc.newServerBuilderForPort(port, InsecureServerCredentials.create())
+                    .executor(executor)
+                    .maxInboundMessageSize(maxInboundMessageBytes)
+                    .addService(plantCareService)
+                    .build()
+                    .start();
+        } catch (IOException e) {
+            throw new UncheckedIOException("gRPC 서버를 시작할 수 없습니다 (port=" + port + ")", e);
+        }
+        log.info("gRPC 서버 시작: port={}", port);
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        if (server != null) {
+            server.shutdown();
+            if (!server.awaitTermination(shutdownGraceMs, TimeUnit.MILLISECONDS)) {
+                server.shutdownNow();
+            }
+        }
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,120 @@
+package cse.plant_care_chatbot.plant.grpc;
+
+import com.google.protobuf.Timestamp;
+import cse.plant_care_chatbot.plant.dto.GeminiAnalysisResult;
+import cse.plant_care_chatbot.plant.dto.HistoryListRes;
+import cse.plant_care_chatbot.plant.dto.ImageLinksRes;
+import cse.plant_care_chatbot.plant.dto.PlantReportRes;
+import cse.plant_care_chatbot.plant.dto.SensorComparisonRes;
+import cse.plant_care_chatbot.plant.grpc.proto.*;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * REST DTO ↔ protobuf 메시지 변환 (proto3 문자열 필드는 null 대신 빈 문자열)
+ */
+final class PlantProtoMapper {
+
+    private PlantProtoMapper() {
+    }
+
+    static VisionResult toProto(Long logId, GeminiAnalysisResult geminiRes) {
+        return VisionResult.newBuilder()
+                .setLogId(logId)
+                .setPlantName(text(geminiRes.plantName()))
+                .setGrowthLevel(text(geminiRes.growthLevel()))
+                .setCaption(text(geminiRes.caption()))
+                .build();
+    }
+
+    static SimilarResult toProto(List<String> similarImages, List<SensorComparisonRes> sensorAnalysis) {
+        SimilarResult.Builder builder = SimilarResult.newBuilder();
+        if (similarImages != null) {
+            builder.addAllSimilarImages(similarImages);
+        }
+        if (sensorAnalysis != null) {
+            for (SensorComparisonRes sensor : sensorAnalysis) {
+                SensorComparison.Builder comparison = SensorComparison.newBuilder()
+                        .setSensorName(text(sensor.sensorName()));
+                if (sensor.similarAvg() != null) comparison.setSimilarAvg(sensor.similarAvg());
+                if (sensor.betterAvg() != null) comparison.setBetterAvg(sensor.betterAvg());
+                if (sensor.worseAvg() != null) comparison.setWorseAvg(sensor.worseAvg());
+                if (sensor.liveAvg() != null) comparison.setLiveAvg(sensor.liveAvg());
+                builder.addSensorAnalysis(comparison);
+            }
+        }
+        return builder.build();
+    }
+
+    static Report toProto(PlantReportRes report) {
+        Report.Builder builder = Report.newBuilder()
+                .setLogId(report.logId() != null ? report.logId() : 0)
+                .setPlantName(text(report.plantName()))
+                .setOverallScore(report.overallScore())
+                .setCaption(text(report.caption()))
+                .setAnalysis(text(report.analysis()))
+                .setPartial(report.partial());
+
+        if (report.metricScores() != null) {
+            for (PlantReportRes.MetricScore metric : report.metricScores()) {
+                builder.addMetricScores(MetricScore.newBuilder()
+                        .setSensorName(text(metric.sensorName()))
+                        .setScore(metric.score())
+                        .setStatus(text(metric.status())));
+            }
+        }
+        if (report.keywords() != null) {
+            builder.addAllKeywords(report.keywords());
+        }
+        if (report.careGuide() != null) {
+            for (PlantReportRes.CareGuide guide : report.careGuide()) {
+                builder.addCareGuide(CareGuide.newBuilder()
+                        .setIssue(text(guide.issue()))
+                        .setContent(text(guide.content())));
+            }
+        }
+        if (report.similarImages() != null) {
+            builder.addAllSimilarImages(report.similarImages());
+        }
+        if (report.similarImageLinks() != null) {
+            for (ImageLinksRes links : report.similarImageLinks()) {
+                builder.addSimilarImageLinks(ImageLinks.newBuilder()
+                        .setName(text(links.name()))
+                        .setThumb(text(links.thumb()))
+                        .setMedium(text(links.medium()))
+                        .setOriginal(text(links.original())));
+            }
+        }
+        return builder.build();
+    }
+
+    static HistoryItem toProto(HistoryListRes history, ZoneId zone) {
+        HistoryItem.Builder builder = HistoryItem.newBuilder()
+                .setId(history.id())
+                .setPlantName(text(history.plantName()))
+                .setGrowthLevel(text(history.growthLevel()))
+                .setUserDescription(text(history.userDescription()));
+        if (history.createdAt() != null) {
+            Instant instant = history.createdAt().atZone(zone).toInstant();
+            builder.setCreatedAt(Timestamp.newBuilder()
+                    .setSeconds(instant.getEpochSecond())
+                    .setNanos(instant.getNano()));
+        }
+        return builder.build();
+    }
+
+    static cse.plant_care_chatbot.plant.dto.FeedbackType fromProto(FeedbackType feedbackType) {
+        return switch (feedbackType) {
+            case IMPROVED -> cse.plant_care_chatbot.plant.dto.FeedbackType.IMPROVED;
+            case NO_CHANGE -> cse.plant_care_chatbot.plant.dto.FeedbackType.NO_CHANGE;
+            case WORSENED -> cse.plant_care_chatbot.plant.dto.FeedbackType.WORSENED;
+            default -> throw new IllegalArgumentException("feedback_type 을 지정해야 합니다.");
+        };
+    }
+
+    private static String text(String value) {
+        return value != null ? value : "";
+    }
+}
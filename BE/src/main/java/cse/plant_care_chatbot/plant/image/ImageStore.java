@@ -0,0 +1,228 @@
+package cse.plant_care_chatbot.plant.image;
+
+import cse.plant_care_chatbot.plant.dto.ImageLinksRes;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 유사 식물 이미지 저장소
+ * - 원본은 image.root-dir, 크기 변형(thumb/medium)은 image.cache-dir 에 요청 시 한 번만 생성
+ * - URL 에는 원본 내용 해시를 넣어 immutable 캐시가 가능하게 함 (/media/images/{hash}/{variant}/{name})
+ * - WebP writer(ImageIO 플러그인)가 있고 클라이언트가 받을 수 있으면 WebP, 아니면 JPEG 로 생성
+ */
+@Slf4j
+@Component
+public class ImageStore {
+
+    public static final String URL_PREFIX = "/media/images";
+
+    private static final String WEBP = "image/webp";
+    private static final String JPEG = "image/jpeg";
+
+    @Value("${image.root-dir:/Users/dhwoo/Downloads/plant_image/}")
+    private Path rootDir;
+
+    @Value("${image.cache-dir:${java.io.tmpdir}/plant-image-cache}")
+    private Path cacheDir;
+
+    @Value("${image.quality:0.8}")
+    private float quality;
+
+    // 분석 요청 이미지를 root-dir 에 보관 (피드백 기반 증분 색인 시 유사 이미지로 노출)
+    @Value("${image.store-uploads:true}")
+    private boolean storeUploads;
+
+    private final boolean webpSupported = ImageIO.getImageWritersByMIMEType(WEBP).hasNext();
+
+    // 원본 이름 → (크기, 수정 시각, 해시). 파일이 바뀌면 다시 계산
+    private final Map<String, HashEntry> hashes = new ConcurrentHashMap<>();
+    // 같은 변형을 동시에 두 번 만들지 않도록 키별 잠금
+    private final Map<String, Object> generationLocks = new ConcurrentHashMap<>();
+
+    public ImageLinksRes linksFor(String name) {
+        String hash = contentHash(name).orElse("0");
+        return new ImageLinksRes(
+                name,
+                url(hash, ImageVariant.THUMB, name),
+                url(hash, ImageVariant.MEDIUM, name),
+                url(hash, ImageVariant.ORIGINAL, name)
+        );
+    }
+
+    private String url(String hash, ImageVariant variant, String name) {
+        return URL_PREFIX + "/" + hash + "/" + variant.getPath() + "/" + name;
+    }
+
+    /**
+     * 전송할 파일 (원본이 없거나 이름이 잘못되면 empty)
+     */
+    public Optional<StoredImage> resolve(String name, ImageVariant variant, boolean acceptsWebp) throws IOException {
+        Optional<Path> original = originalPath(name);
+        if (original.isEmpty()) return Optional.empty();
+        String hash = contentHash(name).orElseThrow();
+
+        if (variant == ImageVariant.ORIGINAL) {
+            Path path = original.get();
+            String contentType = Optional.ofNullable(Files.probeContentType(path)).orElse(JPEG);
+            return Optional.of(new StoredImage(path, contentType, Files.size(path), hash, hash));
+        }
+
+        String contentType = (webpSupported && acceptsWebp) ? WEBP : JPEG;
+        String extension = contentType.equals(WEBP) ? "webp" : "jpg";
+        Path target = cacheDir.resolve(variant.getPath()).resolve(hash + "-" + stripExtension(name) + "." + extension);
+
+        if (!Files.exists(target)) {
+            synchronized (generationLocks.computeIfAbsent(target.toString(), k -> new Object())) {
+                if (!Files.exists(target)) {
+                    generate(original.get(), target, variant.getMaxSize(), contentType);
+                }
+            }
+            generationLocks.remove(target.toString());
+        }
+        return Optional.of(new StoredImage(target, contentType, Files.size(target), hash,
+                hash + "-" + variant.getPath() + "-" + extension));
+    }
+
+    /**
+     * 업로드 이미지를 root-dir 에 저장하고 이름을 반환 (비활성화 시 null)
+     */
+    public String saveUpload(byte[] imageBytes, String mimeType) {
+        if (!storeUploads || imageBytes == null) return null;
+        String extension = (mimeType != null && mimeType.contains("png")) ? "png"
+                : (mimeType != null && mimeType.contains("webp")) ? "webp" : "jpg";
+        String name = "upload_" + UUID.randomUUID() + "." + extension;
+        try {
+            Files.createDirectories(rootDir);
+            Path tmp = rootDir.resolve(name + ".tmp");
+            Files.write(tmp, imageBytes);
+            Files.move(tmp, rootDir.resolve(name), StandardCopyOption.ATOMIC_MOVE);
+            return name;
+        } catch (IOException e) {
+            log.warn("Upload image save failed: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    public boolean isWebpSupported() {
+        return webpSupported;
+    }
+
+    Path getRootDir() {
+        return rootDir;
+    }
+
+    // root-dir 바깥을 가리키는 이름(../ 등)은 거부
+    private Optional<Path> originalPath(String name) {
+        if (name == null || name.isBlank() || name.contains("/") || name.contains("\\")) return Optional.empty();
+        Path root = rootDir.toAbsolutePath().normalize();
+        Path path = root.resolve(name).normalize();
+        if (!path.startsWith(root) || !Files.isRegularFile(path)) return Optional.empty();
+        return Optional.of(path);
+    }
+
+    /**
+     * 원본 내용의 SHA-256 앞 16자리 (파일 크기/수정 시각이 같으면 캐시된 값 사용)
+     */
+    public Optional<String> contentHash(String name) {
+        Optional<Path> original = originalPath(name);
+        if (original.isEmpty()) return Optional.empty();
+        try {
+            BasicFileAttributes attrs = Files.readAttributes(original.get(), BasicFileAttributes.class);
+            long modified = attrs.lastModifiedTime().toMillis();
+            HashEntry entry = hashes.get(name);
+            if (entry == null || entry.size() != attrs.size() || entry.modified() != modified) {
+                entry = new HashEntry(attrs.size(), modified, sha256(original.get()));
+                hashes.put(name, entry);
+            }
+            return Optional.of(entry.hash());
+        } catch (IOException e) {
+            log.warn("Image hash failed: {} ({})", name, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private String sha256(Path path) throws IOException {
+        try (InputStream in = Files.newInputStream(path)) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[64 * 1024];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+            return HexFormat.of().formatHex(digest.digest()).substring(0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void generate(Path source, Path target, int maxSize, String contentType) throws IOException {
+        long start = System.currentTimeMillis();
+        BufferedImage image = ImageIO.read(source.toFile());
+        if (image == null) throw new IOException("지원하지 않는 이미지 형식입니다: " + source.getFileName());
+
+        double scale = Math.min(1.0, (double) maxSize / Math.max(image.getWidth(), image.getHeight()));
+        int width = Math.max(1, (int) Math.round(image.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(image.getHeight() * scale));
+
+        // JPEG 은 알파 채널을 지원하지 않으므로 RGB 로 그림
+        BufferedImage resized = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = resized.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(image, 0, 0, width, height, Color.WHITE, null);
+        } finally {
+            g.dispose();
+        }
+
+        Files.createDirectories(target.getParent());
+        Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByMIMEType(contentType);
+        ImageWriter writer = writers.next();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(tmp.toFile())) {
+            writer.setOutput(out);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if (param.canWriteCompressed()) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                if (param.getCompressionTypes() != null && param.getCompressionType() == null) {
+                    param.setCompressionType(param.getCompressionTypes()[0]);
+                }
+                param.setCompressionQuality(quality);
+            }
+            writer.write(null, new IIOImage(resized, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        log.debug("Image variant generated: {} ({}x{}, {} ms)", target.getFileName(), width, height, System.currentTimeMillis() - start);
+    }
+
+    private String stripExtension(String name) {
+        int dot = name.lastIndexOf('.');
+        return dot > 0 ? name.substring(0, dot) : name;
+    }
+
+    private record HashEntry(long size, long modified, String hash) {}
+}
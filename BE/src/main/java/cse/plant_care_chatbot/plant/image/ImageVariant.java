@@ -0,0 +1,36 @@
+package cse.plant_care_chatbot.plant.image;
+
+import java.util.Optional;
+
+/**
+ * 유사 식물 이미지 크기 변형
+ * - ORIGINAL 은 원본 파일을 그대로 전송, 나머지는 긴 변 기준으로 축소해 캐시 디렉터리에 생성
+ */
+public enum ImageVariant {
+    THUMB("thumb", 240),
+    MEDIUM("medium", 800),
+    ORIGINAL("original", 0);
+
+    private final String path;
+    private final int maxSize;
+
+    ImageVariant(String path, int maxSize) {
+        this.path = path;
+        this.maxSize = maxSize;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public static Optional<ImageVariant> fromPath(String path) {
+        for (ImageVariant v : values()) {
+            if (v.path.equals(path)) return Optional.of(v);
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,73 @@
+package cse.plant_care_chatbot.plant.image;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * 시작 시 root-dir 의 모든 이미지에 대해 thumb/medium 변형을 미리 생성 (image.pregenerate=true)
+ * - 백그라운드에서 실행되며 기동을 막지 않음
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "image.pregenerate", havingValue = "true")
+public class ImageVariantPregenerator implements ApplicationRunner {
+
+    private final ImageStore imageStore;
+
+    @Value("${image.pregenerate-parallelism:4}")
+    private int parallelism;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Thread.ofVirtual().name("image-pregenerate").start(this::pregenerate);
+    }
+
+    private void pregenerate() {
+        long start = System.currentTimeMillis();
+        List<Path> files;
+        try (Stream<Path> stream = Files.list(imageStore.getRootDir())) {
+            files = stream.filter(Files::isRegularFile).toList();
+        } catch (Exception e) {
+            log.warn("Image pregenerate skipped: {}", e.getMessage());
+            return;
+        }
+
+        AtomicInteger done = new AtomicInteger();
+        Semaphore permits = new Semaphore(parallelism);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Path file : files) {
+                executor.submit(() -> {
+                    permits.acquireUninterruptibly();
+                    try {
+                        String name = file.getFileName().toString();
+                        for (ImageVariant variant : List.of(ImageVariant.THUMB, ImageVariant.MEDIUM)) {
+                            imageStore.resolve(name, variant, false);
+                            if (imageStore.isWebpSupported()) imageStore.resolve(name, variant, true);
+                        }
+                        done.incrementAndGet();
+                    } catch (Exception e) {
+                        log.debug("Image pregenerate failed: {} ({})", file.getFileName(), e.getMessage());
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+        }
+        log.info("🖼️ Image variants ready: {}/{} files ({} ms)", done.get(), files.size(), System.currentTimeMillis() - start);
+    }
+}
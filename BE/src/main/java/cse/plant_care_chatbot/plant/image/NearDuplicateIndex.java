@@ -0,0 +1,200 @@
+package cse.plant_care_chatbot.plant.image;
+
+import cse.plant_care_chatbot.plant.repository.PlantAnalysisLogRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 최근 업로드 이미지의 dHash BK-tree (해밍 거리 검색), plantId 별로 하나씩
+ * - 같은 식물을 거의 같은 구도로 다시 찍은 사진이면 이전 분석 기록(logId)을 찾아 Gemini 이미지 분석을 건너뜀
+ * - 같은 plantId 의 기록끼리만 비교 (다른 사용자의 비슷한 사진 결과를 가져오지 않도록), plantId 가 없는 요청은 대상 아님
+ * - window-hours 이내, 거리 max-distance 이하 중 가장 가까운(같으면 최신) 기록을 반환
+ * - BK-tree 는 삭제가 어려워서 rebuild-interval 마다 만료된 항목을 빼고 다시 만듦
+ * - 기동 시 window 안의 기록을 DB 에서 읽어 채움 (노드별 메모리 인덱스)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NearDuplicateIndex {
+
+    private final PlantAnalysisLogRepository logRepo;
+
+    @Value("${dedup.enabled:false}")
+    private boolean enabled;
+
+    @Value("${dedup.window-hours:24}")
+    private long windowHours;
+
+    @Value("${dedup.max-distance:6}")
+    private int maxDistance;
+
+    private Map<String, BkTree> trees = new HashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) return;
+        Map<String, BkTree> loaded = new HashMap<>();
+        int count = 0;
+        for (Object[] row : logRepo.findPerceptualHashesSince(LocalDateTime.now().minusHours(windowHours))) {
+            loaded.computeIfAbsent((String) row[3], k -> new BkTree())
+                    .add((Long) row[1], (Long) row[0], toMillis((LocalDateTime) row[2]));
+            count++;
+        }
+        synchronized (this) {
+            trees = loaded;
+        }
+        log.info("🔁 근접 중복 인덱스 로드: {}건, 식물 {}개 (최근 {}시간)", count, loaded.size(), windowHours);
+    }
+
+    public Optional<Long> findNear(String plantId, long hash) {
+        if (!enabled || plantId == null) return Optional.empty();
+        long oldest = System.currentTimeMillis() - windowHours * 3_600_000;
+        Optional<Long> found;
+        synchronized (this) {
+            BkTree tree = trees.get(plantId);
+            found = (tree != null) ? tree.nearest(hash, maxDistance, oldest) : Optional.empty();
+        }
+        (found.isPresent() ? hits : misses).incrementAndGet();
+        return found;
+    }
+
+    public void add(String plantId, long hash, long logId) {
+        if (!enabled || plantId == null) return;
+        synchronized (this) {
+            trees.computeIfAbsent(plantId, k -> new BkTree()).add(hash, logId, System.currentTimeMillis());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${dedup.rebuild-interval-ms:600000}")
+    public void rebuild() {
+        if (!enabled) return;
+        long oldest = System.currentTimeMillis() - windowHours * 3_600_000;
+        int before = 0;
+        int after = 0;
+        synchronized (this) {
+            Map<String, BkTree> rebuilt = new HashMap<>();
+            for (Map.Entry<String, BkTree> entry : trees.entrySet()) {
+                before += entry.getValue().size();
+                BkTree fresh = new BkTree();
+                for (BkTree.Node node : entry.getValue().nodes()) {
+                    if (node.createdAt >= oldest) fresh.add(node.hash, node.logId, node.createdAt);
+                }
+                if (fresh.size() > 0) rebuilt.put(entry.getKey(), fresh);
+                after += fresh.size();
+            }
+            trees = rebuilt;
+        }
+        log.info("🔁 근접 중복 인덱스: {}건 → {}건, 재사용 {} / 미스 {}", before, after, hits.get(), misses.get());
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * 해밍 거리 BK-tree. 자식은 부모와의 거리(0 ~ 64)로 구분하고,
+     * 검색 시 삼각 부등식으로 |d - r| ~ d + r 범위의 자식만 내려간다.
+     */
+    static final class BkTree {
+
+        static final class Node {
+            final long hash;
+            final long logId;
+            final long createdAt;
+            Node[] children;
+
+            Node(long hash, long logId, long createdAt) {
+                this.hash = hash;
+                this.logId = logId;
+                this.createdAt = createdAt;
+            }
+        }
+
+        private Node root;
+        private int size;
+
+        int size() {
+            return size;
+        }
+
+        void add(long hash, long logId, long createdAt) {
+            Node node = new Node(hash, logId, createdAt);
+            size++;
+            if (root == null) {
+                root = node;
+                return;
+            }
+            Node current = root;
+            while (true) {
+                int d = PerceptualHash.distance(hash, current.hash);
+                if (current.children == null) current.children = new Node[Long.SIZE + 1];
+                Node child = current.children[d];
+                if (child == null) {
+                    current.children[d] = node;
+                    return;
+                }
+                current = child;
+            }
+        }
+
+        Optional<Long> nearest(long hash, int radius, long oldest) {
+            if (root == null) return Optional.empty();
+            Node best = null;
+            int bestDistance = Integer.MAX_VALUE;
+
+            List<Node> stack = new ArrayList<>();
+            stack.add(root);
+            while (!stack.isEmpty()) {
+                Node node = stack.remove(stack.size() - 1);
+                int d = PerceptualHash.distance(hash, node.hash);
+                if (d <= radius && node.createdAt >= oldest
+                        && (d < bestDistance || (d == bestDistance && node.createdAt > best.createdAt))) {
+                    best = node;
+                    bestDistance = d;
+                }
+                if (node.children == null) continue;
+                for (int i = Math.max(0, d - radius); i <= Math.min(Long.SIZE, d + radius); i++) {
+                    if (node.children[i] != null) stack.add(node.children[i]);
+                }
+            }
+            return best != null ? Optional.of(best.logId) : Optional.empty();
+        }
+
+        List<Node> nodes() {
+            List<Node> all = new ArrayList<>(size);
+            if (root == null) return all;
+            List<Node> stack = new ArrayList<>();
+            stack.add(root);
+            while (!stack.isEmpty()) {
+                Node node = stack.remove(stack.size() - 1);
+                all.add(node);
+                if (node.children == null) continue;
+                for (Node child : node.children) {
+                    if (child != null) stack.add(child);
+                }
+            }
+            return all;
+        }
+    }
+}
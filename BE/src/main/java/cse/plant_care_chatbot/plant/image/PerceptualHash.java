@@ -0,0 +1,58 @@
+package cse.plant_care_chatbot.plant.image;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * 64비트 dHash (difference hash)
+ * - 9x8 흑백으로 줄인 뒤 가로로 이웃한 픽셀의 밝기 대소를 비트로 기록
+ * - 재압축/크기 변경/약간의 밝기 변화에는 거의 그대로, 구도가 달라지면 크게 달라짐
+ * - 두 해시의 해밍 거리가 작을수록 비슷한 사진
+ */
+public final class PerceptualHash {
+
+    private static final int WIDTH = 9;
+    private static final int HEIGHT = 8;
+
+    private PerceptualHash() {}
+
+    public static Optional<Long> dHash(byte[] imageBytes) {
+        try {
+            BufferedImage source = ImageIO.read(new ByteArrayInputStream(imageBytes));
+            if (source == null) return Optional.empty();
+            return Optional.of(dHash(source));
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    public static long dHash(BufferedImage source) {
+        // 면적 평균으로 축소해야 고주파 노이즈가 해시에 섞이지 않음
+        Image scaled = source.getScaledInstance(WIDTH, HEIGHT, Image.SCALE_AREA_AVERAGING);
+        BufferedImage gray = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_BYTE_GRAY);
+        Graphics2D g = gray.createGraphics();
+        try {
+            g.drawImage(scaled, 0, 0, null);
+        } finally {
+            g.dispose();
+        }
+
+        long hash = 0;
+        for (int y = 0; y < HEIGHT; y++) {
+            for (int x = 0; x < WIDTH - 1; x++) {
+                int left = gray.getRaster().getSample(x, y, 0);
+                int right = gray.getRaster().getSample(x + 1, y, 0);
+                hash = (hash << 1) | (left > right ? 1 : 0);
+            }
+        }
+        return hash;
+    }
+
+    public static int distance(long a, long b) {
+        return Long.bitCount(a ^ b);
+    }
+}
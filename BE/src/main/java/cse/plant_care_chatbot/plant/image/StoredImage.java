@@ -0,0 +1,19 @@
+package cse.plant_care_chatbot.plant.image;
+
+import java.nio.file.Path;
+
+/**
+ * 전송할 이미지 파일
+ * @param path        실제 파일 (원본 또는 캐시된 변형)
+ * @param contentType image/jpeg, image/webp ...
+ * @param size        바이트 수
+ * @param contentHash 원본 내용 해시 (URL 에 포함)
+ * @param etag        변형별 ETag 값 (따옴표 제외)
+ */
+public record StoredImage(
+        Path path,
+        String contentType,
+        long size,
+        String contentHash,
+        String etag
+) {}
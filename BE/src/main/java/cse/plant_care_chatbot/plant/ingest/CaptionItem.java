@@ -0,0 +1,12 @@
+package cse.plant_care_chatbot.plant.ingest;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+// 캡션 JSON(전체XXX_캡션.json) 한 항목
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record CaptionItem(
+        @JsonProperty("image_name") String imageName,
+        @JsonProperty("original_growth_level") String originalGrowthLevel,
+        @JsonProperty("Gemini_Caption") String caption
+) {}
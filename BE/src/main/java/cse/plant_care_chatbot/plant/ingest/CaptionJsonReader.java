@@ -0,0 +1,42 @@
+package cse.plant_care_chatbot.plant.ingest;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * 캡션 JSON 배열을 한 항목씩 읽는 스트리밍 리더 (파일 전체를 메모리에 올리지 않음)
+ */
+public class CaptionJsonReader implements Closeable {
+
+    private final ObjectMapper objectMapper;
+    private final JsonParser parser;
+
+    public CaptionJsonReader(ObjectMapper objectMapper, Path path) throws IOException {
+        this.objectMapper = objectMapper;
+        this.parser = objectMapper.getFactory().createParser(path.toFile());
+
+        if (parser.nextToken() != JsonToken.START_ARRAY) {
+            parser.close();
+            throw new IOException("캡션 파일은 JSON 배열이어야 합니다: " + path);
+        }
+    }
+
+    // 다음 항목, 배열 끝이면 null
+    public CaptionItem next() throws IOException {
+        JsonToken token = parser.nextToken();
+        if (token == null || token == JsonToken.END_ARRAY) {
+            return null;
+        }
+        return objectMapper.readValue(parser, CaptionItem.class);
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+}
@@ -0,0 +1,206 @@
+package cse.plant_care_chatbot.plant.ingest;
+
+import cse.plant_care_chatbot.plant.dto.FeedbackType;
+import cse.plant_care_chatbot.plant.dto.PlantFeedbackEvent;
+import cse.plant_care_chatbot.plant.dto.PlantSpecies;
+import cse.plant_care_chatbot.plant.embedding.EmbeddingEngine;
+import cse.plant_care_chatbot.plant.entity.PlantAnalysisLog;
+import cse.plant_care_chatbot.plant.milvus.PlantCollectionLayout;
+import cse.plant_care_chatbot.plant.milvus.PlantVectorRow;
+import cse.plant_care_chatbot.plant.repository.PlantAnalysisLogRepository;
+import cse.plant_care_chatbot.plant.service.MilvusService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * 긍정 피드백을 받은 분석 결과를 Milvus 에 증분 색인 (feedback-index.enabled=true)
+ * - 피드백 커밋 후 logId 를 큐에 넣고, batch-interval 마다 batch-size 단위로 임베딩 → insert
+ * - 센서값이 없는 업로드는 유사 식물 Top 5 의 센서 평균으로 보간
+ * - 사용자 기록은 place=사용자 로 넣어 성장 단계 그룹 / 유사 식물 센서 평균에서는 빠지고 이미지 검색에만 쓰임
+ * - flush-interval 마다 flush 해서 segment 인덱스가 만들어지게 함
+ * - 여러 노드가 같은 기록을 중복 insert 하지 않도록 vectorIndexedAt 조건부 UPDATE 로 선점한 기록만 색인
+ *   (선점 후 insert 전에 노드가 죽으면 그 기록은 빠짐: 중복 벡터보다 누락을 택함)
+ * - 배치가 실패하면 선점을 풀고 다시 큐에 넣은 뒤 지수 백오프 동안 대기
+ * - 이벤트를 받은 노드가 처리 전에 죽은 기록은 기동 시와 catch-up-interval 마다 vectorIndexedAt 이 비어 있는 것부터 다시 처리
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "feedback-index.enabled", havingValue = "true")
+public class FeedbackIndexer {
+
+    private final PlantAnalysisLogRepository logRepo;
+    private final EmbeddingEngine embeddingEngine;
+    private final MilvusService milvusService;
+    private final PlantCollectionLayout collectionLayout;
+
+    // 색인할 피드백 종류 (기본: 가이드대로 해서 호전됨 = 분석이 맞았다고 확인된 경우)
+    @Value("${feedback-index.types:IMPROVED}")
+    private Set<FeedbackType> indexedTypes;
+
+    @Value("${feedback-index.batch-size:64}")
+    private int batchSize;
+
+    @Value("${feedback-index.retry-backoff-ms:5000}")
+    private long retryBackoffMs;
+
+    @Value("${feedback-index.retry-backoff-max-ms:300000}")
+    private long retryBackoffMaxMs;
+
+    private final Queue<Long> pending = new ConcurrentLinkedQueue<>();
+    private final Set<Long> queued = ConcurrentHashMap.newKeySet();
+    private volatile boolean dirty;
+
+    // drain() 은 스케줄러 스레드 하나에서만 실행
+    private int consecutiveFailures;
+    private long retryAt;
+
+    // catch-up 커서: 색인할 수 없는 기록(보간할 유사 식물 없음 등)이 앞쪽 페이지를 계속 차지하지 않도록 id 순으로 넘김
+    private volatile long catchUpAfterId;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFeedback(PlantFeedbackEvent event) {
+        if (indexedTypes.contains(event.feedbackType())) {
+            enqueue(event.logId());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void catchUp() {
+        List<PlantAnalysisLog> missed = logRepo
+                .findTop500ByFeedbackTypeInAndVectorIndexedAtIsNullAndOriginalImageUrlIsNotNullAndIdGreaterThanOrderByIdAsc(
+                        indexedTypes, catchUpAfterId);
+        // 마지막 페이지면 처음부터 다시
+        catchUpAfterId = missed.size() < 500 ? 0 : missed.get(missed.size() - 1).getId();
+        missed.forEach(log -> enqueue(log.getId()));
+        if (!missed.isEmpty()) log.info("Feedback index catch-up: {} logs queued", missed.size());
+    }
+
+    @Scheduled(fixedDelayString = "${feedback-index.catch-up-interval-ms:600000}",
+            initialDelayString = "${feedback-index.catch-up-interval-ms:600000}")
+    void scheduledCatchUp() {
+        try {
+            catchUp();
+        } catch (Exception e) {
+            log.warn("Feedback index catch-up failed: {}", e.getMessage());
+        }
+    }
+
+    private void enqueue(Long logId) {
+        if (queued.add(logId)) pending.add(logId);
+    }
+
+    @Scheduled(fixedDelayString = "${feedback-index.batch-interval-ms:2000}")
+    void drain() {
+        if (System.currentTimeMillis() < retryAt) return;
+
+        while (!pending.isEmpty()) {
+            List<Long> ids = new ArrayList<>(batchSize);
+            Long id;
+            while (ids.size() < batchSize && (id = pending.poll()) != null) {
+                ids.add(id);
+            }
+            try {
+                indexBatch(ids);
+                consecutiveFailures = 0;
+            } catch (Exception e) {
+                // Milvus/임베딩 장애: 같은 기록을 다시 큐에 넣고 백오프 (5s, 10s, 20s ... 최대 retry-backoff-max-ms)
+                consecutiveFailures++;
+                long backoff = Math.min(retryBackoffMaxMs,
+                        retryBackoffMs << Math.min(consecutiveFailures - 1, 16));
+                retryAt = System.currentTimeMillis() + backoff;
+                pending.addAll(ids);
+                log.warn("Feedback index batch failed ({} logs, retry in {} ms): {}", ids.size(), backoff, e.getMessage());
+                return;
+            }
+            ids.forEach(queued::remove);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${feedback-index.flush-interval-ms:60000}")
+    void flush() {
+        if (!dirty) return;
+        dirty = false;
+        try {
+            collectionLayout.flush();
+        } catch (Exception e) {
+            dirty = true;
+            log.warn("Feedback index flush failed: {}", e.getMessage());
+        }
+    }
+
+    private void indexBatch(List<Long> ids) {
+        long start = System.currentTimeMillis();
+        // DB 정밀도와 상관없이 release 의 동등 비교가 맞도록 밀리초로 자름
+        LocalDateTime claimedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        List<PlantAnalysisLog> logs = logRepo.findAllById(ids).stream()
+                .filter(l -> l.getVectorIndexedAt() == null && indexedTypes.contains(l.getFeedbackType()))
+                .filter(l -> l.getCaption() != null && l.getOriginalImageUrl() != null)
+                .filter(l -> PlantSpecies.fromKoreanName(l.getPlantName()).isPresent())
+                .filter(l -> logRepo.claimVectorIndex(l.getId(), claimedAt) == 1)
+                .toList();
+        if (logs.isEmpty()) return;
+
+        Set<Long> unindexed = new HashSet<>(logs.stream().map(PlantAnalysisLog::getId).toList());
+        try {
+            insertClaimed(logs, start).forEach(l -> unindexed.remove(l.getId()));
+        } finally {
+            // 실패했거나 보간할 유사 식물이 없어 건너뛴 기록은 선점을 풀어 나중에 다시 시도
+            if (!unindexed.isEmpty()) logRepo.releaseVectorIndex(unindexed, claimedAt);
+        }
+    }
+
+    // 선점한 기록을 임베딩 → insert, 실제로 insert 한 기록을 반환
+    private List<PlantAnalysisLog> insertClaimed(List<PlantAnalysisLog> logs, long start) {
+        // 적재 데이터와 같은 틀의 텍스트, 기록에 없는 재배 정보 구절은 빠짐
+        List<List<Float>> vectors = embeddingEngine.embedBatch(logs.stream()
+                .map(l -> PlantEmbeddingText.of(l.getPlantName(), l.getGrowthLevel(), l.getCaption()))
+                .toList());
+        if (vectors.get(0).size() != collectionLayout.getTextDim()) {
+            throw new IllegalStateException("임베딩 차원(" + vectors.get(0).size()
+                    + ")이 컬렉션 차원(" + collectionLayout.getTextDim() + ")과 다릅니다.");
+        }
+
+        Map<String, List<Integer>> bySpecies = new LinkedHashMap<>();
+        for (int i = 0; i < logs.size(); i++) {
+            bySpecies.computeIfAbsent(logs.get(i).getPlantName(), k -> new ArrayList<>()).add(i);
+        }
+
+        List<PlantVectorRow> rows = new ArrayList<>();
+        List<PlantAnalysisLog> indexed = new ArrayList<>();
+        for (Map.Entry<String, List<Integer>> entry : bySpecies.entrySet()) {
+            PlantSpecies species = PlantSpecies.fromKoreanName(entry.getKey()).orElseThrow();
+            List<Integer> positions = entry.getValue();
+            List<List<Float>> sensors = milvusService.similarSensorAverages(entry.getKey(),
+                    positions.stream().map(vectors::get).toList());
+
+            for (int j = 0; j < positions.size(); j++) {
+                if (sensors.get(j) == null) continue; // 보간할 유사 식물이 없음
+                PlantAnalysisLog l = logs.get(positions.get(j));
+                rows.add(new PlantVectorRow(species, vectors.get(positions.get(j)), sensors.get(j),
+                        l.getGrowthLevel(), PlantVectorRow.USER_PLACE, l.getOriginalImageUrl()));
+                indexed.add(l);
+            }
+        }
+        if (rows.isEmpty()) return indexed;
+
+        collectionLayout.insert(rows);
+        dirty = true;
+
+        log.info("🌿 Feedback indexed: {} vectors ({} ms)", rows.size(), System.currentTimeMillis() - start);
+        return indexed;
+    }
+}
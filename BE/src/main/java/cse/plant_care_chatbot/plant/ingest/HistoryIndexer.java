@@ -0,0 +1,141 @@
+package cse.plant_care_chatbot.plant.ingest;
+
+import cse.plant_care_chatbot.plant.dto.PlantAnalysisSavedEvent;
+import cse.plant_care_chatbot.plant.embedding.EmbeddingEngine;
+import cse.plant_care_chatbot.plant.milvus.HistoryVectorIndex;
+import cse.plant_care_chatbot.plant.repository.PlantAnalysisLogRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * 분석 기록을 기록 검색 컬렉션(HistoryVectorIndex)에 증분 색인 (history-search.enabled=true)
+ * - 기록 저장 이벤트마다 logId 를 큐에 넣고 batch-interval 마다 batch-size 단위로 임베딩 → upsert
+ * - 기동 시 historyIndexedAt 이 비어 있는 기록을 id 순으로 따라잡음 (기존 기록 일괄 색인 겸용)
+ * - upsert(PK = logId) 라서 같은 기록이 두 번 처리돼도 중복되지 않음
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "history-search.enabled", havingValue = "true")
+public class HistoryIndexer {
+
+    private final PlantAnalysisLogRepository logRepo;
+    private final EmbeddingEngine embeddingEngine;
+    private final HistoryVectorIndex historyIndex;
+
+    @Value("${history-search.batch-size:64}")
+    private int batchSize;
+
+    private final Queue<Long> pending = new ConcurrentLinkedQueue<>();
+    private final Set<Long> queued = ConcurrentHashMap.newKeySet();
+    private volatile boolean ready;
+    private volatile boolean dirty;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSaved(PlantAnalysisSavedEvent event) {
+        if (queued.add(event.logId())) pending.add(event.logId());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        historyIndex.ensureCollection();
+        ready = true;
+        Thread.ofVirtual().name("history-index-catch-up").start(this::catchUp);
+    }
+
+    private void catchUp() {
+        long afterId = 0;
+        long total = 0;
+        try {
+            List<Long> ids;
+            while (!(ids = logRepo.findHistoryUnindexedIds(afterId, PageRequest.of(0, batchSize))).isEmpty()) {
+                indexBatch(ids);
+                afterId = ids.get(ids.size() - 1);
+                total += ids.size();
+                if (total % (batchSize * 100L) < batchSize) {
+                    log.info("History index catch-up: {} logs (~{})", total, afterId);
+                }
+            }
+            if (total > 0) {
+                historyIndex.flush();
+                log.info("History index catch-up done: {} logs", total);
+            }
+        } catch (Exception e) {
+            // 남은 기록은 다음 기동 시 다시 따라잡음
+            log.warn("History index catch-up stopped at {}: {}", afterId, e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${history-search.batch-interval-ms:1000}")
+    void drain() {
+        if (!ready) return;
+        while (!pending.isEmpty()) {
+            List<Long> ids = new ArrayList<>(batchSize);
+            Long id;
+            while (ids.size() < batchSize && (id = pending.poll()) != null) {
+                ids.add(id);
+            }
+            try {
+                indexBatch(ids);
+            } catch (Exception e) {
+                log.warn("History index batch failed ({} logs): {}", ids.size(), e.getMessage());
+            } finally {
+                ids.forEach(queued::remove);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${history-search.flush-interval-ms:60000}")
+    void flush() {
+        if (!dirty) return;
+        dirty = false;
+        try {
+            historyIndex.flush();
+        } catch (Exception e) {
+            dirty = true;
+            log.warn("History index flush failed: {}", e.getMessage());
+        }
+    }
+
+    // [id, plantName, growthLevel, caption, userDescription, createdAt]
+    private void indexBatch(List<Long> ids) {
+        List<Object[]> targets = logRepo.findHistoryIndexTargets(ids);
+        if (targets.isEmpty()) return;
+
+        List<List<Float>> vectors = embeddingEngine.embedBatch(targets.stream().map(HistoryIndexer::text).toList());
+
+        List<HistoryVectorIndex.Row> rows = new ArrayList<>(targets.size());
+        for (int i = 0; i < targets.size(); i++) {
+            Object[] t = targets.get(i);
+            LocalDateTime createdAt = (LocalDateTime) t[5];
+            rows.add(new HistoryVectorIndex.Row((Long) t[0], vectors.get(i), (String) t[1], (String) t[2],
+                    createdAt != null ? createdAt.atZone(ZoneId.systemDefault()).toEpochSecond() : 0));
+        }
+        historyIndex.upsert(rows);
+        logRepo.markHistoryIndexed(rows.stream().map(HistoryVectorIndex.Row::logId).toList(), LocalDateTime.now());
+        dirty = true;
+    }
+
+    // 검색어("노랗게 변한 고사리" 등)와 비교할 텍스트: 캡션 + 사용자 설명
+    private static String text(Object[] target) {
+        String caption = (String) target[3];
+        String description = (String) target[4];
+        return (description == null || description.isBlank())
+                ? caption
+                : caption + "\n\n[사용자 설명]\n" + description;
+    }
+}
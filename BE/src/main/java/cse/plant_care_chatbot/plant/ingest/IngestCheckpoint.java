@@ -0,0 +1,48 @@
+package cse.plant_care_chatbot.plant.ingest;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 캡션 파일별로 "몇 번째 항목까지 적재했는지" 기록하는 체크포인트 파일.
+ * 임시 파일에 쓴 뒤 원자적으로 교체하므로 중단 시에도 마지막으로 저장된 위치가 유지된다.
+ */
+public class IngestCheckpoint {
+
+    private final ObjectMapper objectMapper;
+    private final Path path;
+    private final Map<String, Long> offsets;
+
+    private IngestCheckpoint(ObjectMapper objectMapper, Path path, Map<String, Long> offsets) {
+        this.objectMapper = objectMapper;
+        this.path = path;
+        this.offsets = offsets;
+    }
+
+    public static IngestCheckpoint load(ObjectMapper objectMapper, Path path) throws IOException {
+        Map<String, Long> offsets = new HashMap<>();
+        if (Files.exists(path)) {
+            offsets.putAll(objectMapper.readValue(path.toFile(), new TypeReference<Map<String, Long>>() {}));
+        }
+        return new IngestCheckpoint(objectMapper, path, offsets);
+    }
+
+    public long offsetOf(String key) {
+        return offsets.getOrDefault(key, 0L);
+    }
+
+    public void save(String key, long offset) throws IOException {
+        offsets.put(key, offset);
+
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        objectMapper.writeValue(tmp.toFile(), offsets);
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
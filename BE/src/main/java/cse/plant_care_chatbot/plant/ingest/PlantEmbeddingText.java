@@ -0,0 +1,28 @@
+package cse.plant_care_chatbot.plant.ingest;
+
+/**
+ * Milvus text_vector 로 임베딩하는 텍스트 ([식물 정보] 문장 + [이미지 설명] 캡션).
+ * 오프라인 적재와 피드백 증분 색인이 같은 틀을 쓰도록 한 곳에서 만든다.
+ */
+final class PlantEmbeddingText {
+
+    private PlantEmbeddingText() {
+    }
+
+    // 오프라인 적재: 라벨 JSON 의 재배 정보를 모두 채운 문장
+    static String of(String plantName, String place, String plantClass, String environment, String growthLevel,
+                     String irrigationState, String amtIrrigation, String caption) {
+        String info = String.format("%s는 %s에서 자라는 %s이며, 환경은 %s 상태이고 생장 결과는 %s이다. 현재 %s 상태이고, 관수량은 %sml이다.",
+                plantName, place, plantClass, environment, growthLevel, irrigationState, amtIrrigation);
+        return combine(info, caption);
+    }
+
+    // 사용자 분석 기록: 장소 / 분류 / 환경 / 관수 정보가 없으므로 해당 구절을 빼고 종과 생장 결과만 채움
+    static String of(String plantName, String growthLevel, String caption) {
+        return combine(String.format("%s는 생장 결과는 %s이다.", plantName, growthLevel), caption);
+    }
+
+    private static String combine(String info, String caption) {
+        return "[식물 정보]\n" + info + "\n\n[이미지 설명]\n" + (caption != null ? caption : "");
+    }
+}
@@ -0,0 +1,238 @@
+package cse.plant_care_chatbot.plant.ingest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import cse.plant_care_chatbot.plant.dto.PlantSpecies;
+import cse.plant_care_chatbot.plant.embedding.EmbeddingEngine;
+import cse.plant_care_chatbot.plant.milvus.PlantCollectionLayout;
+import cse.plant_care_chatbot.plant.milvus.PlantVectorRow;
+import cse.plant_care_chatbot.plant.service.MilvusService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * 노트북(multivector_embedding.py / embed_and_save_to_milvus.py)을 대체하는 Milvus 적재 커맨드
+ *
+ * 실행 예)
+ *   java -jar app.jar --spring.main.web-application-type=none --ingest.enabled=true \
+ *     --ingest.caption=전체보스턴고사리_캡션.json --ingest.sensor-dir=VL_A.화초_3.습생식물_08.보스턴고사리 \
+ *     --ingest.caption=전체스파티필럼_캡션2.json --ingest.sensor-dir=VL_A.화초_2.중생식물_07.스파티필럼
+ *
+ * - 캡션 JSON 은 스트리밍으로 한 항목씩 읽음
+ * - batch-size 단위로 묶어 최대 parallelism 개 배치를 동시에 임베딩
+ * - 배치 순서대로 컬럼 단위 insert 후 체크포인트 저장 → 재실행 시 이어서 적재
+ *   (insert 후 체크포인트 저장 전에 중단되면 해당 구간은 중복 적재될 수 있음)
+ * - 모든 파일 적재 후 flush / 인덱스 생성 / 로드
+ * - 시작 전에 임베딩 차원을 컬렉션 차원(milvus.text-dim)과 비교해 다르면 바로 실패
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "ingest.enabled", havingValue = "true")
+public class PlantIngestRunner implements ApplicationRunner {
+
+    private final PlantCollectionLayout collectionLayout;
+    private final EmbeddingEngine embeddingEngine;
+    private final ObjectMapper objectMapper;
+
+    @Value("${ingest.batch-size:100}")
+    private int batchSize;
+
+    @Value("${ingest.parallelism:4}")
+    private int parallelism;
+
+    @Value("${ingest.checkpoint-file:ingest-checkpoint.json}")
+    private String checkpointFile;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        List<String> captions = Optional.ofNullable(args.getOptionValues("ingest.caption")).orElse(List.of());
+        List<String> sensorDirs = Optional.ofNullable(args.getOptionValues("ingest.sensor-dir")).orElse(List.of());
+
+        if (captions.isEmpty() || captions.size() != sensorDirs.size()) {
+            throw new IllegalArgumentException("--ingest.caption 과 --ingest.sensor-dir 는 같은 개수로 지정해야 합니다.");
+        }
+
+        collectionLayout.ensureCollection();
+        checkEmbeddingDimension();
+        IngestCheckpoint checkpoint = IngestCheckpoint.load(objectMapper, Path.of(checkpointFile));
+
+        ExecutorService embedPool = Executors.newFixedThreadPool(parallelism);
+        long started = System.nanoTime();
+        long total = 0;
+        try {
+            for (int i = 0; i < captions.size(); i++) {
+                total += ingestFile(Path.of(captions.get(i)), Path.of(sensorDirs.get(i)), checkpoint, embedPool);
+            }
+        } finally {
+            embedPool.shutdown();
+        }
+
+        collectionLayout.flushAndBuildIndexes();
+
+        double seconds = (System.nanoTime() - started) / 1_000_000_000.0;
+        log.info("🎉 적재 완료: 총 {}건, {}초 ({} rows/s)", total, String.format("%.1f", seconds),
+                String.format("%.1f", total / Math.max(seconds, 0.001)));
+    }
+
+    // 첫 배치까지 기다리지 않고 설정 오류(임베딩 차원 ≠ 컬렉션 차원)를 시작 시점에 알린다
+    private void checkEmbeddingDimension() {
+        int dim = embeddingEngine.embed("차원 확인").size();
+        if (dim != collectionLayout.getTextDim()) {
+            throw new IllegalStateException("임베딩 차원(" + dim + ")이 컬렉션 차원(" + collectionLayout.getTextDim()
+                    + ")과 다릅니다. embedding.output-dimensionality 또는 milvus.text-dim 설정을 맞추세요.");
+        }
+    }
+
+    private long ingestFile(Path captionPath, Path sensorDir, IngestCheckpoint checkpoint,
+                            ExecutorService embedPool) throws Exception {
+        String key = captionPath.getFileName().toString();
+        long resumeFrom = checkpoint.offsetOf(key);
+        if (resumeFrom > 0) {
+            log.info("체크포인트에서 재개: {} ({}번째 항목부터)", key, resumeFrom);
+        }
+
+        long position = 0;
+        long inserted = 0;
+        long skipped = 0;
+
+        try (CaptionJsonReader reader = new CaptionJsonReader(objectMapper, captionPath)) {
+            List<List<IngestRow>> window = new ArrayList<>();
+            List<IngestRow> batch = new ArrayList<>();
+
+            CaptionItem item;
+            while ((item = reader.next()) != null) {
+                position++;
+                if (position <= resumeFrom) continue;
+
+                IngestRow row = toRow(item, sensorDir);
+                if (row == null) {
+                    skipped++;
+                } else {
+                    batch.add(row);
+                }
+
+                if (batch.size() >= batchSize) {
+                    window.add(batch);
+                    batch = new ArrayList<>();
+                }
+                if (window.size() >= parallelism) {
+                    inserted += flushWindow(window, embedPool);
+                    checkpoint.save(key, position);
+                    log.info("✅ {}: 누적 {}건 적재 (위치 {})", key, inserted, position);
+                    window = new ArrayList<>();
+                }
+            }
+
+            if (!batch.isEmpty()) window.add(batch);
+            if (!window.isEmpty()) {
+                inserted += flushWindow(window, embedPool);
+            }
+            checkpoint.save(key, position);
+        }
+
+        log.info("✅ {} 완료: {}건 적재, {}건 스킵", key, inserted, skipped);
+        return inserted;
+    }
+
+    // 윈도우 내 배치들을 병렬 임베딩 후, 배치 순서대로 insert
+    private long flushWindow(List<List<IngestRow>> window, ExecutorService embedPool) throws Exception {
+        List<Future<List<List<Float>>>> futures = new ArrayList<>();
+        for (List<IngestRow> rows : window) {
+            List<String> texts = rows.stream().map(IngestRow::text).toList();
+            futures.add(embedPool.submit(() -> embeddingEngine.embedBatch(texts)));
+        }
+
+        long count = 0;
+        for (int i = 0; i < window.size(); i++) {
+            List<IngestRow> rows = window.get(i);
+            List<List<Float>> vectors = futures.get(i).get();
+
+            if (vectors.size() != rows.size()) {
+                throw new IllegalStateException("임베딩 개수가 입력 개수와 다릅니다: " + vectors.size() + " != " + rows.size());
+            }
+            if (!vectors.isEmpty() && vectors.get(0).size() != collectionLayout.getTextDim()) {
+                throw new IllegalStateException("임베딩 차원(" + vectors.get(0).size()
+                        + ")이 컬렉션 차원(" + collectionLayout.getTextDim() + ")과 다릅니다.");
+            }
+
+            List<PlantVectorRow> vectorRows = new ArrayList<>(rows.size());
+            for (int k = 0; k < rows.size(); k++) {
+                IngestRow row = rows.get(k);
+                vectorRows.add(new PlantVectorRow(row.species(), vectors.get(k), row.sensorVector(),
+                        row.growthLevel(), row.place(), row.imageName()));
+            }
+            collectionLayout.insert(vectorRows);
+            count += rows.size();
+        }
+        return count;
+    }
+
+    // 캡션 항목 + 센서 JSON → 적재 행 (필수 값 누락 시 null)
+    private IngestRow toRow(CaptionItem item, Path sensorDir) {
+        if (item.imageName() == null) return null;
+
+        String stem = item.imageName().replaceFirst("\\.[^.]+$", "");
+        Path jsonFile = sensorDir.resolve(stem + ".json");
+        if (!Files.exists(jsonFile)) return null;
+
+        try {
+            JsonNode data = objectMapper.readTree(jsonFile.toFile());
+            JsonNode plant = data.path("plant");
+            JsonNode info = data.path("info");
+            JsonNode watering = data.path("watering");
+
+            String plantName = plant.path("PlantName").asText(null);
+            String growthLevel = info.path("ResultOfGrowthLevel").asText(null);
+            Optional<PlantSpecies> species = PlantSpecies.fromKoreanName(plantName);
+            if (species.isEmpty() || growthLevel == null) {
+                log.debug("⏭️ 지원하지 않는 종 또는 생장 단계 누락 @ {}", jsonFile.getFileName());
+                return null;
+            }
+
+            String combinedText = PlantEmbeddingText.of(plantName,
+                    info.path("Place").asText(),
+                    plant.path("PlantClass").asText(),
+                    plant.path("Environment").asText(),
+                    growthLevel,
+                    watering.path("IrrigationState").asText(),
+                    watering.path("AmtIrrigation").asText(),
+                    item.caption());
+
+            JsonNode sensor = data.path("sensor");
+            List<Float> sensorVector = new ArrayList<>(MilvusService.SENSOR_KEYS.length);
+            for (String sensorKey : MilvusService.SENSOR_KEYS) {
+                sensorVector.add((float) sensor.path(sensorKey).asDouble(0.0));
+            }
+
+            return new IngestRow(species.get(), combinedText, sensorVector, plantName, growthLevel,
+                    info.path("Place").asText(""), item.imageName());
+        } catch (IOException e) {
+            log.warn("⏭️ 센서 JSON 읽기 실패 @ {}: {}", jsonFile.getFileName(), e.getMessage());
+            return null;
+        }
+    }
+
+    private record IngestRow(
+            PlantSpecies species,
+            String text,
+            List<Float> sensorVector,
+            String plantName,
+            String growthLevel,
+            String place,
+            String imageName
+    ) {}
+}
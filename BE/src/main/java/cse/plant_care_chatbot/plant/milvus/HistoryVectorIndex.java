@@ -0,0 +1,158 @@
+package cse.plant_care_chatbot.plant.milvus;
+
+import cse.plant_care_chatbot.global.config.MilvusClientPool;
+import io.milvus.grpc.DataType;
+import io.milvus.grpc.SearchResults;
+import io.milvus.param.IndexType;
+import io.milvus.param.MetricType;
+import io.milvus.param.R;
+import io.milvus.param.collection.CreateCollectionParam;
+import io.milvus.param.collection.FieldType;
+import io.milvus.param.collection.FlushParam;
+import io.milvus.param.collection.HasCollectionParam;
+import io.milvus.param.collection.LoadCollectionParam;
+import io.milvus.param.dml.InsertParam;
+import io.milvus.param.dml.SearchParam;
+import io.milvus.param.dml.UpsertParam;
+import io.milvus.param.index.CreateIndexParam;
+import io.milvus.response.SearchResultsWrapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 분석 기록 검색용 컬렉션 (plant_combined_vector 와 별도)
+ * - PK = PlantAnalysisLog.id (autoID 없음) → upsert 로 같은 기록을 다시 색인해도 중복되지 않음
+ * - 캡션 + 사용자 설명 임베딩에 HNSW / COSINE 인덱스
+ * - 종 / 성장 단계 / 생성 시각(epoch 초) 스칼라 필터
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "history-search.enabled", havingValue = "true")
+public class HistoryVectorIndex {
+
+    private final MilvusClientPool clientPool;
+
+    @Value("${history-search.collection-name:plant_history_vector}")
+    private String collectionName;
+
+    @Value("${milvus.text-dim:1024}")
+    private int dim;
+
+    @Value("${history-search.hnsw-m:16}")
+    private int hnswM;
+
+    @Value("${history-search.hnsw-ef-construction:200}")
+    private int efConstruction;
+
+    @Value("${history-search.ef:64}")
+    private int ef;
+
+    public record Row(long logId, List<Float> vector, String plantName, String growthLevel, long createdAt) {}
+
+    public record Hit(long logId, float score) {}
+
+    /**
+     * 컬렉션이 없으면 생성 + 인덱스 생성, 그리고 로드
+     */
+    public void ensureCollection() {
+        R<Boolean> exists = clientPool.primary().hasCollection(HasCollectionParam.newBuilder()
+                .withCollectionName(collectionName)
+                .build());
+        check(exists);
+
+        if (!Boolean.TRUE.equals(exists.getData())) {
+            check(clientPool.primary().createCollection(CreateCollectionParam.newBuilder()
+                    .withCollectionName(collectionName)
+                    .withDescription("Plant analysis history (caption + description)")
+                    .addFieldType(FieldType.newBuilder()
+                            .withName("log_id").withDataType(DataType.Int64)
+                            .withPrimaryKey(true).withAutoID(false).build())
+                    .addFieldType(FieldType.newBuilder()
+                            .withName("text_vector").withDataType(DataType.FloatVector)
+                            .withDimension(dim).build())
+                    .addFieldType(FieldType.newBuilder()
+                            .withName("plant_name").withDataType(DataType.VarChar).withMaxLength(50).build())
+                    .addFieldType(FieldType.newBuilder()
+                            .withName("growth_level").withDataType(DataType.VarChar).withMaxLength(10).build())
+                    .addFieldType(FieldType.newBuilder()
+                            .withName("created_at").withDataType(DataType.Int64).build())
+                    .build()));
+
+            check(clientPool.primary().createIndex(CreateIndexParam.newBuilder()
+                    .withCollectionName(collectionName)
+                    .withFieldName("text_vector")
+                    .withIndexType(IndexType.HNSW)
+                    .withMetricType(MetricType.COSINE)
+                    .withExtraParam("{\"M\": " + hnswM + ", \"efConstruction\": " + efConstruction + "}")
+                    .withSyncMode(Boolean.TRUE)
+                    .build()));
+            log.info("Milvus 기록 검색 컬렉션 생성: {} (HNSW M={}, efConstruction={})", collectionName, hnswM, efConstruction);
+        }
+
+        check(clientPool.primary().loadCollection(LoadCollectionParam.newBuilder()
+                .withCollectionName(collectionName)
+                .withSyncLoad(true)
+                .build()));
+    }
+
+    public void upsert(List<Row> rows) {
+        if (rows.isEmpty()) return;
+        List<InsertParam.Field> fields = List.of(
+                new InsertParam.Field("log_id", rows.stream().map(Row::logId).toList()),
+                new InsertParam.Field("text_vector", rows.stream().map(Row::vector).toList()),
+                new InsertParam.Field("plant_name", rows.stream().map(r -> r.plantName() != null ? r.plantName() : "").toList()),
+                new InsertParam.Field("growth_level", rows.stream().map(r -> r.growthLevel() != null ? r.growthLevel() : "").toList()),
+                new InsertParam.Field("created_at", rows.stream().map(Row::createdAt).toList())
+        );
+        check(clientPool.primary().upsert(UpsertParam.newBuilder()
+                .withCollectionName(collectionName)
+                .withFields(fields)
+                .build()));
+    }
+
+    // 증분 upsert 후 growing segment 를 봉인해 인덱스가 만들어지게 함
+    public void flush() {
+        check(clientPool.primary().flush(FlushParam.newBuilder()
+                .addCollectionName(collectionName)
+                .withSyncFlush(true)
+                .build()));
+    }
+
+    /**
+     * @param expr MilvusExpr 로 조립한 필터식 (없으면 빈 문자열)
+     */
+    public List<Hit> search(List<Float> vector, int topK, String expr) {
+        SearchParam.Builder builder = SearchParam.newBuilder()
+                .withCollectionName(collectionName)
+                .withMetricType(MetricType.COSINE)
+                .withTopK(topK)
+                .withVectors(List.of(vector))
+                .withVectorFieldName("text_vector")
+                .withParams("{\"ef\": " + Math.max(ef, topK) + "}");
+        if (expr != null && !expr.isBlank()) {
+            builder.withExpr(expr);
+        }
+
+        long start = System.nanoTime();
+        R<SearchResults> response = clientPool.next().search(builder.build());
+        check(response);
+        log.debug("Milvus history search topK={} took {} ms", topK, (System.nanoTime() - start) / 1_000_000);
+
+        return new SearchResultsWrapper(response.getData().getResults()).getIDScore(0).stream()
+                .map(score -> new Hit(score.getLongID(), score.getScore()))
+                .toList();
+    }
+
+    private void check(R<?> response) {
+        if (response.getStatus() != R.Status.Success.getCode()) {
+            log.error("Milvus Error: {}", response.getMessage());
+            throw new RuntimeException("Milvus Operation Failed: " + response.getMessage());
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package cse.plant_care_chatbot.plant.milvus;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Milvus 불리언 필터식 템플릿.
+ * LLM 이 돌려준 값이 식에 그대로 들어가지 않도록 필드명/값을 검증한 뒤 이스케이프해서 조립한다.
+ */
+public final class MilvusExpr {
+
+    private static final Pattern FIELD_NAME = Pattern.compile("^[A-Za-z_][A-Za-z0-9_]{0,63}$");
+    // 한글/영문/숫자/공백/일부 기호만 허용 (따옴표, 괄호, 연산자 불가)
+    private static final Pattern SAFE_VALUE = Pattern.compile("^[\\p{L}\\p{N} _.\\-]{1,100}$");
+
+    private MilvusExpr() {
+    }
+
+    // field == "value"
+    public static String eq(String field, String value) {
+        return checkField(field) + " == " + quote(value);
+    }
+
+    // field != "value"
+    public static String ne(String field, String value) {
+        return checkField(field) + " != " + quote(value);
+    }
+
+    // field in ["a", "b"]
+    public static String in(String field, Collection<String> values) {
+        if (values == null || values.isEmpty()) {
+            throw new IllegalArgumentException("Milvus in 조건 값이 비어 있습니다: " + field);
+        }
+        return checkField(field) + " in "
+                + values.stream().map(MilvusExpr::quote).collect(Collectors.joining(", ", "[", "]"));
+    }
+
+    // field >= from and field < to (null 인 쪽은 생략)
+    public static String range(String field, Long fromInclusive, Long toExclusive) {
+        String checked = checkField(field);
+        return and(fromInclusive != null ? checked + " >= " + fromInclusive : null,
+                toExclusive != null ? checked + " < " + toExclusive : null);
+    }
+
+    // (a) and (b) ... 빈 조건은 무시
+    public static String and(String... exprs) {
+        return Arrays.stream(exprs)
+                .filter(e -> e != null && !e.isBlank())
+                .map(e -> "(" + e + ")")
+                .collect(Collectors.joining(" and "));
+    }
+
+    public static boolean isSafeValue(String value) {
+        return value != null && SAFE_VALUE.matcher(value).matches();
+    }
+
+    private static String checkField(String field) {
+        if (field == null || !FIELD_NAME.matcher(field).matches()) {
+            throw new IllegalArgumentException("허용되지 않는 Milvus 필드명입니다: " + field);
+        }
+        return field;
+    }
+
+    private static String quote(String value) {
+        if (!isSafeValue(value)) {
+            throw new IllegalArgumentException("허용되지 않는 Milvus 필터 값입니다: " + value);
+        }
+        return "\"" + value + "\"";
+    }
+}
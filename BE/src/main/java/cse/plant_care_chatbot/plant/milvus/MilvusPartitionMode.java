@@ -0,0 +1,13 @@
+package cse.plant_care_chatbot.plant.milvus;
+
+/**
+ * plant_combined_vector 컬렉션의 파티션 구성 방식
+ */
+public enum MilvusPartitionMode {
+    // 파티션 없이 plant_name 필터로만 검색 (기존 노트북 적재 방식)
+    NONE,
+    // plant_name 을 partition key 로 지정 → 필터식만으로 Milvus 가 해당 파티션으로 라우팅
+    PARTITION_KEY,
+    // 종별 물리 파티션 (boston_fern, spathiphyllum) → 검색 시 partitionNames 지정
+    PARTITION
+}
@@ -0,0 +1,142 @@
+package cse.plant_care_chatbot.plant.milvus;
+
+import cse.plant_care_chatbot.global.config.MilvusClientPool;
+import cse.plant_care_chatbot.plant.dto.PlantSpecies;
+import cse.plant_care_chatbot.plant.service.MilvusService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 기동 시 Milvus 예열
+ * - text_vector 차원 / 인덱스 구성이 설정과 맞는지 확인
+ * - 컬렉션 load 를 보장하고, 풀의 모든 채널로 종/성장 단계별 대표 검색을 실행 (채널 연결 + 세그먼트/인덱스 로딩)
+ *   예열 검색은 요청 간 그룹 캐시를 채우지 않음
+ * - ApplicationRunner 가 끝나야 readiness 가 ACCEPTING_TRAFFIC 이 되므로, 예열이 끝나기 전에는 트래픽을 받지 않음
+ * - 결과는 health 의 milvusWarmup 으로 노출 (실패 시 DOWN, retry-interval-ms 마다 다시 시도해 성공하면 UP)
+ * - ingest.enabled=true 인 적재 실행에서는 건너뜀
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MilvusWarmup implements ApplicationRunner, HealthIndicator {
+
+    private static final List<String> GROWTH_LEVELS = List.of("High", "Medium", "Low", "DIE");
+
+    private final PlantCollectionLayout collectionLayout;
+    private final MilvusService milvusService;
+    private final MilvusClientPool clientPool;
+
+    @Value("${milvus.warmup.enabled:true}")
+    private boolean enabled;
+
+    // true 면 예열 실패 시 기동 실패 (readiness 가 켜지지 않음)
+    @Value("${milvus.warmup.fail-on-error:false}")
+    private boolean failOnError;
+
+    @Value("${ingest.enabled:false}")
+    private boolean ingestEnabled;
+
+    private volatile Health health = Health.unknown().withDetail("state", "pending").build();
+    private volatile boolean failed;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled || ingestEnabled) {
+            health = Health.up().withDetail("state", "disabled").build();
+            return;
+        }
+
+        Exception error = warmUp();
+        if (error != null && failOnError) {
+            throw new IllegalStateException("Milvus 예열에 실패했습니다.", error);
+        }
+    }
+
+    // 예열에 실패한 경우에만 다시 시도
+    @Scheduled(fixedDelayString = "${milvus.warmup.retry-interval-ms:30000}",
+            initialDelayString = "${milvus.warmup.retry-interval-ms:30000}")
+    void retryIfFailed() {
+        if (failed) {
+            log.info("Retrying Milvus warm-up");
+            warmUp();
+        }
+    }
+
+    @Override
+    public Health health() {
+        return health;
+    }
+
+    // 예열 실행 후 health 갱신, 실패하면 원인 예외 반환
+    private synchronized Exception warmUp() {
+        long start = System.currentTimeMillis();
+        try {
+            collectionLayout.verifyTextIndex();
+            collectionLayout.load();
+            long loaded = System.currentTimeMillis();
+
+            Random random = new Random(42);
+            int searches = 0;
+            int errors = 0;
+            Exception lastError = null;
+            // 라운드로빈이므로 풀 크기만큼 반복하면 모든 채널이 한 번 이상 사용됨
+            for (int round = 0; round < clientPool.size(); round++) {
+                for (PlantSpecies species : PlantSpecies.values()) {
+                    for (String level : GROWTH_LEVELS) {
+                        searches++;
+                        try {
+                            milvusService.warmUp(species.getKoreanName(), level, randomUnitVector(random));
+                        } catch (Exception e) {
+                            errors++;
+                            lastError = e;
+                        }
+                    }
+                }
+            }
+            if (lastError != null) {
+                throw new IllegalStateException(errors + "/" + searches + " 예열 검색 실패: " + lastError.getMessage(), lastError);
+            }
+
+            long elapsed = System.currentTimeMillis() - start;
+            log.info("🔥 Milvus warm-up done: load {} ms, {} searches over {} channels, total {} ms",
+                    loaded - start, searches, clientPool.size(), elapsed);
+            health = Health.up()
+                    .withDetail("searches", searches)
+                    .withDetail("channels", clientPool.size())
+                    .withDetail("elapsedMs", elapsed)
+                    .build();
+            failed = false;
+            return null;
+        } catch (Exception e) {
+            log.warn("Milvus warm-up failed, serving cold: {}", e.getMessage());
+            health = Health.down(e).withDetail("state", "failed").build();
+            failed = true;
+            return e;
+        }
+    }
+
+    private List<Float> randomUnitVector(Random random) {
+        int dim = collectionLayout.getTextDim();
+        double[] v = new double[dim];
+        double norm = 0;
+        for (int i = 0; i < dim; i++) {
+            v[i] = random.nextGaussian();
+            norm += v[i] * v[i];
+        }
+        norm = Math.sqrt(norm);
+        List<Float> vector = new ArrayList<>(dim);
+        for (double x : v) vector.add((float) (x / norm));
+        return vector;
+    }
+}
@@ -0,0 +1,297 @@
+package cse.plant_care_chatbot.plant.milvus;
+
+import cse.plant_care_chatbot.plant.dto.PlantSpecies;
+import io.milvus.client.MilvusServiceClient;
+import io.milvus.grpc.DataType;
+import io.milvus.grpc.SearchResults;
+import io.milvus.orm.iterator.QueryIterator;
+import io.milvus.param.MetricType;
+import io.milvus.param.R;
+import io.milvus.param.collection.*;
+import io.milvus.param.dml.InsertParam;
+import io.milvus.param.dml.QueryIteratorParam;
+import io.milvus.param.dml.SearchParam;
+import io.milvus.param.partition.CreatePartitionParam;
+import io.milvus.response.QueryResultsWrapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * 파티션 구성(NONE / PARTITION_KEY / PARTITION)별 검색 지연시간 리포트 (컬렉션 크기별)
+ *
+ * 실행 예)
+ *   java -jar app.jar --spring.main.web-application-type=none --milvus.warmup.enabled=false \
+ *     --milvus.partition-benchmark.enabled=true --milvus.partition-benchmark.sizes=2000,10000,50000
+ *
+ * - 운영 컬렉션의 [plant_name, text_vector] 를 읽어 섞은 뒤 질의 query-count 건을 떼고 나머지를 기준 벡터로 사용
+ * - 크기마다 기준 벡터 앞부분을 임시 컬렉션(<collection>_partition_bench)에 모드별 스키마로 적재
+ *   (작은 크기가 큰 크기의 부분집합이라 같은 데이터가 커질 때의 변화로 볼 수 있음)
+ * - 인덱스 / 검색 파라미터는 현재 설정(milvus.text-index.*, milvus.search.*) 그대로
+ * - 검색은 운영 검색(MilvusService.searchSimilar)과 같은 조건: plant_name 필터, PARTITION 이면 종 파티션 지정, 후보 수 동일
+ *   (rerank 정렬은 모드와 무관한 클라이언트 작업이라 제외)
+ * - 질의를 한 바퀴 돌려 예열한 뒤 질의 1건씩 검색 시간을 잼
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "milvus.partition-benchmark.enabled", havingValue = "true")
+public class PartitionLayoutBenchmark implements ApplicationRunner {
+
+    private static final int INSERT_BATCH = 1000;
+
+    private final MilvusServiceClient milvusClient;
+    private final PlantCollectionLayout collectionLayout;
+
+    // 측정할 기준 벡터 수 (0 이면 읽은 전체)
+    @Value("${milvus.partition-benchmark.sizes:2000,5000,10000,0}")
+    private List<Integer> sizes;
+
+    @Value("${milvus.partition-benchmark.modes:NONE,PARTITION_KEY,PARTITION}")
+    private List<MilvusPartitionMode> modes;
+
+    // 운영 컬렉션에서 읽을 최대 벡터 수 (메모리 보호)
+    @Value("${milvus.partition-benchmark.max-rows:100000}")
+    private int maxRows;
+
+    @Value("${milvus.partition-benchmark.query-count:200}")
+    private int queryCount;
+
+    @Value("${milvus.partition-benchmark.top-k:5}")
+    private int topK;
+
+    @Value("${milvus.partition-benchmark.report-file:partition-layout-report.md}")
+    private String reportFile;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        String benchCollection = collectionLayout.getCollectionName() + "_partition_bench";
+        TextIndexSpec spec = collectionLayout.getTextIndex();
+
+        List<Row> rows = loadRows();
+        Collections.shuffle(rows, new Random(42));
+        int queries = Math.min(queryCount, rows.size() / 10);
+        List<Row> queryRows = rows.subList(0, queries);
+        List<Row> baseRows = rows.subList(queries, rows.size());
+        log.info("파티션 벤치마크: 기준 최대 {}건, 질의 {}건, top-{}, {}", baseRows.size(), queryRows.size(), topK, spec);
+
+        StringBuilder report = new StringBuilder()
+                .append("| 기준 벡터 수 | 파티션 모드 | p50 (ms) | p99 (ms) | 평균 (ms) | NONE 대비 p50 |\n")
+                .append("| --- | --- | --- | --- | --- | --- |\n");
+
+        try {
+            for (int size : resolvedSizes(baseRows.size())) {
+                List<Row> base = baseRows.subList(0, size);
+                Result none = null;
+
+                for (MilvusPartitionMode mode : modes) {
+                    createBenchCollection(benchCollection, mode, base);
+                    collectionLayout.ensureTextIndex(benchCollection, spec, collectionLayout.getTextDim());
+                    check(milvusClient.loadCollection(LoadCollectionParam.newBuilder()
+                            .withCollectionName(benchCollection)
+                            .withSyncLoad(true)
+                            .build()));
+
+                    Result result = measure(benchCollection, mode, spec, queryRows);
+                    if (mode == MilvusPartitionMode.NONE) none = result;
+                    String ratio = (none != null && none.p50Ms() > 0)
+                            ? String.format("%.2fx", result.p50Ms() / none.p50Ms()) : "-";
+                    boolean current = mode == collectionLayout.getPartitionMode();
+
+                    report.append(String.format("| %d | %s%s | %.1f | %.1f | %.1f | %s |%n",
+                            size, mode, current ? " (현재 설정)" : "",
+                            result.p50Ms(), result.p99Ms(), result.meanMs(), ratio));
+                    log.info("📊 size={} {} p50={}ms p99={}ms mean={}ms", size, mode,
+                            String.format("%.1f", result.p50Ms()), String.format("%.1f", result.p99Ms()),
+                            String.format("%.1f", result.meanMs()));
+                }
+            }
+        } finally {
+            dropIfExists(benchCollection);
+        }
+
+        report.append(String.format("%n질의 %d건, top-%d, %s, nprobe=%d, ef=%d, partition-key-num 은 운영 설정과 같음 (%s)%n",
+                queryRows.size(), topK, spec, spec.nprobe(), spec.ef(), LocalDateTime.now()));
+        Files.writeString(Path.of(reportFile), report.toString());
+        log.info("파티션 벤치마크 리포트 저장: {}\n{}", reportFile, report);
+    }
+
+    // 0 은 전체로, 기준 벡터 수보다 큰 크기는 건너뜀 (오름차순, 중복 제거)
+    private List<Integer> resolvedSizes(int available) {
+        TreeSet<Integer> resolved = new TreeSet<>();
+        for (int size : sizes) {
+            if (size <= 0) {
+                resolved.add(available);
+            } else if (size > available) {
+                log.warn("크기 {} 는 기준 벡터 수({})보다 커서 건너뜀", size, available);
+            } else {
+                resolved.add(size);
+            }
+        }
+        return List.copyOf(resolved);
+    }
+
+    // 운영 컬렉션의 [plant_name, text_vector] (query iterator 로 max-rows 까지)
+    @SuppressWarnings("unchecked")
+    private List<Row> loadRows() {
+        R<QueryIterator> response = milvusClient.queryIterator(QueryIteratorParam.newBuilder()
+                .withCollectionName(collectionLayout.getCollectionName())
+                .withExpr(MilvusExpr.range("id", 0L, null))
+                .withOutFields(List.of("plant_name", "text_vector"))
+                .withBatchSize((long) INSERT_BATCH)
+                .build());
+        check(response);
+
+        QueryIterator iterator = response.getData();
+        List<Row> rows = new ArrayList<>();
+        try {
+            List<QueryResultsWrapper.RowRecord> batch;
+            while (rows.size() < maxRows && !(batch = iterator.next()).isEmpty()) {
+                for (QueryResultsWrapper.RowRecord record : batch) {
+                    Optional<PlantSpecies> species = PlantSpecies.fromKoreanName((String) record.get("plant_name"));
+                    if (species.isEmpty()) continue;
+                    rows.add(new Row(species.get(), toArray((List<Float>) record.get("text_vector"))));
+                    if (rows.size() >= maxRows) break;
+                }
+            }
+        } finally {
+            iterator.close();
+        }
+        return rows;
+    }
+
+    // 모드별 스키마로 임시 컬렉션 생성 후 적재 (PlantCollectionLayout.ensureCollection / insert 와 같은 구성)
+    private void createBenchCollection(String collection, MilvusPartitionMode mode, List<Row> base) {
+        dropIfExists(collection);
+        CreateCollectionParam.Builder builder = CreateCollectionParam.newBuilder()
+                .withCollectionName(collection)
+                .withDescription("partition layout benchmark (temporary)")
+                .addFieldType(FieldType.newBuilder()
+                        .withName("id").withDataType(DataType.Int64)
+                        .withPrimaryKey(true).withAutoID(true).build())
+                .addFieldType(FieldType.newBuilder()
+                        .withName("plant_name").withDataType(DataType.VarChar).withMaxLength(50)
+                        .withPartitionKey(mode == MilvusPartitionMode.PARTITION_KEY).build())
+                .addFieldType(FieldType.newBuilder()
+                        .withName("text_vector").withDataType(DataType.FloatVector)
+                        .withDimension(collectionLayout.getTextDim()).build());
+        if (mode == MilvusPartitionMode.PARTITION_KEY) {
+            builder.withPartitionsNum(collectionLayout.getPartitionKeyNum());
+        }
+        check(milvusClient.createCollection(builder.build()));
+
+        if (mode == MilvusPartitionMode.PARTITION) {
+            for (PlantSpecies species : PlantSpecies.values()) {
+                check(milvusClient.createPartition(CreatePartitionParam.newBuilder()
+                        .withCollectionName(collection)
+                        .withPartitionName(species.getPartitionName())
+                        .build()));
+            }
+        }
+
+        Map<PlantSpecies, List<Row>> bySpecies = new EnumMap<>(PlantSpecies.class);
+        base.forEach(row -> bySpecies.computeIfAbsent(row.species(), k -> new ArrayList<>()).add(row));
+        for (Map.Entry<PlantSpecies, List<Row>> entry : bySpecies.entrySet()) {
+            List<Row> rows = entry.getValue();
+            for (int from = 0; from < rows.size(); from += INSERT_BATCH) {
+                List<Row> batch = rows.subList(from, Math.min(from + INSERT_BATCH, rows.size()));
+                InsertParam.Builder insert = InsertParam.newBuilder()
+                        .withCollectionName(collection)
+                        .withFields(List.of(
+                                new InsertParam.Field("plant_name", batch.stream()
+                                        .map(row -> row.species().getKoreanName()).toList()),
+                                new InsertParam.Field("text_vector", batch.stream()
+                                        .map(row -> toList(row.vector())).toList())));
+                if (mode == MilvusPartitionMode.PARTITION) {
+                    insert.withPartitionName(entry.getKey().getPartitionName());
+                }
+                check(milvusClient.insert(insert.build()));
+            }
+        }
+        check(milvusClient.flush(FlushParam.newBuilder()
+                .addCollectionName(collection)
+                .withSyncFlush(true)
+                .build()));
+    }
+
+    // 예열 한 바퀴 후 질의 1건씩 검색 시간 측정
+    private Result measure(String collection, MilvusPartitionMode mode, TextIndexSpec spec, List<Row> queryRows) {
+        int candidates = spec.candidates(topK);
+        List<Long> latencies = new ArrayList<>(queryRows.size());
+
+        for (int round = 0; round < 2; round++) {
+            for (Row query : queryRows) {
+                List<Float> vector = toList(query.vector());
+
+                long start = System.nanoTime();
+                R<SearchResults> response = milvusClient.search(SearchParam.newBuilder()
+                        .withCollectionName(collection)
+                        .withPartitionNames(mode == MilvusPartitionMode.PARTITION
+                                ? List.of(query.species().getPartitionName()) : List.of())
+                        .withMetricType(MetricType.COSINE)
+                        .withTopK(candidates)
+                        .withVectors(List.of(vector))
+                        .withVectorFieldName("text_vector")
+                        .withExpr(MilvusExpr.eq("plant_name", query.species().getKoreanName()))
+                        .withParams(spec.searchParams(candidates))
+                        .build());
+                check(response);
+                if (round > 0) latencies.add(System.nanoTime() - start);
+            }
+        }
+
+        Collections.sort(latencies);
+        double mean = latencies.stream().mapToLong(Long::longValue).average().orElse(0) / 1_000_000.0;
+        return new Result(percentile(latencies, 0.50) / 1_000_000.0, percentile(latencies, 0.99) / 1_000_000.0, mean);
+    }
+
+    private void dropIfExists(String collection) {
+        R<Boolean> exists = milvusClient.hasCollection(HasCollectionParam.newBuilder()
+                .withCollectionName(collection)
+                .build());
+        check(exists);
+        if (Boolean.TRUE.equals(exists.getData())) {
+            check(milvusClient.dropCollection(DropCollectionParam.newBuilder()
+                    .withCollectionName(collection)
+                    .build()));
+        }
+    }
+
+    private static float[] toArray(List<Float> vector) {
+        float[] array = new float[vector.size()];
+        for (int i = 0; i < array.length; i++) array[i] = vector.get(i);
+        return array;
+    }
+
+    private static List<Float> toList(float[] vector) {
+        List<Float> list = new ArrayList<>(vector.length);
+        for (float v : vector) list.add(v);
+        return list;
+    }
+
+    private long percentile(List<Long> sorted, double p) {
+        if (sorted.isEmpty()) return 0;
+        int idx = (int) Math.ceil(p * sorted.size()) - 1;
+        return sorted.get(Math.max(0, Math.min(idx, sorted.size() - 1)));
+    }
+
+    private void check(R<?> response) {
+        if (response.getStatus() != R.Status.Success.getCode()) {
+            log.error("Milvus Error: {}", response.getMessage());
+            throw new RuntimeException("Milvus Operation Failed: " + response.getMessage());
+        }
+    }
+
+    private record Row(PlantSpecies species, float[] vector) {}
+
+    private record Result(double p50Ms, double p99Ms, double meanMs) {}
+}
@@ -0,0 +1,400 @@
+package cse.plant_care_chatbot.plant.milvus;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import cse.plant_care_chatbot.plant.dto.PlantSpecies;
+import io.milvus.client.MilvusServiceClient;
+import io.milvus.grpc.DataType;
+import io.milvus.grpc.DescribeCollectionResponse;
+import io.milvus.grpc.DescribeIndexResponse;
+import io.milvus.grpc.IndexDescription;
+import io.milvus.grpc.KeyValuePair;
+import io.milvus.param.IndexType;
+import io.milvus.param.MetricType;
+import io.milvus.param.R;
+import io.milvus.param.collection.CreateCollectionParam;
+import io.milvus.param.collection.DescribeCollectionParam;
+import io.milvus.param.collection.FieldType;
+import io.milvus.param.collection.FlushParam;
+import io.milvus.param.collection.HasCollectionParam;
+import io.milvus.param.collection.LoadCollectionParam;
+import io.milvus.param.collection.ReleaseCollectionParam;
+import io.milvus.param.dml.InsertParam;
+import io.milvus.param.index.CreateIndexParam;
+import io.milvus.param.index.DescribeIndexParam;
+import io.milvus.param.index.DropIndexParam;
+import io.milvus.param.partition.CreatePartitionParam;
+import io.milvus.param.partition.HasPartitionParam;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * plant_combined_vector 컬렉션 레이아웃 (스키마 + 파티션 구성)
+ * - PARTITION_KEY : plant_name 을 partition key 로 생성
+ * - PARTITION     : 종별 물리 파티션 생성, 검색 시 해당 파티션만 지정
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PlantCollectionLayout {
+
+    private final MilvusServiceClient milvusClient;
+    private final ObjectMapper objectMapper;
+
+    @Value("${milvus.collection-name}")
+    private String collectionName;
+
+    @Value("${milvus.partition-mode:NONE}")
+    private MilvusPartitionMode partitionMode;
+
+    @Value("${milvus.partition-key-num:16}")
+    private int partitionKeyNum;
+
+    @Value("${milvus.text-dim:1024}")
+    private int textDim;
+
+    // text_vector 인덱스 (적재 / 검색 공통, TextIndexSpec 참고)
+    @Value("${milvus.text-index.type:IVF_FLAT}")
+    private IndexType textIndexType;
+
+    @Value("${milvus.text-index.nlist:128}")
+    private int textIndexNlist;
+
+    @Value("${milvus.text-index.pq-m:64}")
+    private int textIndexPqM;
+
+    @Value("${milvus.text-index.pq-nbits:8}")
+    private int textIndexPqNbits;
+
+    @Value("${milvus.text-index.hnsw-m:16}")
+    private int textIndexHnswM;
+
+    @Value("${milvus.text-index.ef-construction:200}")
+    private int textIndexEfConstruction;
+
+    @Value("${milvus.search.nprobe:32}")
+    private int searchNprobe;
+
+    @Value("${milvus.search.ef:64}")
+    private int searchEf;
+
+    @Value("${milvus.search.rerank-factor:1}")
+    private int searchRerankFactor;
+
+    // 기동 시 text_vector 인덱스 구성이 설정과 다르면 다시 만듦 (false 면 경고만)
+    @Value("${milvus.text-index.rebuild-on-start:false}")
+    private boolean rebuildTextIndexOnStart;
+
+    private TextIndexSpec textIndex;
+
+    @PostConstruct
+    void initTextIndex() {
+        textIndex = new TextIndexSpec(textIndexType, textIndexNlist, textIndexPqM, textIndexPqNbits,
+                textIndexHnswM, textIndexEfConstruction, searchNprobe, searchEf, searchRerankFactor);
+        textIndex.buildParams(textDim); // 차원 / pq-m 조합 검증
+    }
+
+    public MilvusPartitionMode getPartitionMode() {
+        return partitionMode;
+    }
+
+    /**
+     * 검색/조회 시 지정할 파티션 목록.
+     * PARTITION 모드에서만 종별 파티션을 반환하고, 나머지 모드는 빈 리스트(= 컬렉션 전체, partition key 라우팅)
+     */
+    public List<String> partitionsFor(PlantSpecies species) {
+        if (partitionMode == MilvusPartitionMode.PARTITION) {
+            return List.of(species.getPartitionName());
+        }
+        return Collections.emptyList();
+    }
+
+    // 적재 시 사용할 파티션 이름 (PARTITION 모드가 아니면 null → 기본 파티션 / partition key 라우팅)
+    public String insertPartitionFor(PlantSpecies species) {
+        return partitionMode == MilvusPartitionMode.PARTITION ? species.getPartitionName() : null;
+    }
+
+    /**
+     * 컬렉션이 없으면 현재 파티션 모드에 맞는 스키마로 생성하고, PARTITION 모드면 종별 파티션을 보장한다.
+     */
+    public void ensureCollection() {
+        R<Boolean> exists = milvusClient.hasCollection(HasCollectionParam.newBuilder()
+                .withCollectionName(collectionName)
+                .build());
+        check(exists);
+
+        if (!Boolean.TRUE.equals(exists.getData())) {
+            CreateCollectionParam.Builder builder = CreateCollectionParam.newBuilder()
+                    .withCollectionName(collectionName)
+                    .withDescription("Plant multi-vector collection (text + sensor)")
+                    .addFieldType(FieldType.newBuilder()
+                            .withName("id").withDataType(DataType.Int64)
+                            .withPrimaryKey(true).withAutoID(true).build())
+                    .addFieldType(FieldType.newBuilder()
+                            .withName("text_vector").withDataType(DataType.FloatVector)
+                            .withDimension(textDim).build())
+                    .addFieldType(FieldType.newBuilder()
+                            .withName("sensor_vector").withDataType(DataType.FloatVector)
+                            .withDimension(8).build())
+                    .addFieldType(FieldType.newBuilder()
+                            .withName("plant_name").withDataType(DataType.VarChar).withMaxLength(50)
+                            .withPartitionKey(partitionMode == MilvusPartitionMode.PARTITION_KEY).build())
+                    .addFieldType(FieldType.newBuilder()
+                            .withName("growth_level").withDataType(DataType.VarChar).withMaxLength(10).build())
+                    .addFieldType(FieldType.newBuilder()
+                            .withName("place").withDataType(DataType.VarChar).withMaxLength(20).build())
+                    .addFieldType(FieldType.newBuilder()
+                            .withName("image_name").withDataType(DataType.VarChar).withMaxLength(100).build());
+
+            if (partitionMode == MilvusPartitionMode.PARTITION_KEY) {
+                builder.withPartitionsNum(partitionKeyNum);
+            }
+
+            check(milvusClient.createCollection(builder.build()));
+            log.info("Milvus 컬렉션 생성: {} (partitionMode={})", collectionName, partitionMode);
+        }
+
+        if (partitionMode == MilvusPartitionMode.PARTITION) {
+            for (PlantSpecies species : PlantSpecies.values()) {
+                R<Boolean> hasPartition = milvusClient.hasPartition(HasPartitionParam.newBuilder()
+                        .withCollectionName(collectionName)
+                        .withPartitionName(species.getPartitionName())
+                        .build());
+                check(hasPartition);
+
+                if (!Boolean.TRUE.equals(hasPartition.getData())) {
+                    check(milvusClient.createPartition(CreatePartitionParam.newBuilder()
+                            .withCollectionName(collectionName)
+                            .withPartitionName(species.getPartitionName())
+                            .build()));
+                    log.info("Milvus 파티션 생성: {}/{}", collectionName, species.getPartitionName());
+                }
+            }
+        }
+    }
+
+    /**
+     * 적재 후 flush → 인덱스 생성 → 메모리 로드
+     * - text_vector   : milvus.text-index.type (기본 IVF_FLAT) / COSINE
+     * - sensor_vector : FLAT / L2
+     */
+    public void flushAndBuildIndexes() {
+        check(milvusClient.flush(FlushParam.newBuilder()
+                .addCollectionName(collectionName)
+                .withSyncFlush(true)
+                .build()));
+
+        ensureTextIndex(collectionName, textIndex, textDim);
+
+        check(milvusClient.createIndex(CreateIndexParam.newBuilder()
+                .withCollectionName(collectionName)
+                .withFieldName("sensor_vector")
+                .withIndexType(IndexType.FLAT)
+                .withMetricType(MetricType.L2)
+                .withSyncMode(Boolean.TRUE)
+                .build()));
+
+        load();
+    }
+
+    /**
+     * 컬럼 단위 insert (PARTITION 모드면 종별 파티션으로 나눠서)
+     */
+    public void insert(List<PlantVectorRow> rows) {
+        Map<String, List<PlantVectorRow>> byPartition = new LinkedHashMap<>();
+        for (PlantVectorRow row : rows) {
+            String partition = insertPartitionFor(row.species());
+            byPartition.computeIfAbsent(partition == null ? "" : partition, k -> new ArrayList<>()).add(row);
+        }
+
+        for (Map.Entry<String, List<PlantVectorRow>> entry : byPartition.entrySet()) {
+            List<PlantVectorRow> part = entry.getValue();
+
+            List<InsertParam.Field> fields = List.of(
+                    new InsertParam.Field("text_vector", part.stream().map(PlantVectorRow::textVector).toList()),
+                    new InsertParam.Field("sensor_vector", part.stream().map(PlantVectorRow::sensorVector).toList()),
+                    new InsertParam.Field("plant_name", part.stream().map(r -> r.species().getKoreanName()).toList()),
+                    new InsertParam.Field("growth_level", part.stream().map(PlantVectorRow::growthLevel).toList()),
+                    new InsertParam.Field("place", part.stream().map(PlantVectorRow::place).toList()),
+                    new InsertParam.Field("image_name", part.stream().map(PlantVectorRow::imageName).toList())
+            );
+
+            InsertParam.Builder builder = InsertParam.newBuilder()
+                    .withCollectionName(collectionName)
+                    .withFields(fields);
+            if (!entry.getKey().isEmpty()) {
+                builder.withPartitionName(entry.getKey());
+            }
+
+            check(milvusClient.insert(builder.build()));
+        }
+    }
+
+    /**
+     * 증분 insert 후 segment 를 봉인해 인덱스가 만들어지게 함 (인덱스 재생성 없이)
+     */
+    public void flush() {
+        check(milvusClient.flush(FlushParam.newBuilder()
+                .addCollectionName(collectionName)
+                .withSyncFlush(true)
+                .build()));
+    }
+
+    public void load() {
+        check(milvusClient.loadCollection(LoadCollectionParam.newBuilder()
+                .withCollectionName(collectionName)
+                .withSyncLoad(true)
+                .build()));
+    }
+
+    /**
+     * 기동 시 컬렉션과 설정이 맞는지 확인
+     * - text_vector 차원이 milvus.text-dim 과 다르면 실패 (질의 벡터 차원이 맞지 않음)
+     * - 인덱스 구성(종류, metric, nlist / m / nbits / M / efConstruction)이 milvus.text-index.* 와 하나라도 다르면
+     *   rebuild-on-start 일 때 다시 만들고, 아니면 다른 항목을 경고
+     */
+    public void verifyTextIndex() {
+        R<DescribeCollectionResponse> collection = milvusClient.describeCollection(DescribeCollectionParam.newBuilder()
+                .withCollectionName(collectionName)
+                .build());
+        check(collection);
+        collection.getData().getSchema().getFieldsList().stream()
+                .filter(field -> field.getName().equals("text_vector"))
+                .flatMap(field -> field.getTypeParamsList().stream())
+                .filter(param -> param.getKey().equals("dim"))
+                .findFirst()
+                .ifPresent(param -> {
+                    if (Integer.parseInt(param.getValue()) != textDim) {
+                        throw new IllegalStateException("text_vector 차원(" + param.getValue()
+                                + ")이 milvus.text-dim(" + textDim + ")과 다릅니다. 같은 차원으로 다시 적재해야 합니다.");
+                    }
+                });
+
+        List<String> differences = textIndexDifferences(collectionName, textIndex, textDim).orElse(List.of());
+        if (!differences.isEmpty()) {
+            if (rebuildTextIndexOnStart) {
+                ensureTextIndex(collectionName, textIndex, textDim);
+                load();
+            } else {
+                log.warn("text_vector 인덱스 구성이 설정과 다릅니다 {}. milvus.text-index.rebuild-on-start=true 로 재생성하세요.",
+                        differences);
+            }
+        }
+    }
+
+    /**
+     * text_vector 인덱스를 spec 으로 보장. 구성이 다른 인덱스가 있으면 release → drop 후 다시 만든다 (호출 측에서 load).
+     */
+    public void ensureTextIndex(String collection, TextIndexSpec spec, int dim) {
+        Optional<List<String>> differences = textIndexDifferences(collection, spec, dim);
+        if (differences.isPresent() && differences.get().isEmpty()) return;
+
+        if (differences.isPresent()) {
+            log.info("text_vector 인덱스 재생성 ({}): {}", collection, differences.get());
+            check(milvusClient.releaseCollection(ReleaseCollectionParam.newBuilder()
+                    .withCollectionName(collection)
+                    .build()));
+            check(milvusClient.dropIndex(DropIndexParam.newBuilder()
+                    .withCollectionName(collection)
+                    .withIndexName(textIndexName(collection).orElse("text_vector"))
+                    .build()));
+        }
+
+        check(milvusClient.createIndex(CreateIndexParam.newBuilder()
+                .withCollectionName(collection)
+                .withFieldName("text_vector")
+                .withIndexType(spec.type())
+                .withMetricType(MetricType.COSINE)
+                .withExtraParam(spec.buildParams(dim))
+                .withSyncMode(Boolean.TRUE)
+                .build()));
+    }
+
+    // 기존 text_vector 인덱스와 spec 의 차이 (인덱스가 없으면 empty, 같으면 빈 리스트)
+    private Optional<List<String>> textIndexDifferences(String collection, TextIndexSpec spec, int dim) {
+        return textIndexDescription(collection)
+                .map(index -> indexDifferences(indexParams(index, objectMapper), spec, dim));
+    }
+
+    /**
+     * 기대 구성과 다른 항목 ("nlist: 256 → 128" 형식).
+     * describeIndex 가 돌려주지 않은 항목은 비교하지 않음 (서버 버전에 따라 없는 키 때문에 매번 재생성하지 않도록)
+     */
+    static List<String> indexDifferences(Map<String, String> actual, TextIndexSpec spec, int dim) {
+        Map<String, String> expected = new LinkedHashMap<>();
+        expected.put("index_type", spec.type().name());
+        expected.put("metric_type", MetricType.COSINE.name());
+        spec.indexParams(dim).forEach((key, value) -> expected.put(key, String.valueOf(value)));
+
+        List<String> differences = new ArrayList<>();
+        expected.forEach((key, value) -> {
+            String current = actual.get(key);
+            if (current != null && !current.equalsIgnoreCase(value)) {
+                differences.add(key + ": " + current + " → " + value);
+            }
+        });
+        return differences;
+    }
+
+    // describeIndex 파라미터를 한 단계로 펼침 (생성 파라미터는 "params" 에 JSON 문자열로 오기도 하고 최상위 키로 오기도 함)
+    static Map<String, String> indexParams(IndexDescription index, ObjectMapper objectMapper) {
+        Map<String, String> params = new HashMap<>();
+        for (KeyValuePair pair : index.getParamsList()) {
+            if (!pair.getKey().equals("params")) {
+                params.put(pair.getKey(), pair.getValue());
+                continue;
+            }
+            try {
+                objectMapper.readTree(pair.getValue()).fields()
+                        .forEachRemaining(field -> params.put(field.getKey(), field.getValue().asText()));
+            } catch (JsonProcessingException e) {
+                log.warn("text_vector 인덱스 params 를 읽지 못했습니다: {}", pair.getValue());
+            }
+        }
+        return params;
+    }
+
+    private Optional<String> textIndexName(String collection) {
+        return textIndexDescription(collection).map(IndexDescription::getIndexName);
+    }
+
+    private Optional<IndexDescription> textIndexDescription(String collection) {
+        R<DescribeIndexResponse> response = milvusClient.describeIndex(DescribeIndexParam.newBuilder()
+                .withCollectionName(collection)
+                .build());
+        if (response.getStatus() != R.Status.Success.getCode()) {
+            return Optional.empty(); // 인덱스 없음
+        }
+        return response.getData().getIndexDescriptionsList().stream()
+                .filter(index -> index.getFieldName().equals("text_vector"))
+                .findFirst();
+    }
+
+    public TextIndexSpec getTextIndex() {
+        return textIndex;
+    }
+
+    public String getCollectionName() {
+        return collectionName;
+    }
+
+    public int getTextDim() {
+        return textDim;
+    }
+
+    public int getPartitionKeyNum() {
+        return partitionKeyNum;
+    }
+
+    private void check(R<?> response) {
+        if (response.getStatus() != R.Status.Success.getCode()) {
+            log.error("Milvus Error: {}", response.getMessage());
+            throw new RuntimeException("Milvus Operation Failed: " + response.getMessage());
+        }
+    }
+}
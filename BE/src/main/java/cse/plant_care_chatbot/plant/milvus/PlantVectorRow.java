@@ -0,0 +1,20 @@
+package cse.plant_care_chatbot.plant.milvus;
+
+import cse.plant_care_chatbot.plant.dto.PlantSpecies;
+
+import java.util.List;
+
+/**
+ * plant_combined_vector 컬렉션에 넣을 한 행 (id 는 autoID)
+ */
+public record PlantVectorRow(
+        PlantSpecies species,
+        List<Float> textVector,
+        List<Float> sensorVector,
+        String growthLevel,
+        String place,
+        String imageName
+) {
+    // 피드백 색인으로 추가된 사용자 업로드의 place (센서값은 유사 식물 평균으로 보간한 값)
+    public static final String USER_PLACE = "사용자";
+}
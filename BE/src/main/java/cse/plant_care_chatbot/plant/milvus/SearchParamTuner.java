@@ -0,0 +1,275 @@
+package cse.plant_care_chatbot.plant.milvus;
+
+import cse.plant_care_chatbot.plant.dto.PlantSpecies;
+import cse.plant_care_chatbot.plant.embedding.VectorMath;
+import cse.plant_care_chatbot.plant.service.MilvusService;
+import io.milvus.client.MilvusServiceClient;
+import io.milvus.orm.iterator.QueryIterator;
+import io.milvus.param.IndexType;
+import io.milvus.param.R;
+import io.milvus.param.dml.QueryIteratorParam;
+import io.milvus.response.QueryResultsWrapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * 종별 검색 파라미터(nprobe / ef) 자동 튜닝
+ *
+ * 실행 예)
+ *   java -jar app.jar --spring.main.web-application-type=none --milvus.warmup.enabled=false \
+ *     --milvus.tuning.enabled=true --milvus.tuning.target-recall=0.95
+ *
+ * - 종별 벡터 전체를 읽어 표본 질의의 전수 코사인 Top-K(FLAT 과 같은 결과)를 정답으로 사용
+ * - MilvusService.searchSimilarIds (운영 검색과 같은 경로, rerank 포함)로 후보 값을 작은 값부터 측정
+ * - 목표 recall 을 넘는 가장 작은 값(= 가장 싼 설정)을 고르고 milvus.tuning.params-file 에 저장
+ * - 이전 튜닝 결과가 있으면 이전 값으로 다시 잰 recall / p99 를 비교해 회귀 여부를 리포트에 남김
+ * - 질의 벡터는 컬렉션에 있는 벡터이므로 자기 자신은 정답 / 검색 결과 양쪽에서 제외
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "milvus.tuning.enabled", havingValue = "true")
+public class SearchParamTuner implements ApplicationRunner {
+
+    private final MilvusServiceClient milvusClient;
+    private final PlantCollectionLayout collectionLayout;
+    private final MilvusService milvusService;
+    private final TunedSearchParams tunedParams;
+
+    @Value("${milvus.tuning.query-count:100}")
+    private int queryCount;
+
+    @Value("${milvus.tuning.top-k:5}")
+    private int topK;
+
+    @Value("${milvus.tuning.target-recall:0.95}")
+    private double targetRecall;
+
+    // 선택된 값의 p99 가 이보다 크면 경고 (0 이면 확인 안 함)
+    @Value("${milvus.tuning.latency-budget-ms:0}")
+    private double latencyBudgetMs;
+
+    @Value("${milvus.tuning.nprobe-candidates:1,2,4,8,16,32,64,128}")
+    private List<Integer> nprobeCandidates;
+
+    @Value("${milvus.tuning.ef-candidates:16,32,64,128,256,512}")
+    private List<Integer> efCandidates;
+
+    // 이전 튜닝 대비 recall 이 이만큼 넘게 떨어지면 회귀
+    @Value("${milvus.tuning.recall-tolerance:0.01}")
+    private double recallTolerance;
+
+    // 이전 튜닝 대비 p99 가 이 비율 넘게 늘면 회귀
+    @Value("${milvus.tuning.latency-tolerance:0.2}")
+    private double latencyTolerance;
+
+    // true 면 회귀가 있을 때 실패 종료 (CI 용)
+    @Value("${milvus.tuning.fail-on-regression:false}")
+    private boolean failOnRegression;
+
+    @Value("${milvus.tuning.report-file:search-tuning-report.md}")
+    private String reportFile;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        TextIndexSpec base = collectionLayout.getTextIndex();
+        StringBuilder report = new StringBuilder();
+        StringBuilder regressions = new StringBuilder();
+        Map<PlantSpecies, TunedSearchParams.Tuned> results = new EnumMap<>(PlantSpecies.class);
+
+        if (base.searchKnob() == 0) {
+            log.info("{} 인덱스는 튜닝할 검색 파라미터가 없습니다.", base.type());
+            return;
+        }
+        String knobName = base.type() == IndexType.HNSW ? "ef" : "nprobe";
+
+        for (PlantSpecies species : PlantSpecies.values()) {
+            List<Row> rows = loadVectors(species);
+            if (rows.size() <= topK) {
+                log.warn("{}: 벡터 {}건 (top-{} 이하) 건너뜀", species, rows.size(), topK);
+                continue;
+            }
+
+            List<Row> queries = new ArrayList<>(rows);
+            Collections.shuffle(queries, new Random(42));
+            queries = queries.subList(0, Math.min(queryCount, queries.size()));
+            List<Set<Long>> truth = groundTruth(queries, rows);
+
+            Optional<TunedSearchParams.Tuned> previous = tunedParams.get(species)
+                    .filter(t -> t.indexType().equals(base.type().name()) && t.topK() == topK);
+
+            TreeSet<Integer> knobs = new TreeSet<>(base.type() == IndexType.HNSW ? efCandidates : nprobeCandidates);
+            if (base.type() != IndexType.HNSW) {
+                knobs.removeIf(n -> n > base.nlist());
+            }
+            previous.ifPresent(t -> knobs.add(t.searchKnob()));
+
+            report.append("### ").append(species.getKoreanName())
+                    .append(" (벡터 ").append(rows.size()).append("건, 질의 ").append(queries.size()).append("건)\n\n")
+                    .append("| ").append(knobName).append(" | recall@").append(topK).append(" | p50 (ms) | p99 (ms) |\n")
+                    .append("| --- | --- | --- | --- |\n");
+
+            Map<Integer, Result> measured = new TreeMap<>();
+            Integer chosen = null;
+            for (int knob : knobs) {
+                Result result = measure(species, base.withSearchKnob(knob), queries, truth);
+                measured.put(knob, result);
+                if (chosen == null && result.recall() >= targetRecall) {
+                    chosen = knob;
+                }
+                // 목표를 넘은 뒤에는 이전 값 비교용 측정만 남김
+                if (chosen != null && previous.map(t -> t.searchKnob() <= knob).orElse(true)) break;
+            }
+            if (chosen == null) {
+                chosen = measured.keySet().stream().max(Integer::compare).orElseThrow();
+                log.warn("{}: 목표 recall {} 에 도달하지 못해 최대값 {}={} 사용", species, targetRecall, knobName, chosen);
+            }
+
+            for (Map.Entry<Integer, Result> entry : measured.entrySet()) {
+                Result r = entry.getValue();
+                report.append(String.format("| %d%s | %.4f | %.1f | %.1f |%n", entry.getKey(),
+                        entry.getKey().equals(chosen) ? " ✅" : "", r.recall(), r.p50Ms(), r.p99Ms()));
+            }
+            report.append('\n');
+
+            Result picked = measured.get(chosen);
+            if (latencyBudgetMs > 0 && picked.p99Ms() > latencyBudgetMs) {
+                log.warn("{}: {}={} 의 p99 {}ms 가 예산 {}ms 를 넘습니다.", species, knobName, chosen,
+                        String.format("%.1f", picked.p99Ms()), latencyBudgetMs);
+            }
+
+            if (previous.isPresent()) {
+                TunedSearchParams.Tuned prev = previous.get();
+                Result again = measured.get(prev.searchKnob());
+                boolean recallDrop = again.recall() < prev.recall() - recallTolerance;
+                boolean slower = again.p99Ms() > prev.p99Ms() * (1 + latencyTolerance);
+                regressions.append(String.format("| %s | %s=%d | %.4f → %.4f | %.1f → %.1f | %s |%n",
+                        species.getKoreanName(), knobName, prev.searchKnob(), prev.recall(), again.recall(),
+                        prev.p99Ms(), again.p99Ms(),
+                        recallDrop || slower ? "⚠️ " + (recallDrop ? "recall " : "") + (slower ? "latency" : "") : "OK"));
+            }
+
+            results.put(species, new TunedSearchParams.Tuned(base.type().name(), chosen, topK,
+                    picked.recall(), picked.p50Ms(), picked.p99Ms(), LocalDateTime.now().toString()));
+            log.info("🎯 {}: {}={} (recall@{}={}, p99={}ms)", species, knobName, chosen, topK,
+                    String.format("%.4f", picked.recall()), String.format("%.1f", picked.p99Ms()));
+        }
+
+        if (!regressions.isEmpty()) {
+            report.append("### 이전 튜닝 대비 (이전 값으로 재측정)\n\n")
+                    .append("| 종 | 이전 값 | recall | p99 (ms) | 판정 |\n")
+                    .append("| --- | --- | --- | --- | --- |\n")
+                    .append(regressions).append('\n');
+        }
+        report.append(String.format("인덱스 %s, 목표 recall@%d ≥ %.2f (%s)%n",
+                base, topK, targetRecall, LocalDateTime.now()));
+
+        Files.writeString(Path.of(reportFile), report.toString());
+        tunedParams.save(results);
+        log.info("검색 파라미터 튜닝 리포트 저장: {}\n{}", reportFile, report);
+
+        if (failOnRegression && regressions.indexOf("⚠️") >= 0) {
+            throw new IllegalStateException("검색 recall / 지연시간 회귀가 있습니다: " + reportFile);
+        }
+    }
+
+    // 종의 [id, text_vector] 전체 (query iterator 로 limit 제한 없이)
+    @SuppressWarnings("unchecked")
+    private List<Row> loadVectors(PlantSpecies species) {
+        R<QueryIterator> response = milvusClient.queryIterator(QueryIteratorParam.newBuilder()
+                .withCollectionName(collectionLayout.getCollectionName())
+                .withPartitionNames(collectionLayout.partitionsFor(species))
+                .withExpr(MilvusExpr.eq("plant_name", species.getKoreanName()))
+                .withOutFields(List.of("id", "text_vector"))
+                .withBatchSize(1000L)
+                .build());
+        if (response.getStatus() != R.Status.Success.getCode()) {
+            throw new RuntimeException("Milvus Operation Failed: " + response.getMessage());
+        }
+
+        QueryIterator iterator = response.getData();
+        List<Row> rows = new ArrayList<>();
+        try {
+            List<QueryResultsWrapper.RowRecord> batch;
+            while (!(batch = iterator.next()).isEmpty()) {
+                for (QueryResultsWrapper.RowRecord record : batch) {
+                    rows.add(new Row((Long) record.get("id"), toArray((List<Float>) record.get("text_vector"))));
+                }
+            }
+        } finally {
+            iterator.close();
+        }
+        return rows;
+    }
+
+    // 질의별 정답: 전수 코사인 Top-K (자기 자신 제외). 읽을 때 정규화했으므로 내적 = 코사인
+    private List<Set<Long>> groundTruth(List<Row> queries, List<Row> rows) {
+        List<Set<Long>> truth = new ArrayList<>(queries.size());
+        for (Row query : queries) {
+            PriorityQueue<Map.Entry<Long, Double>> best = new PriorityQueue<>(Map.Entry.comparingByValue());
+            for (Row row : rows) {
+                if (row.id().equals(query.id())) continue;
+                best.add(Map.entry(row.id(), dot(query.vector(), row.vector())));
+                if (best.size() > topK) best.poll();
+            }
+            Set<Long> ids = new HashSet<>();
+            best.forEach(e -> ids.add(e.getKey()));
+            truth.add(ids);
+        }
+        return truth;
+    }
+
+    // 질의 1건씩 검색 (topK + 1 개를 받아 자기 자신을 뺀 뒤 topK)
+    private Result measure(PlantSpecies species, TextIndexSpec spec, List<Row> queries, List<Set<Long>> truth) {
+        List<Long> latencies = new ArrayList<>(queries.size());
+        double recallSum = 0;
+
+        for (int q = 0; q < queries.size(); q++) {
+            Row query = queries.get(q);
+            long start = System.nanoTime();
+            List<Long> ids = milvusService.searchSimilarIds(species, List.of(VectorMath.toList(query.vector())), topK + 1, spec).get(0);
+            latencies.add(System.nanoTime() - start);
+
+            Set<Long> expected = truth.get(q);
+            long hit = ids.stream().filter(id -> !id.equals(query.id())).limit(topK).filter(expected::contains).count();
+            recallSum += expected.isEmpty() ? 1 : (double) hit / expected.size();
+        }
+
+        Collections.sort(latencies);
+        return new Result(recallSum / queries.size(),
+                percentile(latencies, 0.50) / 1_000_000.0, percentile(latencies, 0.99) / 1_000_000.0);
+    }
+
+    private static double dot(float[] a, float[] b) {
+        double sum = 0;
+        for (int i = 0; i < a.length; i++) sum += a[i] * b[i];
+        return sum;
+    }
+
+    private static float[] toArray(List<Float> vector) {
+        float[] array = new float[vector.size()];
+        for (int i = 0; i < array.length; i++) array[i] = vector.get(i);
+        VectorMath.normalize(array);
+        return array;
+    }
+
+    private long percentile(List<Long> sorted, double p) {
+        if (sorted.isEmpty()) return 0;
+        int idx = (int) Math.ceil(p * sorted.size()) - 1;
+        return sorted.get(Math.max(0, Math.min(idx, sorted.size() - 1)));
+    }
+
+    private record Row(Long id, float[] vector) {}
+
+    private record Result(double recall, double p50Ms, double p99Ms) {}
+}
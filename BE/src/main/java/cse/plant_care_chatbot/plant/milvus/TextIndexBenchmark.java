@@ -0,0 +1,307 @@
+package cse.plant_care_chatbot.plant.milvus;
+
+import cse.plant_care_chatbot.plant.embedding.VectorMath;
+import io.milvus.client.MilvusServiceClient;
+import io.milvus.grpc.DataType;
+import io.milvus.grpc.GetQuerySegmentInfoResponse;
+import io.milvus.grpc.QueryResults;
+import io.milvus.grpc.QuerySegmentInfo;
+import io.milvus.grpc.SearchResults;
+import io.milvus.param.IndexType;
+import io.milvus.param.MetricType;
+import io.milvus.param.R;
+import io.milvus.param.collection.*;
+import io.milvus.param.control.GetQuerySegmentInfoParam;
+import io.milvus.param.dml.InsertParam;
+import io.milvus.param.dml.QueryParam;
+import io.milvus.param.dml.SearchParam;
+import io.milvus.response.QueryResultsWrapper;
+import io.milvus.response.SearchResultsWrapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * text_vector 차원 / 인덱스 종류별 recall · 메모리 · 지연시간 리포트
+ *
+ * 실행 예)
+ *   java -jar app.jar --spring.main.web-application-type=none --milvus.warmup.enabled=false \
+ *     --milvus.index-benchmark.enabled=true --milvus.index-benchmark.dims=1024,512,256
+ *
+ * - 운영 컬렉션에서 표본을 읽어 별도 컬렉션(<collection>_index_bench)에 차원별로 적재
+ * - 정답은 원본 차원 벡터의 전수 코사인 Top-K (같은 종 안에서, 운영 검색과 같은 조건)
+ * - 차원 축소는 저장된 벡터의 앞부분을 잘라 재정규화 (Matryoshka 학습 모델에서만 의미 있음)
+ * - 메모리는 로드된 세그먼트 크기(GetQuerySegmentInfo), 지연시간은 질의 1건 검색(+rerank) 시간
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "milvus.index-benchmark.enabled", havingValue = "true")
+public class TextIndexBenchmark implements ApplicationRunner {
+
+    // Milvus query 의 limit 상한 (queryNode.maxQueryResultWindow 기본값)
+    private static final int MAX_QUERY_WINDOW = 16384;
+    private static final int INSERT_BATCH = 1000;
+
+    private final MilvusServiceClient milvusClient;
+    private final PlantCollectionLayout collectionLayout;
+
+    @Value("${milvus.index-benchmark.sample-size:10000}")
+    private int sampleSize;
+
+    @Value("${milvus.index-benchmark.query-count:200}")
+    private int queryCount;
+
+    @Value("${milvus.index-benchmark.top-k:5}")
+    private int topK;
+
+    @Value("${milvus.index-benchmark.dims:1024,512,256}")
+    private List<Integer> dims;
+
+    @Value("${milvus.index-benchmark.types:IVF_FLAT,IVF_SQ8,IVF_PQ,HNSW}")
+    private List<IndexType> types;
+
+    @Value("${milvus.index-benchmark.rerank-factors:1,4}")
+    private List<Integer> rerankFactors;
+
+    @Value("${milvus.index-benchmark.report-file:text-index-report.md}")
+    private String reportFile;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        String benchCollection = collectionLayout.getCollectionName() + "_index_bench";
+        TextIndexSpec current = collectionLayout.getTextIndex();
+
+        List<Row> sample = sample();
+        Collections.shuffle(sample, new Random(42));
+        int queries = Math.min(queryCount, sample.size() / 10);
+        List<Row> queryRows = sample.subList(0, queries);
+        List<Row> baseRows = sample.subList(queries, sample.size());
+        log.info("인덱스 벤치마크: 기준 {}건, 질의 {}건, top-{}", baseRows.size(), queryRows.size(), topK);
+
+        List<Set<Long>> truth = groundTruth(queryRows, baseRows);
+
+        StringBuilder report = new StringBuilder()
+                .append("| dim | 인덱스 | recall@").append(topK)
+                .append(" | p50 (ms) | p99 (ms) | 세그먼트 메모리 (MB) | 인덱스 추정 (MB) |\n")
+                .append("| --- | --- | --- | --- | --- | --- | --- |\n");
+
+        try {
+            for (int dim : dims) {
+                if (dim > collectionLayout.getTextDim()) {
+                    log.warn("dim {} 은 컬렉션 차원({})보다 커서 건너뜀", dim, collectionLayout.getTextDim());
+                    continue;
+                }
+                createBenchCollection(benchCollection, baseRows, dim);
+
+                for (IndexType type : types) {
+                    TextIndexSpec spec = current.withType(type);
+                    try {
+                        spec.buildParams(dim);
+                    } catch (IllegalArgumentException e) {
+                        log.warn("{} @ dim {} 건너뜀: {}", type, dim, e.getMessage());
+                        continue;
+                    }
+                    collectionLayout.ensureTextIndex(benchCollection, spec, dim);
+                    check(milvusClient.loadCollection(LoadCollectionParam.newBuilder()
+                            .withCollectionName(benchCollection)
+                            .withSyncLoad(true)
+                            .build()));
+                    double memoryMb = loadedMemoryBytes(benchCollection) / 1024.0 / 1024.0;
+                    double estimateMb = spec.bytesPerVector(dim) * baseRows.size() / 1024.0 / 1024.0;
+
+                    for (int factor : rerankFactors) {
+                        TextIndexSpec measured = spec.withRerankFactor(factor);
+                        Result result = measure(benchCollection, measured, queryRows, truth, dim);
+                        boolean chosen = dim == collectionLayout.getTextDim() && measured.equals(current);
+                        report.append(String.format("| %d | %s%s | %.4f | %.1f | %.1f | %.1f | %.1f |%n",
+                                dim, measured, chosen ? " (현재 설정)" : "", result.recall(),
+                                result.p50Ms(), result.p99Ms(), memoryMb, estimateMb));
+                        log.info("📊 dim={} {} recall={} p50={}ms p99={}ms mem={}MB", dim, measured,
+                                String.format("%.4f", result.recall()), String.format("%.1f", result.p50Ms()),
+                                String.format("%.1f", result.p99Ms()), String.format("%.1f", memoryMb));
+                    }
+                }
+            }
+        } finally {
+            dropIfExists(benchCollection);
+        }
+
+        report.append(String.format("%n기준 %d건, 질의 %d건, 현재 설정: dim=%d, %s, nprobe=%d, ef=%d (%s)%n",
+                baseRows.size(), queryRows.size(), collectionLayout.getTextDim(), current,
+                current.nprobe(), current.ef(), LocalDateTime.now()));
+        Files.writeString(Path.of(reportFile), report.toString());
+        log.info("인덱스 벤치마크 리포트 저장: {}\n{}", reportFile, report);
+    }
+
+    // 운영 컬렉션에서 [id, plant_name, text_vector] 표본
+    @SuppressWarnings("unchecked")
+    private List<Row> sample() {
+        int limit = sampleSize + queryCount;
+        if (limit > MAX_QUERY_WINDOW) {
+            log.warn("표본 크기 {} → {} 로 제한 (Milvus query limit)", limit, MAX_QUERY_WINDOW);
+            limit = MAX_QUERY_WINDOW;
+        }
+
+        R<QueryResults> response = milvusClient.query(QueryParam.newBuilder()
+                .withCollectionName(collectionLayout.getCollectionName())
+                .withExpr(MilvusExpr.range("id", 0L, null))
+                .withOutFields(List.of("id", "plant_name", "text_vector"))
+                .withLimit((long) limit)
+                .build());
+        check(response);
+
+        QueryResultsWrapper wrapper = new QueryResultsWrapper(response.getData());
+        List<?> ids = wrapper.getFieldWrapper("id").getFieldData();
+        List<?> names = wrapper.getFieldWrapper("plant_name").getFieldData();
+        List<?> vectors = wrapper.getFieldWrapper("text_vector").getFieldData();
+
+        List<Row> rows = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            rows.add(new Row((Long) ids.get(i), (String) names.get(i), (List<Float>) vectors.get(i)));
+        }
+        return rows;
+    }
+
+    // 질의별 정답: 같은 종 기준 벡터 중 원본 차원 코사인 Top-K
+    private List<Set<Long>> groundTruth(List<Row> queryRows, List<Row> baseRows) {
+        List<Set<Long>> truth = new ArrayList<>(queryRows.size());
+        for (Row query : queryRows) {
+            PriorityQueue<Map.Entry<Long, Double>> best = new PriorityQueue<>(Map.Entry.comparingByValue());
+            for (Row base : baseRows) {
+                if (!base.plantName().equals(query.plantName())) continue;
+                best.add(Map.entry(base.id(), VectorMath.cosine(query.vector(), base.vector())));
+                if (best.size() > topK) best.poll();
+            }
+            Set<Long> ids = new HashSet<>();
+            best.forEach(e -> ids.add(e.getKey()));
+            truth.add(ids);
+        }
+        return truth;
+    }
+
+    private void createBenchCollection(String collection, List<Row> baseRows, int dim) {
+        dropIfExists(collection);
+        check(milvusClient.createCollection(CreateCollectionParam.newBuilder()
+                .withCollectionName(collection)
+                .withDescription("text_vector index benchmark (temporary)")
+                .addFieldType(FieldType.newBuilder()
+                        .withName("id").withDataType(DataType.Int64)
+                        .withPrimaryKey(true).withAutoID(false).build())
+                .addFieldType(FieldType.newBuilder()
+                        .withName("plant_name").withDataType(DataType.VarChar).withMaxLength(50).build())
+                .addFieldType(FieldType.newBuilder()
+                        .withName("text_vector").withDataType(DataType.FloatVector)
+                        .withDimension(dim).build())
+                .build()));
+
+        for (int from = 0; from < baseRows.size(); from += INSERT_BATCH) {
+            List<Row> batch = baseRows.subList(from, Math.min(from + INSERT_BATCH, baseRows.size()));
+            check(milvusClient.insert(InsertParam.newBuilder()
+                    .withCollectionName(collection)
+                    .withFields(List.of(
+                            new InsertParam.Field("id", batch.stream().map(Row::id).toList()),
+                            new InsertParam.Field("plant_name", batch.stream().map(Row::plantName).toList()),
+                            new InsertParam.Field("text_vector", batch.stream()
+                                    .map(row -> VectorMath.truncate(row.vector(), dim)).toList())))
+                    .build()));
+        }
+        check(milvusClient.flush(FlushParam.newBuilder()
+                .addCollectionName(collection)
+                .withSyncFlush(true)
+                .build()));
+    }
+
+    // 운영 검색(MilvusService.searchSimilar)과 같은 조건으로 질의 1건씩 검색
+    @SuppressWarnings("unchecked")
+    private Result measure(String collection, TextIndexSpec spec, List<Row> queryRows, List<Set<Long>> truth, int dim) {
+        int candidates = spec.candidates(topK);
+        List<Long> latencies = new ArrayList<>(queryRows.size());
+        double recallSum = 0;
+
+        for (int q = 0; q < queryRows.size(); q++) {
+            Row query = queryRows.get(q);
+            List<Float> vector = VectorMath.truncate(query.vector(), dim);
+
+            long start = System.nanoTime();
+            R<SearchResults> response = milvusClient.search(SearchParam.newBuilder()
+                    .withCollectionName(collection)
+                    .withMetricType(MetricType.COSINE)
+                    .withOutFields(spec.rerank() ? List.of("text_vector") : List.of())
+                    .withTopK(candidates)
+                    .withVectors(List.of(vector))
+                    .withVectorFieldName("text_vector")
+                    .withExpr(MilvusExpr.eq("plant_name", query.plantName()))
+                    .withParams(spec.searchParams(candidates))
+                    .build());
+            check(response);
+
+            List<SearchResultsWrapper.IDScore> scores =
+                    new SearchResultsWrapper(response.getData().getResults()).getIDScore(0);
+            if (spec.rerank()) {
+                scores = scores.stream()
+                        .sorted(Comparator.comparingDouble((SearchResultsWrapper.IDScore score) ->
+                                -VectorMath.cosine(vector, (List<Float>) score.get("text_vector"))))
+                        .limit(topK)
+                        .toList();
+            }
+            latencies.add(System.nanoTime() - start);
+
+            Set<Long> expected = truth.get(q);
+            if (!expected.isEmpty()) {
+                long hit = scores.stream().filter(score -> expected.contains(score.getLongID())).count();
+                recallSum += (double) hit / expected.size();
+            }
+        }
+
+        Collections.sort(latencies);
+        return new Result(recallSum / Math.max(1, queryRows.size()),
+                percentile(latencies, 0.50) / 1_000_000.0, percentile(latencies, 0.99) / 1_000_000.0);
+    }
+
+    private long loadedMemoryBytes(String collection) {
+        R<GetQuerySegmentInfoResponse> response = milvusClient.getQuerySegmentInfo(GetQuerySegmentInfoParam.newBuilder()
+                .withCollectionName(collection)
+                .build());
+        check(response);
+        return response.getData().getInfosList().stream().mapToLong(QuerySegmentInfo::getMemSize).sum();
+    }
+
+    private void dropIfExists(String collection) {
+        R<Boolean> exists = milvusClient.hasCollection(HasCollectionParam.newBuilder()
+                .withCollectionName(collection)
+                .build());
+        check(exists);
+        if (Boolean.TRUE.equals(exists.getData())) {
+            check(milvusClient.dropCollection(DropCollectionParam.newBuilder()
+                    .withCollectionName(collection)
+                    .build()));
+        }
+    }
+
+    private long percentile(List<Long> sorted, double p) {
+        if (sorted.isEmpty()) return 0;
+        int idx = (int) Math.ceil(p * sorted.size()) - 1;
+        return sorted.get(Math.max(0, Math.min(idx, sorted.size() - 1)));
+    }
+
+    private void check(R<?> response) {
+        if (response.getStatus() != R.Status.Success.getCode()) {
+            log.error("Milvus Error: {}", response.getMessage());
+            throw new RuntimeException("Milvus Operation Failed: " + response.getMessage());
+        }
+    }
+
+    private record Row(Long id, String plantName, List<Float> vector) {}
+
+    private record Result(double recall, double p50Ms, double p99Ms) {}
+}
@@ -0,0 +1,144 @@
+package cse.plant_care_chatbot.plant.milvus;
+
+import io.milvus.param.IndexType;
+
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * text_vector 인덱스 구성 (적재 시 인덱스 생성 / 검색 파라미터를 같은 설정에서 만든다)
+ * - IVF_FLAT : 원본 float 그대로 (기본)
+ * - IVF_SQ8  : 성분별 8bit 스칼라 양자화 (메모리 약 1/4)
+ * - IVF_PQ   : pqM 개 부분공간 × pqNbits bit 곱 양자화 (메모리 dim*4 → pqM*pqNbits/8 바이트)
+ * - HNSW     : 그래프 인덱스 (원본 + 이웃 목록, 메모리는 가장 큼)
+ * - FLAT     : 전수 검색 (정답 기준)
+ *
+ * rerankFactor 가 1 보다 크면 topK × rerankFactor 개 후보를 가져와 원본 벡터 코사인으로 다시 정렬한다
+ * (양자화 인덱스의 근사 거리 오차 보정).
+ */
+public record TextIndexSpec(
+        IndexType type,
+        int nlist,
+        int pqM,
+        int pqNbits,
+        int hnswM,
+        int efConstruction,
+        int nprobe,
+        int ef,
+        int rerankFactor
+) {
+
+    public static final Set<IndexType> SUPPORTED = EnumSet.of(
+            IndexType.FLAT, IndexType.IVF_FLAT, IndexType.IVF_SQ8, IndexType.IVF_PQ, IndexType.HNSW);
+
+    public TextIndexSpec {
+        if (!SUPPORTED.contains(type)) {
+            throw new IllegalArgumentException("지원하지 않는 text_vector 인덱스: " + type + " (지원: " + SUPPORTED + ")");
+        }
+        if (rerankFactor < 1) {
+            throw new IllegalArgumentException("rerank-factor 는 1 이상이어야 합니다: " + rerankFactor);
+        }
+    }
+
+    public TextIndexSpec withType(IndexType type) {
+        return new TextIndexSpec(type, nlist, pqM, pqNbits, hnswM, efConstruction, nprobe, ef, rerankFactor);
+    }
+
+    // 검색 파라미터만 바꾼 구성 (종별 튜닝 결과 적용)
+    public TextIndexSpec withSearch(int nprobe, int ef) {
+        return new TextIndexSpec(type, nlist, pqM, pqNbits, hnswM, efConstruction, nprobe, ef, rerankFactor);
+    }
+
+    // 튜닝 대상 검색 파라미터 값 (IVF 는 nprobe, HNSW 는 ef, FLAT 은 없음)
+    public int searchKnob() {
+        return switch (type) {
+            case IVF_FLAT, IVF_SQ8, IVF_PQ -> nprobe;
+            case HNSW -> ef;
+            default -> 0;
+        };
+    }
+
+    public TextIndexSpec withSearchKnob(int value) {
+        return switch (type) {
+            case IVF_FLAT, IVF_SQ8, IVF_PQ -> withSearch(value, ef);
+            case HNSW -> withSearch(nprobe, value);
+            default -> this;
+        };
+    }
+
+    public TextIndexSpec withRerankFactor(int rerankFactor) {
+        return new TextIndexSpec(type, nlist, pqM, pqNbits, hnswM, efConstruction, nprobe, ef, rerankFactor);
+    }
+
+    /**
+     * 인덱스 생성 파라미터 (JSON). IVF_PQ 는 차원이 pqM 으로 나누어떨어져야 한다.
+     */
+    public String buildParams(int dim) {
+        return indexParams(dim).entrySet().stream()
+                .map(e -> "\"" + e.getKey() + "\": " + e.getValue())
+                .collect(Collectors.joining(", ", "{", "}"));
+    }
+
+    /**
+     * 인덱스 생성 파라미터 (Milvus 파라미터 이름 → 값). 기존 인덱스와 구성 비교에도 사용
+     */
+    public Map<String, Integer> indexParams(int dim) {
+        Map<String, Integer> params = new LinkedHashMap<>();
+        switch (type) {
+            case IVF_FLAT, IVF_SQ8 -> params.put("nlist", nlist);
+            case IVF_PQ -> {
+                if (dim % pqM != 0) {
+                    throw new IllegalArgumentException("IVF_PQ: 차원(" + dim + ")이 pq-m(" + pqM + ")으로 나누어떨어지지 않습니다.");
+                }
+                params.put("nlist", nlist);
+                params.put("m", pqM);
+                params.put("nbits", pqNbits);
+            }
+            case HNSW -> {
+                params.put("M", hnswM);
+                params.put("efConstruction", efConstruction);
+            }
+            default -> {
+            }
+        }
+        return params;
+    }
+
+    /**
+     * 검색 파라미터 (HNSW 의 ef 는 가져올 후보 수 이상이어야 함)
+     */
+    public String searchParams(int candidates) {
+        return switch (type) {
+            case IVF_FLAT, IVF_SQ8, IVF_PQ -> "{\"nprobe\": " + Math.min(nprobe, nlist) + "}";
+            case HNSW -> "{\"ef\": " + Math.max(ef, candidates) + "}";
+            default -> "{}";
+        };
+    }
+
+    // Milvus 에서 가져올 후보 수
+    public int candidates(int topK) {
+        return topK * rerankFactor;
+    }
+
+    public boolean rerank() {
+        return rerankFactor > 1;
+    }
+
+    // 벡터 1개당 인덱스 크기 추정 (바이트, IVF 중심점 / 그래프 상위 레벨 제외)
+    public double bytesPerVector(int dim) {
+        return switch (type) {
+            case IVF_SQ8 -> dim;
+            case IVF_PQ -> pqM * pqNbits / 8.0;
+            case HNSW -> dim * 4.0 + hnswM * 2 * 8;
+            default -> dim * 4.0;
+        };
+    }
+
+    @Override
+    public String toString() {
+        return type + (rerank() ? " + rerank x" + rerankFactor : "");
+    }
+}
@@ -0,0 +1,85 @@
+package cse.plant_care_chatbot.plant.milvus;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import cse.plant_care_chatbot.plant.dto.PlantSpecies;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 종별 검색 파라미터 (SearchParamTuner 결과 파일)
+ * - 파일이 없거나 종이 없으면 milvus.search.* 기본값 사용
+ * - 튜닝 당시 인덱스 종류와 현재 인덱스 종류가 다르면 해당 값은 무시 (nprobe ↔ ef 는 호환되지 않음)
+ * - 기동 시 한 번 읽음 (튜닝 후 재기동하면 반영)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TunedSearchParams {
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${milvus.tuning.params-file:search-params.json}")
+    private String paramsFile;
+
+    private final Map<PlantSpecies, Tuned> tuned = new EnumMap<>(PlantSpecies.class);
+
+    /**
+     * 종 하나의 튜닝 결과 (searchKnob = IVF 는 nprobe, HNSW 는 ef)
+     */
+    public record Tuned(
+            String indexType,
+            int searchKnob,
+            int topK,
+            double recall,
+            double p50Ms,
+            double p99Ms,
+            String tunedAt
+    ) {}
+
+    @PostConstruct
+    void load() throws IOException {
+        Path path = Path.of(paramsFile);
+        if (!Files.exists(path)) return;
+
+        tuned.putAll(objectMapper.readValue(path.toFile(), new TypeReference<Map<PlantSpecies, Tuned>>() {}));
+        tuned.forEach((species, t) -> log.info("튜닝된 검색 파라미터: {} {} → {} (recall@{}={}, p99={}ms, {})",
+                species, t.indexType(), t.searchKnob(), t.topK(), t.recall(), t.p99Ms(), t.tunedAt()));
+    }
+
+    /**
+     * 종별 검색 구성: 튜닝 결과가 현재 인덱스 종류와 같으면 그 값으로, 아니면 base 그대로
+     */
+    public TextIndexSpec specFor(PlantSpecies species, TextIndexSpec base) {
+        Tuned t = tuned.get(species);
+        if (t == null || !t.indexType().equals(base.type().name())) return base;
+        return base.withSearchKnob(t.searchKnob());
+    }
+
+    public Optional<Tuned> get(PlantSpecies species) {
+        return Optional.ofNullable(tuned.get(species));
+    }
+
+    /**
+     * 결과 저장 (임시 파일에 쓴 뒤 원자적 교체). 실행 중인 서버에는 재기동 후 반영된다.
+     */
+    public synchronized void save(Map<PlantSpecies, Tuned> results) throws IOException {
+        tuned.putAll(results);
+
+        Path path = Path.of(paramsFile);
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(tmp.toFile(), tuned);
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -0,0 +1,22 @@
+package cse.plant_care_chatbot.plant.repository;
+
+import cse.plant_care_chatbot.plant.entity.PlantAnalysisDailyStat;
+import cse.plant_care_chatbot.plant.entity.PlantAnalysisDailyStatId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface PlantAnalysisDailyStatRepository extends JpaRepository<PlantAnalysisDailyStat, PlantAnalysisDailyStatId> {
+
+    @Query("""
+            SELECT s FROM PlantAnalysisDailyStat s
+            WHERE s.id.statDate >= :from AND s.id.statDate <= :to
+              AND (:plantName IS NULL OR s.id.plantName = :plantName)
+            ORDER BY s.id.statDate, s.id.plantName, s.id.growthLevel, s.id.feedbackType
+            """)
+    List<PlantAnalysisDailyStat> findRange(@Param("from") LocalDate from, @Param("to") LocalDate to,
+                                           @Param("plantName") String plantName);
+}
@@ -0,0 +1,106 @@
+package cse.plant_care_chatbot.plant.repository;
+
+import cse.plant_care_chatbot.plant.entity.PlantAnalysisJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface PlantAnalysisJobRepository extends JpaRepository<PlantAnalysisJob, Long> {
+
+    /**
+     * 처리할 작업 id 를 잠그며 조회 (다른 워커가 잠근 행은 건너뜀)
+     * PENDING 또는 lease 가 만료된 RUNNING(워커 중단) 작업 중 시도 횟수가 남은 작업이 대상
+     */
+    @Query(value = """
+            SELECT id FROM plant_analysis_job
+            WHERE status = 'PENDING'
+               OR (status = 'RUNNING' AND lease_expires_at < :now AND attempts < :maxAttempts)
+            ORDER BY id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<Long> lockClaimable(@Param("now") LocalDateTime now, @Param("maxAttempts") int maxAttempts,
+                             @Param("limit") int limit);
+
+    /**
+     * lease 가 만료된 채 시도 횟수를 다 쓴 작업을 FAILED 로 정리
+     * (워커가 fail() 을 보고하지 못하고 죽은 경우: OOM, 네이티브 크래시, 노드 축출 등)
+     */
+    @Modifying
+    @Query("""
+            UPDATE PlantAnalysisJob j
+            SET j.status = cse.plant_care_chatbot.plant.dto.AnalysisJobStatus.FAILED,
+                j.errorMessage = :errorMessage, j.imageData = null,
+                j.leaseOwner = null, j.leaseExpiresAt = null, j.completedAt = :now
+            WHERE j.status = cse.plant_care_chatbot.plant.dto.AnalysisJobStatus.RUNNING
+              AND j.leaseExpiresAt < :now AND j.attempts >= :maxAttempts
+            """)
+    int failExhaustedLeases(@Param("now") LocalDateTime now, @Param("maxAttempts") int maxAttempts,
+                            @Param("errorMessage") String errorMessage);
+
+    @Modifying
+    @Query("""
+            UPDATE PlantAnalysisJob j
+            SET j.status = cse.plant_care_chatbot.plant.dto.AnalysisJobStatus.RUNNING,
+                j.leaseOwner = :owner, j.leaseExpiresAt = :leaseExpiresAt, j.attempts = j.attempts + 1
+            WHERE j.id IN :ids
+            """)
+    int markRunning(@Param("ids") List<Long> ids, @Param("owner") String owner,
+                    @Param("leaseExpiresAt") LocalDateTime leaseExpiresAt);
+
+    // 처리 중인 작업의 lease 연장 (다른 워커가 가져간 경우 0)
+    @Modifying
+    @Query("""
+            UPDATE PlantAnalysisJob j
+            SET j.leaseExpiresAt = :leaseExpiresAt
+            WHERE j.id IN :ids AND j.leaseOwner = :owner
+              AND j.status = cse.plant_care_chatbot.plant.dto.AnalysisJobStatus.RUNNING
+            """)
+    int renewLease(@Param("ids") List<Long> ids, @Param("owner") String owner,
+                   @Param("leaseExpiresAt") LocalDateTime leaseExpiresAt);
+
+    // lease 를 가진 워커의 완료 보고 (lease 를 잃었으면 0)
+    @Modifying
+    @Query("""
+            UPDATE PlantAnalysisJob j
+            SET j.status = cse.plant_care_chatbot.plant.dto.AnalysisJobStatus.DONE,
+                j.logId = :logId, j.imageData = null,
+                j.leaseOwner = null, j.leaseExpiresAt = null, j.completedAt = :now
+            WHERE j.id = :id AND j.leaseOwner = :owner
+              AND j.status = cse.plant_care_chatbot.plant.dto.AnalysisJobStatus.RUNNING
+            """)
+    int completeIfOwner(@Param("id") Long id, @Param("owner") String owner, @Param("logId") Long logId,
+                        @Param("now") LocalDateTime now);
+
+    // lease 를 가진 워커의 실패 보고: 시도 횟수가 남았으면 PENDING 으로 되돌림 (lease 를 잃었으면 0)
+    @Modifying
+    @Query("""
+            UPDATE PlantAnalysisJob j
+            SET j.status = cse.plant_care_chatbot.plant.dto.AnalysisJobStatus.PENDING,
+                j.errorMessage = :errorMessage, j.leaseOwner = null, j.leaseExpiresAt = null
+            WHERE j.id = :id AND j.leaseOwner = :owner
+              AND j.status = cse.plant_care_chatbot.plant.dto.AnalysisJobStatus.RUNNING
+              AND j.attempts < :maxAttempts
+            """)
+    int requeueIfOwner(@Param("id") Long id, @Param("owner") String owner,
+                       @Param("errorMessage") String errorMessage, @Param("maxAttempts") int maxAttempts);
+
+    // lease 를 가진 워커의 실패 보고: 시도 횟수를 다 썼으면 FAILED (lease 를 잃었으면 0)
+    @Modifying
+    @Query("""
+            UPDATE PlantAnalysisJob j
+            SET j.status = cse.plant_care_chatbot.plant.dto.AnalysisJobStatus.FAILED,
+                j.errorMessage = :errorMessage, j.imageData = null,
+                j.leaseOwner = null, j.leaseExpiresAt = null, j.completedAt = :now
+            WHERE j.id = :id AND j.leaseOwner = :owner
+              AND j.status = cse.plant_care_chatbot.plant.dto.AnalysisJobStatus.RUNNING
+              AND j.attempts >= :maxAttempts
+            """)
+    int failIfOwner(@Param("id") Long id, @Param("owner") String owner,
+                    @Param("errorMessage") String errorMessage, @Param("maxAttempts") int maxAttempts,
+                    @Param("now") LocalDateTime now);
+}
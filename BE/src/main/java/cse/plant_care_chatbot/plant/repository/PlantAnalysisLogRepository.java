@@ -1,7 +1,108 @@
 package cse.plant_care_chatbot.plant.repository;
 
+import cse.plant_care_chatbot.plant.dto.FeedbackType;
+import cse.plant_care_chatbot.plant.dto.HistoryListRes;
 import cse.plant_care_chatbot.plant.entity.PlantAnalysisLog;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface PlantAnalysisLogRepository extends JpaRepository<PlantAnalysisLog, Long> {
+
+    // 피드백은 받았지만 아직 Milvus 에 색인되지 않은 기록 (이미지가 보관된 것만, id 순 커서 페이지)
+    List<PlantAnalysisLog> findTop500ByFeedbackTypeInAndVectorIndexedAtIsNullAndOriginalImageUrlIsNotNullAndIdGreaterThanOrderByIdAsc(
+            Collection<FeedbackType> feedbackTypes, Long afterId);
+
+    // Milvus 색인 선점: 다른 노드가 먼저 가져갔으면 0
+    @Transactional
+    @Modifying
+    @Query("UPDATE PlantAnalysisLog l SET l.vectorIndexedAt = :now WHERE l.id = :id AND l.vectorIndexedAt IS NULL")
+    int claimVectorIndex(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    // 색인하지 못한 선점 해제 (다시 catch-up 대상이 됨)
+    @Transactional
+    @Modifying
+    @Query("UPDATE PlantAnalysisLog l SET l.vectorIndexedAt = NULL WHERE l.id IN :ids AND l.vectorIndexedAt = :claimedAt")
+    int releaseVectorIndex(@Param("ids") Collection<Long> ids, @Param("claimedAt") LocalDateTime claimedAt);
+
+    /**
+     * 내보내기용 전진 전용 커서.
+     * MySQL Connector/J 는 fetch size 가 Integer.MIN_VALUE 일 때만 결과를 한 행씩 스트리밍한다 (아니면 전체를 메모리에 읽음).
+     * 읽기 전용 트랜잭션 안에서 사용하고 Stream 을 반드시 닫아야 한다.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("select l from PlantAnalysisLog l where l.createdAt >= :from and l.createdAt < :to order by l.id")
+    Stream<PlantAnalysisLog> streamByCreatedAtBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    // 최신순 기록 목록 (id 커서 페이지, 리포트 본문은 읽지 않음)
+    @Query("""
+            SELECT new cse.plant_care_chatbot.plant.dto.HistoryListRes(
+                l.id, l.plantName, l.growthLevel, l.userDescription, l.createdAt)
+            FROM PlantAnalysisLog l
+            WHERE l.id < :beforeId
+            ORDER BY l.id DESC
+            """)
+    List<HistoryListRes> findHistoryPage(@Param("beforeId") long beforeId, Pageable pageable);
+
+    // 근접 중복 인덱스 적재용 [id, perceptualHash, createdAt, plantId] (리포트 본문은 읽지 않음)
+    @Query("select l.id, l.perceptualHash, l.createdAt, l.plantId from PlantAnalysisLog l "
+            + "where l.perceptualHash is not null and l.plantId is not null and l.createdAt >= :since order by l.id")
+    List<Object[]> findPerceptualHashesSince(@Param("since") LocalDateTime since);
+
+    // 재분석 대상 [id, plantName, growthLevel, caption, userDescription] (id 순 커서 페이지)
+    @Query("""
+            SELECT l.id, l.plantName, l.growthLevel, l.caption, l.userDescription FROM PlantAnalysisLog l
+            WHERE l.id > :afterId AND l.createdAt >= :from AND l.createdAt < :to
+              AND (:plantName IS NULL OR l.plantName = :plantName)
+              AND (l.analysisResult IS NOT NULL OR l.archiveSegment IS NOT NULL)
+            ORDER BY l.id
+            """)
+    List<Object[]> findReanalysisTargets(@Param("afterId") long afterId, @Param("from") LocalDateTime from,
+                                         @Param("to") LocalDateTime to, @Param("plantName") String plantName,
+                                         Pageable pageable);
+
+    // 기록 검색 색인 대상 [id, plantName, growthLevel, caption, userDescription, createdAt]
+    @Query("""
+            SELECT l.id, l.plantName, l.growthLevel, l.caption, l.userDescription, l.createdAt FROM PlantAnalysisLog l
+            WHERE l.id IN :ids AND l.caption IS NOT NULL
+            """)
+    List<Object[]> findHistoryIndexTargets(@Param("ids") Collection<Long> ids);
+
+    // 아직 기록 검색에 색인되지 않은 기록 (기동 시 따라잡기, id 순 커서 페이지)
+    @Query("""
+            SELECT l.id FROM PlantAnalysisLog l
+            WHERE l.id > :afterId AND l.historyIndexedAt IS NULL AND l.caption IS NOT NULL
+            ORDER BY l.id
+            """)
+    List<Long> findHistoryUnindexedIds(@Param("afterId") long afterId, Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE PlantAnalysisLog l SET l.historyIndexedAt = :now WHERE l.id IN :ids")
+    int markHistoryIndexed(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    // 기록 상세 ETag (리포트 본문을 읽지 않음). 해시가 없는 이전 기록은 빈 문자열
+    @Query("SELECT COALESCE(l.resultHash, '') FROM PlantAnalysisLog l WHERE l.id = :id")
+    Optional<String> findResultHash(@Param("id") Long id);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE PlantAnalysisLog l SET l.resultHash = :hash WHERE l.id = :id")
+    int updateResultHash(@Param("id") Long id, @Param("hash") String hash);
 }
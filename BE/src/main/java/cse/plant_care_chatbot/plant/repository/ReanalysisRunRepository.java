@@ -0,0 +1,58 @@
+package cse.plant_care_chatbot.plant.repository;
+
+import cse.plant_care_chatbot.plant.dto.ReanalysisRunStatus;
+import cse.plant_care_chatbot.plant.entity.ReanalysisRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ReanalysisRunRepository extends JpaRepository<ReanalysisRun, Long> {
+
+    /**
+     * 실행권 획득: PAUSED 이거나 lease 가 만료된 RUNNING(노드 중단) 만 (두 노드가 같은 실행을 처리하지 않게)
+     * @return 1 이면 획득
+     */
+    @Modifying
+    @Query("""
+            UPDATE ReanalysisRun r
+            SET r.status = cse.plant_care_chatbot.plant.dto.ReanalysisRunStatus.RUNNING,
+                r.leaseOwner = :owner, r.leaseExpiresAt = :leaseExpiresAt, r.errorMessage = null, r.updatedAt = :now
+            WHERE r.id = :id
+              AND (r.status = cse.plant_care_chatbot.plant.dto.ReanalysisRunStatus.PAUSED
+                   OR (r.status = cse.plant_care_chatbot.plant.dto.ReanalysisRunStatus.RUNNING AND r.leaseExpiresAt < :now))
+            """)
+    int claim(@Param("id") Long id, @Param("owner") String owner,
+              @Param("leaseExpiresAt") LocalDateTime leaseExpiresAt, @Param("now") LocalDateTime now);
+
+    // 노드 중단으로 lease 가 만료된 실행 (기동 시 재개 대상)
+    @Query("""
+            SELECT r.id FROM ReanalysisRun r
+            WHERE r.status = cse.plant_care_chatbot.plant.dto.ReanalysisRunStatus.RUNNING AND r.leaseExpiresAt < :now
+            """)
+    List<Long> findAbandoned(@Param("now") LocalDateTime now);
+
+    // 처리를 마친 노드가 실행권을 내려놓음 (DONE / FAILED / PAUSED)
+    @Modifying
+    @Query("""
+            UPDATE ReanalysisRun r
+            SET r.status = :status, r.leaseOwner = null, r.leaseExpiresAt = null,
+                r.errorMessage = :errorMessage, r.updatedAt = :now
+            WHERE r.id = :id AND r.leaseOwner = :owner
+            """)
+    int release(@Param("id") Long id, @Param("owner") String owner, @Param("status") ReanalysisRunStatus status,
+                @Param("errorMessage") String errorMessage, @Param("now") LocalDateTime now);
+
+    // 관리자 일시 중지 (처리 중인 노드는 다음 페이지 전에 실행권을 잃은 것을 보고 멈춤)
+    @Modifying
+    @Query("""
+            UPDATE ReanalysisRun r
+            SET r.status = cse.plant_care_chatbot.plant.dto.ReanalysisRunStatus.PAUSED,
+                r.leaseOwner = null, r.leaseExpiresAt = null, r.updatedAt = :now
+            WHERE r.id = :id AND r.status = cse.plant_care_chatbot.plant.dto.ReanalysisRunStatus.RUNNING
+            """)
+    int pause(@Param("id") Long id, @Param("now") LocalDateTime now);
+}
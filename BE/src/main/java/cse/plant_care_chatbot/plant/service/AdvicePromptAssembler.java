@@ -0,0 +1,97 @@
+package cse.plant_care_chatbot.plant.service;
+
+import cse.plant_care_chatbot.plant.dto.SensorComparisonRes;
+import cse.plant_care_chatbot.plant.gemini.GeminiRequestScheduler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 관리 조언 프롬프트 조립
+ * - 고정 지시문(SYSTEM_INSTRUCTION)은 systemInstruction / 컨텍스트 캐시로 분리해 매 요청 본문에서 제외
+ * - 사용자 설명은 토큰 예산(description-max-tokens)까지만 포함
+ * - 센서는 이상 편차가 있는 항목 + Top 이슈만 포함 (나머지는 "적정" 한 줄로 요약)
+ */
+@Component
+public class AdvicePromptAssembler {
+
+    // 응답 구조는 responseSchema(GeminiSchemas.ADVICE)가 강제하므로 예시 JSON 은 생략
+    static final String SYSTEM_INSTRUCTION = """
+            You are a professional plant pathologist. Analyze the plant status and give advice in Korean.
+            - 'analysis': comprehensive health analysis, max 5 sentences. DO NOT mention specific numbers; use qualitative terms like 'high', 'low', 'sufficient'. Mention the season if relevant. Consider the user's situation or question if provided.
+            - 'keywords': 3-5 short keywords summarizing the status (e.g. "수분 부족", "강한 빛").
+            - 'careGuide': one guide per major issue, each with 'issue' (title) and 'content' (max 3 sentences).
+            """;
+
+    @Value("${analysis.prompt.description-max-tokens:150}")
+    private int descriptionMaxTokens;
+
+    // |현재 - 적정| / 적정 이 이 값을 넘는 센서만 포함 (점수 80점 미만 기준과 동일)
+    @Value("${analysis.prompt.sensor-deviation-threshold:0.13}")
+    private double sensorDeviationThreshold;
+
+    public record AdvicePrompt(String systemInstruction, String userPrompt) {}
+
+    public AdvicePrompt assemble(String plantName, String level, String caption, String userDescription,
+                                 List<SensorComparisonRes> allSensors, List<SensorComparisonRes> topIssues) {
+        Set<SensorComparisonRes> relevant = new LinkedHashSet<>(topIssues);
+        for (SensorComparisonRes s : allSensors) {
+            if (deviation(s) > sensorDeviationThreshold) relevant.add(s);
+        }
+
+        StringBuilder sensorInfo = new StringBuilder();
+        for (SensorComparisonRes s : relevant) {
+            double sim = s.current() != null ? s.current() : 0;
+            double better = s.betterAvg() != null ? s.betterAvg() : 0;
+            sensorInfo.append(String.format("- %s: %s than ideal (%.1f vs %.1f)\n",
+                    s.sensorName(), sim > better ? "Higher" : "Lower", sim, better));
+        }
+        if (relevant.size() < allSensors.size()) {
+            sensorInfo.append("- Other sensors: within ideal range\n");
+        }
+
+        String issues = String.join(", ", topIssues.stream().map(SensorComparisonRes::sensorName).toList());
+
+        String userPrompt = """
+                [Plant] %s, Health Level: %s
+                [Visual Symptoms] %s
+                [User Description] %s
+                [Environment]
+                %s[Major Issues] %s
+                """.formatted(plantName, level, caption,
+                truncate(userDescription, descriptionMaxTokens), sensorInfo, issues.isEmpty() ? "none" : issues);
+
+        return new AdvicePrompt(SYSTEM_INSTRUCTION, userPrompt);
+    }
+
+    private double deviation(SensorComparisonRes s) {
+        if (s.current() == null || s.betterAvg() == null || s.betterAvg() == 0) return 0;
+        return Math.abs(s.current() - s.betterAvg()) / s.betterAvg();
+    }
+
+    /**
+     * 토큰 예산 안에서 자르고, 가능하면 문장 끝에서 끊음
+     */
+    static String truncate(String text, int maxTokens) {
+        if (text == null || text.isBlank()) return "(none)";
+        String trimmed = text.strip();
+        if (GeminiRequestScheduler.estimateTokens(trimmed) <= maxTokens) return trimmed;
+
+        // estimateTokens 와 같은 기준 (ASCII 4자 = 1토큰, 그 외 1자 = 1토큰)
+        double tokens = 0;
+        int end = 0;
+        while (end < trimmed.length()) {
+            tokens += trimmed.charAt(end) < 128 ? 0.25 : 1;
+            if (tokens > maxTokens) break;
+            end++;
+        }
+
+        int sentenceEnd = Math.max(trimmed.lastIndexOf(". ", end - 2), Math.max(trimmed.lastIndexOf('\n', end - 1), trimmed.lastIndexOf("다.", end - 2) + 1));
+        if (sentenceEnd > end * 0.6) end = sentenceEnd + 1;
+
+        return trimmed.substring(0, end).strip() + " …(생략)";
+    }
+}
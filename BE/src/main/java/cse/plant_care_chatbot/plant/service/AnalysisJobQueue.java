@@ -0,0 +1,90 @@
+package cse.plant_care_chatbot.plant.service;
+
+import cse.plant_care_chatbot.plant.dto.AnalysisJobRes;
+import cse.plant_care_chatbot.plant.entity.PlantAnalysisJob;
+import cse.plant_care_chatbot.plant.repository.PlantAnalysisJobRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * MySQL 작업 큐 (plant_analysis_job)
+ * - claim: FOR UPDATE SKIP LOCKED 로 잠근 행만 RUNNING + lease 로 바꿔서 여러 워커가 같은 작업을 가져가지 않게 함
+ * - lease 를 잃은 워커(만료 후 다른 워커가 가져감)의 완료/실패 보고는 무시
+ * - 워커가 보고 없이 죽어 lease 가 만료된 작업도 max-attempts 를 넘으면 다시 가져가지 않고 FAILED 로 정리
+ *   (워커를 죽이는 작업이 노드마다 반복 실행되지 않도록)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AnalysisJobQueue {
+
+    private final PlantAnalysisJobRepository jobRepo;
+
+    @Value("${analysis.jobs.max-attempts:3}")
+    private int maxAttempts;
+
+    public record ClaimedJob(Long id, byte[] imageData, String mimeType, String userDescription) {}
+
+    @Transactional
+    public Long enqueue(byte[] imageData, String mimeType, String description) {
+        return jobRepo.save(PlantAnalysisJob.builder()
+                .imageData(imageData)
+                .mimeType(mimeType)
+                .userDescription(description)
+                .build()).getId();
+    }
+
+    @Transactional
+    public List<ClaimedJob> claim(String owner, int limit, long leaseMs) {
+        LocalDateTime now = LocalDateTime.now();
+        int exhausted = jobRepo.failExhaustedLeases(now, maxAttempts, "워커가 응답 없이 중단됨 (최대 시도 횟수 초과)");
+        if (exhausted > 0) {
+            log.warn("Analysis jobs failed after {} attempts without a worker report: {}", maxAttempts, exhausted);
+        }
+
+        List<Long> ids = jobRepo.lockClaimable(now, maxAttempts, limit);
+        if (ids.isEmpty()) return List.of();
+
+        jobRepo.markRunning(ids, owner, now.plusNanos(leaseMs * 1_000_000));
+        return jobRepo.findAllById(ids).stream()
+                .map(j -> new ClaimedJob(j.getId(), j.getImageData(), j.getMimeType(), j.getUserDescription()))
+                .toList();
+    }
+
+    @Transactional
+    public void renewLease(Collection<Long> ids, String owner, long leaseMs) {
+        if (ids.isEmpty()) return;
+        jobRepo.renewLease(List.copyOf(ids), owner, LocalDateTime.now().plusNanos(leaseMs * 1_000_000));
+    }
+
+    // 읽고 나서 쓰지 않고 lease 조건부 UPDATE 한 번으로 처리 (그 사이 lease 가 만료돼 다른 워커가 가져가도 덮어쓰지 않음)
+    @Transactional
+    public void complete(Long jobId, String owner, Long logId) {
+        if (jobRepo.completeIfOwner(jobId, owner, logId, LocalDateTime.now()) == 0) {
+            log.warn("Ignored completion of analysis job {} from {}: lease lost", jobId, owner);
+        }
+    }
+
+    @Transactional
+    public void fail(Long jobId, String owner, String errorMessage) {
+        if (jobRepo.requeueIfOwner(jobId, owner, errorMessage, maxAttempts) == 0
+                && jobRepo.failIfOwner(jobId, owner, errorMessage, maxAttempts, LocalDateTime.now()) == 0) {
+            log.warn("Ignored failure of analysis job {} from {}: lease lost", jobId, owner);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public AnalysisJobRes getStatus(Long jobId) {
+        PlantAnalysisJob job = jobRepo.findById(jobId)
+                .orElseThrow(() -> new RuntimeException("해당 분석 작업을 찾을 수 없습니다."));
+        return new AnalysisJobRes(job.getId(), job.getStatus(), job.getLogId(), job.getAttempts(),
+                job.getErrorMessage(), job.getCreatedAt());
+    }
+}
@@ -0,0 +1,146 @@
+package cse.plant_care_chatbot.plant.service;
+
+import cse.plant_care_chatbot.global.common.RequestDeadline;
+import cse.plant_care_chatbot.plant.dto.PlantReportRes;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 작업 큐 워커 (analysis.jobs.worker.enabled=true 인 노드에서만 실행)
+ * - 빈 슬롯 수만큼만 작업을 가져옴 (동시 처리 수 = concurrency)
+ * - 처리 중인 작업은 heartbeat 마다 lease 를 연장, 노드가 죽으면 lease 만료 후 다른 워커가 재시도
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "analysis.jobs.worker.enabled", havingValue = "true")
+public class AnalysisJobWorker {
+
+    private final AnalysisJobQueue jobQueue;
+    private final PlantAnalysisPipeline analysisPipeline;
+
+    @Value("${analysis.jobs.worker.concurrency:4}")
+    private int concurrency;
+
+    @Value("${analysis.jobs.worker.poll-interval-ms:500}")
+    private long pollIntervalMs;
+
+    @Value("${analysis.jobs.lease-ms:120000}")
+    private long leaseMs;
+
+    @Value("${analysis.jobs.deadline-ms:90000}")
+    private long deadlineMs;
+
+    private final String workerId = workerId();
+    private final Set<Long> running = ConcurrentHashMap.newKeySet();
+    private final LongAdder processed = new LongAdder();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private volatile boolean stopped;
+    private Semaphore slots;
+
+    // Milvus 예열 등 ApplicationRunner 가 끝난 뒤 시작
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        slots = new Semaphore(concurrency);
+        Thread.ofVirtual().name("analysis-job-poller").start(this::pollLoop);
+        log.info("Analysis job worker started: {} (concurrency {})", workerId, concurrency);
+    }
+
+    @PreDestroy
+    void stop() {
+        stopped = true;
+        executor.shutdown();
+    }
+
+    private void pollLoop() {
+        while (!stopped) {
+            try {
+                slots.acquire();
+                int free = slots.availablePermits() + 1;
+                List<AnalysisJobQueue.ClaimedJob> jobs = jobQueue.claim(workerId, free, leaseMs);
+                if (jobs.isEmpty()) {
+                    slots.release();
+                    Thread.sleep(pollIntervalMs);
+                    continue;
+                }
+                // 첫 작업은 이미 잡은 슬롯 사용, 나머지는 남은 슬롯에서 가져감 (claim 수 <= 빈 슬롯 수)
+                for (int i = 0; i < jobs.size(); i++) {
+                    if (i > 0) slots.acquire();
+                    AnalysisJobQueue.ClaimedJob job = jobs.get(i);
+                    running.add(job.id());
+                    executor.submit(() -> process(job));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.warn("Analysis job poll failed: {}", e.getMessage());
+                slots.release();
+                sleepQuietly();
+            }
+        }
+    }
+
+    private void process(AnalysisJobQueue.ClaimedJob job) {
+        try {
+            PlantReportRes report = analysisPipeline.analyze(job.imageData(), job.mimeType(),
+                    job.userDescription() != null ? job.userDescription() : "",
+                    RequestDeadline.after(Duration.ofMillis(deadlineMs)));
+            jobQueue.complete(job.id(), workerId, report.logId());
+            processed.increment();
+        } catch (Exception e) {
+            log.warn("Analysis job {} failed: {}", job.id(), e.getMessage());
+            jobQueue.fail(job.id(), workerId, e.getMessage());
+        } finally {
+            running.remove(job.id());
+            slots.release();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${analysis.jobs.worker.heartbeat-ms:30000}")
+    void heartbeat() {
+        if (running.isEmpty()) return;
+        try {
+            jobQueue.renewLease(running, workerId, leaseMs);
+        } catch (Exception e) {
+            log.warn("Analysis job lease renewal failed: {}", e.getMessage());
+        }
+        log.debug("Analysis job worker {}: running={}, processed={}", workerId, running.size(), processed.sum());
+    }
+
+    private void sleepQuietly() {
+        try {
+            Thread.sleep(pollIntervalMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String workerId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "unknown";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
@@ -0,0 +1,173 @@
+package cse.plant_care_chatbot.plant.service;
+
+import cse.plant_care_chatbot.plant.dto.FeedbackType;
+import cse.plant_care_chatbot.plant.dto.PlantStatsRes;
+import cse.plant_care_chatbot.plant.entity.PlantAnalysisDailyStat;
+import cse.plant_care_chatbot.plant.entity.PlantAnalysisLog;
+import cse.plant_care_chatbot.plant.repository.PlantAnalysisDailyStatRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 분석 기록 일별 집계 (plant_analysis_daily_stat)
+ * - 분석 완료 시 (날짜, 종, 단계, NONE) 버킷 +1, 피드백 저장 시 이전 피드백 버킷 → 새 버킷으로 이동
+ * - 증분 갱신이 빠진 경우(장애, 재분석으로 점수 변경 등)를 위해 reconcile-cron 마다 최근 reconcile-days 일을
+ *   원본 기록에서 다시 계산해서 덮어씀 (오늘은 갱신 중이므로 제외)
+ * - 집계 테이블이 비어 있으면 기동 시 전체 기록으로 한 번 채움
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AnalysisStatsService {
+
+    static final String NO_FEEDBACK = "NONE";
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO plant_analysis_daily_stat
+                (stat_date, plant_name, growth_level, feedback_type, analysis_count, score_sum, score_count)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE
+                analysis_count = analysis_count + VALUES(analysis_count),
+                score_sum = score_sum + VALUES(score_sum),
+                score_count = score_count + VALUES(score_count)
+            """;
+
+    private static final String DELETE_RANGE_SQL = "DELETE FROM plant_analysis_daily_stat WHERE stat_date >= ? AND stat_date < ?";
+
+    // overall_score 컬럼이 생기기 전 기록은 저장된 리포트 JSON 에서 점수를 꺼냄
+    private static final String REBUILD_RANGE_SQL = """
+            INSERT INTO plant_analysis_daily_stat
+                (stat_date, plant_name, growth_level, feedback_type, analysis_count, score_sum, score_count)
+            SELECT DATE(s.created_at), s.plant_name, s.growth_level, s.feedback_type,
+                   COUNT(*), COALESCE(SUM(s.score), 0), COUNT(s.score)
+            FROM (
+                SELECT created_at,
+                       COALESCE(plant_name, '') AS plant_name,
+                       COALESCE(growth_level, '') AS growth_level,
+                       COALESCE(feedback_type, 'NONE') AS feedback_type,
+                       COALESCE(overall_score,
+                                CASE WHEN JSON_VALID(analysis_result)
+                                     THEN CAST(JSON_EXTRACT(analysis_result, '$.overallScore') AS SIGNED) END) AS score
+                FROM plant_analysis_log
+                WHERE (analysis_result IS NOT NULL OR archive_segment IS NOT NULL)
+                  AND created_at >= ? AND created_at < ?
+            ) s
+            GROUP BY DATE(s.created_at), s.plant_name, s.growth_level, s.feedback_type
+            """;
+
+    private final PlantAnalysisDailyStatRepository statRepo;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${stats.reconcile-days:2}")
+    private int reconcileDays;
+
+    @Value("${stats.default-range-days:30}")
+    private int defaultRangeDays;
+
+    /**
+     * 리포트가 저장된 기록 1건 반영 (점수가 없으면 개수만)
+     */
+    public void recordAnalysis(PlantAnalysisLog analysisLog, Integer overallScore) {
+        try {
+            add(analysisLog, NO_FEEDBACK, 1, overallScore);
+        } catch (Exception e) {
+            // 집계 실패로 분석 응답을 실패시키지 않음 (reconcile 에서 보정)
+            log.warn("Analysis stats update failed (log {}): {}", analysisLog.getId(), e.getMessage());
+        }
+    }
+
+    /**
+     * 피드백 변경 반영 (호출자의 트랜잭션에 참여). 리포트가 없는 기록은 집계 대상이 아니므로 무시
+     */
+    public void recordFeedback(PlantAnalysisLog analysisLog, FeedbackType previous, FeedbackType current) {
+        if (!analysisLog.hasResult() || previous == current) return;
+        add(analysisLog, previous != null ? previous.name() : NO_FEEDBACK, -1, analysisLog.getOverallScore());
+        add(analysisLog, current != null ? current.name() : NO_FEEDBACK, 1, analysisLog.getOverallScore());
+    }
+
+    private void add(PlantAnalysisLog analysisLog, String feedbackType, int delta, Integer score) {
+        LocalDate date = (analysisLog.getCreatedAt() != null ? analysisLog.getCreatedAt() : LocalDateTime.now()).toLocalDate();
+        jdbcTemplate.update(UPSERT_SQL,
+                date,
+                analysisLog.getPlantName() != null ? analysisLog.getPlantName() : "",
+                analysisLog.getGrowthLevel() != null ? analysisLog.getGrowthLevel() : "",
+                feedbackType,
+                delta,
+                score != null ? (long) score * delta : 0L,
+                score != null ? delta : 0);
+    }
+
+    public PlantStatsRes getStats(LocalDate from, LocalDate to, String plantName) {
+        LocalDate end = (to != null) ? to : LocalDate.now();
+        LocalDate start = (from != null) ? from : end.minusDays(defaultRangeDays - 1L);
+
+        long total = 0, scoreSum = 0, scoreCount = 0;
+        List<PlantStatsRes.Row> rows = new ArrayList<>();
+        for (PlantAnalysisDailyStat stat : statRepo.findRange(start, end, plantName)) {
+            if (stat.getAnalysisCount() == 0) continue;
+            total += stat.getAnalysisCount();
+            scoreSum += stat.getScoreSum();
+            scoreCount += stat.getScoreCount();
+            rows.add(new PlantStatsRes.Row(
+                    stat.getId().getStatDate(),
+                    stat.getId().getPlantName(),
+                    stat.getId().getGrowthLevel(),
+                    stat.getId().getFeedbackType(),
+                    stat.getAnalysisCount(),
+                    average(stat.getScoreSum(), stat.getScoreCount())
+            ));
+        }
+        return new PlantStatsRes(start, end, total, average(scoreSum, scoreCount), rows);
+    }
+
+    /**
+     * [from, to) 날짜 구간을 원본 기록에서 다시 계산 (삭제 + 재삽입을 한 트랜잭션으로)
+     */
+    public void rebuild(LocalDate from, LocalDate to) {
+        long started = System.currentTimeMillis();
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update(DELETE_RANGE_SQL, from, to);
+            jdbcTemplate.update(REBUILD_RANGE_SQL, from.atStartOfDay(), to.atStartOfDay());
+        });
+        log.info("📊 집계 재계산: {} ~ {} ({}ms)", from, to.minusDays(1), System.currentTimeMillis() - started);
+    }
+
+    @Scheduled(cron = "${stats.reconcile-cron:0 30 3 * * *}")
+    void reconcile() {
+        LocalDate today = LocalDate.now();
+        try {
+            rebuild(today.minusDays(reconcileDays), today);
+        } catch (Exception e) {
+            log.warn("Analysis stats reconcile failed: {}", e.getMessage());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        if (statRepo.count() > 0) return;
+        Thread.ofVirtual().name("analysis-stats-backfill").start(() -> {
+            try {
+                rebuild(LocalDate.of(2000, 1, 1), LocalDate.now().plusDays(1));
+            } catch (Exception e) {
+                log.warn("Analysis stats backfill failed: {}", e.getMessage());
+            }
+        });
+    }
+
+    private static Double average(long sum, long count) {
+        return count > 0 ? Math.round(sum * 10.0 / count) / 10.0 : null;
+    }
+}
@@ -2,44 +2,75 @@ package cse.plant_care_chatbot.plant.service;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import cse.plant_care_chatbot.plant.embedding.EmbeddingEngine;
+import cse.plant_care_chatbot.plant.embedding.VectorMath;
+import cse.plant_care_chatbot.global.common.RequestDeadline;
+import cse.plant_care_chatbot.plant.gemini.GeminiHedger;
+import cse.plant_care_chatbot.plant.gemini.GeminiPriority;
+import cse.plant_care_chatbot.plant.gemini.GeminiRequestScheduler;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClient;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
-public class GeminiEmbeddingService {
+@ConditionalOnProperty(name = "embedding.engine", havingValue = "gemini", matchIfMissing = true)
+public class GeminiEmbeddingService implements EmbeddingEngine {
 
-    @Value("${gemini.api.key}")
-    private String geminiApiKey;
+    @Value("${gemini.api.embedding-url:https://generativelanguage.googleapis.com/v1beta/models/gemini-embedding-001:embedContent}")
+    private String embeddingUrl;
 
-    private final String EMBEDDING_URL = "https://generativelanguage.googleapis.com/v1beta/models/gemini-embedding-001:embedContent";
+    @Value("${gemini.api.batch-embedding-url:https://generativelanguage.googleapis.com/v1beta/models/gemini-embedding-001:batchEmbedContents}")
+    private String batchEmbeddingUrl;
 
-    public List<Float> getEmbedding(String text) {
-        RestClient restClient = RestClient.create();
+    // outputDimensionality (Matryoshka 축소, 3072 미만이면 재정규화). 기본은 컬렉션 차원
+    @Value("${embedding.output-dimensionality:${milvus.text-dim:1024}}")
+    private int outputDimensionality;
+
+    private final GeminiHedger hedger;
+    private final GeminiRequestScheduler scheduler;
+
+    // 임베딩은 멱등 호출이므로 hedged request 대상 (쿼터 확보 후 HTTP 호출만 감쌈)
+    // 단건(분석 요청) 은 INTERACTIVE, 배치는 호출자가 지정 (적재 / 재분석은 BACKGROUND, 배치 분석 요청은 INTERACTIVE)
+    @Override
+    public List<Float> embed(String text, RequestDeadline deadline) {
+        return requestEmbedding(text, deadline);
+    }
+
+    @Override
+    public List<List<Float>> embedBatch(List<String> texts, GeminiPriority priority, RequestDeadline deadline) {
+        if (texts.isEmpty()) return new ArrayList<>();
+        return requestEmbeddings(texts, priority, deadline);
+    }
+
+    private List<Float> requestEmbedding(String text, RequestDeadline deadline) {
+        RestClient restClient = restClient(deadline);
 
         // 요청 바디 생성
-        Map<String, Object> requestBody = Map.of(
-                "model", "models/gemini-embedding-001",
-                "content", Map.of(
-                        "parts", List.of(Map.of("text", text))
-                )
-        );
+        Map<String, Object> requestBody = embedContentRequest(text);
 
         try {
-            String response = restClient.post()
-                    .uri(EMBEDDING_URL + "?key=" + geminiApiKey)
-                    .header("Content-Type", "application/json")
-                    .body(requestBody)
-                    .retrieve()
-                    .body(String.class);
+            int estimatedTokens = GeminiRequestScheduler.estimateTokens(text);
+            String response = scheduler.execute(GeminiPriority.INTERACTIVE, estimatedTokens, deadline,
+                    apiKey -> hedger.call(GeminiHedger.EMBEDDING,
+                            () -> restClient.post()
+                                    .uri(embeddingUrl + "?key=" + apiKey)
+                                    .header("Content-Type", "application/json")
+                                    .body(requestBody)
+                                    .retrieve()
+                                    .body(String.class),
+                            () -> scheduler.tryAcquireHedge(apiKey, estimatedTokens)));
 
             return parseEmbeddingResponse(response);
         } catch (Exception e) {
@@ -48,21 +79,77 @@ public class GeminiEmbeddingService {
         }
     }
 
-    private List<Float> parseEmbeddingResponse(String jsonResponse) {
+    /**
+     * 여러 텍스트를 batchEmbedContents 한 번으로 임베딩 (입력 순서 유지)
+     */
+    private List<List<Float>> requestEmbeddings(List<String> texts, GeminiPriority priority, RequestDeadline deadline) {
+        RestClient restClient = restClient(deadline);
+
+        List<Map<String, Object>> requests = texts.stream()
+                .map(this::embedContentRequest)
+                .toList();
+
         try {
+            int estimatedTokens = texts.stream().mapToInt(GeminiRequestScheduler::estimateTokens).sum();
+            String response = scheduler.execute(priority, estimatedTokens, deadline,
+                    apiKey -> hedger.call(GeminiHedger.EMBEDDING_BATCH,
+                            () -> restClient.post()
+                                    .uri(batchEmbeddingUrl + "?key=" + apiKey)
+                                    .header("Content-Type", "application/json")
+                                    .body(Map.of("requests", requests))
+                                    .retrieve()
+                                    .body(String.class),
+                            () -> scheduler.tryAcquireHedge(apiKey, estimatedTokens)));
+
             ObjectMapper mapper = new ObjectMapper();
-            JsonNode root = mapper.readTree(jsonResponse);
-            JsonNode values = root.path("embedding").path("values");
+            JsonNode embeddings = mapper.readTree(response).path("embeddings");
 
-            List<Float> vector = new ArrayList<>();
-            if (values.isArray()) {
-                for (JsonNode val : values) {
-                    vector.add((float) val.asDouble());
-                }
+            List<List<Float>> vectors = new ArrayList<>();
+            for (JsonNode embedding : embeddings) {
+                vectors.add(toVector(embedding.path("values")));
             }
-            return vector;
+            return vectors;
+        } catch (Exception e) {
+            log.error("Batch Embedding API Error", e);
+            throw new RuntimeException("임베딩 생성 실패");
+        }
+    }
+
+    // 남은 요청 시간 이상 기다리지 않음 (최대 60초)
+    private RestClient restClient(RequestDeadline deadline) {
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory();
+        requestFactory.setReadTimeout(deadline.capTimeout(Duration.ofSeconds(60)));
+        return RestClient.builder()
+                .requestFactory(requestFactory)
+                .build();
+    }
+
+    private List<Float> parseEmbeddingResponse(String jsonResponse) {
+        try {
+            ObjectMapper mapper = new ObjectMapper();
+            JsonNode root = mapper.readTree(jsonResponse);
+            return toVector(root.path("embedding").path("values"));
         } catch (Exception e) {
             throw new RuntimeException("임베딩 응답 파싱 실패", e);
         }
     }
-}
\ No newline at end of file
+
+    private Map<String, Object> embedContentRequest(String text) {
+        Map<String, Object> request = new LinkedHashMap<>();
+        request.put("model", "models/gemini-embedding-001");
+        request.put("content", Map.of("parts", List.of(Map.of("text", text))));
+        if (outputDimensionality > 0) {
+            request.put("outputDimensionality", outputDimensionality);
+        }
+        return request;
+    }
+
+    // values 배열 → 벡터 (3072 차원 미만은 정규화되어 오지 않으므로 정규화)
+    private List<Float> toVector(JsonNode values) {
+        float[] vector = new float[values.size()];
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] = (float) values.get(i).asDouble();
+        }
+        return VectorMath.toList(VectorMath.truncate(vector, outputDimensionality));
+    }
+}
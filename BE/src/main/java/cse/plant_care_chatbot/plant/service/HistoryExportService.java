@@ -0,0 +1,183 @@
+package cse.plant_care_chatbot.plant.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import cse.plant_care_chatbot.plant.archive.ResultArchive;
+import cse.plant_care_chatbot.plant.entity.PlantAnalysisLog;
+import cse.plant_care_chatbot.plant.repository.PlantAnalysisLogRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * 분석 기록 전체 내보내기 (NDJSON / CSV)
+ * - 전진 전용 커서로 한 행씩 읽어 바로 출력 스트림에 씀 → 행 수와 관계없이 메모리 사용량 일정
+ * - 행마다 영속성 컨텍스트에서 detach 해서 1차 캐시에 엔티티가 쌓이지 않게 함
+ * - analysisResult(JSON) 는 트리로 읽어 점수/키워드/지표 점수만 꺼냄
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class HistoryExportService {
+
+    public enum Format { NDJSON, CSV }
+
+    private static final String[] CSV_HEADER = {
+            "id", "createdAt", "plantName", "growthLevel", "userDescription", "originalImageUrl",
+            "feedbackType", "feedbackComment", "feedbackDate",
+            "overallScore", "partial", "keywords", "metricScores"
+    };
+
+    private final PlantAnalysisLogRepository logRepo;
+    private final EntityManager entityManager;
+    private final ResultArchive resultArchive;  // 보관된 리포트는 세그먼트에서 읽음
+    private final ObjectMapper objectMapper;
+
+    @Transactional(readOnly = true)
+    public long export(Format format, LocalDateTime from, LocalDateTime to, OutputStream out) throws IOException {
+        long rows = 0;
+        long started = System.nanoTime();
+
+        try (Stream<PlantAnalysisLog> logs = logRepo.streamByCreatedAtBetween(from, to)) {
+            if (format == Format.NDJSON) {
+                rows = writeNdjson(logs, out);
+            } else {
+                rows = writeCsv(logs, out);
+            }
+        }
+
+        log.info("📤 기록 내보내기 완료: {} {}건, {}ms", format, rows, (System.nanoTime() - started) / 1_000_000);
+        return rows;
+    }
+
+    private long writeNdjson(Stream<PlantAnalysisLog> logs, OutputStream out) throws IOException {
+        long rows = 0;
+        // 닫힘은 컨트롤러(응답 스트림)가 관리
+        JsonGenerator g = objectMapper.getFactory().createGenerator(out);
+        g.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        g.setRootValueSeparator(null);
+
+        for (PlantAnalysisLog row : (Iterable<PlantAnalysisLog>) logs::iterator) {
+            ReportFields report = parseReport(resultArchive.resultOf(row).orElse(null));
+
+            g.writeStartObject();
+            g.writeNumberField("id", row.getId());
+            g.writeStringField("createdAt", str(row.getCreatedAt()));
+            g.writeStringField("plantName", row.getPlantName());
+            g.writeStringField("growthLevel", row.getGrowthLevel());
+            g.writeStringField("userDescription", row.getUserDescription());
+            g.writeStringField("originalImageUrl", row.getOriginalImageUrl());
+            g.writeStringField("feedbackType", str(row.getFeedbackType()));
+            g.writeStringField("feedbackComment", row.getFeedbackComment());
+            g.writeStringField("feedbackDate", str(row.getFeedbackDate()));
+            if (report.overallScore() != null) {
+                g.writeNumberField("overallScore", report.overallScore());
+            } else {
+                g.writeNullField("overallScore");
+            }
+            g.writeBooleanField("partial", report.partial());
+            g.writeArrayFieldStart("keywords");
+            for (String keyword : report.keywords()) g.writeString(keyword);
+            g.writeEndArray();
+            g.writeObjectFieldStart("metricScores");
+            for (String[] metric : report.metricScores()) g.writeNumberField(metric[0], Integer.parseInt(metric[1]));
+            g.writeEndObject();
+            g.writeEndObject();
+            g.writeRaw('\n');
+
+            entityManager.detach(row);
+            rows++;
+        }
+        g.flush();
+        return rows;
+    }
+
+    private long writeCsv(Stream<PlantAnalysisLog> logs, OutputStream out) throws IOException {
+        long rows = 0;
+        Writer w = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 16 * 1024);
+        w.write('\uFEFF'); // 엑셀에서 한글이 깨지지 않도록 BOM
+        writeCsvLine(w, CSV_HEADER);
+
+        String[] cells = new String[CSV_HEADER.length];
+        for (PlantAnalysisLog row : (Iterable<PlantAnalysisLog>) logs::iterator) {
+            ReportFields report = parseReport(resultArchive.resultOf(row).orElse(null));
+
+            cells[0] = String.valueOf(row.getId());
+            cells[1] = str(row.getCreatedAt());
+            cells[2] = row.getPlantName();
+            cells[3] = row.getGrowthLevel();
+            cells[4] = row.getUserDescription();
+            cells[5] = row.getOriginalImageUrl();
+            cells[6] = str(row.getFeedbackType());
+            cells[7] = row.getFeedbackComment();
+            cells[8] = str(row.getFeedbackDate());
+            cells[9] = str(report.overallScore());
+            cells[10] = String.valueOf(report.partial());
+            cells[11] = String.join("|", report.keywords());
+            StringBuilder metrics = new StringBuilder();
+            for (String[] metric : report.metricScores()) {
+                if (!metrics.isEmpty()) metrics.append('|');
+                metrics.append(metric[0]).append('=').append(metric[1]);
+            }
+            cells[12] = metrics.toString();
+            writeCsvLine(w, cells);
+
+            entityManager.detach(row);
+            rows++;
+        }
+        w.flush();
+        return rows;
+    }
+
+    private void writeCsvLine(Writer w, String[] cells) throws IOException {
+        for (int i = 0; i < cells.length; i++) {
+            if (i > 0) w.write(',');
+            String cell = cells[i];
+            if (cell == null) continue;
+            if (cell.indexOf(',') >= 0 || cell.indexOf('"') >= 0 || cell.indexOf('\n') >= 0 || cell.indexOf('\r') >= 0) {
+                w.write('"');
+                w.write(cell.replace("\"", "\"\""));
+                w.write('"');
+            } else {
+                w.write(cell);
+            }
+        }
+        w.write("\r\n");
+    }
+
+    // 저장된 리포트 JSON 에서 내보낼 필드만 추출 (없거나 깨졌으면 빈 값)
+    private ReportFields parseReport(String analysisResult) {
+        if (analysisResult == null) return ReportFields.EMPTY;
+        try {
+            JsonNode root = objectMapper.readTree(analysisResult);
+            List<String> keywords = new ArrayList<>();
+            root.path("keywords").forEach(k -> keywords.add(k.asText()));
+            List<String[]> metrics = new ArrayList<>();
+            root.path("metricScores").forEach(m -> metrics.add(
+                    new String[]{m.path("sensorName").asText(), String.valueOf(m.path("score").asInt())}));
+            Integer score = root.hasNonNull("overallScore") ? root.get("overallScore").asInt() : null;
+            return new ReportFields(score, root.path("partial").asBoolean(false), keywords, metrics);
+        } catch (IOException e) {
+            log.debug("리포트 JSON 파싱 실패, 빈 값으로 내보냄: {}", e.getMessage());
+            return ReportFields.EMPTY;
+        }
+    }
+
+    private static String str(Object value) {
+        return value != null ? value.toString() : null;
+    }
+
+    private record ReportFields(Integer overallScore, boolean partial, List<String> keywords, List<String[]> metricScores) {
+        static final ReportFields EMPTY = new ReportFields(null, false, List.of(), List.of());
+    }
+}
@@ -1,7 +1,15 @@
 package cse.plant_care_chatbot.plant.service;
 
+import cse.plant_care_chatbot.global.common.RequestDeadline;
+import cse.plant_care_chatbot.global.config.MilvusClientPool;
+import cse.plant_care_chatbot.plant.dto.PlantSpecies;
 import cse.plant_care_chatbot.plant.dto.SensorComparisonRes;
-import io.milvus.client.MilvusServiceClient;
+import cse.plant_care_chatbot.plant.embedding.VectorMath;
+import cse.plant_care_chatbot.plant.milvus.MilvusExpr;
+import cse.plant_care_chatbot.plant.milvus.PlantCollectionLayout;
+import cse.plant_care_chatbot.plant.milvus.PlantVectorRow;
+import cse.plant_care_chatbot.plant.milvus.TextIndexSpec;
+import cse.plant_care_chatbot.plant.milvus.TunedSearchParams;
 import io.milvus.grpc.QueryResults;
 import io.milvus.grpc.SearchResults;
 import io.milvus.param.MetricType;
@@ -16,6 +24,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -24,11 +33,20 @@ import java.util.stream.Collectors;
 public class MilvusService {
 
     // Config에서 등록한 Bean 주입 (final 필수)
-    private final MilvusServiceClient milvusClient;
+    private final MilvusClientPool clientPool;
+    private final PlantCollectionLayout collectionLayout;
+    private final TunedSearchParams tunedParams;
 
     @Value("${milvus.collection-name}")
     private String collectionName;
 
+    // 요청 간 그룹 캐시 시간 (0 이면 사용 안 함, 켜면 센서 평균이 최대 TTL 만큼 늦게 반영됨)
+    @Value("${milvus.group-cache-ttl-seconds:0}")
+    private long groupCacheTtlSeconds;
+
+    // (종|성장단계) → better/worse 그룹 조회 결과 (group-cache-ttl-seconds > 0 일 때만)
+    private final Map<String, CachedGroups> groupCache = new ConcurrentHashMap<>();
+
     // 성장 단계 랭크 (DB 값과 정확히 일치해야 함: DIE, Low, Medium, High)
     private final Map<String, Integer> GROWTH_RANK = Map.of(
             "DIE", 0,
@@ -37,7 +55,7 @@ public class MilvusService {
             "High", 3
     );
 
-    private final String[] SENSOR_KEYS = {
+    public static final String[] SENSOR_KEYS = {
             "AirTemperature", "AirHumidity", "Co2", "Quantum",
             "HighSoilTemp", "HighSoilHumi", "LowSoilTemp", "LowSoilHumi"
     };
@@ -46,60 +64,169 @@ public class MilvusService {
      * 메인 분석 메서드 (Step 2)
      */
     public Map<String, Object> searchAndAnalyze(String plantName, String growthLevel, List<Float> queryVector) {
+        return searchAndAnalyze(plantName, growthLevel, queryVector, RequestDeadline.none());
+    }
+
+    public Map<String, Object> searchAndAnalyze(String plantName, String growthLevel, List<Float> queryVector,
+                                                RequestDeadline deadline) {
+        return searchAndAnalyzeBatch(plantName, List.of(growthLevel), List.of(queryVector), deadline).get(0);
+    }
+
+    /**
+     * 같은 종의 이미지 여러 장을 한 번에 분석 (Step 2 배치 버전, 입력 순서대로 결과 반환)
+     * - 유사 식물 검색: 질의 벡터 N개를 Milvus search 한 번으로 처리
+     * - 성장 단계별 그룹: 배치 안에서 (종, 단계) 조합마다 한 번만 조회
+     * - Milvus 호출은 요청 제한 시간 안에서만 기다림
+     */
+    public List<Map<String, Object>> searchAndAnalyzeBatch(String plantName, List<String> growthLevels, List<List<Float>> queryVectors,
+                                                           RequestDeadline deadline) {
         // 1. 유사 식물 검색 (Top 5)
-        List<Map<String, Object>> similarPlants = searchSimilar(queryVector, plantName, 5);
+        List<List<Map<String, Object>>> similarLists = searchSimilar(queryVectors, plantName, 5, deadline);
+
+        Map<String, Map<String, List<Map<String, Object>>>> batchGroups = new HashMap<>();
+        List<Map<String, Object>> results = new ArrayList<>();
+        for (int i = 0; i < queryVectors.size(); i++) {
+            List<Map<String, Object>> similarPlants = similarLists.get(i);
+
+            // 2. 성장 단계별 그룹 검색 (Better / Worse)
+            Map<String, List<Map<String, Object>>> groups = batchGroups.computeIfAbsent(growthLevels.get(i),
+                    level -> searchGroups(plantName, level, 5L, deadline, true));
 
-        // 2. 성장 단계별 그룹 검색 (Better / Worse)
-        Map<String, List<Map<String, Object>>> groups = searchGroups(plantName, growthLevel, 5L);
+            // 3. 결과 조합 (이미지 & 센서 분석)
+            List<String> topImages = similarPlants.stream()
+                    .limit(3)
+                    .map(p -> (String) p.get("image_name"))
+                    .collect(Collectors.toList());
 
-        // 3. 결과 조합 (이미지 & 센서 분석)
-        List<String> topImages = similarPlants.stream()
-                .limit(3)
-                .map(p -> (String) p.get("image_name"))
-                .collect(Collectors.toList());
+            List<SensorComparisonRes> analysis = compareSensors(similarPlants, groups);
 
-        List<SensorComparisonRes> analysis = compareSensors(similarPlants, groups);
+            results.add(Map.of("images", topImages, "analysis", analysis));
+        }
+        return results;
+    }
+
+    /**
+     * 기동 예열용: 분석과 같은 검색 / 그룹 조회를 실행하되 요청 간 그룹 캐시는 읽거나 채우지 않음
+     */
+    public void warmUp(String plantName, String growthLevel, List<Float> queryVector) {
+        searchSimilar(List.of(queryVector), plantName, 5, RequestDeadline.none());
+        searchGroups(plantName, growthLevel, 5L, RequestDeadline.none(), false);
+    }
 
-        return Map.of("images", topImages, "analysis", analysis);
+    /**
+     * 유사 식물 Top 5 의 센서 평균 (질의 벡터별). 실측 센서값이 있는 유사 식물이 없으면 null
+     * - 센서값이 없는 사용자 업로드를 색인할 때 센서 벡터를 보간하는 용도
+     */
+    public List<List<Float>> similarSensorAverages(String plantName, List<List<Float>> queryVectors) {
+        return searchSimilar(queryVectors, plantName, 5, RequestDeadline.none()).stream()
+                .map(similar -> calcAvg(measured(similar)))
+                .toList();
     }
 
     // =================================================================
     // 🔍 STEP 1: 유사 식물 검색 (Vector Search)
     // =================================================================
-    private List<Map<String, Object>> searchSimilar(List<Float> vector, String plantName, int topK) {
+    private List<List<Map<String, Object>>> searchSimilar(List<List<Float>> vectors, String plantName, int topK,
+                                                          RequestDeadline deadline) {
+        List<List<Map<String, Object>>> results = new ArrayList<>();
+
+        Optional<PlantSpecies> species = PlantSpecies.fromKoreanName(plantName);
+        if (species.isEmpty()) {
+            // 지원하지 않는 종(LLM 오답 포함)은 필터식에 넣지 않고 빈 결과로 처리
+            log.warn("Unknown plantName for Milvus search: {}", plantName);
+            vectors.forEach(v -> results.add(new ArrayList<>()));
+            return results;
+        }
+
+        // 종별 튜닝 결과(nprobe / ef)가 있으면 그 값으로 검색
+        TextIndexSpec textIndex = tunedParams.specFor(species.get(), collectionLayout.getTextIndex());
+        List<List<SearchResultsWrapper.IDScore>> scoreLists =
+                search(vectors, species.get(), topK, textIndex, Arrays.asList("image_name", "sensor_vector", "place"), deadline);
+
+        for (List<SearchResultsWrapper.IDScore> scores : scoreLists) {
+            // 검색 결과가 없는 경우 빈 리스트
+            results.add(scores.stream().map(score -> {
+                Map<String, Object> m = new HashMap<>();
+                m.put("image_name", score.get("image_name"));
+                m.put("sensor_vector", score.get("sensor_vector"));
+                m.put("place", score.get("place"));
+                return m;
+            }).collect(Collectors.toList()));
+        }
+        return results;
+    }
+
+    /**
+     * 유사 식물 검색과 같은 경로로 지정한 검색 구성의 결과 id 만 반환 (검색 파라미터 튜닝용)
+     */
+    public List<List<Long>> searchSimilarIds(PlantSpecies species, List<List<Float>> vectors, int topK, TextIndexSpec textIndex) {
+        return search(vectors, species, topK, textIndex, List.of(), RequestDeadline.none()).stream()
+                .map(scores -> scores.stream().map(SearchResultsWrapper.IDScore::getLongID).toList())
+                .toList();
+    }
+
+    // 인덱스 종류별 검색 파라미터, rerank 면 후보를 더 가져와 원본 벡터로 다시 정렬
+    private List<List<SearchResultsWrapper.IDScore>> search(List<List<Float>> vectors, PlantSpecies species, int topK,
+                                                            TextIndexSpec textIndex, List<String> fields,
+                                                            RequestDeadline deadline) {
+        int candidates = textIndex.candidates(topK);
+        List<String> outFields = new ArrayList<>(fields); // 필요한 필드만 가져오기
+        if (textIndex.rerank()) {
+            outFields.add("text_vector");
+        }
+
         SearchParam searchParam = SearchParam.newBuilder()
                 .withCollectionName(collectionName)
+                .withPartitionNames(collectionLayout.partitionsFor(species)) // PARTITION 모드면 해당 종 파티션만 검색
                 .withMetricType(MetricType.COSINE)
-                .withOutFields(Arrays.asList("image_name", "sensor_vector")) // 필요한 필드만 가져오기
-                .withTopK(topK)
-                .withVectors(Collections.singletonList(vector))
+                .withOutFields(outFields)
+                .withTopK(candidates)
+                .withVectors(vectors) // 질의 벡터 여러 개를 한 번에 검색
                 .withVectorFieldName("text_vector")
-                .withExpr(String.format("plant_name == '%s'", plantName)) // 같은 식물 종 내에서만 검색
-                .withParams("{\"nprobe\": 32}")
+                .withExpr(MilvusExpr.eq("plant_name", species.getKoreanName())) // 같은 식물 종 내에서만 검색 (partition key 라우팅)
+                .withParams(textIndex.searchParams(candidates))
                 .build();
 
-        R<SearchResults> response = milvusClient.search(searchParam);
+        long start = System.nanoTime();
+        R<SearchResults> response = clientPool.next(deadline).search(searchParam);
         handleMilvusError(response);
+        log.debug("Milvus search {} x{} ({}, {}) took {} ms", species, vectors.size(),
+                collectionLayout.getPartitionMode(), textIndex.searchParams(candidates),
+                (System.nanoTime() - start) / 1_000_000);
 
         SearchResultsWrapper wrapper = new SearchResultsWrapper(response.getData().getResults());
 
-        // 검색 결과가 없는 경우 빈 리스트 반환
-        if (wrapper.getIDScore(0).isEmpty()) {
-            return new ArrayList<>();
+        List<List<SearchResultsWrapper.IDScore>> results = new ArrayList<>(vectors.size());
+        for (int i = 0; i < vectors.size(); i++) {
+            List<SearchResultsWrapper.IDScore> scores = wrapper.getIDScore(i);
+            results.add(textIndex.rerank() ? rerank(vectors.get(i), scores, topK) : scores);
         }
+        return results;
+    }
 
-        return wrapper.getIDScore(0).stream().map(score -> {
-            Map<String, Object> m = new HashMap<>();
-            m.put("image_name", score.get("image_name"));
-            m.put("sensor_vector", score.get("sensor_vector"));
-            return m;
-        }).collect(Collectors.toList());
+    // 양자화 인덱스의 근사 점수 대신 원본 text_vector 와의 코사인으로 다시 정렬해 topK 만 남김
+    @SuppressWarnings("unchecked")
+    private List<SearchResultsWrapper.IDScore> rerank(List<Float> query, List<SearchResultsWrapper.IDScore> scores, int topK) {
+        return scores.stream()
+                .sorted(Comparator.comparingDouble(
+                        (SearchResultsWrapper.IDScore score) -> -VectorMath.cosine(query, (List<Float>) score.get("text_vector"))))
+                .limit(topK)
+                .toList();
     }
 
     // =================================================================
     // 🔍 STEP 2: 성장 단계별 그룹 검색 (Scalar Query)
     // =================================================================
-    private Map<String, List<Map<String, Object>>> searchGroups(String plantName, String currentLevel, Long limit) {
+    private Map<String, List<Map<String, Object>>> searchGroups(String plantName, String currentLevel, Long limit,
+                                                                RequestDeadline deadline, boolean useCache) {
+        // 요청 간 캐시를 켠 경우 같은 (종, 단계) 조합은 TTL 동안 재사용
+        boolean cacheable = useCache && groupCacheTtlSeconds > 0;
+        String cacheKey = plantName + "|" + currentLevel;
+        CachedGroups cached = cacheable ? groupCache.get(cacheKey) : null;
+        if (cached != null && cached.expiresAt() > System.currentTimeMillis()) {
+            return cached.groups();
+        }
+
         int currentRank = GROWTH_RANK.getOrDefault(currentLevel, -1);
 
         // 1. 더 잘 자란 그룹 (Better): 현재 등급보다 높은 랭크 필터링
@@ -115,32 +242,43 @@ public class MilvusService {
                 .toList();
 
         Map<String, List<Map<String, Object>>> result = new HashMap<>();
-        result.put("better", queryByLevels(plantName, betterLevels, limit));
-        result.put("worse", queryByLevels(plantName, worseLevels, limit));
+        result.put("better", queryByLevels(plantName, betterLevels, limit, deadline));
+        result.put("worse", queryByLevels(plantName, worseLevels, limit, deadline));
 
+        if (cacheable) {
+            groupCache.put(cacheKey, new CachedGroups(result, System.currentTimeMillis() + groupCacheTtlSeconds * 1000));
+        }
         return result;
     }
 
     // 특정 레벨 리스트에 해당하는 식물들의 센서 데이터 조회
-    private List<Map<String, Object>> queryByLevels(String plantName, List<String> levels, Long limit) {
+    private List<Map<String, Object>> queryByLevels(String plantName, List<String> levels, Long limit,
+                                                    RequestDeadline deadline) {
         if (levels.isEmpty()) return Collections.emptyList();
 
-        // Query 표현식 생성: (growth_level == 'A' or growth_level == 'B')
-        String levelExpr = levels.stream()
-                .map(l -> String.format("growth_level == '%s'", l))
-                .collect(Collectors.joining(" or "));
+        Optional<PlantSpecies> species = PlantSpecies.fromKoreanName(plantName);
+        if (species.isEmpty()) return Collections.emptyList();
 
-        String expr = String.format("plant_name == '%s' and (%s)", plantName, levelExpr);
+        // Query 표현식 생성: (plant_name == "A") and (growth_level in ["B", "C"]) and (place != "사용자")
+        // 피드백 색인 행의 센서값은 유사 식물 평균으로 보간한 값이라 그룹 평균에 넣으면 실측 분포가 흐려짐
+        String expr = MilvusExpr.and(
+                MilvusExpr.eq("plant_name", species.get().getKoreanName()),
+                MilvusExpr.in("growth_level", levels),
+                MilvusExpr.ne("place", PlantVectorRow.USER_PLACE)
+        );
 
         QueryParam queryParam = QueryParam.newBuilder()
                 .withCollectionName(collectionName)
+                .withPartitionNames(collectionLayout.partitionsFor(species.get()))
                 .withExpr(expr)
                 .withOutFields(Collections.singletonList("sensor_vector")) // 센서값만 필요
                 .withLimit(limit)
                 .build();
 
-        R<QueryResults> response = milvusClient.query(queryParam);
+        long start = System.nanoTime();
+        R<QueryResults> response = clientPool.next(deadline).query(queryParam);
         handleMilvusError(response);
+        log.debug("Milvus query {} {} took {} ms", species.get(), levels, (System.nanoTime() - start) / 1_000_000);
 
         QueryResultsWrapper wrapper = new QueryResultsWrapper(response.getData());
         List<Map<String, Object>> list = new ArrayList<>();
@@ -159,7 +297,7 @@ public class MilvusService {
     // 📊 STEP 3: 센서 데이터 비교 및 조언 생성
     // =================================================================
     private List<SensorComparisonRes> compareSensors(List<Map<String, Object>> similar, Map<String, List<Map<String, Object>>> groups) {
-        List<Float> simAvg = calcAvg(similar);
+        List<Float> simAvg = calcAvg(measured(similar));
         List<Float> betterAvg = calcAvg(groups.get("better"));
         List<Float> worseAvg = calcAvg(groups.get("worse"));
 
@@ -176,11 +314,18 @@ public class MilvusService {
             Double b = (betterAvg != null) ? (double) Math.round(betterAvg.get(i) * 100) / 100.0 : null;
             Double w = (worseAvg != null) ? (double) Math.round(worseAvg.get(i) * 100) / 100.0 : null;
 
-            result.add(new SensorComparisonRes(SENSOR_KEYS[i], s, b, w));
+            result.add(new SensorComparisonRes(SENSOR_KEYS[i], s, b, w, null));
         }
         return result;
     }
 
+    // 사용자 피드백 행의 sensor_vector 는 유사 식물 평균으로 보간한 값이라 센서 평균에서는 제외 (이미지 추천에는 사용)
+    private List<Map<String, Object>> measured(List<Map<String, Object>> similar) {
+        return similar.stream()
+                .filter(m -> !PlantVectorRow.USER_PLACE.equals(m.get("place")))
+                .toList();
+    }
+
     // 벡터 리스트의 평균 계산
     private List<Float> calcAvg(List<Map<String, Object>> list) {
         if (list == null || list.isEmpty()) return null;
@@ -204,6 +349,8 @@ public class MilvusService {
         return avg;
     }
 
+    private record CachedGroups(Map<String, List<Map<String, Object>>> groups, long expiresAt) {}
+
     // Milvus 에러 핸들링
     private void handleMilvusError(R<?> response) {
         if (response.getStatus() != R.Status.Success.getCode()) {
@@ -0,0 +1,205 @@
+package cse.plant_care_chatbot.plant.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import cse.plant_care_chatbot.global.common.RequestDeadline;
+import cse.plant_care_chatbot.plant.dto.GeminiAnalysisResult;
+import cse.plant_care_chatbot.plant.dto.PlantAnalysisSavedEvent;
+import cse.plant_care_chatbot.plant.dto.PlantReportRes;
+import cse.plant_care_chatbot.plant.dto.SensorComparisonRes;
+import cse.plant_care_chatbot.plant.embedding.EmbeddingEngine;
+import cse.plant_care_chatbot.plant.entity.PlantAnalysisLog;
+import cse.plant_care_chatbot.plant.image.ImageStore;
+import cse.plant_care_chatbot.plant.image.NearDuplicateIndex;
+import cse.plant_care_chatbot.plant.image.PerceptualHash;
+import cse.plant_care_chatbot.plant.repository.PlantAnalysisLogRepository;
+import cse.plant_care_chatbot.plant.telemetry.TelemetryStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * 이미지 1장 분석 흐름 (Step 1 ~ 3 + 로그 저장)
+ * 단건 API / 배치 API 가 같은 단계를 공유하도록 컨트롤러에서 분리
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PlantAnalysisPipeline {
+
+    private final PlantService plantService;           // Step 1: 이미지 분석
+    private final PlantAnalysisLogRepository logRepo;  // 로그 저장
+    private final EmbeddingEngine embeddingEngine;     // 임베딩 (gemini / onnx)
+    private final MilvusService milvusService;         // Step 2: 검색 & 센서 비교
+    private final PlantAnalysisService reportService;  // Step 3: 최종 리포트 생성
+    private final ImageStore imageStore;               // 업로드 이미지 보관
+    private final TelemetryStore telemetryStore;       // 실측 센서 (plantId 지정 시)
+    private final NearDuplicateIndex nearDuplicates;   // 같은 plantId 의 거의 같은 사진이면 이전 이미지 분석 재사용
+    private final AnalysisStatsService statsService;   // 일별 집계
+
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+
+    public PlantReportRes analyze(byte[] imageBytes, String mimeType, String description,
+                                  RequestDeadline deadline) throws IOException {
+        return analyze(imageBytes, mimeType, description, null, deadline);
+    }
+
+    /**
+     * plantId 가 주어지고 해당 식물의 텔레메트리가 있으면 센서 비교/점수에 실측 평균을 사용한다.
+     */
+    public PlantReportRes analyze(byte[] imageBytes, String mimeType, String description, String plantId,
+                                  RequestDeadline deadline) throws IOException {
+        return analyze(imageBytes, mimeType, description, plantId, deadline, StageListener.NONE);
+    }
+
+    /**
+     * Step 1, 2 결과를 끝나는 대로 listener 에 넘긴다 (gRPC 단계별 스트리밍용)
+     */
+    @SuppressWarnings("unchecked")
+    public PlantReportRes analyze(byte[] imageBytes, String mimeType, String description, String plantId,
+                                  RequestDeadline deadline, StageListener listener) throws IOException {
+        Long hash = nearDuplicates.isEnabled() ? PerceptualHash.dHash(imageBytes).orElse(null) : null;
+
+        // 1️⃣ Step 1: Gemini 이미지 분석 (같은 식물의 거의 같은 사진을 최근에 분석했으면 그 결과를 재사용)
+        // 재사용하는 것은 종/성장 단계/캡션뿐이고, 검색과 조언(Step 2, 3)은 이번 요청의 설명으로 새로 만듦
+        GeminiAnalysisResult geminiRes = reusableVision(plantId, hash)
+                .orElseGet(() -> plantService.analyzePlant(imageBytes, mimeType, description, deadline));
+
+        // 💾 DB 저장
+        PlantAnalysisLog log = saveLog(geminiRes, description, imageBytes, mimeType, hash, plantId);
+        listener.onVision(log.getId(), geminiRes);
+
+        // 2️⃣ Step 2: Milvus 검색 및 센서 데이터 비교
+        Map<String, Object> milvusResult = searchAndAnalyze(geminiRes, deadline);
+        listener.onSimilar((List<String>) milvusResult.get("images"),
+                withLiveTelemetry((List<SensorComparisonRes>) milvusResult.get("analysis"), plantId));
+
+        // 3️⃣ Step 3: 최종 리포트 생성
+        return completeReport(log, geminiRes, description, milvusResult, plantId, deadline);
+    }
+
+    // 임베딩 / Milvus 가 제한 시간을 다 쓰면 유사 식물 없이 진행 → Step 3 에서 부분 리포트로 응답
+    private Map<String, Object> searchAndAnalyze(GeminiAnalysisResult geminiRes, RequestDeadline deadline) {
+        try {
+            List<Float> captionVector = embeddingEngine.embed(geminiRes.caption(), deadline);
+            return milvusService.searchAndAnalyze(
+                    geminiRes.plantName(),
+                    geminiRes.growthLevel(),
+                    captionVector,
+                    deadline
+            );
+        } catch (RuntimeException e) {
+            if (!deadline.isExpired()) throw e;
+            log.warn("Step 2 skipped: deadline exceeded ({})", e.getMessage());
+            return Map.of("images", List.of(), "analysis", List.of());
+        }
+    }
+
+    public PlantAnalysisLog saveLog(GeminiAnalysisResult geminiRes, String description, byte[] imageBytes, String mimeType) {
+        Long hash = nearDuplicates.isEnabled() ? PerceptualHash.dHash(imageBytes).orElse(null) : null;
+        return saveLog(geminiRes, description, imageBytes, mimeType, hash, null);
+    }
+
+    private PlantAnalysisLog saveLog(GeminiAnalysisResult geminiRes, String description, byte[] imageBytes,
+                                     String mimeType, Long hash, String plantId) {
+        PlantAnalysisLog saved = logRepo.save(PlantAnalysisLog.builder()
+                .plantName(geminiRes.plantName())
+                .growthLevel(geminiRes.growthLevel())
+                .caption(geminiRes.caption())
+                .userDescription(description)
+                .originalImageUrl(imageStore.saveUpload(imageBytes, mimeType))
+                .perceptualHash(hash)
+                .plantId(plantId)
+                .build());
+        if (hash != null) {
+            nearDuplicates.add(plantId, hash, saved.getId());
+        }
+        eventPublisher.publishEvent(new PlantAnalysisSavedEvent(saved.getId()));
+        return saved;
+    }
+
+    // 같은 plantId 의 근접 중복 사진 기록에서 Step 1 결과를 복원 (기록이 없거나 비어 있으면 empty)
+    private Optional<GeminiAnalysisResult> reusableVision(String plantId, Long hash) {
+        if (hash == null) return Optional.empty();
+        return nearDuplicates.findNear(plantId, hash)
+                .flatMap(logRepo::findById)
+                .filter(prev -> Objects.equals(prev.getPlantId(), plantId))
+                .filter(prev -> prev.getPlantName() != null && prev.getGrowthLevel() != null && prev.getCaption() != null)
+                .map(prev -> {
+                    log.info("🔁 근접 중복 이미지: 기록 {} 의 이미지 분석 결과 재사용", prev.getId());
+                    return new GeminiAnalysisResult(prev.getPlantName(), prev.getGrowthLevel(), prev.getCaption());
+                });
+    }
+
+    /**
+     * Step 3: 점수 계산 + 상세 가이드 생성 후 로그에 결과 저장
+     * 남은 시간이 부족하면 LLM 조언 없이 부분 리포트(partial=true)를 저장한다.
+     */
+    public PlantReportRes completeReport(PlantAnalysisLog log, GeminiAnalysisResult geminiRes, String description,
+                                         Map<String, Object> milvusResult, RequestDeadline deadline) throws IOException {
+        return completeReport(log, geminiRes, description, milvusResult, null, deadline);
+    }
+
+    @SuppressWarnings("unchecked")
+    public PlantReportRes completeReport(PlantAnalysisLog log, GeminiAnalysisResult geminiRes, String description,
+                                         Map<String, Object> milvusResult, String plantId,
+                                         RequestDeadline deadline) throws IOException {
+        List<String> similarImages = (List<String>) milvusResult.get("images");
+        List<SensorComparisonRes> sensorAnalysis = withLiveTelemetry(
+                (List<SensorComparisonRes>) milvusResult.get("analysis"), plantId);
+
+        PlantReportRes finalReport = reportService.generateReport(
+                log.getId(),
+                geminiRes.plantName(),
+                geminiRes.growthLevel(),
+                geminiRes.caption(),
+                description,
+                similarImages,
+                sensorAnalysis,
+                deadline
+        );
+
+        String resultJson = objectMapper.writeValueAsString(finalReport);
+        log.updateResult(resultJson, finalReport.overallScore());
+        logRepo.save(log);
+        statsService.recordAnalysis(log, finalReport.overallScore());
+
+        return finalReport;
+    }
+
+    /**
+     * 분석 단계별 결과 수신 (기본은 무시)
+     */
+    public interface StageListener {
+
+        StageListener NONE = new StageListener() {};
+
+        // Step 1 결과, 로그 저장 직후
+        default void onVision(Long logId, GeminiAnalysisResult geminiRes) {}
+
+        // Step 2 결과 (센서 비교에는 실측 평균 포함)
+        default void onSimilar(List<String> similarImages, List<SensorComparisonRes> sensorAnalysis) {}
+    }
+
+    // SENSOR_KEYS 순서로 만들어진 비교 결과에 실측 평균을 채움 (텔레메트리가 없으면 그대로)
+    private List<SensorComparisonRes> withLiveTelemetry(List<SensorComparisonRes> sensorAnalysis, String plantId) {
+        if (sensorAnalysis == null) return null;
+        return telemetryStore.liveMeans(plantId)
+                .map(means -> {
+                    List<SensorComparisonRes> enriched = new ArrayList<>(sensorAnalysis.size());
+                    for (int i = 0; i < sensorAnalysis.size(); i++) {
+                        enriched.add(sensorAnalysis.get(i).withLiveAvg(i < means.length ? means[i] : null));
+                    }
+                    return enriched;
+                })
+                .orElse(sensorAnalysis);
+    }
+}
@@ -1,10 +1,15 @@
 package cse.plant_care_chatbot.plant.service;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import cse.plant_care_chatbot.global.common.RequestDeadline;
 import cse.plant_care_chatbot.plant.dto.PlantReportRes;
 import cse.plant_care_chatbot.plant.dto.SensorComparisonRes;
+import cse.plant_care_chatbot.plant.gemini.GeminiContextCache;
+import cse.plant_care_chatbot.plant.gemini.GeminiHedger;
+import cse.plant_care_chatbot.plant.gemini.GeminiPriority;
+import cse.plant_care_chatbot.plant.gemini.GeminiRequestScheduler;
+import cse.plant_care_chatbot.plant.gemini.GeminiResponseReader;
+import cse.plant_care_chatbot.plant.gemini.GeminiSchemas;
+import cse.plant_care_chatbot.plant.image.ImageStore;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -21,16 +26,43 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class PlantAnalysisService {
 
-    @Value("${gemini.api.key}")
-    private String geminiApiKey;
-
     @Value("${gemini.api.url}")
     private String geminiApiUrl;
 
-    private final ObjectMapper objectMapper;
+    // 남은 시간이 이보다 짧으면 조언 생성을 건너뜀 (advice p95 가 더 크면 p95 기준)
+    @Value("${analysis.advice-min-budget-ms:3000}")
+    private long adviceMinBudgetMs;
+
+    private final GeminiHedger hedger;
+    private final GeminiRequestScheduler scheduler;
+    private final GeminiResponseReader responseReader;
+    private final GeminiContextCache contextCache;
+    private final AdvicePromptAssembler promptAssembler;
+    private final ImageStore imageStore;
+
+    // (종|단계|주요 이슈) → 최근 성공한 조언. 부분 리포트의 가이드로 재사용
+    private final Map<String, GeminiResponse> adviceCache = Collections.synchronizedMap(
+            new LinkedHashMap<String, GeminiResponse>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, GeminiResponse> eldest) {
+                    return size() > 256;
+                }
+            });
+
+    public PlantReportRes generateReport(Long logId, String plantName, String growthLevel, String caption, String userDescription,
+                                         List<String> similarImages, List<SensorComparisonRes> sensorData,
+                                         RequestDeadline deadline) {
+        return generateReport(logId, plantName, growthLevel, caption, userDescription, similarImages, sensorData,
+                deadline, GeminiPriority.INTERACTIVE);
+    }
 
+    /**
+     * priority 가 BACKGROUND 면 조언 호출을 RPM 여유분(interactive-reserve 제외)에서만 보내고
+     * 토큰 사용량을 advice-background 로 따로 집계한다 (일괄 재분석용)
+     */
     public PlantReportRes generateReport(Long logId, String plantName, String growthLevel, String caption, String userDescription,
-                                         List<String> similarImages, List<SensorComparisonRes> sensorData) {
+                                         List<String> similarImages, List<SensorComparisonRes> sensorData,
+                                         RequestDeadline deadline, GeminiPriority priority) {
 
         // 1. 점수 계산
         List<PlantReportRes.MetricScore> metricScores = calculateMetricScores(sensorData);
@@ -41,8 +73,27 @@ public class PlantAnalysisService {
         // 3. 편차가 큰 Top 3 센서 찾기
         List<SensorComparisonRes> topIssues = findTopIssues(sensorData);
 
-        // 4. Gemini에게 조언 요청 (구조화된 응답 요청)
-        GeminiResponse llmResponse = askGeminiForAdvice(plantName, growthLevel, caption, userDescription, sensorData, topIssues);
+        String cacheKey = plantName + "|" + growthLevel + "|"
+                + topIssues.stream().map(SensorComparisonRes::sensorName).collect(Collectors.joining(","));
+
+        // 4. 남은 시간으로 조언 생성이 어려우면 로컬 계산 결과만으로 부분 리포트
+        long expected = Math.max(adviceMinBudgetMs, hedger.p95Millis(GeminiHedger.ADVICE));
+        if (deadline.remainingMillis() < expected) {
+            log.warn("Advice skipped: remaining {} ms < expected {} ms (logId={})", deadline.remainingMillis(), expected, logId);
+            return partialReport(logId, plantName, overallScore, metricScores, caption, similarImages, cacheKey,
+                PartialReason.DEADLINE);
+        }
+
+        // 5. Gemini에게 조언 요청 (구조화된 응답 요청)
+        GeminiResponse llmResponse = askGeminiForAdvice(plantName, growthLevel, caption, userDescription, sensorData, topIssues,
+                deadline, priority);
+        if (llmResponse == null) {
+            return partialReport(logId, plantName, overallScore, metricScores, caption, similarImages, cacheKey,
+                    PartialReason.ADVICE_FAILED);
+        }
+        if (llmResponse.careGuide() != null && !llmResponse.careGuide().isEmpty()) {
+            adviceCache.put(cacheKey, llmResponse);
+        }
 
         return new PlantReportRes(
                 logId,
@@ -53,7 +104,52 @@ public class PlantAnalysisService {
                 llmResponse.analysis(),
                 llmResponse.keywords(),
                 llmResponse.careGuide(),
-                similarImages
+                similarImages,
+                similarImages.stream().map(imageStore::linksFor).toList(),
+                false
+        );
+    }
+
+    // 부분 리포트가 된 이유별 분석 문구
+    private enum PartialReason {
+        DEADLINE("응답 시간 제한으로 상세 분석을 생략했습니다."),  // 남은 시간이 조언 생성 예상 시간보다 짧음
+        ADVICE_FAILED("상세 분석을 생성하지 못했습니다.");       // Gemini 오류 / 시간 초과 / 스키마 불일치
+
+        private final String message;
+
+        PartialReason(String message) {
+            this.message = message;
+        }
+    }
+
+    // LLM 조언 없이 점수 + 캐시된 가이드로 구성한 리포트
+    private PlantReportRes partialReport(Long logId, String plantName, int overallScore,
+                                         List<PlantReportRes.MetricScore> metricScores, String caption,
+                                         List<String> similarImages, String cacheKey, PartialReason reason) {
+        List<String> keywords = metricScores.stream()
+                .filter(m -> !"적정".equals(m.status()))
+                .sorted(Comparator.comparingInt(PlantReportRes.MetricScore::score))
+                .limit(5)
+                .map(m -> m.sensorName() + " " + m.status())
+                .collect(Collectors.toList());
+
+        GeminiResponse cached = adviceCache.get(cacheKey);
+        List<PlantReportRes.CareGuide> careGuide = (cached != null)
+                ? cached.careGuide()
+                : List.of(new PlantReportRes.CareGuide("안내", "센서 점수를 참고해 환경을 조정하고, 잠시 후 다시 분석해 주세요."));
+
+        return new PlantReportRes(
+                logId,
+                plantName,
+                overallScore,
+                metricScores,
+                caption,
+                reason.message + " 아래 지표별 점수를 참고해 주세요.",
+                keywords,
+                careGuide,
+                similarImages,
+                similarImages.stream().map(imageStore::linksFor).toList(),
+                true
         );
     }
 
@@ -63,128 +159,58 @@ public class PlantAnalysisService {
     // --- [로직 4] Gemini API 호출 ---
     private GeminiResponse askGeminiForAdvice(String plantName, String level, String caption, String userDescription,
                                               List<SensorComparisonRes> allSensors,
-                                              List<SensorComparisonRes> topIssues) {
-        String prompt = createSystemPrompt(plantName, level, caption, userDescription, allSensors, topIssues);
-
-        Map<String, Object> requestBody = Map.of(
-                "contents", List.of(Map.of("parts", List.of(Map.of("text", prompt))))
-        );
+                                              List<SensorComparisonRes> topIssues,
+                                              RequestDeadline deadline, GeminiPriority priority) {
+        AdvicePromptAssembler.AdvicePrompt prompt =
+                promptAssembler.assemble(plantName, level, caption, userDescription, allSensors, topIssues);
 
+        // 남은 요청 시간 이상 기다리지 않음 (최대 60초)
         JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory();
-        requestFactory.setReadTimeout(Duration.ofSeconds(60));
+        requestFactory.setReadTimeout(deadline.capTimeout(Duration.ofSeconds(60)));
 
         RestClient restClient = RestClient.builder()
                 .requestFactory(requestFactory)
                 .build();
 
         try {
-            String response = restClient.post()
-                    .uri(geminiApiUrl + "?key=" + geminiApiKey)
-                    .header("Content-Type", "application/json")
-                    .body(requestBody)
-                    .retrieve()
-                    .body(String.class);
-
-            return parseGeminiResponse(response);
+            int estimatedTokens = GeminiRequestScheduler.estimateTokens(prompt.systemInstruction() + prompt.userPrompt()) + 800;
+            String operation = (priority == GeminiPriority.BACKGROUND) ? GeminiHedger.ADVICE_BACKGROUND : GeminiHedger.ADVICE;
+            byte[] response = scheduler.execute(priority, estimatedTokens, deadline,
+                    apiKey -> hedger.call(operation,
+                            () -> restClient.post()
+                                    .uri(geminiApiUrl + "?key=" + apiKey)
+                                    .header("Content-Type", "application/json")
+                                    .body(createRequestBody(apiKey, prompt))
+                                    .retrieve()
+                                    .body(byte[].class),
+                            () -> scheduler.tryAcquireHedge(apiKey, estimatedTokens)));
+
+            return responseReader.read(response, GeminiResponse.class, operation);
         } catch (Exception e) {
             log.error("Gemini Advice Error : {}", e.getMessage());
-            // 에러 시 기본값 반환
-            return new GeminiResponse(
-                    "AI 분석 서버 연결 지연으로 분석 정보를 불러오지 못했습니다.",
-                    List.of("분석 실패"),
-                    List.of(new PlantReportRes.CareGuide("안내", "잠시 후 다시 시도해주세요."))
-            );
-        }
-    }
-
-    private String createSystemPrompt(String plantName, String level, String caption, String userDescription,
-                                      List<SensorComparisonRes> allSensors,
-                                      List<SensorComparisonRes> issues) {
-        StringBuilder sensorInfo = new StringBuilder();
-        for (SensorComparisonRes s : allSensors) {
-            double sim = s.similarAvg() != null ? s.similarAvg() : 0;
-            double better = s.betterAvg() != null ? s.betterAvg() : 0;
-            sensorInfo.append(String.format("- %s: Current %.1f (Ideal %.1f)\n", s.sensorName(), sim, better));
+            // 에러/시간 초과/스키마 불일치 시 부분 리포트로 대체
+            return null;
         }
-
-        StringBuilder issueInfo = new StringBuilder();
-        for (SensorComparisonRes s : issues) {
-            double sim = s.similarAvg() != null ? s.similarAvg() : 0;
-            double better = s.betterAvg() != null ? s.betterAvg() : 0;
-            double diff = sim - better;
-            String status = diff > 0 ? "Higher" : "Lower";
-            issueInfo.append(String.format("- %s is %s than ideal (%.1f vs %.1f)\n", s.sensorName(), status, sim, better));
-        }
-
-        return """
-            You are a professional plant pathologist. Analyze the plant status and provide advice in Korean JSON format.
-
-            [Plant Info]
-            Name: %s, Health Level: %s
-            Visual Symptoms: %s
-
-            [User Query/Description]
-            %s
-            (Please consider the user's specific situation or question in your analysis if provided.)
-            
-            [Environmental Data Analysis]
-            %s
-
-            [Top 3 Major Issues]
-            %s
-
-            [Request]
-            Return a JSON object with the following fields:
-            1. 'analysis': A comprehensive health analysis (Max 5 sentences). **DO NOT mention specific numbers.** Use qualitative terms like 'high', 'low', 'sufficient'. Mention the season if relevant.
-            2. 'keywords': Extract 3-5 short keywords summarizing the status (e.g., "Water Shortage", "Too much light").
-            3. 'careGuide': A list of guides for the 'Top 3 Major Issues'. Each guide must have an 'issue' (title) and 'content' (Max 3 sentences).
-
-            Example Output Format:
-            {
-                "analysis": "현재 식물은 수분이 부족하여 잎이 마르고 있습니다. 빛이 너무 강해 잎 끝이 타는 증상도 보입니다...",
-                "keywords": ["수분 부족", "강한 빛", "통풍 필요"],
-                "careGuide": [
-                    {
-                        "issue": "수분 관리",
-                        "content": "겉흙이 말랐을 때 물을 흠뻑 주세요. 저면관수 방식도 추천합니다."
-                    },
-                    {
-                        "issue": "광량 조절",
-                        "content": "직사광선을 피하고 반음지로 옮겨주세요."
-                    }
-                ]
-            }
-            Output ONLY the JSON object.
-            """.formatted(plantName, level, caption, userDescription, sensorInfo, issueInfo);
     }
 
-    private GeminiResponse parseGeminiResponse(String response) {
-        try {
-            JsonNode root = objectMapper.readTree(response);
-            String text = root.path("candidates").get(0).path("content").path("parts").get(0).path("text").asText();
-            text = text.replaceAll("```json", "").replaceAll("```", "").trim();
-
-            JsonNode json = objectMapper.readTree(text);
-
-            String analysis = json.path("analysis").asText();
-
-            // 키워드 파싱
-            List<String> keywords = objectMapper.convertValue(
-                    json.path("keywords"), new TypeReference<List<String>>() {});
-
-            // 케어 가이드 파싱
-            List<PlantReportRes.CareGuide> careGuide = objectMapper.convertValue(
-                    json.path("careGuide"), new TypeReference<List<PlantReportRes.CareGuide>>() {});
-
-            return new GeminiResponse(analysis, keywords, careGuide);
-        } catch (Exception e) {
-            log.error("JSON Parse Error", e);
-            return new GeminiResponse("분석 결과를 처리하는 중 오류가 발생했습니다.", List.of(), List.of());
+    // 고정 지시문은 캐시가 있으면 cachedContent, 없으면 systemInstruction 으로 전달
+    private Map<String, Object> createRequestBody(String apiKey, AdvicePromptAssembler.AdvicePrompt prompt) {
+        Map<String, Object> requestBody = new HashMap<>();
+        requestBody.put("contents", List.of(Map.of("role", "user", "parts", List.of(Map.of("text", prompt.userPrompt())))));
+        // structured output: 스키마에 맞는 JSON 을 바로 GeminiResponse 로 역직렬화
+        requestBody.put("generationConfig", GeminiSchemas.ADVICE);
+
+        String cachedContent = contextCache.cachedContentName(apiKey, prompt.systemInstruction());
+        if (cachedContent != null) {
+            requestBody.put("cachedContent", cachedContent);
+        } else {
+            requestBody.put("systemInstruction", Map.of("parts", List.of(Map.of("text", prompt.systemInstruction()))));
         }
+        return requestBody;
     }
 
-    // 내부 사용용 레코드
-    private record GeminiResponse(
+    // 내부 사용용 레코드 (GeminiSchemas.ADVICE 구조와 동일)
+    record GeminiResponse(
             String analysis,
             List<String> keywords,
             List<PlantReportRes.CareGuide> careGuide
@@ -194,7 +220,7 @@ public class PlantAnalysisService {
     private List<PlantReportRes.MetricScore> calculateMetricScores(List<SensorComparisonRes> sensors) {
         List<PlantReportRes.MetricScore> scores = new ArrayList<>();
         for (SensorComparisonRes sensor : sensors) {
-            double current = sensor.similarAvg() != null ? sensor.similarAvg() : 0;
+            double current = sensor.current() != null ? sensor.current() : 0;
             double ideal = sensor.betterAvg() != null ? sensor.betterAvg() : current;
             double diffRatio = (ideal == 0) ? 0 : Math.abs(current - ideal) / ideal;
             int score = (int) Math.max(20, 100 - (diffRatio * 100 * 1.5));
@@ -218,10 +244,10 @@ public class PlantAnalysisService {
 
     private List<SensorComparisonRes> findTopIssues(List<SensorComparisonRes> sensors) {
         return sensors.stream()
-                .filter(s -> s.betterAvg() != null && s.similarAvg() != null)
+                .filter(s -> s.betterAvg() != null && s.current() != null)
                 .sorted((s1, s2) -> {
-                    double diff1 = Math.abs(s1.similarAvg() - s1.betterAvg()) / s1.betterAvg();
-                    double diff2 = Math.abs(s2.similarAvg() - s2.betterAvg()) / s2.betterAvg();
+                    double diff1 = Math.abs(s1.current() - s1.betterAvg()) / s1.betterAvg();
+                    double diff2 = Math.abs(s2.current() - s2.betterAvg()) / s2.betterAvg();
                     return Double.compare(diff2, diff1);
                 })
                 .limit(3)
@@ -0,0 +1,159 @@
+package cse.plant_care_chatbot.plant.service;
+
+import cse.plant_care_chatbot.global.common.RequestDeadline;
+import cse.plant_care_chatbot.plant.dto.BatchAnalysisItemRes;
+import cse.plant_care_chatbot.plant.dto.GeminiAnalysisResult;
+import cse.plant_care_chatbot.plant.dto.PlantReportRes;
+import cse.plant_care_chatbot.plant.embedding.EmbeddingEngine;
+import cse.plant_care_chatbot.plant.entity.PlantAnalysisLog;
+import cse.plant_care_chatbot.plant.gemini.GeminiPriority;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+
+/**
+ * 여러 이미지를 한 번에 분석하는 배치 흐름
+ * 1. Gemini 비전 호출: 최대 vision-concurrency 개 동시 실행
+ * 2. 캡션 임베딩: embedBatch 1회
+ * 3. Milvus: 종별로 질의 벡터를 묶어 search 1회, 성장 단계 그룹 조회는 배치 안에서 재사용
+ * 4. 리포트 생성: 최대 advice-concurrency 개 동시 실행, 끝나는 대로 결과 전달
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PlantBatchAnalysisService {
+
+    private final PlantService plantService;
+    private final PlantAnalysisPipeline pipeline;
+    private final EmbeddingEngine embeddingEngine;
+    private final MilvusService milvusService;
+
+    @Value("${batch.vision-concurrency:4}")
+    private int visionConcurrency;
+
+    @Value("${batch.advice-concurrency:4}")
+    private int adviceConcurrency;
+
+    // Gemini 응답 대기가 대부분이라 가상 스레드 사용, 동시 실행 수는 Semaphore 로 제한
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    public record BatchImage(String fileName, byte[] bytes, String mimeType) {}
+
+    /**
+     * 배치 분석을 비동기로 시작. onResult 는 이미지별로 완료되는 대로 (여러 스레드에서) 호출된다.
+     */
+    public CompletableFuture<Void> analyzeBatchAsync(List<BatchImage> images, String description, RequestDeadline deadline,
+                                                     Consumer<BatchAnalysisItemRes> onResult) {
+        return CompletableFuture.runAsync(() -> analyzeBatch(images, description, deadline, onResult), executor);
+    }
+
+    private void analyzeBatch(List<BatchImage> images, String description, RequestDeadline deadline,
+                              Consumer<BatchAnalysisItemRes> onResult) {
+        int n = images.size();
+
+        // 1️⃣ Gemini 이미지 분석 (동시 실행 제한)
+        Semaphore visionPermits = new Semaphore(visionConcurrency);
+        List<CompletableFuture<GeminiAnalysisResult>> visionFutures = new ArrayList<>();
+        for (BatchImage image : images) {
+            visionFutures.add(CompletableFuture.supplyAsync(() -> withPermit(visionPermits,
+                    () -> plantService.analyzePlant(image.bytes(), image.mimeType(), description, deadline)), executor));
+        }
+
+        GeminiAnalysisResult[] vision = new GeminiAnalysisResult[n];
+        PlantAnalysisLog[] logs = new PlantAnalysisLog[n];
+        List<Integer> alive = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            try {
+                vision[i] = visionFutures.get(i).join();
+                logs[i] = pipeline.saveLog(vision[i], description, images.get(i).bytes(), images.get(i).mimeType());
+                alive.add(i);
+            } catch (Exception e) {
+                onResult.accept(failure(i, images.get(i), e));
+            }
+        }
+        if (alive.isEmpty()) return;
+
+        // 2️⃣ 캡션 임베딩 (한 번에, 사용자 요청이므로 INTERACTIVE)
+        List<List<Float>> vectors;
+        try {
+            vectors = embeddingEngine.embedBatch(alive.stream().map(i -> vision[i].caption()).toList(),
+                    GeminiPriority.INTERACTIVE, deadline);
+        } catch (Exception e) {
+            alive.forEach(i -> onResult.accept(failure(i, images.get(i), e)));
+            return;
+        }
+
+        // 3️⃣ 종별 Milvus 검색 (질의 벡터 여러 개를 search 한 번으로)
+        Map<String, List<Integer>> bySpecies = new LinkedHashMap<>(); // 종 → alive 내 위치
+        for (int k = 0; k < alive.size(); k++) {
+            bySpecies.computeIfAbsent(vision[alive.get(k)].plantName(), key -> new ArrayList<>()).add(k);
+        }
+
+        Map<Integer, Map<String, Object>> milvusResults = new HashMap<>();
+        for (Map.Entry<String, List<Integer>> entry : bySpecies.entrySet()) {
+            List<Integer> positions = entry.getValue();
+            try {
+                List<Map<String, Object>> results = milvusService.searchAndAnalyzeBatch(
+                        entry.getKey(),
+                        positions.stream().map(k -> vision[alive.get(k)].growthLevel()).toList(),
+                        positions.stream().map(vectors::get).toList(),
+                        deadline
+                );
+                for (int j = 0; j < positions.size(); j++) {
+                    milvusResults.put(alive.get(positions.get(j)), results.get(j));
+                }
+            } catch (Exception e) {
+                positions.forEach(k -> onResult.accept(failure(alive.get(k), images.get(alive.get(k)), e)));
+            }
+        }
+
+        // 4️⃣ 리포트 생성 (동시 실행 제한, 완료 순서대로 전달)
+        Semaphore advicePermits = new Semaphore(adviceConcurrency);
+        List<CompletableFuture<Void>> reportFutures = new ArrayList<>();
+        for (Map.Entry<Integer, Map<String, Object>> entry : milvusResults.entrySet()) {
+            int i = entry.getKey();
+            reportFutures.add(CompletableFuture.runAsync(() -> {
+                try {
+                    PlantReportRes report = withPermit(advicePermits,
+                            () -> pipeline.completeReport(logs[i], vision[i], description, entry.getValue(), deadline));
+                    onResult.accept(new BatchAnalysisItemRes(i, images.get(i).fileName(), report, null));
+                } catch (Exception e) {
+                    onResult.accept(failure(i, images.get(i), e));
+                }
+            }, executor));
+        }
+        CompletableFuture.allOf(reportFutures.toArray(new CompletableFuture[0])).join();
+    }
+
+    private <T> T withPermit(Semaphore permits, Callable<T> task) {
+        try {
+            permits.acquire();
+            try {
+                return task.call();
+            } finally {
+                permits.release();
+            }
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    private BatchAnalysisItemRes failure(int index, BatchImage image, Exception e) {
+        Throwable cause = (e instanceof CompletionException && e.getCause() != null) ? e.getCause() : e;
+        log.error("Batch analysis failed [{}] {}: {}", index, image.fileName(), cause.getMessage());
+        return new BatchAnalysisItemRes(index, image.fileName(), null, cause.getMessage());
+    }
+}
@@ -1,14 +1,24 @@
 package cse.plant_care_chatbot.plant.service;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import cse.plant_care_chatbot.global.common.RequestDeadline;
+import cse.plant_care_chatbot.plant.classifier.ClassifierPrediction;
+import cse.plant_care_chatbot.plant.classifier.PlantImageClassifier;
+import cse.plant_care_chatbot.plant.dto.FeedbackType;
 import cse.plant_care_chatbot.plant.dto.GeminiAnalysisResult;
+import cse.plant_care_chatbot.plant.dto.PlantFeedbackEvent;
 import cse.plant_care_chatbot.plant.dto.PlantFeedbackReq;
 import cse.plant_care_chatbot.plant.entity.PlantAnalysisLog;
+import cse.plant_care_chatbot.plant.gemini.GeminiHedger;
+import cse.plant_care_chatbot.plant.gemini.GeminiPriority;
+import cse.plant_care_chatbot.plant.gemini.GeminiRequestScheduler;
+import cse.plant_care_chatbot.plant.gemini.GeminiResponseReader;
+import cse.plant_care_chatbot.plant.gemini.GeminiSchemas;
 import cse.plant_care_chatbot.plant.repository.PlantAnalysisLogRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -20,55 +30,87 @@ import java.time.Duration;
 import java.util.Base64;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class PlantService {
 
-    @Value("${gemini.api.key}")
-    private String geminiApiKey;
-
     @Value("${gemini.api.url}")
     private String geminiApiUrl;
 
-    private final ObjectMapper objectMapper;
     private final PlantAnalysisLogRepository logRepo;
+    private final ObjectProvider<PlantImageClassifier> classifierProvider; // classifier.enabled=true 일 때만 존재
+    private final GeminiHedger hedger;
+    private final GeminiRequestScheduler scheduler;
+    private final GeminiResponseReader responseReader;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AnalysisStatsService statsService;
 
     public GeminiAnalysisResult analyzePlant(MultipartFile image, String description) throws IOException {
-        String base64Image = Base64.getEncoder().encodeToString(image.getBytes());
-        String mimeType = image.getContentType(); // e.g., "image/jpeg"
+        return analyzePlant(image.getBytes(), image.getContentType(), description, RequestDeadline.none());
+    }
+
+    public GeminiAnalysisResult analyzePlant(byte[] imageBytes, String mimeType, String description, RequestDeadline deadline) {
+        // 0️⃣ 로컬 분류기가 확신하면 종/성장 단계는 그대로 쓰고, Gemini 에는 캡션만 요청
+        PlantImageClassifier classifier = classifierProvider.getIfAvailable();
+        Optional<ClassifierPrediction> prediction = (classifier != null)
+                ? classifier.classifyConfident(imageBytes)
+                : Optional.empty();
+
+        if (prediction.isPresent()) {
+            ClassifierPrediction p = prediction.get();
+            log.debug("Classifier hit: {} / {} ({}, {} ms)", p.plantName(), p.growthLevel(), p.confidence(), p.elapsedMillis());
+            String caption = parseGeminiResponse(callGemini(getCaptionPrompt(p), GeminiSchemas.CAPTION, description, imageBytes, mimeType, deadline)).caption();
+            return new GeminiAnalysisResult(p.plantName(), p.growthLevel(), caption);
+        }
+
+        return parseGeminiResponse(callGemini(getSystemPrompt(), GeminiSchemas.VISION, description, imageBytes, mimeType, deadline));
+    }
+
+    private byte[] callGemini(String prompt, Map<String, Object> generationConfig, String description,
+                              byte[] imageBytes, String mimeType, RequestDeadline deadline) {
+        String base64Image = Base64.getEncoder().encodeToString(imageBytes);
 
         // Gemini 요청 본문 구성
         Map<String, Object> requestBody = Map.of(
                 "contents", List.of(
                         Map.of(
                                 "parts", List.of(
-                                        Map.of("text", getSystemPrompt() + "\nUser Description: " + description),
+                                        Map.of("text", prompt + "\nUser Description: " + description),
                                         Map.of("inline_data", Map.of(
                                                 "mime_type", mimeType != null ? mimeType : "image/jpeg",
                                                 "data", base64Image
                                         ))
                                 )
                         )
-                )
+                ),
+                // structured output: 코드 블록 없이 스키마에 맞는 JSON 만 응답
+                "generationConfig", generationConfig
         );
 
+        // 남은 요청 시간 이상 기다리지 않음 (최대 60초)
         JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory();
-        requestFactory.setReadTimeout(Duration.ofSeconds(60));
+        requestFactory.setReadTimeout(deadline.capTimeout(Duration.ofSeconds(60)));
 
         RestClient restClient = RestClient.builder()
                 .requestFactory(requestFactory)
                 .build();
 
-        String response = restClient.post()
-                .uri(geminiApiUrl + "?key=" + geminiApiKey)
-                .header("Content-Type", "application/json")
-                .body(requestBody)
-                .retrieve()
-                .body(String.class);
-
-        return parseGeminiResponse(response);
+        // 이미지 1장(약 258 토큰) + 프롬프트 + 예상 출력
+        int estimatedTokens = GeminiRequestScheduler.estimateTokens(prompt + description) + 258 + 500;
+
+        // gemini.hedge.operations 에 vision 이 포함된 경우에만 hedged request (쿼터 확보 후 HTTP 호출만 감쌈)
+        return scheduler.execute(GeminiPriority.INTERACTIVE, estimatedTokens, deadline,
+                apiKey -> hedger.call(GeminiHedger.VISION,
+                        () -> restClient.post()
+                                .uri(geminiApiUrl + "?key=" + apiKey)
+                                .header("Content-Type", "application/json")
+                                .body(requestBody)
+                                .retrieve()
+                                .body(byte[].class),
+                        () -> scheduler.tryAcquireHedge(apiKey, estimatedTokens)));
     }
 
     @Transactional
@@ -76,7 +118,11 @@ public class PlantService {
         PlantAnalysisLog log = logRepo.findById(logId)
                 .orElseThrow(() -> new RuntimeException("해당 분석 기록을 찾을 수 없습니다."));
 
+        FeedbackType previous = log.getFeedbackType();
         log.updateFeedback(req.feedbackType(), req.comment());
+        statsService.recordFeedback(log, previous, req.feedbackType());
+        // 커밋 후 FeedbackIndexer 가 긍정 피드백을 Milvus 에 증분 색인
+        eventPublisher.publishEvent(new PlantFeedbackEvent(logId, req.feedbackType()));
     }
 
     private String getSystemPrompt() {
@@ -94,18 +140,19 @@ public class PlantService {
                 """;
     }
 
-    private GeminiAnalysisResult parseGeminiResponse(String response) {
-        try {
-            JsonNode root = objectMapper.readTree(response);
-            // Gemini 응답 구조: candidates[0].content.parts[0].text
-            String jsonText = root.path("candidates").get(0)
-                    .path("content").path("parts").get(0)
-                    .path("text").asText();
-
-            // 마크다운 코드 블록 제거 (```json ... ```)
-            jsonText = jsonText.replaceAll("```json", "").replaceAll("```", "").trim();
+    // 분류기가 종/성장 단계를 확정한 경우 사용하는 캡션 전용 프롬프트
+    private String getCaptionPrompt(ClassifierPrediction prediction) {
+        return """
+                The plant in this image is '%s' and its growth stage is '%s'.
+                Write 'caption': a detailed description of the plant's visual health status in Korean. Focus on leaf color, drooping, and vitality.
+                
+                Output ONLY the JSON object {"caption": "..."}. Do not include markdown code blocks.
+                """.formatted(prediction.plantName(), prediction.growthLevel());
+    }
 
-            return objectMapper.readValue(jsonText, GeminiAnalysisResult.class);
+    private GeminiAnalysisResult parseGeminiResponse(byte[] response) {
+        try {
+            return responseReader.read(response, GeminiAnalysisResult.class, GeminiHedger.VISION);
         } catch (Exception e) {
             log.error("Gemini Response Parsing Error: ", e);
             throw new RuntimeException("식물 분석 중 오류가 발생했습니다.");
@@ -0,0 +1,317 @@
+package cse.plant_care_chatbot.plant.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import cse.plant_care_chatbot.global.common.ContentHash;
+import cse.plant_care_chatbot.global.common.RequestDeadline;
+import cse.plant_care_chatbot.plant.dto.PlantReportRes;
+import cse.plant_care_chatbot.plant.dto.ReanalysisReq;
+import cse.plant_care_chatbot.plant.dto.ReanalysisRunRes;
+import cse.plant_care_chatbot.plant.dto.ReanalysisRunStatus;
+import cse.plant_care_chatbot.plant.dto.SensorComparisonRes;
+import cse.plant_care_chatbot.plant.embedding.EmbeddingEngine;
+import cse.plant_care_chatbot.plant.entity.ReanalysisRun;
+import cse.plant_care_chatbot.plant.gemini.GeminiHedger;
+import cse.plant_care_chatbot.plant.gemini.GeminiPriority;
+import cse.plant_care_chatbot.plant.gemini.GeminiUsageTracker;
+import cse.plant_care_chatbot.plant.repository.PlantAnalysisLogRepository;
+import cse.plant_care_chatbot.plant.repository.ReanalysisRunRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * 저장된 리포트 일괄 재분석 (프롬프트/점수 계산 변경 후 기존 analysisResult 갱신)
+ * - 대상: 생성일 범위 + 종, id 순으로 page-size 씩 처리
+ * - 페이지마다 캡션 일괄 임베딩 → Milvus 비교 → 조언 생성(BACKGROUND 우선순위, 실시간 요청용 RPM 여유분은 건드리지 않음)
+ * - 결과는 JDBC batch update 로 덮어쓰고, 같은 트랜잭션에서 체크포인트(lastLogId)와 카운터를 갱신
+ *   → 중간에 멈춰도 재개 시 마지막으로 반영된 id 다음부터 처리 (같은 행을 두 번 쓰거나 건너뛰지 않음)
+ * - 조언 생성에 실패한 행(부분 리포트)은 기존 결과를 유지하고 skipped 로 집계
+ * - 한 노드에서 한 번에 하나의 실행만 처리
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReanalysisService {
+
+    private static final String UPDATE_RESULT_SQL = "UPDATE plant_analysis_log SET analysis_result = ?, result_hash = ?, overall_score = ? WHERE id = ?";
+    private static final String CHECKPOINT_SQL = """
+            UPDATE plant_reanalysis_run
+            SET last_log_id = ?, processed = processed + ?, skipped = skipped + ?,
+                prompt_tokens = prompt_tokens + ?, output_tokens = output_tokens + ?, elapsed_ms = elapsed_ms + ?,
+                lease_expires_at = ?, updated_at = ?
+            WHERE id = ? AND lease_owner = ? AND status = 'RUNNING'
+            """;
+
+    private final ReanalysisRunRepository runRepo;
+    private final PlantAnalysisLogRepository logRepo;
+    private final EmbeddingEngine embeddingEngine;
+    private final MilvusService milvusService;
+    private final PlantAnalysisService reportService;
+    private final GeminiUsageTracker usageTracker;
+    private final AnalysisStatsService statsService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${reanalysis.page-size:50}")
+    private int pageSize;
+
+    // 페이지 안에서 동시에 보내는 조언 요청 수 (실제 전송 속도는 GeminiRequestScheduler 가 제한)
+    @Value("${reanalysis.concurrency:4}")
+    private int concurrency;
+
+    @Value("${reanalysis.call-timeout-ms:120000}")
+    private long callTimeoutMs;
+
+    @Value("${reanalysis.lease-ms:600000}")
+    private long leaseMs;
+
+    @Value("${reanalysis.resume-on-startup:true}")
+    private boolean resumeOnStartup;
+
+    // 비용 추정용 토큰 단가 (USD / 100만 토큰)
+    @Value("${reanalysis.cost.input-per-million:0.30}")
+    private double inputCostPerMillion;
+
+    @Value("${reanalysis.cost.output-per-million:2.50}")
+    private double outputCostPerMillion;
+
+    private final String owner = ownerId();
+    private final ExecutorService runner = Executors.newSingleThreadExecutor(Thread.ofVirtual().name("reanalysis").factory());
+    private final ExecutorService callExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @PreDestroy
+    void stop() {
+        runner.shutdownNow();
+        callExecutor.shutdownNow();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeAbandoned() {
+        if (!resumeOnStartup) return;
+        for (Long runId : runRepo.findAbandoned(LocalDateTime.now())) {
+            log.info("🔁 중단된 재분석 재개: run {}", runId);
+            resume(runId);
+        }
+    }
+
+    public ReanalysisRunRes start(ReanalysisReq req) {
+        LocalDate from = (req.from() != null) ? req.from() : LocalDate.of(2000, 1, 1);
+        LocalDate to = (req.to() != null) ? req.to() : LocalDate.now();
+        ReanalysisRun run = runRepo.save(ReanalysisRun.builder()
+                .fromDate(from.atStartOfDay())
+                .toDate(to.plusDays(1).atStartOfDay())
+                .plantName(req.plantName())
+                .build());
+        return resume(run.getId());
+    }
+
+    /**
+     * PAUSED 또는 lease 가 만료된 실행을 이 노드에서 이어서 처리
+     */
+    public ReanalysisRunRes resume(Long runId) {
+        Integer claimed = transactionTemplate.execute(status -> runRepo.claim(runId, owner,
+                LocalDateTime.now().plusNanos(leaseMs * 1_000_000), LocalDateTime.now()));
+        if (claimed == null || claimed == 0) {
+            throw new RuntimeException("재개할 수 없는 재분석 실행입니다. (이미 실행 중이거나 완료됨)");
+        }
+        runner.submit(() -> process(runId));
+        return getStatus(runId);
+    }
+
+    public ReanalysisRunRes pause(Long runId) {
+        transactionTemplate.executeWithoutResult(status -> runRepo.pause(runId, LocalDateTime.now()));
+        return getStatus(runId);
+    }
+
+    public ReanalysisRunRes getStatus(Long runId) {
+        ReanalysisRun run = runRepo.findById(runId)
+                .orElseThrow(() -> new RuntimeException("해당 재분석 실행을 찾을 수 없습니다."));
+
+        long rows = run.getProcessed() + run.getSkipped();
+        double seconds = run.getElapsedMs() / 1000.0;
+        double cost = run.getPromptTokens() / 1_000_000.0 * inputCostPerMillion
+                + run.getOutputTokens() / 1_000_000.0 * outputCostPerMillion;
+
+        return new ReanalysisRunRes(
+                run.getId(),
+                run.getStatus(),
+                run.getFromDate(),
+                run.getToDate(),
+                run.getPlantName(),
+                run.getLastLogId(),
+                run.getProcessed(),
+                run.getSkipped(),
+                seconds > 0 ? rows / seconds : 0,
+                run.getPromptTokens(),
+                run.getOutputTokens(),
+                cost,
+                rows > 0 ? cost / rows : 0,
+                run.getErrorMessage(),
+                run.getUpdatedAt()
+        );
+    }
+
+    private void process(Long runId) {
+        try {
+            ReanalysisRun run = runRepo.findById(runId).orElseThrow();
+            long lastLogId = run.getLastLogId();
+
+            while (!Thread.currentThread().isInterrupted()) {
+                List<Object[]> targets = logRepo.findReanalysisTargets(lastLogId, run.getFromDate(), run.getToDate(),
+                        run.getPlantName(), PageRequest.of(0, pageSize));
+                if (targets.isEmpty()) {
+                    // 점수가 바뀌었으므로 해당 기간 일별 집계를 다시 계산
+                    statsService.rebuild(run.getFromDate().toLocalDate(), run.getToDate().toLocalDate());
+                    release(runId, ReanalysisRunStatus.DONE, null);
+                    log.info("✅ 재분석 완료: run {}", runId);
+                    return;
+                }
+
+                long started = System.nanoTime();
+                GeminiUsageTracker.Totals before = usageTracker.totals(GeminiHedger.ADVICE_BACKGROUND);
+                List<Object[]> updates = reanalyzePage(targets);
+                GeminiUsageTracker.Totals after = usageTracker.totals(GeminiHedger.ADVICE_BACKGROUND);
+
+                long pageLastId = (Long) targets.get(targets.size() - 1)[0];
+                boolean stillOwner = checkpoint(runId, updates, pageLastId, targets.size() - updates.size(),
+                        after.promptTokens() - before.promptTokens(),
+                        after.candidatesTokens() - before.candidatesTokens(),
+                        (System.nanoTime() - started) / 1_000_000);
+                if (!stillOwner) {
+                    // 일시 중지되었거나 다른 노드가 가져감 → 이 페이지 결과는 롤백됨
+                    log.info("⏸️ 재분석 중단: run {} (실행권 없음)", runId);
+                    return;
+                }
+                lastLogId = pageLastId;
+                log.info("🔁 재분석 run {}: ~{} ({}건 갱신, {}건 유지)", runId, lastLogId, updates.size(),
+                        targets.size() - updates.size());
+            }
+        } catch (InterruptedException e) {
+            // 종료 중: RUNNING 그대로 두면 lease 만료 후 재개 대상이 됨
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("재분석 실패: run {} ({})", runId, e.getMessage());
+            release(runId, ReanalysisRunStatus.FAILED, e.getMessage());
+        }
+    }
+
+    // 페이지 재분석 → [analysisResult JSON, resultHash, overallScore, logId] (조언 생성 실패 행은 제외)
+    private List<Object[]> reanalyzePage(List<Object[]> targets) throws Exception {
+        List<String> captions = targets.stream().map(t -> t[3] != null ? (String) t[3] : "").toList();
+        List<List<Float>> vectors = embeddingEngine.embedBatch(captions);
+
+        Semaphore slots = new Semaphore(concurrency);
+        List<Future<PlantReportRes>> futures = new ArrayList<>(targets.size());
+        try {
+            for (int i = 0; i < targets.size(); i++) {
+                Object[] t = targets.get(i);
+                List<Float> vector = vectors.get(i);
+                slots.acquire();
+                futures.add(callExecutor.submit(() -> {
+                    try {
+                        return reanalyze(t, vector);
+                    } finally {
+                        slots.release();
+                    }
+                }));
+            }
+
+            List<Object[]> updates = new ArrayList<>(targets.size());
+            for (int i = 0; i < targets.size(); i++) {
+                Long logId = (Long) targets.get(i)[0];
+                try {
+                    PlantReportRes report = futures.get(i).get();
+                    if (report != null && !report.partial()) {
+                        String json = objectMapper.writeValueAsString(report);
+                        updates.add(new Object[]{json, ContentHash.of(json), report.overallScore(), logId});
+                    }
+                } catch (InterruptedException e) {
+                    // 행 실패로 세면 남은 행이 skipped 로 체크포인트되어 재개해도 다시 처리되지 않음
+                    throw e;
+                } catch (JsonProcessingException e) {
+                    log.warn("재분석 결과 직렬화 실패: log {} ({})", logId, e.getMessage());
+                } catch (Exception e) {
+                    log.warn("재분석 실패: log {} ({})", logId, e.getMessage());
+                }
+            }
+            return updates;
+        } catch (InterruptedException e) {
+            // 종료 중: 남은 호출을 취소하고 체크포인트 없이 process() 의 종료 경로로
+            futures.forEach(f -> f.cancel(true));
+            Thread.currentThread().interrupt();
+            throw e;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private PlantReportRes reanalyze(Object[] target, List<Float> vector) {
+        Long logId = (Long) target[0];
+        String plantName = (String) target[1];
+        String growthLevel = (String) target[2];
+        String caption = (String) target[3];
+        String description = target[4] != null ? (String) target[4] : "";
+
+        Map<String, Object> milvusResult = milvusService.searchAndAnalyze(plantName, growthLevel, vector);
+        List<String> similarImages = (List<String>) milvusResult.get("images");
+        List<SensorComparisonRes> sensorAnalysis = (List<SensorComparisonRes>) milvusResult.get("analysis");
+
+        return reportService.generateReport(logId, plantName, growthLevel, caption, description,
+                similarImages, sensorAnalysis,
+                RequestDeadline.after(Duration.ofMillis(callTimeoutMs)), GeminiPriority.BACKGROUND);
+    }
+
+    // 결과 반영 + 체크포인트를 한 트랜잭션으로. 실행권을 잃었으면 롤백하고 false
+    private boolean checkpoint(Long runId, List<Object[]> updates, long lastLogId, long skipped,
+                               long promptTokens, long outputTokens, long elapsedMs) {
+        Boolean ok = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            int updated = jdbcTemplate.update(CHECKPOINT_SQL, lastLogId, updates.size(), skipped,
+                    promptTokens, outputTokens, elapsedMs, now.plusNanos(leaseMs * 1_000_000), now, runId, owner);
+            if (updated == 0) {
+                status.setRollbackOnly();
+                return false;
+            }
+            if (!updates.isEmpty()) {
+                jdbcTemplate.batchUpdate(UPDATE_RESULT_SQL, updates);
+            }
+            return true;
+        });
+        return Boolean.TRUE.equals(ok);
+    }
+
+    private void release(Long runId, ReanalysisRunStatus status, String error) {
+        transactionTemplate.executeWithoutResult(tx -> runRepo.release(runId, owner, status, error, LocalDateTime.now()));
+    }
+
+    private static String ownerId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "unknown";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
@@ -1,12 +1,15 @@
 package cse.plant_care_chatbot.plant.service.impl;
 
+import cse.plant_care_chatbot.global.common.RequestDeadline;
 import cse.plant_care_chatbot.plant.dto.GeminiAnalysisResult;
+import cse.plant_care_chatbot.plant.gemini.GeminiPriority;
+import cse.plant_care_chatbot.plant.gemini.GeminiRequestScheduler;
+import cse.plant_care_chatbot.plant.gemini.GeminiResponseReader;
+import cse.plant_care_chatbot.plant.gemini.GeminiSchemas;
 import cse.plant_care_chatbot.plant.service.GeminiService;
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
@@ -22,13 +25,12 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class GeminiServiceImpl implements GeminiService {
 
-    @Value("${gemini.api.key}")
-    private String apiKey;
-
     private static final String GEMINI_API_URL = "https://generativelanguage.googleapis.com/v1beta/models/gemini-1.5-flash:generateContent";
 
     private final WebClient.Builder webClientBuilder;
     private final ObjectMapper objectMapper;
+    private final GeminiRequestScheduler scheduler;
+    private final GeminiResponseReader responseReader;
 
     @Override
     public GeminiAnalysisResult analyzeImage(MultipartFile image) {
@@ -61,13 +63,11 @@ public class GeminiServiceImpl implements GeminiService {
                                     ))
                             ))
                     ),
-                    // JSON 응답 강제 (Gemini 1.5 기능 활용)
-                    "generationConfig", Map.of(
-                            "response_mime_type", "application/json"
-                    )
+                    // JSON 응답 강제 + 스키마 고정 (structured output)
+                    "generationConfig", GeminiSchemas.VISION
             );
 
-            String response = callGeminiApi(requestBody);
+            String response = callGeminiApi(requestBody, GeminiRequestScheduler.estimateTokens(prompt) + 258 + 500);
 
             // 3. JSON 파싱 -> DTO 변환
             return objectMapper.readValue(response, GeminiAnalysisResult.class);
@@ -89,28 +89,28 @@ public class GeminiServiceImpl implements GeminiService {
                         ))
                 )
         );
-        return callGeminiApi(requestBody);
+        return callGeminiApi(requestBody, GeminiRequestScheduler.estimateTokens(prompt) + 800);
     }
 
-    private String callGeminiApi(Map<String, Object> requestBody) {
+    private String callGeminiApi(Map<String, Object> requestBody, int estimatedTokens) {
         try {
-            String response = webClientBuilder.build()
-                    .post()
-                    .uri(uriBuilder -> uriBuilder
-                            .path(GEMINI_API_URL) // 절대 경로인 경우 uri(String) 사용 권장, 여기선 예시
-                            .queryParam("key", apiKey)
-                            .build())
-                    .contentType(MediaType.APPLICATION_JSON)
-                    .bodyValue(requestBody)
-                    .retrieve()
-                    .bodyToMono(String.class)
-                    .block();
+            byte[] response = scheduler.execute(GeminiPriority.INTERACTIVE, estimatedTokens, RequestDeadline.none(),
+                    apiKey -> webClientBuilder.build()
+                            .post()
+                            .uri(uriBuilder -> uriBuilder
+                                    .path(GEMINI_API_URL) // 절대 경로인 경우 uri(String) 사용 권장, 여기선 예시
+                                    .queryParam("key", apiKey)
+                                    .build())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .bodyValue(requestBody)
+                            .retrieve()
+                            .bodyToMono(byte[].class)
+                            .block());
 
             // 응답 파싱 (candidates[0].content.parts[0].text)
-            JsonNode root = objectMapper.readTree(response);
-            return root.path("candidates").get(0)
-                    .path("content").path("parts").get(0)
-                    .path("text").asText();
+            String text = responseReader.readText(response);
+            if (text == null) throw new IllegalStateException("Gemini 응답에 text 가 없습니다.");
+            return text;
 
         } catch (Exception e) {
             log.error("Gemini API call failed", e);
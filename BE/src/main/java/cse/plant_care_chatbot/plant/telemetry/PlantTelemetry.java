@@ -0,0 +1,110 @@
+package cse.plant_care_chatbot.plant.telemetry;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 식물 1개의 센서 텔레메트리 (lock-free 분 단위 링 버퍼)
+ * - 분(minute)마다 버킷 하나, buckets 개를 순환 사용 → 최근 buckets 분의 구간 통계
+ * - 버킷/센서마다 count, sum, min, max 를 고정소수점(x1000) long 으로 AtomicLongArray 에 보관
+ * - 새 분에 처음 쓰는 스레드가 CAS 로 버킷을 초기화 (경계 시점의 동시 쓰기 일부는 유실될 수 있음)
+ */
+public class PlantTelemetry {
+
+    static final int SENSORS = 8;
+    private static final int FIELDS = 4; // count, sum, min, max
+    private static final int COUNT = 0, SUM = 1, MIN = 2, MAX = 3;
+    private static final double SCALE = 1000.0;
+
+    private final int buckets;
+    private final AtomicLongArray minuteOf;   // 버킷이 담고 있는 epoch minute
+    private final AtomicLongArray values;     // [bucket][sensor][field]
+    private final AtomicLong lastSeenMillis = new AtomicLong();
+
+    public PlantTelemetry(int buckets) {
+        this.buckets = buckets;
+        this.minuteOf = new AtomicLongArray(buckets);
+        this.values = new AtomicLongArray(buckets * SENSORS * FIELDS);
+        for (int b = 0; b < buckets; b++) {
+            minuteOf.set(b, -1);
+        }
+    }
+
+    public void record(int sensor, double value, long epochMillis) {
+        long minute = epochMillis / 60_000;
+        int bucket = (int) Math.floorMod(minute, (long) buckets);
+
+        long current = minuteOf.get(bucket);
+        if (current != minute) {
+            if (current > minute) return; // 창 밖의 오래된 값
+            if (minuteOf.compareAndSet(bucket, current, minute)) {
+                reset(bucket);
+            }
+        }
+
+        long fixed = Math.round(value * SCALE);
+        int base = index(bucket, sensor);
+        values.incrementAndGet(base + COUNT);
+        values.addAndGet(base + SUM, fixed);
+        values.accumulateAndGet(base + MIN, fixed, Math::min);
+        values.accumulateAndGet(base + MAX, fixed, Math::max);
+        lastSeenMillis.accumulateAndGet(epochMillis, Math::max);
+    }
+
+    /**
+     * 최근 windowMinutes 분의 센서별 통계 (값이 없는 센서는 null)
+     */
+    public SensorWindow[] window(int windowMinutes, long nowMillis) {
+        long nowMinute = nowMillis / 60_000;
+        long fromMinute = nowMinute - Math.min(windowMinutes, buckets) + 1;
+
+        long[] count = new long[SENSORS];
+        long[] sum = new long[SENSORS];
+        long[] min = new long[SENSORS];
+        long[] max = new long[SENSORS];
+        Arrays.fill(min, Long.MAX_VALUE);
+        Arrays.fill(max, Long.MIN_VALUE);
+
+        for (int b = 0; b < buckets; b++) {
+            long minute = minuteOf.get(b);
+            if (minute < fromMinute || minute > nowMinute) continue;
+            for (int s = 0; s < SENSORS; s++) {
+                int base = index(b, s);
+                long c = values.get(base + COUNT);
+                if (c == 0) continue;
+                count[s] += c;
+                sum[s] += values.get(base + SUM);
+                min[s] = Math.min(min[s], values.get(base + MIN));
+                max[s] = Math.max(max[s], values.get(base + MAX));
+            }
+        }
+
+        SensorWindow[] result = new SensorWindow[SENSORS];
+        for (int s = 0; s < SENSORS; s++) {
+            if (count[s] == 0) continue;
+            result[s] = new SensorWindow(sum[s] / SCALE / count[s], min[s] / SCALE, max[s] / SCALE, count[s]);
+        }
+        return result;
+    }
+
+    public long getLastSeenMillis() {
+        return lastSeenMillis.get();
+    }
+
+    private void reset(int bucket) {
+        for (int s = 0; s < SENSORS; s++) {
+            int base = index(bucket, s);
+            values.set(base + COUNT, 0);
+            values.set(base + SUM, 0);
+            values.set(base + MIN, Long.MAX_VALUE);
+            values.set(base + MAX, Long.MIN_VALUE);
+        }
+    }
+
+    private int index(int bucket, int sensor) {
+        return (bucket * SENSORS + sensor) * FIELDS;
+    }
+
+    public record SensorWindow(double mean, double min, double max, long count) {}
+}
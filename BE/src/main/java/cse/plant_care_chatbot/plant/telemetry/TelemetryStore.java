@@ -0,0 +1,211 @@
+package cse.plant_care_chatbot.plant.telemetry;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import cse.plant_care_chatbot.plant.dto.TelemetryIngestRes;
+import cse.plant_care_chatbot.plant.dto.TelemetryStatsRes;
+import cse.plant_care_chatbot.plant.service.MilvusService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 식물별 실측 센서 텔레메트리 저장소 (메모리)
+ * - 식물(plantId)마다 PlantTelemetry 링 버퍼 하나, 최대 max-plants 개
+ *   (가득 차면 window 동안 값이 없던 식물을 먼저 비우고, 그래도 가득 차 있으면 새 식물 값은 버림)
+ * - 측정 시각이 [now - window, now + max-clock-skew] 밖인 값은 rejected (미래 시각이 버킷을 차지하면 현재 값이 버려짐)
+ * - NDJSON / 바이너리 요청 본문을 스트리밍으로 읽으면서 바로 링 버퍼에 기록 (읽은 값마다 객체를 만들지 않음)
+ *
+ * 바이너리 레코드 (big-endian, 반복):
+ *   u16 plantId 길이 | plantId (UTF-8) | i64 epochMillis | u8 센서 마스크 | f32 x (마스크의 1 비트 수)
+ *   마스크 비트 i 는 MilvusService.SENSOR_KEYS[i]
+ */
+@Slf4j
+@Component
+public class TelemetryStore {
+
+    private static final Map<String, Integer> SENSOR_INDEX = new HashMap<>();
+
+    static {
+        for (int i = 0; i < MilvusService.SENSOR_KEYS.length; i++) {
+            SENSOR_INDEX.put(MilvusService.SENSOR_KEYS[i], i);
+        }
+    }
+
+    @Value("${telemetry.window-minutes:60}")
+    private int windowMinutes;
+
+    @Value("${telemetry.max-plants:10000}")
+    private int maxPlants;
+
+    // 기기 시계가 서버보다 빠른 정도의 허용치
+    @Value("${telemetry.max-clock-skew-ms:60000}")
+    private long maxClockSkewMs;
+
+    private final JsonFactory jsonFactory;
+    private final Map<String, PlantTelemetry> plants = new ConcurrentHashMap<>();
+    // 가득 찬 상태에서 새 식물이 들어올 때마다 전체를 훑지 않도록 정리 주기 제한
+    private volatile long lastEvictionMillis;
+
+    public TelemetryStore(ObjectMapper objectMapper) {
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    /**
+     * {"plantId":"p1","ts":1700000000000,"AirTemperature":23.1,...} 를 줄마다 하나씩
+     */
+    public TelemetryIngestRes ingestNdjson(InputStream body) throws IOException {
+        long accepted = 0, rejected = 0;
+        double[] values = new double[PlantTelemetry.SENSORS];
+
+        try (JsonParser p = jsonFactory.createParser(body)) {
+            JsonToken token;
+            while ((token = p.nextToken()) != null) {
+                if (token != JsonToken.START_OBJECT) {
+                    p.skipChildren();
+                    rejected++;
+                    continue;
+                }
+                String plantId = null;
+                long now = System.currentTimeMillis();
+                long ts = now;
+                int mask = 0;
+
+                while (p.nextToken() == JsonToken.FIELD_NAME) {
+                    String name = p.currentName();
+                    JsonToken value = p.nextToken();
+                    if ("plantId".equals(name)) {
+                        plantId = p.getValueAsString();
+                    } else if ("ts".equals(name)) {
+                        ts = p.getValueAsLong(now);
+                    } else {
+                        Integer sensor = SENSOR_INDEX.get(name);
+                        if (sensor != null && value.isNumeric()) {
+                            values[sensor] = p.getDoubleValue();
+                            mask |= 1 << sensor;
+                        } else {
+                            p.skipChildren();
+                        }
+                    }
+                }
+
+                int written = write(plantId, ts, mask, values, now);
+                accepted += written;
+                rejected += Integer.bitCount(mask) - written;
+            }
+        }
+        return new TelemetryIngestRes(accepted, rejected);
+    }
+
+    public TelemetryIngestRes ingestBinary(InputStream body) throws IOException {
+        long accepted = 0, rejected = 0;
+        double[] values = new double[PlantTelemetry.SENSORS];
+        DataInputStream in = new DataInputStream(body);
+        byte[] idBuffer = new byte[256];
+
+        while (true) {
+            int idLength;
+            try {
+                idLength = in.readUnsignedShort();
+            } catch (EOFException e) {
+                break;
+            }
+            if (idLength > idBuffer.length) idBuffer = new byte[idLength];
+            in.readFully(idBuffer, 0, idLength);
+            String plantId = new String(idBuffer, 0, idLength, StandardCharsets.UTF_8);
+            long ts = in.readLong();
+            int mask = in.readUnsignedByte();
+            for (int s = 0; s < PlantTelemetry.SENSORS; s++) {
+                if ((mask & (1 << s)) != 0) values[s] = in.readFloat();
+            }
+
+            int written = write(plantId, ts, mask, values, System.currentTimeMillis());
+            accepted += written;
+            rejected += Integer.bitCount(mask) - written;
+        }
+        return new TelemetryIngestRes(accepted, rejected);
+    }
+
+    private int write(String plantId, long ts, int mask, double[] values, long now) {
+        if (plantId == null || plantId.isBlank() || mask == 0) return 0;
+        if (ts < now - windowMinutes * 60_000L || ts > now + maxClockSkewMs) return 0;
+
+        PlantTelemetry telemetry = plants.get(plantId);
+        if (telemetry == null) {
+            if (plants.size() >= maxPlants && evictIdle(now) == 0) return 0;
+            telemetry = plants.computeIfAbsent(plantId, id -> new PlantTelemetry(windowMinutes));
+        }
+        for (int s = 0; s < PlantTelemetry.SENSORS; s++) {
+            if ((mask & (1 << s)) != 0) telemetry.record(s, values[s], ts);
+        }
+        return Integer.bitCount(mask);
+    }
+
+    // window 동안 값이 없던 식물 제거 (초당 최대 한 번), 제거한 수 반환
+    private int evictIdle(long now) {
+        if (now - lastEvictionMillis < 1000) return 0;
+        lastEvictionMillis = now;
+
+        long idleBefore = now - windowMinutes * 60_000L;
+        int before = plants.size();
+        plants.values().removeIf(t -> t.getLastSeenMillis() < idleBefore);
+        int evicted = before - plants.size();
+        if (evicted > 0) log.info("Telemetry evicted {} idle plants", evicted);
+        return Math.max(evicted, 0);
+    }
+
+    /**
+     * 최근 windowMinutes 분의 센서별 평균/최소/최대
+     */
+    public Optional<TelemetryStatsRes> stats(String plantId, int window) {
+        PlantTelemetry telemetry = plants.get(plantId);
+        if (telemetry == null) return Optional.empty();
+
+        PlantTelemetry.SensorWindow[] windows = telemetry.window(window, System.currentTimeMillis());
+        List<TelemetryStatsRes.SensorStat> sensors = new ArrayList<>();
+        for (int s = 0; s < PlantTelemetry.SENSORS; s++) {
+            PlantTelemetry.SensorWindow w = windows[s];
+            if (w == null) continue;
+            sensors.add(new TelemetryStatsRes.SensorStat(MilvusService.SENSOR_KEYS[s],
+                    round(w.mean()), round(w.min()), round(w.max()), w.count()));
+        }
+        LocalDateTime lastSeen = LocalDateTime.ofInstant(Instant.ofEpochMilli(telemetry.getLastSeenMillis()), ZoneId.systemDefault());
+        return Optional.of(new TelemetryStatsRes(plantId, Math.min(window, windowMinutes), lastSeen, sensors));
+    }
+
+    /**
+     * 리포트용 센서별 실측 평균 (SENSOR_KEYS 순서, 값이 없으면 null)
+     */
+    public Optional<Double[]> liveMeans(String plantId) {
+        PlantTelemetry telemetry = (plantId != null) ? plants.get(plantId) : null;
+        if (telemetry == null) return Optional.empty();
+
+        PlantTelemetry.SensorWindow[] windows = telemetry.window(windowMinutes, System.currentTimeMillis());
+        Double[] means = new Double[PlantTelemetry.SENSORS];
+        boolean any = false;
+        for (int s = 0; s < PlantTelemetry.SENSORS; s++) {
+            if (windows[s] != null) {
+                means[s] = round(windows[s].mean());
+                any = true;
+            }
+        }
+        return any ? Optional.of(means) : Optional.empty();
+    }
+
+    private double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
@@ -0,0 +1,29 @@
+package cse.plant_care_chatbot.global.common;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RawJsonResponseTest {
+
+	@Test
+	void acceptsGzipHonoursQValues() {
+		assertThat(RawJsonResponse.acceptsGzip("gzip, deflate, br")).isTrue();
+		assertThat(RawJsonResponse.acceptsGzip("br;q=1.0, GZIP;q=0.5")).isTrue();
+		assertThat(RawJsonResponse.acceptsGzip("x-gzip")).isTrue();
+		assertThat(RawJsonResponse.acceptsGzip("*")).isTrue();
+
+		assertThat(RawJsonResponse.acceptsGzip(null)).isFalse();
+		assertThat(RawJsonResponse.acceptsGzip("identity")).isFalse();
+		assertThat(RawJsonResponse.acceptsGzip("gzip;q=0")).isFalse();
+		assertThat(RawJsonResponse.acceptsGzip("gzip; q=0.000, deflate")).isFalse();
+		assertThat(RawJsonResponse.acceptsGzip("gzip;q=abc")).isFalse();
+	}
+
+	@Test
+	void explicitGzipEntryOverridesWildcard() {
+		assertThat(RawJsonResponse.acceptsGzip("*, gzip;q=0")).isFalse();
+		assertThat(RawJsonResponse.acceptsGzip("*;q=0, gzip")).isTrue();
+		assertThat(RawJsonResponse.acceptsGzip("*;q=0")).isFalse();
+	}
+}
@@ -0,0 +1,127 @@
+package cse.plant_care_chatbot.plant.archive;
+
+import cse.plant_care_chatbot.plant.entity.PlantAnalysisLog;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ResultArchiveTest {
+
+	@TempDir
+	Path dir;
+
+	private final List<ResultArchive> opened = new ArrayList<>();
+
+	@AfterEach
+	void tearDown() throws IOException {
+		for (ResultArchive archive : opened) archive.close();
+	}
+
+	private ResultArchive archive(long segmentMaxBytes) {
+		ResultArchive archive = new ResultArchive();
+		ReflectionTestUtils.setField(archive, "dir", dir);
+		ReflectionTestUtils.setField(archive, "segmentMaxBytes", segmentMaxBytes);
+		ReflectionTestUtils.setField(archive, "compressionLevel", 6);
+		opened.add(archive);
+		return archive;
+	}
+
+	private static String report(int i) {
+		return "{\"logId\":" + i + ",\"analysis\":\"" + "잎 끝이 마르면 습도를 올려 주세요. ".repeat(i % 7 + 1)
+				+ "\",\"overallScore\":" + (i % 100) + "}";
+	}
+
+	@Test
+	void appendThenReadRoundTrip() throws IOException {
+		ResultArchive archive = archive(256L << 20);
+		List<ResultArchive.Location> locations = new ArrayList<>();
+		for (int i = 1; i <= 50; i++) {
+			locations.add(archive.append(i, report(i)));
+		}
+		archive.force();
+
+		for (int i = 1; i <= 50; i++) {
+			ResultArchive.Location location = locations.get(i - 1);
+			assertThat(archive.read(i, location.segment(), location.offset())).isEqualTo(report(i));
+		}
+		assertThat(locations).extracting(ResultArchive.Location::segment).containsOnly(1);
+	}
+
+	@Test
+	void remapsWhenWriteSegmentGrowsAfterRead() throws IOException {
+		ResultArchive archive = archive(256L << 20);
+		ResultArchive.Location first = archive.append(1, report(1));
+		archive.force();
+		assertThat(archive.read(1, first.segment(), first.offset())).isEqualTo(report(1));
+
+		// 처음 매핑 이후에 추가된 레코드
+		ResultArchive.Location second = archive.append(2, report(2));
+		archive.force();
+
+		assertThat(archive.read(2, second.segment(), second.offset())).isEqualTo(report(2));
+	}
+
+	@Test
+	void rejectsLocationOfAnotherLog() throws IOException {
+		ResultArchive archive = archive(256L << 20);
+		ResultArchive.Location location = archive.append(7, report(7));
+		archive.force();
+
+		assertThatThrownBy(() -> archive.read(8, location.segment(), location.offset()))
+				.isInstanceOf(IllegalStateException.class)
+				.hasMessageContaining("불일치")
+				.hasMessageContaining("log 7");
+	}
+
+	@Test
+	void rollsOverToNextSegmentAndResumesAfterRestart() throws IOException {
+		ResultArchive archive = archive(512);
+		List<ResultArchive.Location> locations = new ArrayList<>();
+		for (int i = 1; i <= 20; i++) {
+			locations.add(archive.append(i, report(i)));
+		}
+		archive.force();
+		archive.close();
+		opened.remove(archive);
+		int lastSegment = locations.get(locations.size() - 1).segment();
+		assertThat(lastSegment).isGreaterThan(1);
+
+		// 재시작하면 마지막 세그먼트에 이어서 추가
+		ResultArchive restarted = archive(512);
+		ResultArchive.Location next = restarted.append(21, report(21));
+		restarted.force();
+
+		assertThat(next.segment()).isGreaterThanOrEqualTo(lastSegment);
+		assertThat(restarted.read(21, next.segment(), next.offset())).isEqualTo(report(21));
+		for (int i = 1; i <= 20; i++) {
+			ResultArchive.Location location = locations.get(i - 1);
+			assertThat(restarted.read(i, location.segment(), location.offset())).isEqualTo(report(i));
+		}
+	}
+
+	@Test
+	void resultOfPrefersDatabaseThenArchive() throws IOException {
+		ResultArchive archive = archive(256L << 20);
+		ResultArchive.Location location = archive.append(3, report(3));
+		archive.force();
+
+		PlantAnalysisLog inDb = PlantAnalysisLog.builder().analysisResult("{\"db\":true}").build();
+		PlantAnalysisLog archived = PlantAnalysisLog.builder().build();
+		ReflectionTestUtils.setField(archived, "id", 3L);
+		ReflectionTestUtils.setField(archived, "archiveSegment", location.segment());
+		ReflectionTestUtils.setField(archived, "archiveOffset", location.offset());
+
+		assertThat(archive.resultOf(inDb)).contains("{\"db\":true}");
+		assertThat(archive.resultOf(archived)).contains(report(3));
+		assertThat(archive.resultOf(PlantAnalysisLog.builder().build())).isEmpty();
+	}
+}
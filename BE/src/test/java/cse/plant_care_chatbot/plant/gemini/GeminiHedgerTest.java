@@ -0,0 +1,116 @@
+package cse.plant_care_chatbot.plant.gemini;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GeminiHedgerTest {
+
+	private static final String OP = "embedding";
+
+	private GeminiHedger hedger;
+
+	@BeforeEach
+	void setUp() {
+		hedger = new GeminiHedger();
+		ReflectionTestUtils.setField(hedger, "enabled", true);
+		ReflectionTestUtils.setField(hedger, "hedgedOperations", Set.of(OP));
+		ReflectionTestUtils.setField(hedger, "minDelayMs", 0L);
+		ReflectionTestUtils.setField(hedger, "initialDelayMs", 2000L);
+	}
+
+	@AfterEach
+	void tearDown() {
+		hedger.shutdown();
+	}
+
+	@Test
+	void p95NeedsMinimumSamplesAndIgnoresSingleOutlier() {
+		for (int i = 0; i < 19; i++) {
+			hedger.timed(OP, () -> "fast");
+		}
+		assertThat(hedger.p95Millis(OP)).isEqualTo(-1);
+
+		hedger.timed(OP, () -> sleep(150, "slow"));
+
+		// 20개 중 가장 느린 1개는 p95 밖
+		assertThat(hedger.p95Millis(OP)).isBetween(0L, 149L);
+	}
+
+	@Test
+	void doesNotHedgeBeforeInitialDelayWithoutSamples() {
+		AtomicInteger calls = new AtomicInteger();
+
+		String result = hedger.call(OP, () -> {
+			calls.incrementAndGet();
+			return sleep(100, "primary");
+		}, () -> true);
+
+		assertThat(result).isEqualTo("primary");
+		assertThat(calls).hasValue(1);
+		assertThat(hedger.getHedgedCount()).isZero();
+	}
+
+	@Test
+	void hedgesOnceP95ElapsesAndUsesFirstSuccess() {
+		for (int i = 0; i < 20; i++) {
+			hedger.timed(OP, () -> "fast");
+		}
+		AtomicInteger calls = new AtomicInteger();
+
+		String result = hedger.call(OP, () -> calls.incrementAndGet() == 1 ? sleep(2000, "primary") : "backup", () -> true);
+
+		assertThat(result).isEqualTo("backup");
+		assertThat(calls).hasValue(2);
+		assertThat(hedger.getHedgedCount()).isEqualTo(1);
+	}
+
+	@Test
+	void doesNotHedgeOperationsOutsideConfiguredSet() {
+		for (int i = 0; i < 20; i++) {
+			hedger.timed(GeminiHedger.ADVICE, () -> "fast");
+		}
+		AtomicInteger calls = new AtomicInteger();
+
+		hedger.call(GeminiHedger.ADVICE, () -> {
+			calls.incrementAndGet();
+			return sleep(50, "advice");
+		}, () -> true);
+
+		assertThat(calls).hasValue(1);
+		assertThat(hedger.getHedgedCount()).isZero();
+	}
+
+	@Test
+	void waitsForPrimaryWhenNoSpareQuota() {
+		for (int i = 0; i < 20; i++) {
+			hedger.timed(OP, () -> "fast");
+		}
+		AtomicInteger calls = new AtomicInteger();
+
+		String result = hedger.call(OP, () -> {
+			calls.incrementAndGet();
+			return sleep(100, "primary");
+		}, () -> false);
+
+		assertThat(result).isEqualTo("primary");
+		assertThat(calls).hasValue(1);
+		assertThat(hedger.getHedgedCount()).isZero();
+		assertThat(hedger.getSkippedCount()).isEqualTo(1);
+	}
+
+	private static <T> T sleep(long millis, T value) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		return value;
+	}
+}
@@ -0,0 +1,96 @@
+package cse.plant_care_chatbot.plant.gemini;
+
+import cse.plant_care_chatbot.global.common.RequestDeadline;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GeminiRequestSchedulerTest {
+
+	private static GeminiRequestScheduler scheduler(int rpm, double interactiveReserve, long maxWaitMs) {
+		GeminiRequestScheduler scheduler = new GeminiRequestScheduler();
+		ReflectionTestUtils.setField(scheduler, "apiKeys", List.of("key-1"));
+		ReflectionTestUtils.setField(scheduler, "rpm", rpm);
+		ReflectionTestUtils.setField(scheduler, "tpm", 1_000_000);
+		ReflectionTestUtils.setField(scheduler, "interactiveReserve", interactiveReserve);
+		ReflectionTestUtils.setField(scheduler, "maxWaitMs", maxWaitMs);
+		ReflectionTestUtils.setField(scheduler, "maxRetries", 3);
+		ReflectionTestUtils.setField(scheduler, "defaultCooldownMs", 30_000L);
+		scheduler.init();
+		return scheduler;
+	}
+
+	private static String call(GeminiRequestScheduler scheduler, GeminiPriority priority) {
+		return scheduler.execute(priority, 10, RequestDeadline.none(), apiKey -> apiKey);
+	}
+
+	@Test
+	void backgroundLeavesInteractiveReserve() {
+		// rpm 10, reserve 0.2 → BACKGROUND 는 2개를 남기고 8개까지
+		GeminiRequestScheduler scheduler = scheduler(10, 0.2, 50);
+
+		for (int i = 0; i < 8; i++) {
+			assertThat(call(scheduler, GeminiPriority.BACKGROUND)).isEqualTo("key-1");
+		}
+		assertThatThrownBy(() -> call(scheduler, GeminiPriority.BACKGROUND))
+				.isInstanceOf(GeminiQuotaExceededException.class);
+
+		// 남겨둔 2개는 INTERACTIVE 가 사용
+		call(scheduler, GeminiPriority.INTERACTIVE);
+		call(scheduler, GeminiPriority.INTERACTIVE);
+		assertThatThrownBy(() -> call(scheduler, GeminiPriority.INTERACTIVE))
+				.isInstanceOf(GeminiQuotaExceededException.class);
+	}
+
+	@Test
+	void waitsForRefillInsteadOfFailing() {
+		// rpm 600 → 100ms 마다 1개 충전
+		GeminiRequestScheduler scheduler = scheduler(600, 0, 2000);
+		long start = System.nanoTime();
+		for (int i = 0; i < 600; i++) {
+			call(scheduler, GeminiPriority.INTERACTIVE);
+		}
+
+		// 버킷(600)을 넘는 601번째 요청은 1개가 충전될 때까지 대기 후 성공
+		assertThat(call(scheduler, GeminiPriority.INTERACTIVE)).isEqualTo("key-1");
+		long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+		assertThat(elapsedMs).isBetween(90L, 1500L);
+	}
+
+	@Test
+	void failsWithinRequestDeadlineWhenNoQuota() {
+		GeminiRequestScheduler scheduler = scheduler(1, 0, 60_000);
+		call(scheduler, GeminiPriority.INTERACTIVE);
+
+		long start = System.nanoTime();
+		assertThatThrownBy(() -> scheduler.execute(GeminiPriority.INTERACTIVE, 10,
+				RequestDeadline.clamped(100, 100), apiKey -> apiKey))
+				.isInstanceOf(GeminiQuotaExceededException.class);
+		assertThat((System.nanoTime() - start) / 1_000_000).isLessThan(1000L);
+	}
+
+	@Test
+	void hedgeOnlyUsesSpareQuotaAboveReserve() {
+		GeminiRequestScheduler scheduler = scheduler(10, 0.2, 50);
+		for (int i = 0; i < 7; i++) {
+			call(scheduler, GeminiPriority.INTERACTIVE);
+		}
+
+		// 남은 3개 중 reserve(2)를 넘는 1개만 hedge 에 사용
+		assertThat(scheduler.tryAcquireHedge("key-1", 10)).isTrue();
+		assertThat(scheduler.tryAcquireHedge("key-1", 10)).isFalse();
+		assertThat(scheduler.tryAcquireHedge("unknown", 10)).isFalse();
+	}
+
+	@Test
+	void estimatesAsciiAndKoreanTokens() {
+		assertThat(GeminiRequestScheduler.estimateTokens("abcdefgh")).isEqualTo(2);
+		assertThat(GeminiRequestScheduler.estimateTokens("보스턴")).isEqualTo(3);
+		assertThat(GeminiRequestScheduler.estimateTokens(null)).isZero();
+	}
+}
@@ -0,0 +1,72 @@
+package cse.plant_care_chatbot.plant.gemini;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GeminiResponseReaderTest {
+
+	record Advice(String analysis, List<String> keywords) {}
+
+	private final GeminiUsageTracker usageTracker = new GeminiUsageTracker();
+	private final GeminiResponseReader reader = new GeminiResponseReader(new ObjectMapper(), usageTracker);
+
+	private static byte[] response(String text) {
+		String escaped = text.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+		return ("""
+				{"candidates": [{"content": {"parts": [{"text": "%s"}], "role": "model"}, "finishReason": "STOP"},
+				                {"content": {"parts": [{"text": "ignored"}]}}],
+				 "usageMetadata": {"promptTokenCount": 120, "candidatesTokenCount": 30, "cachedContentTokenCount": 0},
+				 "modelVersion": "gemini"}
+				""".formatted(escaped)).getBytes(StandardCharsets.UTF_8);
+	}
+
+	@Test
+	void readsStructuredOutputAndUsage() {
+		Advice advice = reader.read(response("{\"analysis\": \"물이 부족합니다\", \"keywords\": [\"관수\"], \"extra\": 1}"),
+				Advice.class, GeminiHedger.ADVICE);
+
+		assertThat(advice).isEqualTo(new Advice("물이 부족합니다", List.of("관수")));
+		assertThat(usageTracker.totals(GeminiHedger.ADVICE).promptTokens()).isEqualTo(120);
+		assertThat(usageTracker.totals(GeminiHedger.ADVICE).candidatesTokens()).isEqualTo(30);
+		assertThat(reader.getParsedCount()).isEqualTo(1);
+	}
+
+	@Test
+	void stripsCodeFenceFallback() {
+		Advice advice = reader.read(response("```json\n{\"analysis\": \"ok\", \"keywords\": []}\n```"),
+				Advice.class, GeminiHedger.ADVICE);
+
+		assertThat(advice.analysis()).isEqualTo("ok");
+		assertThat(reader.getFencedCount()).isEqualTo(1);
+	}
+
+	@Test
+	void rejectsSchemaMismatch() {
+		// keywords 가 배열이 아닌 문자열
+		assertThatThrownBy(() -> reader.read(response("{\"analysis\": \"ok\", \"keywords\": \"관수\"}"),
+				Advice.class, GeminiHedger.ADVICE))
+				.isInstanceOf(IllegalStateException.class)
+				.hasMessageContaining("파싱 실패");
+		// JSON 이 아닌 text
+		assertThatThrownBy(() -> reader.read(response("물을 주세요"), Advice.class, GeminiHedger.ADVICE))
+				.isInstanceOf(IllegalStateException.class);
+
+		assertThat(reader.getFailedCount()).isEqualTo(2);
+	}
+
+	@Test
+	void rejectsResponseWithoutText() {
+		byte[] blocked = "{\"promptFeedback\": {\"blockReason\": \"SAFETY\"}}".getBytes(StandardCharsets.UTF_8);
+
+		assertThatThrownBy(() -> reader.read(blocked, Advice.class, GeminiHedger.ADVICE))
+				.isInstanceOf(IllegalStateException.class)
+				.hasMessageContaining("text");
+		assertThat(reader.readText(blocked)).isNull();
+	}
+}
@@ -0,0 +1,95 @@
+package cse.plant_care_chatbot.plant.image;
+
+import cse.plant_care_chatbot.plant.repository.PlantAnalysisLogRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class NearDuplicateIndexTest {
+
+	private static final long BASE = 0x0F0F_0F0F_0F0F_0F0FL;
+
+	@Test
+	void findsClosestWithinRadius() {
+		NearDuplicateIndex.BkTree tree = new NearDuplicateIndex.BkTree();
+		tree.add(BASE ^ 0b111, 1, 100);      // 거리 3
+		tree.add(BASE ^ 0b1, 2, 100);        // 거리 1
+		tree.add(BASE ^ 0xFFFFL, 3, 100);    // 거리 16
+
+		assertThat(tree.nearest(BASE, 6, 0)).contains(2L);
+		assertThat(tree.nearest(BASE ^ 0xFFFFL, 6, 0)).contains(3L);
+		assertThat(tree.nearest(BASE ^ 0xFF00L, 6, 0)).isEmpty();
+	}
+
+	@Test
+	void radiusIsInclusive() {
+		NearDuplicateIndex.BkTree tree = new NearDuplicateIndex.BkTree();
+		tree.add(BASE ^ 0b111111, 1, 100); // 거리 6
+
+		assertThat(tree.nearest(BASE, 6, 0)).contains(1L);
+		assertThat(tree.nearest(BASE, 5, 0)).isEmpty();
+	}
+
+	@Test
+	void prefersNewestOnTieAndSkipsExpired() {
+		NearDuplicateIndex.BkTree tree = new NearDuplicateIndex.BkTree();
+		tree.add(BASE ^ 0b10, 1, 100);
+		tree.add(BASE ^ 0b01, 2, 200);
+		tree.add(BASE, 3, 50); // 가장 가깝지만 만료
+
+		assertThat(tree.nearest(BASE, 6, 100)).contains(2L);
+		assertThat(tree.nearest(BASE, 6, 0)).contains(3L);
+	}
+
+	@Test
+	void matchesBruteForce() {
+		Random random = new Random(7);
+		NearDuplicateIndex.BkTree tree = new NearDuplicateIndex.BkTree();
+		List<Long> hashes = new ArrayList<>();
+		for (int i = 0; i < 2000; i++) {
+			// 일부는 BASE 근처에 모이도록
+			long hash = (i % 4 == 0) ? BASE ^ (1L << random.nextInt(64)) ^ (1L << random.nextInt(64)) : random.nextLong();
+			hashes.add(hash);
+			tree.add(hash, i, i);
+		}
+		assertThat(tree.size()).isEqualTo(2000);
+		assertThat(tree.nodes()).hasSize(2000);
+
+		for (int q = 0; q < 50; q++) {
+			long query = (q % 2 == 0) ? BASE ^ (1L << random.nextInt(64)) : random.nextLong();
+			long expected = -1;
+			int best = Integer.MAX_VALUE;
+			for (int i = 0; i < hashes.size(); i++) {
+				int d = PerceptualHash.distance(query, hashes.get(i));
+				if (d <= 6 && d <= best) { // 같은 거리면 나중에 넣은(최신) 것
+					best = d;
+					expected = i;
+				}
+			}
+			Optional<Long> found = tree.nearest(query, 6, 0);
+			assertThat(found).isEqualTo(expected < 0 ? Optional.empty() : Optional.of(expected));
+		}
+	}
+
+	@Test
+	void onlyMatchesSamePlant() {
+		NearDuplicateIndex index = new NearDuplicateIndex(mock(PlantAnalysisLogRepository.class));
+		ReflectionTestUtils.setField(index, "enabled", true);
+		ReflectionTestUtils.setField(index, "windowHours", 24L);
+		ReflectionTestUtils.setField(index, "maxDistance", 6);
+
+		index.add("plant-a", BASE, 10);
+		index.add(null, BASE, 11);
+
+		assertThat(index.findNear("plant-a", BASE ^ 0b1)).contains(10L);
+		assertThat(index.findNear("plant-b", BASE)).isEmpty();
+		assertThat(index.findNear(null, BASE)).isEmpty();
+	}
+}
@@ -0,0 +1,86 @@
+package cse.plant_care_chatbot.plant.image;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PerceptualHashTest {
+
+	// 무작위 밝기의 큰 블록으로 채운 사진 대용 이미지
+	private static BufferedImage blocks(long seed, int width, int height) {
+		Random random = new Random(seed);
+		BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+		Graphics2D g = image.createGraphics();
+		int cell = width / 12;
+		for (int y = 0; y < height; y += cell) {
+			for (int x = 0; x < width; x += cell) {
+				int v = random.nextInt(256);
+				g.setColor(new Color(v, v, v));
+				g.fillRect(x, y, cell, cell);
+			}
+		}
+		g.dispose();
+		return image;
+	}
+
+	private static BufferedImage transform(BufferedImage source, int width, int height, boolean mirror, int brighten) {
+		BufferedImage out = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+		Graphics2D g = out.createGraphics();
+		g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+		if (mirror) {
+			g.drawImage(source, width, 0, -width, height, null);
+		} else {
+			g.drawImage(source, 0, 0, width, height, null);
+		}
+		g.dispose();
+		if (brighten != 0) {
+			for (int y = 0; y < height; y++) {
+				for (int x = 0; x < width; x++) {
+					int v = Math.min(255, (out.getRGB(x, y) & 0xff) + brighten);
+					out.setRGB(x, y, new Color(v, v, v).getRGB());
+				}
+			}
+		}
+		return out;
+	}
+
+	@Test
+	void distanceCountsDifferentBits() {
+		assertThat(PerceptualHash.distance(0L, 0L)).isZero();
+		assertThat(PerceptualHash.distance(0b1011L, 0b0001L)).isEqualTo(2);
+		assertThat(PerceptualHash.distance(0L, -1L)).isEqualTo(64);
+	}
+
+	@Test
+	void resizedOrBrightenedCopyStaysWithinDefaultDistance() {
+		BufferedImage original = blocks(1, 480, 360);
+		long hash = PerceptualHash.dHash(original);
+
+		long resized = PerceptualHash.dHash(transform(original, 240, 180, false, 0));
+		long brighter = PerceptualHash.dHash(transform(original, 480, 360, false, 12));
+
+		// dedup.max-distance 기본값 6
+		assertThat(PerceptualHash.distance(hash, resized)).isLessThanOrEqualTo(6);
+		assertThat(PerceptualHash.distance(hash, brighter)).isLessThanOrEqualTo(6);
+	}
+
+	@Test
+	void differentCompositionIsFarApart() {
+		BufferedImage original = blocks(1, 480, 360);
+		long hash = PerceptualHash.dHash(original);
+
+		assertThat(PerceptualHash.distance(hash, PerceptualHash.dHash(transform(original, 480, 360, true, 0))))
+				.isGreaterThan(16);
+		assertThat(PerceptualHash.distance(hash, PerceptualHash.dHash(blocks(2, 480, 360))))
+				.isGreaterThan(16);
+	}
+
+	@Test
+	void returnsEmptyForUndecodableBytes() {
+		assertThat(PerceptualHash.dHash(new byte[]{1, 2, 3})).isEmpty();
+	}
+}
@@ -0,0 +1,41 @@
+package cse.plant_care_chatbot.plant.ingest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IngestCheckpointTest {
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void startsFromZeroWithoutFile() throws Exception {
+		IngestCheckpoint checkpoint = IngestCheckpoint.load(objectMapper, dir.resolve("checkpoint.json"));
+
+		assertThat(checkpoint.offsetOf("전체보스턴고사리_캡션.json")).isZero();
+	}
+
+	@Test
+	void resumesFromLastSavedOffsetPerFile() throws Exception {
+		Path path = dir.resolve("checkpoint.json");
+		IngestCheckpoint first = IngestCheckpoint.load(objectMapper, path);
+		first.save("a.json", 400);
+		first.save("b.json", 100);
+		first.save("a.json", 800);
+
+		IngestCheckpoint resumed = IngestCheckpoint.load(objectMapper, path);
+
+		assertThat(resumed.offsetOf("a.json")).isEqualTo(800);
+		assertThat(resumed.offsetOf("b.json")).isEqualTo(100);
+		assertThat(resumed.offsetOf("c.json")).isZero();
+		assertThat(Files.exists(dir.resolve("checkpoint.json.tmp"))).isFalse();
+	}
+}
@@ -0,0 +1,65 @@
+package cse.plant_care_chatbot.plant.milvus;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MilvusExprTest {
+
+	@Test
+	void buildsQuotedExpressions() {
+		assertThat(MilvusExpr.eq("plant_name", "보스턴고사리"))
+				.isEqualTo("plant_name == \"보스턴고사리\"");
+		assertThat(MilvusExpr.ne("place", "사용자"))
+				.isEqualTo("place != \"사용자\"");
+		assertThat(MilvusExpr.in("growth_level", List.of("1", "2")))
+				.isEqualTo("growth_level in [\"1\", \"2\"]");
+		assertThat(MilvusExpr.and(MilvusExpr.eq("plant_name", "스파티필럼"), null, " ",
+				MilvusExpr.range("created_at", 10L, null)))
+				.isEqualTo("(plant_name == \"스파티필럼\") and ((created_at >= 10))");
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {
+			"보스턴고사리\" or plant_name != \"",
+			"a'b",
+			"x]",
+			"[x",
+			"(x)",
+			"a == b",
+			"a || b",
+			"a && b",
+			"a < b",
+			"!x",
+			""
+	})
+	void rejectsQuotesBracketsAndOperators(String value) {
+		assertThat(MilvusExpr.isSafeValue(value)).isFalse();
+		assertThatThrownBy(() -> MilvusExpr.eq("plant_name", value))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> MilvusExpr.ne("place", value))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> MilvusExpr.in("plant_name", List.of("ok", value)))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {"plant name", "1field", "a-b", "a==b", "f\""})
+	void rejectsInvalidFieldNames(String field) {
+		assertThatThrownBy(() -> MilvusExpr.eq(field, "ok"))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> MilvusExpr.range(field, 1L, 2L))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void rejectsEmptyInList() {
+		assertThatThrownBy(() -> MilvusExpr.in("plant_name", List.of()))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+}
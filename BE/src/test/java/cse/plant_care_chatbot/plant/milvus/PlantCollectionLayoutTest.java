@@ -0,0 +1,71 @@
+package cse.plant_care_chatbot.plant.milvus;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.milvus.grpc.IndexDescription;
+import io.milvus.grpc.KeyValuePair;
+import io.milvus.param.IndexType;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PlantCollectionLayoutTest {
+
+	private static final TextIndexSpec IVF_PQ = new TextIndexSpec(IndexType.IVF_PQ, 128, 64, 8, 16, 200, 32, 64, 1);
+
+	private static IndexDescription index(String... keyValues) {
+		IndexDescription.Builder builder = IndexDescription.newBuilder().setFieldName("text_vector");
+		for (int i = 0; i < keyValues.length; i += 2) {
+			builder.addParams(KeyValuePair.newBuilder().setKey(keyValues[i]).setValue(keyValues[i + 1]));
+		}
+		return builder.build();
+	}
+
+	@Test
+	void flattensParamsJson() {
+		Map<String, String> params = PlantCollectionLayout.indexParams(index(
+				"index_type", "IVF_PQ", "metric_type", "COSINE",
+				"params", "{\"nlist\": 128, \"m\": \"64\", \"nbits\": 8}"), new ObjectMapper());
+
+		assertThat(params).containsEntry("index_type", "IVF_PQ")
+				.containsEntry("nlist", "128")
+				.containsEntry("m", "64")
+				.containsEntry("nbits", "8");
+	}
+
+	@Test
+	void sameConfigurationHasNoDifferences() {
+		Map<String, String> params = Map.of("index_type", "IVF_PQ", "metric_type", "COSINE",
+				"nlist", "128", "m", "64", "nbits", "8");
+
+		assertThat(PlantCollectionLayout.indexDifferences(params, IVF_PQ, 1024)).isEmpty();
+	}
+
+	@Test
+	void reportsEveryChangedBuildParam() {
+		Map<String, String> params = Map.of("index_type", "IVF_PQ", "metric_type", "L2",
+				"nlist", "256", "m", "32", "nbits", "8");
+
+		assertThat(PlantCollectionLayout.indexDifferences(params, IVF_PQ, 1024))
+				.containsExactly("metric_type: L2 → COSINE", "nlist: 256 → 128", "m: 32 → 64");
+	}
+
+	@Test
+	void comparesHnswParamsAndType() {
+		TextIndexSpec hnsw = IVF_PQ.withType(IndexType.HNSW);
+
+		assertThat(PlantCollectionLayout.indexDifferences(
+				Map.of("index_type", "HNSW", "M", "16", "efConstruction", "100"), hnsw, 1024))
+				.containsExactly("efConstruction: 100 → 200");
+		assertThat(PlantCollectionLayout.indexDifferences(
+				Map.of("index_type", "IVF_FLAT", "nlist", "128"), hnsw, 1024))
+				.containsExactly("index_type: IVF_FLAT → HNSW");
+	}
+
+	@Test
+	void buildParamsMatchIndexParams() {
+		assertThat(IVF_PQ.buildParams(1024)).isEqualTo("{\"nlist\": 128, \"m\": 64, \"nbits\": 8}");
+		assertThat(IVF_PQ.withType(IndexType.FLAT).buildParams(1024)).isEqualTo("{}");
+	}
+}
@@ -0,0 +1,39 @@
+package cse.plant_care_chatbot.plant.service;
+
+import cse.plant_care_chatbot.plant.gemini.GeminiRequestScheduler;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdvicePromptAssemblerTest {
+
+	private static final String SUFFIX = " …(생략)";
+
+	@Test
+	void keepsShortOrEmptyDescription() {
+		assertThat(AdvicePromptAssembler.truncate(null, 150)).isEqualTo("(none)");
+		assertThat(AdvicePromptAssembler.truncate("   ", 150)).isEqualTo("(none)");
+		assertThat(AdvicePromptAssembler.truncate("  잎이 노랗게 변했어요  ", 150)).isEqualTo("잎이 노랗게 변했어요");
+	}
+
+	@Test
+	void cutsAtSentenceEndWithinBudget() {
+		String text = "물을 자주 줬습니다. ".repeat(20);
+
+		String truncated = AdvicePromptAssembler.truncate(text, 150);
+
+		assertThat(truncated).endsWith("줬습니다." + SUFFIX);
+		String body = truncated.substring(0, truncated.length() - SUFFIX.length());
+		assertThat(GeminiRequestScheduler.estimateTokens(body)).isLessThanOrEqualTo(150);
+		assertThat(GeminiRequestScheduler.estimateTokens(body)).isGreaterThan(90);
+	}
+
+	@Test
+	void cutsAtBudgetWhenNoSentenceBoundary() {
+		assertThat(AdvicePromptAssembler.truncate("가".repeat(200), 150))
+				.isEqualTo("가".repeat(150) + SUFFIX);
+		// ASCII 는 4자당 1토큰
+		assertThat(AdvicePromptAssembler.truncate("a".repeat(1000), 150))
+				.isEqualTo("a".repeat(600) + SUFFIX);
+	}
+}
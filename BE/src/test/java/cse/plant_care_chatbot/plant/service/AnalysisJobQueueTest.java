@@ -0,0 +1,118 @@
+package cse.plant_care_chatbot.plant.service;
+
+import cse.plant_care_chatbot.plant.dto.AnalysisJobStatus;
+import cse.plant_care_chatbot.plant.entity.PlantAnalysisJob;
+import cse.plant_care_chatbot.plant.repository.PlantAnalysisJobRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AnalysisJobQueueTest {
+
+	private final PlantAnalysisJobRepository jobRepo = mock(PlantAnalysisJobRepository.class);
+	private final AnalysisJobQueue queue = new AnalysisJobQueue(jobRepo);
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(queue, "maxAttempts", 3);
+	}
+
+	private static PlantAnalysisJob job(long id, String owner, int attempts) {
+		PlantAnalysisJob job = PlantAnalysisJob.builder()
+				.imageData(new byte[]{1, 2, 3})
+				.mimeType("image/jpeg")
+				.userDescription("잎이 처져요")
+				.build();
+		ReflectionTestUtils.setField(job, "id", id);
+		ReflectionTestUtils.setField(job, "status", AnalysisJobStatus.RUNNING);
+		ReflectionTestUtils.setField(job, "leaseOwner", owner);
+		ReflectionTestUtils.setField(job, "leaseExpiresAt", LocalDateTime.now().plusMinutes(2));
+		ReflectionTestUtils.setField(job, "attempts", attempts);
+		return job;
+	}
+
+	@Test
+	void claimFailsExhaustedLeasesBeforeLockingWithAttemptLimit() {
+		when(jobRepo.lockClaimable(any(), anyInt(), anyInt())).thenReturn(List.of(7L));
+		when(jobRepo.findAllById(List.of(7L))).thenReturn(List.of(job(7, "worker-a", 1)));
+
+		LocalDateTime before = LocalDateTime.now();
+		List<AnalysisJobQueue.ClaimedJob> claimed = queue.claim("worker-a", 4, 120_000);
+
+		assertThat(claimed).extracting(AnalysisJobQueue.ClaimedJob::id).containsExactly(7L);
+		InOrder order = inOrder(jobRepo);
+		order.verify(jobRepo).failExhaustedLeases(any(), eq(3), anyString());
+		order.verify(jobRepo).lockClaimable(any(), eq(3), eq(4));
+		order.verify(jobRepo).markRunning(eq(List.of(7L)), eq("worker-a"),
+				argThat(lease -> !lease.isBefore(before.plusSeconds(119))));
+	}
+
+	@Test
+	void claimDoesNothingWhenNoJobIsClaimable() {
+		when(jobRepo.lockClaimable(any(), anyInt(), anyInt())).thenReturn(List.of());
+
+		assertThat(queue.claim("worker-a", 4, 120_000)).isEmpty();
+		verify(jobRepo, never()).markRunning(any(), any(), any());
+	}
+
+	@Test
+	void completeIsConditionalOnLease() {
+		when(jobRepo.completeIfOwner(eq(7L), eq("worker-a"), eq(100L), any())).thenReturn(1);
+
+		queue.complete(7L, "worker-a", 100L);
+
+		verify(jobRepo).completeIfOwner(eq(7L), eq("worker-a"), eq(100L), any());
+		verify(jobRepo, never()).findById(any());
+		verify(jobRepo, never()).save(any());
+	}
+
+	@Test
+	void failRequeuesWhileAttemptsRemain() {
+		when(jobRepo.requeueIfOwner(7L, "worker-a", "Gemini 오류", 3)).thenReturn(1);
+
+		queue.fail(7L, "worker-a", "Gemini 오류");
+
+		verify(jobRepo, never()).failIfOwner(any(), any(), any(), anyInt(), any());
+	}
+
+	@Test
+	void failMarksFailedWhenRequeueDoesNotMatch() {
+		// 시도 횟수를 다 썼으면 requeue 조건(attempts < max)에 맞지 않아 FAILED 로 처리
+		when(jobRepo.requeueIfOwner(8L, "worker-a", "Gemini 오류", 3)).thenReturn(0);
+		when(jobRepo.failIfOwner(eq(8L), eq("worker-a"), eq("Gemini 오류"), eq(3), any())).thenReturn(1);
+
+		queue.fail(8L, "worker-a", "Gemini 오류");
+
+		InOrder order = inOrder(jobRepo);
+		order.verify(jobRepo).requeueIfOwner(8L, "worker-a", "Gemini 오류", 3);
+		order.verify(jobRepo).failIfOwner(eq(8L), eq("worker-a"), eq("Gemini 오류"), eq(3), any());
+	}
+
+	@Test
+	void reportsFromWorkerThatLostLeaseChangeNothing() {
+		// lease 만료 후 다른 워커가 가져간 작업: 조건부 UPDATE 가 0 행이면 그대로 끝
+		queue.complete(7L, "worker-a", 100L);
+		queue.fail(7L, "worker-a", "timeout");
+
+		verify(jobRepo).completeIfOwner(eq(7L), eq("worker-a"), eq(100L), any());
+		verify(jobRepo).requeueIfOwner(7L, "worker-a", "timeout", 3);
+		verify(jobRepo).failIfOwner(eq(7L), eq("worker-a"), eq("timeout"), eq(3), any());
+		verify(jobRepo, never()).save(any());
+	}
+}
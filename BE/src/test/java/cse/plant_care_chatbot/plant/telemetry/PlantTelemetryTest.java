@@ -0,0 +1,65 @@
+package cse.plant_care_chatbot.plant.telemetry;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PlantTelemetryTest {
+
+	private static final long MINUTE = 60_000;
+
+	@Test
+	void aggregatesBucketsInsideWindow() {
+		PlantTelemetry telemetry = new PlantTelemetry(5);
+		telemetry.record(0, 1.0, 10 * MINUTE);
+		telemetry.record(0, 3.0, 10 * MINUTE + 30_000);
+		telemetry.record(0, 5.0, 11 * MINUTE);
+		telemetry.record(2, 400.0, 11 * MINUTE);
+
+		PlantTelemetry.SensorWindow[] all = telemetry.window(5, 11 * MINUTE + 1);
+		assertThat(all[0]).isEqualTo(new PlantTelemetry.SensorWindow(3.0, 1.0, 5.0, 3));
+		assertThat(all[2].count()).isEqualTo(1);
+		assertThat(all[1]).isNull();
+
+		// 마지막 1분만
+		PlantTelemetry.SensorWindow[] last = telemetry.window(1, 11 * MINUTE + 1);
+		assertThat(last[0]).isEqualTo(new PlantTelemetry.SensorWindow(5.0, 5.0, 5.0, 1));
+
+		// 창이 지나가면 빠짐
+		assertThat(telemetry.window(5, 16 * MINUTE)[0]).isNull();
+		assertThat(telemetry.getLastSeenMillis()).isEqualTo(11 * MINUTE);
+	}
+
+	@Test
+	void reusesBucketWhenMinuteRollsOver() {
+		PlantTelemetry telemetry = new PlantTelemetry(3);
+		telemetry.record(0, 100.0, 0);
+		telemetry.record(0, 20.0, MINUTE);
+
+		// 3분 뒤에는 분 0 의 버킷을 다시 사용하면서 초기화
+		telemetry.record(0, 1.0, 3 * MINUTE);
+
+		PlantTelemetry.SensorWindow[] window = telemetry.window(3, 3 * MINUTE);
+		assertThat(window[0]).isEqualTo(new PlantTelemetry.SensorWindow(10.5, 1.0, 20.0, 2));
+	}
+
+	@Test
+	void dropsValueOlderThanReusedBucket() {
+		PlantTelemetry telemetry = new PlantTelemetry(3);
+		telemetry.record(0, 1.0, 3 * MINUTE);
+
+		// 같은 버킷(분 0)을 이미 분 3 이 차지함
+		telemetry.record(0, 100.0, 0);
+
+		assertThat(telemetry.window(3, 3 * MINUTE)[0]).isEqualTo(new PlantTelemetry.SensorWindow(1.0, 1.0, 1.0, 1));
+	}
+
+	@Test
+	void ignoresBucketsAheadOfNow() {
+		PlantTelemetry telemetry = new PlantTelemetry(5);
+		telemetry.record(0, 1.0, 10 * MINUTE);
+		telemetry.record(0, 9.0, 12 * MINUTE);
+
+		assertThat(telemetry.window(5, 10 * MINUTE)[0].count()).isEqualTo(1);
+	}
+}
@@ -0,0 +1,77 @@
+package cse.plant_care_chatbot.plant.telemetry;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import cse.plant_care_chatbot.plant.dto.TelemetryIngestRes;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TelemetryStoreTest {
+
+	private final TelemetryStore store = new TelemetryStore(new ObjectMapper());
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(store, "windowMinutes", 60);
+		ReflectionTestUtils.setField(store, "maxPlants", 2);
+		ReflectionTestUtils.setField(store, "maxClockSkewMs", 60_000L);
+	}
+
+	private TelemetryIngestRes ingest(String ndjson) throws IOException {
+		return store.ingestNdjson(new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+	}
+
+	@Test
+	void rejectsTimestampsOutsideWindowAndSkew() throws IOException {
+		long now = System.currentTimeMillis();
+		TelemetryIngestRes res = ingest("""
+				{"plantId":"p1","ts":%d,"AirTemperature":20}
+				{"plantId":"p1","ts":%d,"AirTemperature":30,"AirHumidity":40}
+				{"plantId":"p1","ts":%d,"AirTemperature":23}
+				{"plantId":"p1","AirTemperature":25}
+				""".formatted(now - 2 * 3_600_000L, now + 10 * 60_000L, now - 60_000L));
+
+		assertThat(res).isEqualTo(new TelemetryIngestRes(2, 3));
+		assertThat(store.liveMeans("p1")).hasValueSatisfying(means -> {
+			assertThat(means[0]).isEqualTo(24.0);
+			assertThat(means[1]).isNull();
+		});
+	}
+
+	@Test
+	void evictsIdlePlantBeforeRefusingNewOne() throws IOException {
+		long now = System.currentTimeMillis();
+		// window(60분) 동안 값이 없던 식물
+		PlantTelemetry idle = new PlantTelemetry(60);
+		idle.record(0, 20.0, now - 2 * 3_600_000L);
+		plants().put("idle", idle);
+		ingest("{\"plantId\":\"active\",\"AirTemperature\":21}");
+
+		TelemetryIngestRes res = ingest("{\"plantId\":\"new\",\"AirTemperature\":22}");
+
+		assertThat(res.accepted()).isEqualTo(1);
+		assertThat(plants()).containsOnlyKeys("active", "new");
+	}
+
+	@Test
+	void refusesNewPlantWhenAllAreActive() throws IOException {
+		ingest("{\"plantId\":\"a\",\"AirTemperature\":21}\n{\"plantId\":\"b\",\"AirTemperature\":21}");
+
+		TelemetryIngestRes res = ingest("{\"plantId\":\"c\",\"AirTemperature\":22}");
+
+		assertThat(res).isEqualTo(new TelemetryIngestRes(0, 1));
+		assertThat(plants()).containsOnlyKeys("a", "b");
+	}
+
+	@SuppressWarnings("unchecked")
+	private Map<String, PlantTelemetry> plants() {
+		return (Map<String, PlantTelemetry>) ReflectionTestUtils.getField(store, "plants");
+	}
+}
@@ -193,7 +193,19 @@ export default function PlantAnalysisResult({ data, onReset }: PlantAnalysisResu
               >
                 {/* 👇 내부에서도 똑같이 'image'를 써야 합니다. (imageName X) */}
                 <img
-                  src={`http://localhost:8080/images/${image}`}
+                  src={
+                    data.similarImageLinks?.[index]
+                      ? `http://localhost:8080${data.similarImageLinks[index].thumb}`
+                      : `http://localhost:8080/images/${image}`
+                  }
+                  srcSet={
+                    data.similarImageLinks?.[index]
+                      ? `http://localhost:8080${data.similarImageLinks[index].thumb} 240w, http://localhost:8080${data.similarImageLinks[index].medium} 800w`
+                      : undefined
+                  }
+                  sizes="(max-width: 768px) 33vw, 240px"
+                  loading="lazy"
+                  decoding="async"
                   alt={`Similar plant ${index + 1}`}
                   className="aspect-square w-full object-cover"
                 />
@@ -18,6 +18,7 @@ export interface PlantAnalysisResultData {
   keywords: string[];
   careGuide: CareGuide[];
   similarImages: string[];
+  similarImageLinks?: ImageLinks[];
 }
 
 export interface ApiResponse {
@@ -42,6 +43,13 @@ export interface HistoryListResponse {
   result: HistoryItem[];
 }
 
+export interface ImageLinks {
+  name: string;
+  thumb: string;
+  medium: string;
+  original: string;
+}
+
 export interface PlantAnalysisResultData {
   logId: number;
   plantName: string;
@@ -52,4 +60,5 @@ export interface PlantAnalysisResultData {
   keywords: string[];
   careGuide: CareGuide[];
   similarImages: string[];
+  similarImageLinks?: ImageLinks[];
 }
\ No newline at end of file